@@ -43,6 +43,9 @@ public class DBInitializer {
 
     // Add database constraints if not already present
     addDatabaseConstraints();
+
+    // Add the indexes serving the meeting feed
+    addMeetingFeedIndexes();
   }
 
   /** Initializes roles in the database if they don't already exist. @Author Jossin Anthony */
@@ -126,4 +129,21 @@ public class DBInitializer {
       e.getMessage();
     }
   }
+
+  /**
+   * Creates the indexes used by the meeting feed: one for the meetings a tutor holds and one for
+   * the meetings a student takes part in, both allowing a range scan over the start time.
+   */
+  private void addMeetingFeedIndexes() {
+    try {
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_meeting_tutor_start "
+              + "ON meeting (created_by, meeting_start_time)");
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_students_meetings_student "
+              + "ON students_meetings (student_id, meeting_id)");
+    } catch (Exception e) {
+      log.error("Error adding meeting feed indexes: " + e.getMessage());
+    }
+  }
 }
@@ -0,0 +1,33 @@
+package de.thu.thutorium;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuration class enabling scheduled background tasks.
+ *
+ * <p>The WebSocket message broker registers its own task scheduler, so the scheduler for
+ * {@code @Scheduled} methods is declared explicitly under the name {@code taskScheduler}, which is
+ * the name Spring looks up when more than one scheduler exists.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+  /**
+   * Creates the scheduler that runs the application's {@code @Scheduled} tasks.
+   *
+   * @param poolSize the number of scheduler threads
+   * @return the configured {@link ThreadPoolTaskScheduler}
+   */
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler(
+      @Value("${scheduling.pool-size:4}") int poolSize) {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(poolSize);
+    scheduler.setThreadNamePrefix("scheduled-");
+    return scheduler;
+  }
+}
@@ -1,6 +1,7 @@
 package de.thu.thutorium.Utility;
 
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.security.JwtPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,7 +30,12 @@ public class AuthUtil {
             throw new AuthenticationException("User is not authenticated") {
             };
         }
-        UserDBO userDetails = (UserDBO) authentication.getPrincipal();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.userId();
+        }
+        // authentications not created from a JWT, e.g. right after login
+        UserDBO userDetails = (UserDBO) principal;
         return userDetails.getUserId();
     }
 }
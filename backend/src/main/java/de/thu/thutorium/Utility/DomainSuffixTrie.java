@@ -0,0 +1,102 @@
+package de.thu.thutorium.Utility;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps domain names to values and finds the value of the most specific domain an address belongs
+ * to.
+ *
+ * <p>
+ * The domains are stored as a trie of their labels in reverse order, so {@code uni-ulm.de} is the
+ * path {@code de -> uni-ulm}. A lookup walks the labels of the queried domain from the right and
+ * remembers the last node that carries a value, so {@code mail.uni-ulm.de} matches {@code
+ * uni-ulm.de} unless a value was stored for the subdomain itself. A lookup costs one map access per
+ * label, independent of the number of stored domains.
+ *
+ * <p>
+ * The trie is not thread-safe while it is being filled. It is meant to be built completely and then
+ * published to the threads reading it.
+ *
+ * @param <V> the type of the stored values
+ */
+public class DomainSuffixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    private static final class Node<V> {
+        private final Map<String, Node<V>> children = new HashMap<>();
+        private V value;
+    }
+
+    /**
+     * Stores a value for a domain and all of its subdomains. A value stored earlier for the same
+     * domain is replaced.
+     *
+     * @param domain the domain name, e.g. {@code uni-ulm.de}; case and a trailing dot are ignored
+     * @param value  the value to store
+     * @throws IllegalArgumentException if the domain is blank or contains an empty label
+     */
+    public void put(String domain, V value) {
+        String normalized = normalize(domain);
+        if (normalized.isEmpty() || normalized.startsWith(".") || normalized.contains("..")) {
+            throw new IllegalArgumentException("Invalid domain name: " + domain);
+        }
+        Node<V> node = root;
+        int end = normalized.length();
+        while (end > 0) {
+            int start = normalized.lastIndexOf('.', end - 1) + 1;
+            node = node.children.computeIfAbsent(normalized.substring(start, end), label -> new Node<>());
+            end = start - 1;
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Returns the value of the most specific stored domain that is equal to the given domain or one
+     * of its parent domains.
+     *
+     * @param domain the domain name to look up; case and a trailing dot are ignored
+     * @return the value, or {@code null} if no stored domain matches
+     */
+    public V findLongestMatch(String domain) {
+        String normalized = normalize(domain);
+        Node<V> node = root;
+        V match = null;
+        int end = normalized.length();
+        while (end > 0) {
+            int start = normalized.lastIndexOf('.', end - 1) + 1;
+            node = node.children.get(normalized.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+            end = start - 1;
+        }
+        return match;
+    }
+
+    /**
+     * Returns the number of stored domains.
+     *
+     * @return the number of domains a value is stored for
+     */
+    public int size() {
+        return size;
+    }
+
+    private static String normalize(String domain) {
+        if (domain == null) {
+            return "";
+        }
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        return normalized.endsWith(".") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+}
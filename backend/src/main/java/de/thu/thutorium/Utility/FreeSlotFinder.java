@@ -0,0 +1,65 @@
+package de.thu.thutorium.Utility;
+
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Utility class for computing free time intervals from a set of busy intervals.
+ */
+public class FreeSlotFinder {
+
+    private FreeSlotFinder() {
+    }
+
+    /**
+     * Computes the free intervals within a time window.
+     *
+     * <p>
+     * The busy intervals are sorted by their start and swept once: overlapping and adjacent
+     * intervals are merged, and every gap between two merged intervals that lies within the
+     * window and is at least {@code minDuration} long is returned. Intervals are treated as
+     * half-open, like the {@code tsrange} values of the {@code time_range} column, so a meeting
+     * ending at 10:00 and one starting at 10:00 do not leave a gap.
+     *
+     * @param busy        the busy intervals, in any order; they may overlap and exceed the window
+     * @param from        the start of the window
+     * @param to          the end of the window
+     * @param minDuration the minimum length of a returned free interval
+     * @return the free intervals in chronological order
+     */
+    public static List<TimeSlotTO> findFreeSlots(
+            List<TimeSlotTO> busy, LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        List<TimeSlotTO> sorted = new ArrayList<>(busy);
+        sorted.sort(Comparator.comparing(TimeSlotTO::getStart));
+
+        List<TimeSlotTO> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlotTO slot : sorted) {
+            if (!cursor.isBefore(to)) {
+                break;
+            }
+            if (slot.getStart().isAfter(cursor)) {
+                addIfLongEnough(free, cursor, slot.getStart().isBefore(to) ? slot.getStart() : to, minDuration);
+            }
+            if (slot.getEnd().isAfter(cursor)) {
+                cursor = slot.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            addIfLongEnough(free, cursor, to, minDuration);
+        }
+        return free;
+    }
+
+    private static void addIfLongEnough(
+            List<TimeSlotTO> free, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+        if (Duration.between(start, end).compareTo(minDuration) >= 0 && start.isBefore(end)) {
+            free.add(new TimeSlotTO(start, end));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package de.thu.thutorium.Utility;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) document event by event to a {@link Writer}, so a calendar can be
+ * streamed without building it in memory.
+ *
+ * <p>
+ * Text values are escaped, lines are terminated with CRLF and folded after 75 octets, as required
+ * by the specification. All times are written in UTC.
+ */
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+
+    /**
+     * Creates a writer for the given output.
+     *
+     * @param out the output the document is written to
+     */
+    public ICalendarWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the calendar header.
+     *
+     * @param productId the identifier of the product that created the calendar
+     * @param name      the display name of the calendar
+     * @throws IOException if writing fails
+     */
+    public void beginCalendar(String productId, String name) throws IOException {
+        line("BEGIN", "VCALENDAR");
+        line("VERSION", "2.0");
+        line("PRODID", productId);
+        line("CALSCALE", "GREGORIAN");
+        line("METHOD", "PUBLISH");
+        line("X-WR-CALNAME", escape(name));
+    }
+
+    /**
+     * An event of the calendar. Optional values may be {@code null} and are left out.
+     *
+     * @param uid         the globally unique identifier of the event
+     * @param stamp       the time the event was last written
+     * @param start       the start of the event
+     * @param end         the end of the event
+     * @param summary     the title of the event
+     * @param location    the location of the event, optional
+     * @param description the description of the event, optional
+     * @param url         a link associated with the event, optional
+     */
+    public record Event(String uid, Instant stamp, Instant start, Instant end, String summary,
+                        String location, String description, String url) { }
+
+    /**
+     * Writes one event.
+     *
+     * @param event the event to write
+     * @throws IOException if writing fails
+     */
+    public void event(Event event) throws IOException {
+        line("BEGIN", "VEVENT");
+        line("UID", event.uid());
+        line("DTSTAMP", UTC_FORMAT.format(event.stamp()));
+        line("DTSTART", UTC_FORMAT.format(event.start()));
+        line("DTEND", UTC_FORMAT.format(event.end()));
+        line("SUMMARY", escape(event.summary()));
+        if (event.location() != null && !event.location().isBlank()) {
+            line("LOCATION", escape(event.location()));
+        }
+        if (event.description() != null && !event.description().isBlank()) {
+            line("DESCRIPTION", escape(event.description()));
+        }
+        if (event.url() != null && !event.url().isBlank()) {
+            line("URL", event.url().trim());
+        }
+        line("END", "VEVENT");
+    }
+
+    /**
+     * Writes the calendar footer and flushes the output.
+     *
+     * @throws IOException if writing fails
+     */
+    public void endCalendar() throws IOException {
+        line("END", "VCALENDAR");
+        out.flush();
+    }
+
+    /**
+     * Escapes a text value: backslashes, semicolons, commas and line breaks.
+     *
+     * @param value the value to escape
+     * @return the escaped value, or an empty string for {@code null}
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    /**
+     * Folds a content line so that no physical line is longer than 75 octets. Continuation lines
+     * start with a single space. Characters are never split across lines.
+     *
+     * @param line the content line without line terminator
+     * @return the folded line, with CRLF after every physical line
+     */
+    public static String fold(String line) {
+        StringBuilder folded = new StringBuilder(line.length() + 8);
+        int octets = 0;
+        for (int i = 0; i < line.length();) {
+            int codePoint = line.codePointAt(i);
+            int length = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + length > MAX_LINE_OCTETS) {
+                folded.append("\r\n ");
+                // the leading space counts towards the continuation line
+                octets = 1;
+            }
+            folded.appendCodePoint(codePoint);
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        return folded.append("\r\n").toString();
+    }
+
+    private void line(String name, String value) throws IOException {
+        out.write(fold(name + ":" + value));
+    }
+}
@@ -0,0 +1,255 @@
+package de.thu.thutorium.Utility;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.thu.thutorium.exceptions.RosterReadException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a university roster entry by entry from a CSV or JSON stream, so an upload of any size is
+ * parsed without holding it in memory.
+ *
+ * <p>
+ * A CSV roster starts with a header row naming the columns; quoted fields as described in RFC 4180
+ * are supported. A JSON roster is an array of objects. In both formats the fields {@code email},
+ * {@code firstName} and {@code lastName} are required, {@code password} and {@code role} are
+ * optional, and other fields are ignored. Field names are matched ignoring case, underscores,
+ * hyphens and spaces, so {@code first_name} and {@code First Name} are accepted as well.
+ */
+public class RosterReader implements Closeable {
+
+    private static final String EMAIL = "email";
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String PASSWORD = "password";
+    private static final String ROLE = "role";
+
+    /**
+     * A single entry of the roster.
+     *
+     * @param row       the 1-based number of the entry, not counting the CSV header
+     * @param email     the email address, or {@code null} if missing
+     * @param firstName the first name, or {@code null} if missing
+     * @param lastName  the last name, or {@code null} if missing
+     * @param password  the initial password, or {@code null} if the user is to be invited
+     * @param role      the role, or {@code null} to use the default role of the import
+     * @param error     why the entry could not be read, or {@code null} if it was read
+     */
+    public record Entry(
+            int row, String email, String firstName, String lastName, String password, String role, String error) {
+
+        static Entry of(int row, Map<String, String> fields) {
+            return new Entry(
+                    row,
+                    fields.get(EMAIL),
+                    fields.get(FIRST_NAME),
+                    fields.get(LAST_NAME),
+                    fields.get(PASSWORD),
+                    fields.get(ROLE),
+                    null);
+        }
+
+        static Entry invalid(int row, String error) {
+            return new Entry(row, null, null, null, null, null, error);
+        }
+    }
+
+    private final BufferedReader csv;
+    private final JsonParser json;
+    private List<String> header;
+    private int row;
+
+    private RosterReader(BufferedReader csv, JsonParser json) {
+        this.csv = csv;
+        this.json = json;
+    }
+
+    /**
+     * Opens a roster in the format given by the content type of the upload.
+     *
+     * @param in          the uploaded roster, UTF-8 encoded
+     * @param contentType the content type of the upload; {@code application/json} selects JSON,
+     *                    {@code text/csv} and {@code text/plain} select CSV
+     * @return a reader positioned before the first entry
+     * @throws IOException              if the start of the roster cannot be read
+     * @throws IllegalArgumentException if the content type is not supported or the roster does not
+     *                                  start with a header row or a JSON array
+     */
+    public static RosterReader open(InputStream in, String contentType) throws IOException {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("json")) {
+            JsonParser parser = new JsonFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IllegalArgumentException("A JSON roster must be an array of objects");
+            }
+            return new RosterReader(null, parser);
+        }
+        if (type.startsWith("text/csv") || type.startsWith("text/plain")) {
+            RosterReader reader =
+                    new RosterReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), null);
+            reader.readHeader();
+            return reader;
+        }
+        throw new IllegalArgumentException("Unsupported roster content type: " + contentType);
+    }
+
+    /**
+     * Reads the next entry.
+     *
+     * @return the next entry, or {@code null} once the roster is exhausted
+     * @throws RosterReadException if the roster cannot be read any further, because it is not
+     *                             well-formed, is truncated or the upload broke off
+     */
+    public Entry next() {
+        int failingRow = row + 1;
+        try {
+            return json != null ? nextJson() : nextCsv();
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new RosterReadException(failingRow, ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        } else {
+            csv.close();
+        }
+    }
+
+    private Entry nextJson() throws IOException {
+        JsonToken token = json.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token == null) {
+            throw new IllegalArgumentException("Truncated roster");
+        }
+        row++;
+        if (token != JsonToken.START_OBJECT) {
+            json.skipChildren();
+            return Entry.invalid(row, "Entry is not an object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        while ((token = json.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = normalize(json.getCurrentName());
+            JsonToken value = json.nextToken();
+            if (value == null) {
+                throw new IllegalArgumentException("Truncated roster");
+            }
+            if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                fields.put(name, json.getValueAsString());
+            } else {
+                json.skipChildren();
+            }
+        }
+        if (token == null) {
+            throw new IllegalArgumentException("Truncated roster");
+        }
+        return Entry.of(row, fields);
+    }
+
+    private void readHeader() throws IOException {
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new IllegalArgumentException("The CSV roster is empty");
+        }
+        header = new ArrayList<>(names.size());
+        for (String name : names) {
+            header.add(normalize(name));
+        }
+        if (!header.contains(EMAIL) || !header.contains(FIRST_NAME) || !header.contains(LAST_NAME)) {
+            throw new IllegalArgumentException(
+                    "The CSV header must contain the columns email, firstName and lastName");
+        }
+    }
+
+    private Entry nextCsv() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+        row++;
+        if (values.size() != header.size()) {
+            return Entry.invalid(
+                    row, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return Entry.of(row, fields);
+    }
+
+    /**
+     * Reads one CSV record. Quoted fields may contain separators, doubled quotes and line breaks.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = csv.read();
+        if (c == -1) {
+            return null;
+        }
+        if (c == '\uFEFF' && header == null) {
+            c = csv.read();
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    csv.mark(1);
+                    int next = csv.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        csv.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = csv.read();
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field in CSV roster");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+}
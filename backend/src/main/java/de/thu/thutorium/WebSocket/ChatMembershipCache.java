@@ -0,0 +1,91 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.database.repositories.ChatParticipantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the participants of recently used chats, so that authorizing a subscription or a message
+ * of a chat does not query the database every time.
+ *
+ * <p>The participants of a chat are loaded on first use and kept in a small LRU cache for the
+ * configured time. Chats deleted on this node are evicted immediately; changes made on another
+ * node become visible once the entry has expired. Chats without participants, e.g. IDs of chats
+ * that do not exist yet, are not cached.
+ */
+@Component
+public class ChatMembershipCache {
+  private final ChatParticipantRepository chatParticipantRepository;
+  private final long ttlMillis;
+  private final Map<Long, Membership> memberships;
+
+  /**
+   * The participants of a chat as loaded from the database.
+   *
+   * @param userIds the IDs of the participants
+   * @param loadedAtMillis the time the participants were loaded
+   */
+  private record Membership(Set<Long> userIds, long loadedAtMillis) { }
+
+  /**
+   * Creates the cache.
+   *
+   * @param chatParticipantRepository the repository the participants are loaded from
+   * @param capacity the maximum number of cached chats
+   * @param ttlMillis the time in milliseconds the participants of a chat are cached
+   */
+  public ChatMembershipCache(
+      ChatParticipantRepository chatParticipantRepository,
+      @Value("${chat.membership.cache-size:10000}") int capacity,
+      @Value("${chat.membership.cache-ttl-ms:60000}") long ttlMillis) {
+    this.chatParticipantRepository = chatParticipantRepository;
+    this.ttlMillis = ttlMillis;
+    this.memberships =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<Long, Membership> eldest) {
+                return size() > capacity;
+              }
+            });
+  }
+
+  /**
+   * Checks whether a user participates in a chat.
+   *
+   * @param chatId the ID of the chat
+   * @param userId the ID of the user
+   * @return {@code true} if the user is a participant of the chat
+   */
+  public boolean isParticipant(Long chatId, Long userId) {
+    if (chatId == null || userId == null) {
+      return false;
+    }
+    long now = System.currentTimeMillis();
+    Membership membership = memberships.get(chatId);
+    if (membership == null || now - membership.loadedAtMillis() > ttlMillis) {
+      Set<Long> userIds = chatParticipantRepository.findParticipantIds(chatId);
+      membership = new Membership(Set.copyOf(userIds), now);
+      if (userIds.isEmpty()) {
+        memberships.remove(chatId);
+      } else {
+        memberships.put(chatId, membership);
+      }
+    }
+    return membership.userIds().contains(userId);
+  }
+
+  /**
+   * Removes the cached participants of a chat, e.g. after the chat has been deleted.
+   *
+   * @param chatId the ID of the chat
+   */
+  public void invalidate(Long chatId) {
+    memberships.remove(chatId);
+  }
+}
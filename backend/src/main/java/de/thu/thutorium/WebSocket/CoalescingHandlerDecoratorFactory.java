@@ -0,0 +1,118 @@
+package de.thu.thutorium.WebSocket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Decorates the STOMP sub-protocol handler so that every session writes its outbound frames through
+ * a {@link CoalescingWebSocketSessionDecorator}. Events for the same session that are produced
+ * within the configured window, e.g. messages of a busy group chat or a burst of read receipts, are
+ * written to the socket as one batched message instead of one write per frame.
+ *
+ * <p>Setting {@code chat.websocket.coalesce-window-ms} to {@code 0} disables coalescing.
+ */
+@Component
+public class CoalescingHandlerDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+  private final long windowMillis;
+  private final int maxBatchBytes;
+  private final int sendTimeLimit;
+  private final int sendBufferSizeLimit;
+  private final ScheduledExecutorService flushScheduler;
+
+  /**
+   * Creates the factory together with the scheduler that flushes the session buffers.
+   *
+   * @param windowMillis the time in milliseconds outbound frames of a session are collected
+   * @param maxBatchBytes the batch size in bytes that triggers an immediate flush
+   * @param flushThreads the number of threads used for flushing
+   * @param sendTimeLimit the time in milliseconds a single socket write may take
+   * @param sendBufferSizeLimit the number of bytes that may queue up behind a slow write
+   */
+  public CoalescingHandlerDecoratorFactory(
+      @Value("${chat.websocket.coalesce-window-ms:15}") long windowMillis,
+      @Value("${chat.websocket.coalesce-max-batch-bytes:65536}") int maxBatchBytes,
+      @Value("${chat.websocket.coalesce-flush-threads:2}") int flushThreads,
+      @Value("${chat.websocket.send-time-limit-ms:10000}") int sendTimeLimit,
+      @Value("${chat.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit) {
+    this.windowMillis = windowMillis;
+    this.maxBatchBytes = maxBatchBytes;
+    this.sendTimeLimit = sendTimeLimit;
+    this.sendBufferSizeLimit = sendBufferSizeLimit;
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(flushThreads, new CustomizableThreadFactory("ws-coalesce-"));
+    executor.setRemoveOnCancelPolicy(true);
+    this.flushScheduler = Executors.unconfigurableScheduledExecutorService(executor);
+  }
+
+  /**
+   * Wraps the given handler, or returns it unchanged when coalescing is disabled.
+   *
+   * @param handler the handler to decorate
+   * @return the decorated handler
+   */
+  @Override
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    if (windowMillis <= 0) {
+      return handler;
+    }
+    return new CoalescingHandler(handler);
+  }
+
+  /** Stops the flush scheduler when the application context is closed. */
+  @PreDestroy
+  public void shutdown() {
+    flushScheduler.shutdownNow();
+  }
+
+  /**
+   * Handler that hands a coalescing session to the delegate for every new connection.
+   *
+   * <p>The session is limited twice on purpose. The STOMP handler wraps the session it is given in
+   * its own {@link ConcurrentWebSocketSessionDecorator}, which cannot be switched off, but that
+   * layer only sees the calls that append to the coalescing buffer. The batched socket writes,
+   * including those of the flush timer, happen below the coalescing session, so they go through a
+   * second {@link ConcurrentWebSocketSessionDecorator} with the same limits. Only that one can
+   * detect a slow consumer and have it disconnected.
+   */
+  private class CoalescingHandler extends WebSocketHandlerDecorator {
+    private final Map<String, CoalescingWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    CoalescingHandler(WebSocketHandler delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+      WebSocketSession limited =
+          new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, sendBufferSizeLimit);
+      CoalescingWebSocketSessionDecorator decorated =
+          new CoalescingWebSocketSessionDecorator(limited, flushScheduler, windowMillis, maxBatchBytes);
+      sessions.put(session.getId(), decorated);
+      super.afterConnectionEstablished(decorated);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus)
+        throws Exception {
+      CoalescingWebSocketSessionDecorator decorated = sessions.remove(session.getId());
+      if (decorated != null) {
+        decorated.discard();
+      }
+      super.afterConnectionClosed(decorated != null ? decorated : session, closeStatus);
+    }
+  }
+}
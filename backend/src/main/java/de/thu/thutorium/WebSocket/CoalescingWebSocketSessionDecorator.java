@@ -0,0 +1,178 @@
+package de.thu.thutorium.WebSocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Session decorator that packs outbound text frames of a single WebSocket session into one socket
+ * write. Every STOMP frame is terminated by a NUL octet, so several frames can be concatenated into
+ * one WebSocket message and the client-side STOMP parser splits them again.
+ *
+ * <p>The first frame that arrives for an empty buffer schedules a flush after the configured
+ * window. Frames arriving within that window are appended to the buffer. The buffer is flushed
+ * early once it reaches the configured maximum size, and whenever a non-text message has to be
+ * sent, so that the ordering of outbound messages is preserved.
+ *
+ * <p>A flush that exceeds the send limits of the delegate on the flush timer closes the session
+ * with {@link CloseStatus#SESSION_NOT_RELIABLE}.
+ */
+@Slf4j
+public class CoalescingWebSocketSessionDecorator extends WebSocketSessionDecorator {
+  private final ScheduledExecutorService flushScheduler;
+  private final long windowMillis;
+  private final int maxBatchBytes;
+
+  /** Guards the buffer and every write to the delegate session. */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final StringBuilder buffer = new StringBuilder();
+  private int bufferedBytes;
+  private ScheduledFuture<?> pendingFlush;
+  private volatile boolean closed;
+
+  /**
+   * Creates a coalescing decorator for the given session.
+   *
+   * @param delegate the session to write to
+   * @param flushScheduler the scheduler used to flush the buffer once the window has elapsed
+   * @param windowMillis the time in milliseconds frames are collected before they are written
+   * @param maxBatchBytes the buffer size in bytes that triggers an immediate flush
+   */
+  public CoalescingWebSocketSessionDecorator(
+      WebSocketSession delegate,
+      ScheduledExecutorService flushScheduler,
+      long windowMillis,
+      int maxBatchBytes) {
+    super(delegate);
+    this.flushScheduler = flushScheduler;
+    this.windowMillis = windowMillis;
+    this.maxBatchBytes = maxBatchBytes;
+  }
+
+  /**
+   * Buffers text messages for the coalescing window. Any other message type flushes the buffer and
+   * is written directly.
+   *
+   * @param message the message to send
+   * @throws IOException if writing to the underlying session fails
+   */
+  @Override
+  public void sendMessage(WebSocketMessage<?> message) throws IOException {
+    if (closed) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (!(message instanceof TextMessage textMessage)) {
+        flushLocked();
+        getDelegate().sendMessage(message);
+        return;
+      }
+      buffer.append(textMessage.getPayload());
+      bufferedBytes += textMessage.getPayloadLength();
+      if (bufferedBytes >= maxBatchBytes) {
+        flushLocked();
+      } else if (pendingFlush == null) {
+        pendingFlush = flushScheduler.schedule(this::scheduledFlush, windowMillis, TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes all buffered frames as one text message.
+   *
+   * @throws IOException if writing to the underlying session fails
+   */
+  public void flush() throws IOException {
+    lock.lock();
+    try {
+      flushLocked();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes pending frames before the session is closed.
+   *
+   * @param status the close status
+   * @throws IOException if closing the underlying session fails
+   */
+  @Override
+  public void close(CloseStatus status) throws IOException {
+    try {
+      flush();
+    } catch (IOException ex) {
+      log.debug("Could not flush pending frames of session {} before closing", getId(), ex);
+    }
+    closed = true;
+    super.close(status);
+  }
+
+  /**
+   * Drops pending frames once the transport is gone. Called by the handler decorator when the
+   * connection has been closed by either side.
+   */
+  void discard() {
+    closed = true;
+    lock.lock();
+    try {
+      cancelPendingFlush();
+      buffer.setLength(0);
+      bufferedBytes = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void scheduledFlush() {
+    try {
+      flush();
+    } catch (SessionLimitExceededException ex) {
+      // nobody up the call stack closes the session on the timer thread, so the slow consumer is
+      // disconnected here instead of silently losing the frames that were just taken from the buffer
+      log.info("Closing session {} that cannot keep up with its outbound frames", getId());
+      try {
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+      } catch (IOException closeEx) {
+        log.debug("Failed to close session {}", getId(), closeEx);
+      }
+    } catch (IOException | IllegalStateException ex) {
+      log.debug("Failed to flush coalesced frames for session {}", getId(), ex);
+    }
+  }
+
+  private void flushLocked() throws IOException {
+    cancelPendingFlush();
+    if (buffer.isEmpty()) {
+      return;
+    }
+    byte[] payload = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    buffer.setLength(0);
+    bufferedBytes = 0;
+    if (!closed && getDelegate().isOpen()) {
+      getDelegate().sendMessage(new TextMessage(payload));
+    }
+  }
+
+  private void cancelPendingFlush() {
+    if (pendingFlush != null) {
+      pendingFlush.cancel(false);
+      pendingFlush = null;
+    }
+  }
+}
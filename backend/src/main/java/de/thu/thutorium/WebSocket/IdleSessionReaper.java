@@ -0,0 +1,130 @@
+package de.thu.thutorium.WebSocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Closes chat WebSocket sessions that have gone silent.
+ *
+ * <p>Clients send STOMP heartbeats at the interval negotiated on CONNECT, so a live session always
+ * shows inbound traffic. The reaper records the time of the last inbound message of every session
+ * and periodically closes sessions that have been idle for longer than the configured timeout. This
+ * removes connections whose client vanished without a close frame, together with their
+ * subscriptions in the message broker.
+ */
+@Slf4j
+@Component
+public class IdleSessionReaper implements WebSocketHandlerDecoratorFactory {
+  private final long idleTimeoutMillis;
+  private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the reaper.
+   *
+   * @param idleTimeoutMillis the time in milliseconds without inbound traffic after which a session
+   *     is closed; {@code 0} disables reaping
+   */
+  public IdleSessionReaper(@Value("${chat.websocket.idle-timeout-ms:60000}") long idleTimeoutMillis) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  /**
+   * Wraps the given handler so that inbound activity of every session is tracked.
+   *
+   * @param handler the handler to decorate
+   * @return the decorated handler
+   */
+  @Override
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    return new ActivityTrackingHandler(handler);
+  }
+
+  /**
+   * Returns the number of currently open chat sessions.
+   *
+   * @return the number of tracked sessions
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /** Closes every session whose last inbound message is older than the idle timeout. */
+  @Scheduled(fixedDelayString = "${chat.websocket.reaper-interval-ms:15000}")
+  public void reapIdleSessions() {
+    if (idleTimeoutMillis <= 0) {
+      return;
+    }
+    long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+    int reaped = 0;
+    for (TrackedSession tracked : sessions.values()) {
+      if (tracked.lastActivity < deadline) {
+        sessions.remove(tracked.session.getId());
+        closeQuietly(tracked.session);
+        reaped++;
+      }
+    }
+    if (reaped > 0) {
+      log.info("Closed {} idle chat sessions, {} remain open", reaped, sessions.size());
+    }
+  }
+
+  private void closeQuietly(WebSocketSession session) {
+    try {
+      session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    } catch (IOException | RuntimeException ex) {
+      log.debug("Failed to close idle session {}", session.getId(), ex);
+    }
+  }
+
+  /** Mutable holder for a session and the time of its last inbound message. */
+  private static final class TrackedSession {
+    private final WebSocketSession session;
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    private TrackedSession(WebSocketSession session) {
+      this.session = session;
+    }
+  }
+
+  /** Handler that records connects, inbound messages and disconnects. */
+  private class ActivityTrackingHandler extends WebSocketHandlerDecorator {
+    ActivityTrackingHandler(WebSocketHandler delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+      sessions.put(session.getId(), new TrackedSession(session));
+      super.afterConnectionEstablished(session);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message)
+        throws Exception {
+      TrackedSession tracked = sessions.get(session.getId());
+      if (tracked != null) {
+        tracked.lastActivity = System.currentTimeMillis();
+      }
+      super.handleMessage(session, message);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus)
+        throws Exception {
+      sessions.remove(session.getId());
+      super.afterConnectionClosed(session, closeStatus);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.security.JwtPrincipal;
+import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.security.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Authenticates WebSocket handshakes with the JWT issued at login.
+ *
+ * <p>Browsers cannot set an {@code Authorization} header on a WebSocket handshake, so the token is
+ * passed as the {@code token} query parameter. The handshake is rejected with 401 if the token is
+ * missing, expired or invalid; otherwise the user ID from the token is stored in the session
+ * attributes under {@link #USER_ID_ATTRIBUTE}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+  /** Session attribute holding the ID of the authenticated user. */
+  public static final String USER_ID_ATTRIBUTE = "userId";
+
+  private final JwtService jwtService;
+  private final TokenRevocationService tokenRevocationService;
+
+  /**
+   * Validates the token of the handshake request.
+   *
+   * @param request the handshake request
+   * @param response the handshake response
+   * @param wsHandler the target handler
+   * @param attributes the attributes of the WebSocket session
+   * @return {@code true} if the token is valid and the handshake may proceed
+   */
+  @Override
+  public boolean beforeHandshake(
+      ServerHttpRequest request,
+      ServerHttpResponse response,
+      WebSocketHandler wsHandler,
+      Map<String, Object> attributes) {
+    String token =
+        UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+    if (token == null || token.isBlank()) {
+      response.setStatusCode(HttpStatus.UNAUTHORIZED);
+      return false;
+    }
+    try {
+      JwtPrincipal principal = jwtService.authenticate(token);
+      if (tokenRevocationService.isRevoked(principal)) {
+        log.debug("Rejected WebSocket handshake with revoked token of user {}", principal.userId());
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return false;
+      }
+      attributes.put(USER_ID_ATTRIBUTE, principal.userId());
+      return true;
+    } catch (JwtException | IllegalArgumentException ex) {
+      log.debug("Rejected WebSocket handshake with invalid token: {}", ex.getMessage());
+      response.setStatusCode(HttpStatus.UNAUTHORIZED);
+      return false;
+    }
+  }
+
+  /**
+   * Does nothing after the handshake.
+   *
+   * @param request the handshake request
+   * @param response the handshake response
+   * @param wsHandler the target handler
+   * @param exception an exception raised during the handshake, or {@code null}
+   */
+  @Override
+  public void afterHandshake(
+      ServerHttpRequest request,
+      ServerHttpResponse response,
+      WebSocketHandler wsHandler,
+      Exception exception) {
+    // nothing to do
+  }
+}
@@ -0,0 +1,33 @@
+package de.thu.thutorium.WebSocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket configuration for WebRTC call signaling. Signaling uses a plain WebSocket endpoint next
+ * to the STOMP endpoint configured in {@link WebSocketConfig}, authenticated with the JWT of the
+ * user during the handshake.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class SignalingConfig implements WebSocketConfigurer {
+  private final SignalingHandler signalingHandler;
+  private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
+  /**
+   * Registers the "/signaling" endpoint.
+   *
+   * @param registry the registry to configure WebSocket handlers
+   */
+  @Override
+  public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+    registry
+        .addHandler(signalingHandler, "/signaling")
+        .addInterceptors(jwtHandshakeInterceptor)
+        .setAllowedOrigins("http://localhost:3000");
+  }
+}
@@ -0,0 +1,252 @@
+package de.thu.thutorium.WebSocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Relays WebRTC signaling messages between the two users of a call.
+ *
+ * <p>Connected users are kept in a map from user ID to session, and running calls in a map from
+ * user ID to call, so routing a message is a constant-time lookup. A call can only be started for
+ * a meeting of type {@link MeetingType#ONLINE} or {@link MeetingType#HYBRID} that both users take
+ * part in, either as tutor or as participant. If the caller does not name a meeting, the meeting
+ * running now, or starting within the configured lead time, is used.
+ *
+ * <p>Messages are JSON objects with a {@code type} field:
+ *
+ * <ul>
+ *   <li>{@code callUser} {toUserId, signalData, meetingId?} is delivered as {@code callUser}
+ *       {signal, from, meetingId}
+ *   <li>{@code answerCall} {toUserId, signal} is delivered as {@code callAccepted} {signal}
+ *   <li>{@code callEnded} and {@code callRejected} {toUserId} are delivered as {@code callEnded}
+ * </ul>
+ *
+ * <p>Failures are reported to the sender as {@code callError} {message}. When a connection is
+ * closed, only the peer of a running call is notified.
+ */
+@Slf4j
+@Component
+public class SignalingHandler extends TextWebSocketHandler {
+  private static final Set<MeetingType> CALL_MEETING_TYPES =
+      EnumSet.of(MeetingType.ONLINE, MeetingType.HYBRID);
+
+  private final MeetingRepository meetingRepository;
+  private final ObjectMapper objectMapper;
+  private final long joinLeadMinutes;
+  private final int maxTextMessageSize;
+  private final Map<Long, WebSocketSession> sessions = new ConcurrentHashMap<>();
+  private final Map<Long, Call> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the signaling handler.
+   *
+   * @param meetingRepository the repository used to check the meeting of a call
+   * @param objectMapper the mapper for the JSON messages
+   * @param joinLeadMinutes how many minutes before its start a meeting can be called
+   * @param maxTextMessageSize the maximum size in bytes of a signaling message sent by a client
+   */
+  public SignalingHandler(
+      MeetingRepository meetingRepository,
+      ObjectMapper objectMapper,
+      @Value("${webrtc.call.join-lead-minutes:15}") long joinLeadMinutes,
+      @Value("${webrtc.signaling.max-text-message-size:65536}") int maxTextMessageSize) {
+    this.meetingRepository = meetingRepository;
+    this.objectMapper = objectMapper;
+    this.joinLeadMinutes = joinLeadMinutes;
+    this.maxTextMessageSize = maxTextMessageSize;
+  }
+
+  /** A call between two users for a meeting. */
+  private record Call(Long callerId, Long calleeId, Long meetingId) {
+    Long peerOf(Long userId) {
+      return callerId.equals(userId) ? calleeId : callerId;
+    }
+
+    boolean isBetween(Long userId, Long otherUserId) {
+      return peerOf(userId).equals(otherUserId)
+          && (callerId.equals(userId) || calleeId.equals(userId));
+    }
+  }
+
+  @Override
+  public void afterConnectionEstablished(WebSocketSession session) {
+    Long userId = userIdOf(session);
+    // the container closes the session with 1009 when a client sends a larger message
+    session.setTextMessageSizeLimit(maxTextMessageSize);
+    WebSocketSession previous =
+        sessions.put(userId, new ConcurrentWebSocketSessionDecorator(session, 5000, 64 * 1024));
+    if (previous != null) {
+      closeQuietly(previous);
+    }
+  }
+
+  @Override
+  protected void handleTextMessage(WebSocketSession session, TextMessage message)
+      throws IOException {
+    Long userId = userIdOf(session);
+    JsonNode payload = objectMapper.readTree(message.getPayload());
+    String type = payload.path("type").asText();
+    Long toUserId = payload.hasNonNull("toUserId") ? payload.get("toUserId").asLong() : null;
+    if (toUserId == null) {
+      sendError(userId, "Missing toUserId");
+      return;
+    }
+    switch (type) {
+      case "callUser" -> callUser(userId, toUserId, payload);
+      case "answerCall" -> answerCall(userId, toUserId, payload.get("signal"));
+      case "callEnded", "callRejected" -> endCall(userId, toUserId);
+      default -> sendError(userId, "Unknown message type: " + type);
+    }
+  }
+
+  @Override
+  public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+    Long userId = userIdOf(session);
+    WebSocketSession current = sessions.get(userId);
+    if (current == null || !current.getId().equals(session.getId())) {
+      // the user has connected again in the meantime, the running call belongs to the new session
+      return;
+    }
+    sessions.remove(userId, current);
+    Call call = calls.remove(userId);
+    if (call != null) {
+      Long peerId = call.peerOf(userId);
+      calls.remove(peerId, call);
+      send(peerId, message("callEnded"));
+    }
+  }
+
+  private void callUser(Long callerId, Long calleeId, JsonNode payload) {
+    if (callerId.equals(calleeId)) {
+      sendError(callerId, "Cannot call yourself");
+      return;
+    }
+    if (!sessions.containsKey(calleeId)) {
+      sendError(callerId, "User is not online");
+      return;
+    }
+    Long meetingId =
+        payload.hasNonNull("meetingId")
+            ? resolveRequestedMeeting(payload.get("meetingId").asLong(), callerId, calleeId)
+            : findCurrentMeeting(callerId, calleeId);
+    if (meetingId == null) {
+      sendError(callerId, "No online meeting found for this call");
+      return;
+    }
+    Call call = new Call(callerId, calleeId, meetingId);
+    // the check and the registration are one atomic step, so of two users calling the same user at
+    // the same time only one gets through
+    Call calleeCall =
+        calls.compute(
+            calleeId,
+            (id, current) ->
+                current == null || current.isBetween(calleeId, callerId) ? call : current);
+    if (calleeCall != call) {
+      sendError(callerId, "User is busy");
+      return;
+    }
+    Call previous = calls.put(callerId, call);
+    if (previous != null && !previous.isBetween(callerId, calleeId)) {
+      Long previousPeerId = previous.peerOf(callerId);
+      calls.remove(previousPeerId, previous);
+      send(previousPeerId, message("callEnded"));
+    }
+
+    ObjectNode forward = message("callUser");
+    forward.set("signal", payload.get("signalData"));
+    forward.put("from", callerId);
+    forward.put("meetingId", meetingId);
+    send(calleeId, forward);
+  }
+
+  private void answerCall(Long calleeId, Long callerId, JsonNode signal) {
+    Call call = calls.get(calleeId);
+    if (call == null || !call.isBetween(calleeId, callerId)) {
+      sendError(calleeId, "No call to answer");
+      return;
+    }
+    ObjectNode forward = message("callAccepted");
+    forward.set("signal", signal);
+    send(callerId, forward);
+  }
+
+  private void endCall(Long userId, Long peerId) {
+    Call call = calls.get(userId);
+    if (call == null || !call.isBetween(userId, peerId)) {
+      return;
+    }
+    calls.remove(userId, call);
+    calls.remove(peerId, call);
+    send(peerId, message("callEnded"));
+  }
+
+  private Long resolveRequestedMeeting(Long meetingId, Long callerId, Long calleeId) {
+    return meetingRepository.isSharedMeetingOfType(meetingId, callerId, calleeId, CALL_MEETING_TYPES)
+        ? meetingId
+        : null;
+  }
+
+  private Long findCurrentMeeting(Long callerId, Long calleeId) {
+    LocalDateTime now = LocalDateTime.now();
+    List<MeetingDBO> meetings =
+        meetingRepository.findSharedMeetingsOfTypeBetween(
+            callerId, calleeId, CALL_MEETING_TYPES, now, now.plusMinutes(joinLeadMinutes));
+    return meetings.isEmpty() ? null : meetings.get(0).getMeetingId();
+  }
+
+  private ObjectNode message(String type) {
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("type", type);
+    return node;
+  }
+
+  private void sendError(Long userId, String errorMessage) {
+    ObjectNode error = message("callError");
+    error.put("message", errorMessage);
+    send(userId, error);
+  }
+
+  private void send(Long userId, JsonNode payload) {
+    WebSocketSession session = sessions.get(userId);
+    if (session == null || !session.isOpen()) {
+      return;
+    }
+    try {
+      session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+    } catch (IOException | IllegalStateException ex) {
+      log.debug("Failed to send signaling message to user {}", userId, ex);
+    }
+  }
+
+  private static Long userIdOf(WebSocketSession session) {
+    return (Long) session.getAttributes().get(JwtHandshakeInterceptor.USER_ID_ATTRIBUTE);
+  }
+
+  private static void closeQuietly(WebSocketSession session) {
+    try {
+      session.close(CloseStatus.POLICY_VIOLATION.withReason("Connected from another session"));
+    } catch (IOException ex) {
+      log.debug("Failed to close replaced signaling session {}", session.getId(), ex);
+    }
+  }
+}
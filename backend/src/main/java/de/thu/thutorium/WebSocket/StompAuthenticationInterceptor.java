@@ -0,0 +1,158 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.security.JwtPrincipal;
+import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.security.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP sessions and authorizes their subscriptions.
+ *
+ * <p>The JWT issued at login is sent once, in the {@code Authorization} header of the CONNECT
+ * frame. It is verified and checked against the revocation list, and the resulting {@link
+ * JwtPrincipal} is pinned to the session as its user. Every later frame of the session carries this
+ * principal, so message handlers take the sender from it instead of trusting the payload. A CONNECT
+ * without a valid token is answered with an ERROR frame and the session is closed.
+ *
+ * <p>Subscriptions are denied unless they are to exactly {@code /topic/chat/{chatId}}, accepted
+ * only from participants of the chat as checked against the {@link ChatMembershipCache}, or to
+ * exactly {@code /topic/reminders/{userId}}, accepted only from the user themselves. Patterns
+ * such as {@code /topic/chat/*} are never accepted. Clients may only send to the {@code
+ * /app} destinations of the message handlers, never to a broker topic directly, and only
+ * participants of a chat may send to its {@code /app/chat/{chatId}} and {@code
+ * /app/gateway/chat/{chatId}} destinations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+  /** Prefix of the destinations the messages of a chat are broadcast to. */
+  public static final String CHAT_TOPIC_PREFIX = "/topic/chat/";
+
+  /** Prefix of the destinations the meeting reminders of a user are sent to. */
+  public static final String REMINDER_TOPIC_PREFIX = "/topic/reminders/";
+
+  /** Prefix of the destinations handled by the message handlers of the application. */
+  public static final String APP_DESTINATION_PREFIX = "/app/";
+
+  private static final List<String> CHAT_SEND_PREFIXES = List.of("/app/chat/", "/app/gateway/chat/");
+
+  private static final Pattern ID = Pattern.compile("[0-9]{1,18}");
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final JwtService jwtService;
+  private final TokenRevocationService tokenRevocationService;
+  private final ChatMembershipCache chatMembershipCache;
+
+  /**
+   * Authenticates CONNECT frames and authorizes SUBSCRIBE and SEND frames.
+   *
+   * @param message the inbound message
+   * @param channel the client inbound channel
+   * @return the message, with the principal set on CONNECT
+   * @throws BadCredentialsException if a CONNECT frame carries no valid token
+   * @throws AccessDeniedException if the session is not authenticated or may not use the
+   *     destination
+   */
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    StompHeaderAccessor accessor =
+        MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+    if (accessor == null || accessor.getCommand() == null) {
+      return message;
+    }
+    switch (accessor.getCommand()) {
+      case CONNECT -> accessor.setUser(authenticate(accessor));
+      case SUBSCRIBE -> authorizeSubscription(principalOf(accessor), accessor.getDestination());
+      case SEND -> authorizeSend(principalOf(accessor), accessor.getDestination());
+      default -> {
+        // heartbeats, UNSUBSCRIBE and DISCONNECT need no checks
+      }
+    }
+    return message;
+  }
+
+  private JwtPrincipal authenticate(StompHeaderAccessor accessor) {
+    String header = accessor.getFirstNativeHeader("Authorization");
+    if (header == null || !header.startsWith(BEARER_PREFIX)) {
+      throw new BadCredentialsException("Missing token");
+    }
+    try {
+      JwtPrincipal principal = jwtService.authenticate(header.substring(BEARER_PREFIX.length()));
+      if (tokenRevocationService.isRevoked(principal)) {
+        throw new BadCredentialsException("Token has been revoked");
+      }
+      return principal;
+    } catch (JwtException | IllegalArgumentException ex) {
+      log.debug("Rejected STOMP connection with invalid token: {}", ex.getMessage());
+      throw new BadCredentialsException("Invalid token");
+    }
+  }
+
+  private void authorizeSubscription(JwtPrincipal principal, String destination) {
+    if (destination == null) {
+      throw new AccessDeniedException("Subscriptions need a destination");
+    }
+    if (destination.startsWith(CHAT_TOPIC_PREFIX)) {
+      Long chatId = parseId(destination.substring(CHAT_TOPIC_PREFIX.length()));
+      if (!chatMembershipCache.isParticipant(chatId, principal.userId())) {
+        throw new AccessDeniedException("Not a participant of the chat");
+      }
+    } else if (destination.startsWith(REMINDER_TOPIC_PREFIX)) {
+      Long userId = parseId(destination.substring(REMINDER_TOPIC_PREFIX.length()));
+      if (!principal.userId().equals(userId)) {
+        throw new AccessDeniedException("Reminders of another user");
+      }
+    } else {
+      throw new AccessDeniedException("Subscriptions to this destination are not allowed");
+    }
+  }
+
+  private void authorizeSend(JwtPrincipal principal, String destination) {
+    if (destination == null || !destination.startsWith(APP_DESTINATION_PREFIX)) {
+      throw new AccessDeniedException("Messages can only be sent to application destinations");
+    }
+    for (String prefix : CHAT_SEND_PREFIXES) {
+      if (destination.startsWith(prefix)) {
+        String path = destination.substring(prefix.length());
+        int end = path.indexOf('/');
+        Long chatId = parseId(end < 0 ? path : path.substring(0, end));
+        if (!chatMembershipCache.isParticipant(chatId, principal.userId())) {
+          throw new AccessDeniedException("Not a participant of the chat");
+        }
+        return;
+      }
+    }
+  }
+
+  private static JwtPrincipal principalOf(StompHeaderAccessor accessor) {
+    Principal user = accessor.getUser();
+    if (user instanceof JwtPrincipal principal) {
+      return principal;
+    }
+    throw new AccessDeniedException("Session is not authenticated");
+  }
+
+  /** Parses the id ending a destination, rejecting anything else, such as patterns or paths. */
+  private static Long parseId(String value) {
+    if (!ID.matcher(value).matches()) {
+      throw new AccessDeniedException("Invalid destination");
+    }
+    return Long.valueOf(value);
+  }
+}
@@ -1,9 +1,17 @@
 package de.thu.thutorium.WebSocket;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration class for setting up WebSocket communication in the application. This
@@ -12,19 +20,65 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig
     implements org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer {
+  private final CoalescingHandlerDecoratorFactory coalescingHandlerDecoratorFactory;
+  private final IdleSessionReaper idleSessionReaper;
+  private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  @Value("${chat.websocket.heartbeat-outgoing-ms:10000}")
+  private long heartbeatOutgoing;
+
+  @Value("${chat.websocket.heartbeat-incoming-ms:10000}")
+  private long heartbeatIncoming;
+
+  @Value("${chat.websocket.sockjs-heartbeat-ms:25000}")
+  private long sockJsHeartbeat;
+
+  @Value("${chat.websocket.sockjs-disconnect-delay-ms:5000}")
+  private long sockJsDisconnectDelay;
+
+  @Value("${chat.websocket.send-time-limit-ms:10000}")
+  private int sendTimeLimit;
+
+  @Value("${chat.websocket.send-buffer-size-limit:524288}")
+  private int sendBufferSizeLimit;
+
+  @Value("${chat.websocket.message-size-limit:65536}")
+  private int messageSizeLimit;
+
+  @Value("${chat.websocket.time-to-first-message-ms:30000}")
+  private int timeToFirstMessage;
+
+  /**
+   * Sets the scheduler of the message broker, which is used to send and check STOMP heartbeats.
+   * The scheduler is created by the broker configuration itself and is therefore injected lazily.
+   *
+   * @param messageBrokerTaskScheduler the task scheduler of the message broker
+   */
+  @Autowired
+  public void setMessageBrokerTaskScheduler(
+      @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+    this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+  }
+
   /**
    * Configures the message broker for handling WebSocket communication. This method enables a
    * simple message broker for broadcasting messages to subscribed clients and sets the prefix for
-   * application-specific routes.
+   * application-specific routes. The broker sends heartbeats to every client and drops sessions that
+   * stop sending their own heartbeats.
    *
    * @param registry the message broker registry for configuring the message broker
    */
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
     // Enable a simple broker for handling message delivery to "/topic" destinations
-    registry.enableSimpleBroker("/topic"); // For broadcasting messages
+    registry
+        .enableSimpleBroker("/topic") // For broadcasting messages
+        .setHeartbeatValue(new long[] {heartbeatOutgoing, heartbeatIncoming})
+        .setTaskScheduler(messageBrokerTaskScheduler);
     // Set the prefix for application-level routes (client-to-server messages)
     registry.setApplicationDestinationPrefixes("/app"); // Prefix for client-to-server communication
   }
@@ -33,7 +87,7 @@ public class WebSocketConfig
    * Registers the STOMP endpoint for WebSocket communication. This method configures the endpoint
    * that clients will use to connect to the server for real-time communication over WebSockets. It
    * also sets allowed origins for CORS and adds SockJS fallback options for browsers that do not
-   * support WebSockets.
+   * support WebSockets. SockJS heartbeats keep proxies from closing idle connections.
    *
    * @param registry the registry to configure WebSocket endpoint
    */
@@ -43,6 +97,39 @@ public class WebSocketConfig
     registry
         .addEndpoint("/chat")
         .setAllowedOrigins("http://localhost:3000")
-        .withSockJS(); // WebSocket endpoint with fallback
+        .withSockJS() // WebSocket endpoint with fallback
+        .setHeartbeatTime(sockJsHeartbeat)
+        .setDisconnectDelay(sockJsDisconnectDelay);
+  }
+
+  /**
+   * Configures the WebSocket transport. Outbound STOMP frames of a session are coalesced into
+   * batched socket writes by the {@link CoalescingHandlerDecoratorFactory}, and idle sessions are
+   * closed by the {@link IdleSessionReaper}. Sessions that do not send a CONNECT frame in time,
+   * exceed the inbound message size, or cannot keep up with their outbound traffic are closed.
+   *
+   * @param registration the transport registration to customize
+   */
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration
+        .setSendTimeLimit(sendTimeLimit)
+        .setSendBufferSizeLimit(sendBufferSizeLimit)
+        .setMessageSizeLimit(messageSizeLimit)
+        .setTimeToFirstMessage(timeToFirstMessage)
+        .addDecoratorFactory(idleSessionReaper)
+        .addDecoratorFactory(coalescingHandlerDecoratorFactory);
+  }
+
+  /**
+   * Registers the {@link StompAuthenticationInterceptor} on the inbound channel, so every session
+   * is authenticated with its CONNECT frame and its subscriptions are authorized before they reach
+   * the broker.
+   *
+   * @param registration the registration of the client inbound channel
+   */
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration.interceptors(stompAuthenticationInterceptor);
   }
 }
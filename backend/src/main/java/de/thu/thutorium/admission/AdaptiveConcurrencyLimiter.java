@@ -0,0 +1,158 @@
+package de.thu.thutorium.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests served at the same time, adapting the limit to the observed
+ * latency (additive increase, multiplicative decrease).
+ *
+ * <p>While requests complete within the latency threshold and the limit is actually used, the
+ * limit grows by about one per window of requests. Once a request exceeds the threshold, which
+ * means requests are queueing for threads or database connections, the limit is reduced by the
+ * backoff ratio, at most once per threshold so that the requests of a single slow period do not
+ * collapse it. Requests of a lower {@link RequestPriority} may only use a share of the limit, so
+ * they are shed first while critical requests still get through.
+ */
+public class AdaptiveConcurrencyLimiter {
+  private final double minLimit;
+  private final double maxLimit;
+  private final double backoffRatio;
+  private final Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+  private final long latencyThresholdNanos;
+  private final LongSupplier nanoClock;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicReference<State> state;
+
+  /**
+   * The adaptive part of the limiter.
+   *
+   * @param limit the current limit
+   * @param decreasedAtNanos the time the limit was last decreased
+   */
+  private record State(double limit, long decreasedAtNanos) { }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param initialLimit the limit to start with
+   * @param minLimit the lowest limit
+   * @param maxLimit the highest limit
+   * @param latencyThreshold the latency above which the limit is decreased
+   * @param backoffRatio the factor the limit is multiplied with when it is decreased
+   * @param shares the share of the limit available to each priority; priorities without a share may
+   *     use the whole limit
+   */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      Duration latencyThreshold,
+      double backoffRatio,
+      Map<RequestPriority, Double> shares) {
+    this(
+        initialLimit,
+        minLimit,
+        maxLimit,
+        latencyThreshold,
+        backoffRatio,
+        shares,
+        System::nanoTime);
+  }
+
+  AdaptiveConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      Duration latencyThreshold,
+      double backoffRatio,
+      Map<RequestPriority, Double> shares,
+      LongSupplier nanoClock) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("The limits must satisfy 1 <= min <= max.");
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("The backoff ratio must be between 0 and 1.");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.shares.putAll(shares);
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.nanoClock = nanoClock;
+    this.state =
+        new AtomicReference<>(
+            new State(
+                Math.min(maxLimit, Math.max(minLimit, initialLimit)),
+                nanoClock.getAsLong() - latencyThresholdNanos));
+  }
+
+  /**
+   * Admits a request if the share of the limit available to its priority is not used up. An
+   * admitted request must be {@link #release released} once it is complete.
+   *
+   * @param priority the priority of the request
+   * @return {@code true} if the request was admitted
+   */
+  public boolean tryAcquire(RequestPriority priority) {
+    double share = shares.getOrDefault(priority, 1.0);
+    int allowed = (int) Math.max(1, state.get().limit() * share);
+    while (true) {
+      int current = inFlight.get();
+      if (current >= allowed) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases an admitted request and adapts the limit to its latency.
+   *
+   * @param latencyNanos the time in nanoseconds the request took
+   */
+  public void release(long latencyNanos) {
+    int current = inFlight.getAndDecrement();
+    long now = nanoClock.getAsLong();
+    state.updateAndGet(
+        previous -> {
+          if (latencyNanos > latencyThresholdNanos) {
+            if (now - previous.decreasedAtNanos() < latencyThresholdNanos) {
+              return previous;
+            }
+            return new State(Math.max(minLimit, previous.limit() * backoffRatio), now);
+          }
+          if (current * 2 < previous.limit()) {
+            // the limit is not what holds the requests back, so there is nothing to learn
+            return previous;
+          }
+          return new State(
+              Math.min(maxLimit, previous.limit() + 1 / previous.limit()),
+              previous.decreasedAtNanos());
+        });
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the number of requests that may be served at the same time
+   */
+  public int getLimit() {
+    return (int) state.get().limit();
+  }
+
+  /**
+   * Returns the number of requests being served.
+   *
+   * @return the number of admitted requests that have not been released
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
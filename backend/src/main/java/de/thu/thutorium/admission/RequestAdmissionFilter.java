@@ -0,0 +1,212 @@
+package de.thu.thutorium.admission;
+
+import de.thu.thutorium.security.JwtPrincipal;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides for every REST request whether it is served, before it can take a thread or a database
+ * connection away from other users.
+ *
+ * <p>A request has to pass a hierarchy of token buckets: the bucket of its client address, the
+ * bucket of its user if it carries a valid token, and the bucket of the client within its endpoint
+ * group ({@code /auth/**}, {@code /search/**} and {@code /tutor/**}), which have their own rates.
+ * A client exceeding one of them gets 429 with a {@code Retry-After} header. Requests within their
+ * rate then have to pass the {@link AdaptiveConcurrencyLimiter}, which is answered with 503 once
+ * the application slows down, shedding search and statistics before other requests and those
+ * before authentication and chat.
+ *
+ * <p>The filter runs after the {@code JwtAuthenticationFilter}, so the user is taken from the
+ * verified token. The WebSocket endpoints are not filtered, since their connections stay open for
+ * the whole session.
+ */
+@Slf4j
+@Component
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+  private final boolean enabled;
+  private final TokenBucketLimiter ipLimiter;
+  private final TokenBucketLimiter userLimiter;
+  private final Map<String, TokenBucketLimiter> groupLimiters = new LinkedHashMap<>();
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+  /**
+   * Creates the filter and its limiters.
+   *
+   * @param settings the rates, bursts and concurrency limits of the admission
+   */
+  public RequestAdmissionFilter(RequestAdmissionSettings settings) {
+    int buckets = settings.getBuckets();
+    this.enabled = settings.isEnabled();
+    this.ipLimiter = new TokenBucketLimiter(settings.getIpRate(), settings.getIpBurst(), buckets);
+    this.userLimiter =
+        new TokenBucketLimiter(settings.getUserRate(), settings.getUserBurst(), buckets);
+    groupLimiters.put(
+        "/auth/", new TokenBucketLimiter(settings.getAuthRate(), settings.getAuthBurst(), buckets));
+    groupLimiters.put(
+        "/search/",
+        new TokenBucketLimiter(settings.getSearchRate(), settings.getSearchBurst(), buckets));
+    groupLimiters.put(
+        "/tutor/",
+        new TokenBucketLimiter(settings.getTutorRate(), settings.getTutorBurst(), buckets));
+    this.concurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            settings.getInitialLimit(),
+            settings.getMinLimit(),
+            settings.getMaxLimit(),
+            Duration.ofMillis(settings.getLatencyThresholdMillis()),
+            settings.getBackoffRatio(),
+            Map.of(
+                RequestPriority.NORMAL, settings.getNormalShare(),
+                RequestPriority.LOW, settings.getLowShare()));
+  }
+
+  /**
+   * Skips all requests when admission is disabled, and the WebSocket endpoints.
+   *
+   * @param request the HTTP request
+   * @return {@code true} if the request is not limited
+   */
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    String path = request.getServletPath();
+    return !enabled || path.startsWith("/chat/") || path.equals("/signaling");
+  }
+
+  /**
+   * Admits or rejects a request and measures the latency of admitted requests.
+   *
+   * @param request the HTTP request
+   * @param response the HTTP response
+   * @param filterChain the filter chain
+   * @throws ServletException if a servlet error occurs
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    String path = request.getServletPath();
+    String clientAddress = request.getRemoteAddr();
+    Long userId = currentUserId();
+
+    long waitNanos = ipLimiter.tryAcquire(clientAddress);
+    if (waitNanos == 0 && userId != null) {
+      waitNanos = userLimiter.tryAcquire(userId);
+    }
+    if (waitNanos == 0) {
+      TokenBucketLimiter groupLimiter = groupLimiter(path);
+      if (groupLimiter != null) {
+        waitNanos = groupLimiter.tryAcquire(userId != null ? userId : clientAddress);
+      }
+    }
+    if (waitNanos > 0) {
+      log.debug("Rate limited {} {} from {}", request.getMethod(), path, clientAddress);
+      reject(
+          response,
+          HttpStatus.TOO_MANY_REQUESTS.value(),
+          "Too many requests",
+          TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+      return;
+    }
+
+    RequestPriority priority = RequestPriority.of(path);
+    if (!concurrencyLimiter.tryAcquire(priority)) {
+      log.debug(
+          "Shed {} request {} {} at a concurrency limit of {}",
+          priority,
+          request.getMethod(),
+          path,
+          concurrencyLimiter.getLimit());
+      reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is overloaded", 1);
+      return;
+    }
+    long start = System.nanoTime();
+    boolean released = false;
+    try {
+      filterChain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        // asynchronous requests, e.g. of the chat gateway, are complete once their result is sent
+        request.getAsyncContext().addListener(new ReleasingListener(start));
+        released = true;
+      }
+    } finally {
+      if (!released) {
+        concurrencyLimiter.release(System.nanoTime() - start);
+      }
+    }
+  }
+
+  private TokenBucketLimiter groupLimiter(String path) {
+    for (Map.Entry<String, TokenBucketLimiter> group : groupLimiters.entrySet()) {
+      if (path.startsWith(group.getKey())) {
+        return group.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+      return principal.userId();
+    }
+    return null;
+  }
+
+  private static void reject(
+      HttpServletResponse response, int status, String message, long retryAfterSeconds)
+      throws IOException {
+    response.setStatus(status);
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.getWriter().write(message);
+  }
+
+  /** Releases the concurrency limit once an asynchronous request has completed. */
+  private class ReleasingListener implements AsyncListener {
+    private final long start;
+
+    ReleasingListener(long start) {
+      this.start = start;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      concurrencyLimiter.release(System.nanoTime() - start);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      // followed by onComplete
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      // followed by onComplete
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // the request stays admitted across dispatches
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package de.thu.thutorium.admission;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The settings of the {@link RequestAdmissionFilter}. Rates are given in requests per second and
+ * bursts in requests.
+ */
+@Getter
+@Component
+public class RequestAdmissionSettings {
+  /** Whether requests are limited at all. */
+  @Value("${security.admission.enabled:true}")
+  private boolean enabled;
+
+  /** The number of keys whose buckets each token bucket limiter keeps at most. */
+  @Value("${security.admission.buckets:65536}")
+  private int buckets;
+
+  /** The rate of a client address. */
+  @Value("${security.admission.ip.rate-per-second:50}")
+  private double ipRate;
+
+  /** The burst of a client address. */
+  @Value("${security.admission.ip.burst:100}")
+  private int ipBurst;
+
+  /** The rate of a user. */
+  @Value("${security.admission.user.rate-per-second:20}")
+  private double userRate;
+
+  /** The burst of a user. */
+  @Value("${security.admission.user.burst:40}")
+  private int userBurst;
+
+  /** The rate of a client on {@code /auth/**}. */
+  @Value("${security.admission.auth.rate-per-second:5}")
+  private double authRate;
+
+  /** The burst of a client on {@code /auth/**}. */
+  @Value("${security.admission.auth.burst:50}")
+  private int authBurst;
+
+  /** The rate of a client on {@code /search/**}. */
+  @Value("${security.admission.search.rate-per-second:5}")
+  private double searchRate;
+
+  /** The burst of a client on {@code /search/**}. */
+  @Value("${security.admission.search.burst:20}")
+  private int searchBurst;
+
+  /** The rate of a client on {@code /tutor/**}. */
+  @Value("${security.admission.tutor.rate-per-second:10}")
+  private double tutorRate;
+
+  /** The burst of a client on {@code /tutor/**}. */
+  @Value("${security.admission.tutor.burst:30}")
+  private int tutorBurst;
+
+  /** The concurrency limit to start with. */
+  @Value("${security.admission.concurrency.initial-limit:50}")
+  private int initialLimit;
+
+  /** The lowest concurrency limit. */
+  @Value("${security.admission.concurrency.min-limit:10}")
+  private int minLimit;
+
+  /** The highest concurrency limit. */
+  @Value("${security.admission.concurrency.max-limit:200}")
+  private int maxLimit;
+
+  /** The latency in milliseconds above which the concurrency limit is decreased. */
+  @Value("${security.admission.concurrency.latency-threshold-ms:500}")
+  private long latencyThresholdMillis;
+
+  /** The factor the concurrency limit is multiplied with when it is decreased. */
+  @Value("${security.admission.concurrency.backoff-ratio:0.9}")
+  private double backoffRatio;
+
+  /** The share of the concurrency limit available to requests of normal priority. */
+  @Value("${security.admission.concurrency.normal-share:0.8}")
+  private double normalShare;
+
+  /** The share of the concurrency limit available to requests of low priority. */
+  @Value("${security.admission.concurrency.low-share:0.5}")
+  private double lowShare;
+}
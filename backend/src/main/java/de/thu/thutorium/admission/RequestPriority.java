@@ -0,0 +1,52 @@
+package de.thu.thutorium.admission;
+
+import java.util.List;
+
+/**
+ * Priority of a REST request when the application is overloaded. Requests of a lower priority are
+ * shed first by the {@link AdaptiveConcurrencyLimiter}.
+ */
+public enum RequestPriority {
+  /** Authentication and chat, which users notice immediately when they fail. */
+  CRITICAL,
+
+  /** All requests that are neither critical nor low. */
+  NORMAL,
+
+  /** Search, statistics and calendar feeds, which can be retried later without harm. */
+  LOW;
+
+  private static final List<String> CRITICAL_PREFIXES =
+      List.of(
+          "/auth/",
+          "/message/",
+          "/chat-",
+          "/get-chat-summaries",
+          "/get-messages-chat",
+          "/user/get-chat-summaries",
+          "/user/get-messages-chat",
+          "/gateway/",
+          "/attachments");
+
+  private static final List<String> LOW_PREFIXES = List.of("/search/", "/calendar/");
+
+  /**
+   * Determines the priority of a request.
+   *
+   * @param path the servlet path of the request
+   * @return the priority
+   */
+  public static RequestPriority of(String path) {
+    for (String prefix : CRITICAL_PREFIXES) {
+      if (path.startsWith(prefix)) {
+        return CRITICAL;
+      }
+    }
+    for (String prefix : LOW_PREFIXES) {
+      if (path.startsWith(prefix)) {
+        return LOW;
+      }
+    }
+    return NORMAL;
+  }
+}
@@ -0,0 +1,106 @@
+package de.thu.thutorium.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter with one token bucket per key, e.g. per client address or per user.
+ *
+ * <p>The buckets are kept in a map by their key, so every key is limited on its own. Each entry
+ * holds an immutable bucket that is replaced with a compare-and-set, so acquiring a token never
+ * blocks. A bucket is refilled lazily when it is used.
+ *
+ * <p>The number of keys is bounded, so the memory of the limiter does not grow with the number of
+ * clients. Once the limit is reached, the buckets that have refilled completely are evicted, which
+ * loses nothing since a new bucket is full as well. To keep a flood of new keys from sweeping the
+ * map on every request, this happens at most once per time it takes to refill an empty bucket. A
+ * new key that finds no room until then is limited, erring on the strict side.
+ */
+public class TokenBucketLimiter {
+  private final double tokensPerNano;
+  private final double capacity;
+  private final long refillNanos;
+  private final int maxKeys;
+  private final ConcurrentMap<Object, Bucket> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong nextEvictionNanos;
+  private final LongSupplier nanoClock;
+
+  /**
+   * The state of a bucket.
+   *
+   * @param tokens the tokens left at {@code updatedNanos}
+   * @param updatedNanos the time the bucket was last refilled
+   */
+  private record Bucket(double tokens, long updatedNanos) { }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param permitsPerSecond the rate at which the bucket of a key is refilled
+   * @param burst the capacity of a bucket, i.e. the number of requests a key may send at once
+   * @param maxKeys the number of keys whose buckets are kept at most
+   */
+  public TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys) {
+    this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+  }
+
+  TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+    if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+      throw new IllegalArgumentException(
+          "The rate, the burst and the number of keys of a limiter must be positive.");
+    }
+    this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.capacity = burst;
+    this.refillNanos = Math.max(1, (long) Math.ceil(burst / tokensPerNano));
+    this.maxKeys = maxKeys;
+    this.nextEvictionNanos = new AtomicLong(nanoClock.getAsLong());
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Takes a token from the bucket of a key.
+   *
+   * @param key the key, e.g. the client address
+   * @return {@code 0} if a token was taken, otherwise the time in nanoseconds until the next token
+   *     is available
+   */
+  public long tryAcquire(Object key) {
+    while (true) {
+      long now = nanoClock.getAsLong();
+      Bucket current = buckets.get(key);
+      double tokens = current == null ? capacity : tokensAt(current, now);
+      if (tokens < 1) {
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+      }
+      Bucket next = new Bucket(tokens - 1, now);
+      if (current != null) {
+        if (buckets.replace(key, current, next)) {
+          return 0;
+        }
+      } else if (buckets.size() >= maxKeys && !evictIdleBuckets(now)) {
+        return Math.max(1, nextEvictionNanos.get() - now);
+      } else if (buckets.putIfAbsent(key, next) == null) {
+        return 0;
+      }
+    }
+  }
+
+  /** Evicts the full buckets, unless that was already tried recently, and reports if it helped. */
+  private boolean evictIdleBuckets(long now) {
+    long next = nextEvictionNanos.get();
+    if (now - next < 0 || !nextEvictionNanos.compareAndSet(next, now + refillNanos)) {
+      return false;
+    }
+    // removes an entry only if it still holds the bucket that was found to be full
+    buckets.values().removeIf(bucket -> tokensAt(bucket, now) >= capacity);
+    return buckets.size() < maxKeys;
+  }
+
+  private double tokensAt(Bucket bucket, long now) {
+    long elapsed = Math.max(0, now - bucket.updatedNanos());
+    return Math.min(capacity, bucket.tokens() + elapsed * tokensPerNano);
+  }
+}
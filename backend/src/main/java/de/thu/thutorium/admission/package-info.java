@@ -0,0 +1,12 @@
+/**
+ * Provides the request admission of the Thutorium REST API.
+ *
+ * <p>This package contains the filter that decides whether a request is served before it reaches a
+ * controller, together with the limiters it uses: token buckets that bound the request rate per
+ * client address, per user and per endpoint group, and an adaptive concurrency limit that sheds
+ * low-priority requests first once the latency of the application rises.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.admission;
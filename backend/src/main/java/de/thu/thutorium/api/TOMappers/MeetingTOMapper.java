@@ -32,6 +32,7 @@ public interface MeetingTOMapper {
    * @return a {@link MeetingTO} transfer object with mapped fields
    */
   @Mappings({
+    @Mapping(source = "meetingId", target = "meetingId"),
     @Mapping(source = "tutor.userId", target = "tutorId"),
     @Mapping(source = "course.courseId", target = "courseId"),
     @Mapping(source = "meetingDate", target = "meetingDate"),
@@ -44,6 +45,7 @@ public interface MeetingTOMapper {
     @Mapping(source = "address.addressId", target = "addressId"),
     @Mapping(source = "address.campusName", target = "campusName"),
     @Mapping(source = "address.university.universityName", target = "universityName"),
+    @Mapping(source = "status", target = "status"),
   })
   MeetingTO toDTO(MeetingDBO meetingDBO);
 
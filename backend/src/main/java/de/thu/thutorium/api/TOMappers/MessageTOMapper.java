@@ -12,6 +12,7 @@ public interface MessageTOMapper {
   @Mapping(source = "sender.userId", target = "senderId")
   @Mapping(source = "receiver.userId", target = "receiverId")
   @Mapping(source = "chat.chatId", target = "chatId")
+  @Mapping(source = "attachment.contentHash", target = "attachmentHash")
   MessageTO toDTO(MessageDBO messageDBO);
 
   List<MessageTO> toDTOList(List<MessageDBO> messageDBOList);
@@ -2,6 +2,10 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.api.transferObjects.common.AddressTO;
 import de.thu.thutorium.api.transferObjects.common.CourseCategoryTO;
+import de.thu.thutorium.api.transferObjects.common.RosterImportReportTO;
+import de.thu.thutorium.api.transferObjects.common.UtilizationTO;
+import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
+import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.services.interfaces.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,15 +14,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * AdminController provides REST API endpoints for managing administrative tasks such as creating
  * universities, addresses, and categories, as well as user and chat management.
@@ -50,6 +61,12 @@ public class AdminController {
 
   private final CategoryService categoryService;
 
+  /** Service for the room and campus utilization reports. */
+  private final UtilizationService utilizationService;
+
+  /** Service for importing university rosters. */
+  private final UserImportService userImportService;
+
   /**
    * Creates a new university and address. This endpoint accepts a {@link AddressTO} object in the
    * request body and creates a new university + address entity. The request body is validated using
@@ -231,4 +248,191 @@ public class AdminController {
           .body("Unexpected error: " + ex.getMessage());
     }
   }
+
+  /**
+   * Reports the utilization of the rooms of a campus per hour of the week.
+   *
+   * @param addressId the ID of the address of the campus
+   * @param from the first day of the report
+   * @param to the last day of the report
+   * @return a {@code ResponseEntity} containing the utilization per room and hour
+   */
+  @Operation(
+      summary = "Get the room utilization of a campus.",
+      description =
+          "Returns the booked minutes, peak concurrency and idle minutes of every room of the campus"
+              + " per hour of the week, summed over the weeks of the report.",
+      tags = {"Utilization Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Utilization retrieved successfully",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UtilizationTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid report range",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/utilization/rooms")
+  public ResponseEntity<?> getRoomUtilization(
+      @RequestParam Long addressId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    try {
+      List<UtilizationTO> utilization = utilizationService.getRoomUtilization(addressId, from, to);
+      return ResponseEntity.status(HttpStatus.OK).body(utilization);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Reports the utilization of campuses per hour of the week.
+   *
+   * @param addressId the ID of the address of a single campus, or {@code null} for all campuses
+   * @param from the first day of the report
+   * @param to the last day of the report
+   * @return a {@code ResponseEntity} containing the utilization per campus and hour
+   */
+  @Operation(
+      summary = "Get the campus utilization.",
+      description =
+          "Returns the booked minutes, the peak number of rooms in use and the idle minutes of"
+              + " every campus per hour of the week, summed over the weeks of the report.",
+      tags = {"Utilization Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Utilization retrieved successfully",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UtilizationTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid report range",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/utilization/campuses")
+  public ResponseEntity<?> getCampusUtilization(
+      @RequestParam(required = false) Long addressId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    try {
+      List<UtilizationTO> utilization =
+          utilizationService.getCampusUtilization(addressId, from, to);
+      return ResponseEntity.status(HttpStatus.OK).body(utilization);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Recomputes the utilization rollup from all meetings.
+   *
+   * @return a {@code ResponseEntity} with {@link HttpStatus#NO_CONTENT} status
+   */
+  @Operation(
+      summary = "Rebuild the utilization rollup.",
+      description =
+          "Recomputes the utilization rollup from the meeting table, e.g. after meetings have been"
+              + " removed together with their course. This scans all meetings.",
+      tags = {"Utilization Endpoints"})
+  @ApiResponses({@ApiResponse(responseCode = "204", description = "Rollup rebuilt successfully")})
+  @PostMapping("/utilization/rebuild")
+  public ResponseEntity<?> rebuildUtilization() {
+    try {
+      utilizationService.rebuild();
+      return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Creates user accounts from a university roster.
+   *
+   * <p>The request body is a CSV file with a header row, or a JSON array of objects, with the fields
+   * {@code email}, {@code firstName}, {@code lastName} and optionally {@code password} and {@code
+   * role}. Users without a password are invited by email to choose one. The body is read as a
+   * stream, so rosters of any size can be uploaded. Without a university, every user is affiliated
+   * with the university of their email domain.
+   *
+   * @param university the name of the university the users belong to, or {@code null} to derive it
+   *     from the email domains
+   * @param affiliationType the affiliation of the users with the university
+   * @param role the role of entries that do not name one
+   * @param request the request whose body is the roster
+   * @return a {@code ResponseEntity} containing the import report
+   */
+  @Operation(
+      summary = "Import a university roster.",
+      description =
+          "Creates accounts for the students or tutors listed in a CSV (text/csv) or JSON"
+              + " (application/json) roster. Entries that are invalid or belong to an existing"
+              + " account are skipped and listed in the report. Without a university, the affiliation"
+              + " of every user is derived from their email domain.",
+      tags = {"User Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Roster imported; the report lists the entries that were skipped",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RosterImportReportTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description =
+            "Unsupported or malformed roster. If reading stopped at a malformed entry, the body is"
+                + " the report of the entries before it, which were imported",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "University not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @PostMapping(value = "/users/import", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<?> importRoster(
+      @RequestParam(required = false) String university,
+      @RequestParam(defaultValue = "STUDENT") AffiliationType affiliationType,
+      @RequestParam(defaultValue = "STUDENT") Role role,
+      HttpServletRequest request) {
+    try {
+      RosterImportReportTO report =
+          userImportService.importRoster(
+              request.getInputStream(), request.getContentType(), university, affiliationType, role);
+      return ResponseEntity.status(report.isIncomplete() ? HttpStatus.BAD_REQUEST : HttpStatus.OK)
+          .body(report);
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (IllegalArgumentException | IOException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
 }
@@ -0,0 +1,252 @@
+package de.thu.thutorium.api.controllers;
+
+import de.thu.thutorium.Utility.AuthUtil;
+import de.thu.thutorium.api.transferObjects.common.AttachmentTO;
+import de.thu.thutorium.exceptions.AttachmentTooLargeException;
+import de.thu.thutorium.services.interfaces.AttachmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Controller for uploading and downloading chat attachments.
+ *
+ * <p>Uploads are sent as the raw request body and streamed into the attachment store. Downloads
+ * support ETags and single byte ranges, and are served with the container's sendfile support when
+ * available, otherwise by {@link FileChannel#transferTo}, so file content is not copied through
+ * the heap.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/attachments")
+@Slf4j
+public class AttachmentController {
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private final AttachmentService attachmentService;
+
+  /**
+   * Uploads a file as a chat attachment. The returned content hash is sent with the message in
+   * {@code attachmentHash}.
+   *
+   * @param fileName the name of the uploaded file
+   * @param request the request whose body is the file content
+   * @return the stored attachment
+   */
+  @Operation(
+      summary = "Upload a chat attachment",
+      description =
+          "Streams the request body into the attachment store. Identical files are stored once.",
+      tags = {"Attachment Operations"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "201",
+        description = "Attachment stored",
+        content = @Content(schema = @Schema(implementation = AttachmentTO.class))),
+    @ApiResponse(responseCode = "413", description = "Attachment is too large")
+  })
+  @PostMapping(consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<?> uploadAttachment(
+      @Parameter(description = "The name of the uploaded file") @RequestParam(required = false)
+          String fileName,
+      HttpServletRequest request) {
+    try {
+      AttachmentTO attachment =
+          attachmentService.storeAttachment(
+              request.getInputStream(),
+              fileName,
+              request.getContentType(),
+              AuthUtil.getAuthenticatedUserId());
+      return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
+    } catch (AttachmentTooLargeException ex) {
+      return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ex.getMessage());
+    } catch (Exception ex) {
+      log.error("Failed to store attachment", ex);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Downloads a chat attachment. Answers with 304 if the client's copy is current and with 206 for
+   * a satisfiable single byte range.
+   *
+   * @param contentHash the content hash of the attachment
+   * @param request the HTTP request
+   * @param response the HTTP response the file is written to
+   * @return an error response, or {@code null} once the file has been written to the response
+   */
+  @Operation(
+      summary = "Download a chat attachment",
+      description = "Streams an attachment. Supports ETag, If-None-Match, Range and If-Range.",
+      tags = {"Attachment Operations"})
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "The attachment"),
+    @ApiResponse(responseCode = "206", description = "The requested range of the attachment"),
+    @ApiResponse(responseCode = "304", description = "The attachment has not changed"),
+    @ApiResponse(responseCode = "403", description = "No access to the attachment"),
+    @ApiResponse(responseCode = "404", description = "Attachment not found"),
+    @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+  })
+  @GetMapping("/{contentHash}")
+  public ResponseEntity<?> downloadAttachment(
+      @PathVariable String contentHash, HttpServletRequest request, HttpServletResponse response) {
+    AttachmentTO attachment;
+    try {
+      attachment = attachmentService.getAttachment(contentHash, AuthUtil.getAuthenticatedUserId());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    } catch (AccessDeniedException ex) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
+    // content-addressed files never change, so the hash is a strong validator
+    String etag = "\"" + attachment.getContentHash() + "\"";
+    long size = attachment.getSizeBytes();
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    long start = 0;
+    long end = size - 1;
+    boolean partial = false;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range != null && (ifRange == null || ifRange.equals(etag))) {
+      long[] bounds = parseRange(range, size);
+      if (bounds == null) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+            .build();
+      }
+      if (bounds.length == 2) {
+        start = bounds[0];
+        end = bounds[1];
+        partial = true;
+      }
+    }
+    long length = end - start + 1;
+
+    response.setStatus(partial ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+    response.setContentType(attachment.getContentType());
+    response.setContentLengthLong(length);
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename(attachment.getFileName(), StandardCharsets.UTF_8)
+            .build()
+            .toString());
+    if (partial) {
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+    }
+
+    Path path = attachmentService.getAttachmentPath(attachment.getContentHash());
+    try {
+      writeFile(path, start, length, request, response);
+    } catch (IOException ex) {
+      log.debug("Download of attachment {} was aborted", contentHash, ex);
+    }
+    // the response has been written directly
+    return null;
+  }
+
+  /**
+   * Writes a region of a file to the response. With Tomcat's sendfile support the container sends
+   * the file after the request has been handled, otherwise the region is transferred through a
+   * {@link FileChannel}.
+   */
+  private void writeFile(
+      Path path, long start, long length, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    if (length == 0) {
+      return;
+    }
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, path.toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + length);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = length;
+      while (remaining > 0) {
+        long transferred = channel.transferTo(position, remaining, out);
+        position += transferred;
+        remaining -= transferred;
+      }
+    }
+  }
+
+  /**
+   * Parses a Range header for a single byte range.
+   *
+   * @return the inclusive bounds of the range, an empty array if the header is to be ignored, or
+   *     {@code null} if the range cannot be satisfied
+   */
+  private static long[] parseRange(String header, long size) {
+    if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+      // multiple ranges are not supported; ignoring the header is allowed and sends the whole file
+      return new long[0];
+    }
+    String spec = header.substring("bytes=".length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return new long[0];
+    }
+    try {
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+      long start;
+      long end;
+      if (first.isEmpty()) {
+        long suffixLength = Long.parseLong(last);
+        if (suffixLength <= 0) {
+          return null;
+        }
+        start = Math.max(0, size - suffixLength);
+        end = size - 1;
+      } else {
+        start = Long.parseLong(first);
+        end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+      }
+      if (start >= size || start > end) {
+        return null;
+      }
+      return new long[] {start, end};
+    } catch (NumberFormatException ex) {
+      return new long[0];
+    }
+  }
+}
@@ -2,9 +2,14 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.api.transferObjects.authentication.LogInRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.LogInResponseTO;
+import de.thu.thutorium.api.transferObjects.authentication.RefreshRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.RegisterRequestTO;
+import de.thu.thutorium.exceptions.InvalidEmailTokenException;
+import de.thu.thutorium.exceptions.InvalidRefreshTokenException;
 import de.thu.thutorium.exceptions.ResourceAlreadyExistsException;
+import de.thu.thutorium.security.PasswordVerificationExecutor;
 import de.thu.thutorium.services.implementations.AuthenticationServiceImpl;
+import de.thu.thutorium.services.interfaces.AccountEmailService;
 import de.thu.thutorium.swagger.CommonApiResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +18,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * AuthenticationController is a REST controller that handles authentication-related requests. It
  * provides endpoints for user login and other authentication operations.
@@ -32,6 +42,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthenticationController {
 
   private final AuthenticationServiceImpl authService;
+  private final PasswordVerificationExecutor passwordVerificationExecutor;
+  private final AccountEmailService accountEmailService;
 
   /**
    * Registers a user based on the provided register request.
@@ -67,9 +79,13 @@ public class AuthenticationController {
   /**
    * Authenticates a user based on the provided login request.
    *
+   * <p>The password is verified on the {@link PasswordVerificationExecutor}, so the request thread
+   * is released while the login waits for a verification thread. If too many logins are already
+   * waiting, the request is rejected with 503 and a {@code Retry-After} header.
+   *
    * @param request the login request transfer object containing user credentials
-   * @return a ResponseEntity containing the login response transfer object ToDo: Test, Document all
-   *     error codes
+   * @return a future of the ResponseEntity containing the login response transfer object ToDo:
+   *     Test, Document all error codes
    */
   @Operation(
       summary = "Authenticate a new user",
@@ -83,9 +99,73 @@ public class AuthenticationController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = LogInResponseTO.class))))
   @PostMapping("/login")
-  public ResponseEntity<?> authenticate(@Valid @RequestBody LogInRequestTO request) {
+  public CompletableFuture<ResponseEntity<?>> authenticate(
+      @Valid @RequestBody LogInRequestTO request) {
+    try {
+      return passwordVerificationExecutor
+          .submit(() -> authService.authenticate(request))
+          .<ResponseEntity<?>>thenApply(response -> response)
+          .exceptionally(
+              ex -> {
+                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Unexpected Error: " + cause.getMessage());
+              });
+    } catch (RejectedExecutionException ex) {
+      return CompletableFuture.completedFuture(
+          ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+              .header(HttpHeaders.RETRY_AFTER, "1")
+              .body("Error: Too many logins in progress, please try again shortly."));
+    }
+  }
+
+  /**
+   * Exchanges a refresh token for a new access token and a new refresh token.
+   *
+   * <p>The presented refresh token can only be used once. Presenting an already used refresh token
+   * revokes every token issued from the same login.
+   *
+   * @param request the request containing the refresh token
+   * @return a ResponseEntity containing the login response transfer object with the new tokens, or
+   *     401 if the refresh token is unknown, expired, revoked or reused
+   */
+  @Operation(
+      summary = "Refresh the access token",
+      description = "Exchanges a refresh token for a new access token and a new refresh token")
+  @ApiResponses(
+      @ApiResponse(
+          responseCode = "200",
+          description = "Tokens refreshed successfully",
+          content =
+              @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = LogInResponseTO.class))))
+  @PostMapping("/refresh")
+  public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequestTO request) {
     try {
-      return authService.authenticate(request);
+      return authService.refresh(request);
+    } catch (InvalidRefreshTokenException ex) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected Error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Logs a user out by revoking their refresh token.
+   *
+   * @param request the request containing the refresh token
+   * @return a ResponseEntity confirming the logout
+   */
+  @Operation(
+      summary = "Log out",
+      description = "Revokes the refresh token and all tokens rotated from the same login")
+  @PostMapping("/logout")
+  public ResponseEntity<?> logout(@Valid @RequestBody RefreshRequestTO request) {
+    try {
+      authService.logout(request);
+      return ResponseEntity.ok("Logged out successfully.");
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Unexpected Error: " + ex.getMessage());
@@ -100,7 +180,8 @@ public class AuthenticationController {
    * sent to the backend.
    *
    * @param token the token which is validated to confirm the users identity
-   * @return String message confirming the verification. ToDo: Test, Document all error codes
+   * @return a ResponseEntity with a message confirming the verification, or 400 if the link is
+   *     invalid, expired or has already been used
    */
   @Operation(
       summary = "Activate a new user account",
@@ -116,10 +197,16 @@ public class AuthenticationController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = String.class))))
   @GetMapping("/verify")
-  public String verifyUserEmail(@RequestParam("token") String token) {
-    // Lookup token in the database
-    // Implement token validation and user activation
-    return "Should receive: Account verification message";
+  public ResponseEntity<String> verifyUserEmail(@RequestParam("token") String token) {
+    try {
+      accountEmailService.verifyEmail(token);
+      return ResponseEntity.ok("Your email address has been verified.");
+    } catch (InvalidEmailTokenException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected Error: " + ex.getMessage());
+    }
   }
 
   /**
@@ -128,9 +215,11 @@ public class AuthenticationController {
    * <p>A reset email is sent to the user to initiate password reset, if the user already exists in
    * the records. The email contains a reset token.
    *
+   * <p>The response is the same whether or not an account with the email exists, so the endpoint
+   * cannot be used to find out which emails are registered.
+   *
    * @param email the email to which the rest password link is sent, if it exists in the database.
-   * @return String message confirming the sending of the reset email. ToDo: Test, Document all
-   *     error codes
+   * @return a ResponseEntity with a message confirming the request
    */
   @Operation(
       summary = "Initiate password reset",
@@ -144,8 +233,15 @@ public class AuthenticationController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = String.class))))
   @PostMapping("/reset-password")
-  public String initiateResetPassword(@RequestParam("email") String email) {
-    return "Should receive: Password reset email sent message";
+  public ResponseEntity<String> initiateResetPassword(@RequestParam("email") String email) {
+    try {
+      accountEmailService.requestPasswordReset(email);
+      return ResponseEntity.ok(
+          "If an account with this email exists, a password reset link has been sent.");
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected Error: " + ex.getMessage());
+    }
   }
 
   /**
@@ -156,8 +252,8 @@ public class AuthenticationController {
    *
    * @param token the verification token from the user as proof of identity.
    * @param newPassword the new password.
-   * @return String message confirming successful reset of password. ToDo: Test, Document all error
-   *     codes
+   * @return a ResponseEntity with a message confirming the reset, or 400 if the link is invalid,
+   *     expired or has already been used, or the new password is empty
    */
   @Operation(
       summary = "Execute adn confirm password reset",
@@ -171,9 +267,16 @@ public class AuthenticationController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = String.class))))
   @PostMapping("/reset/confirm")
-  public String confirmResetPassword(
+  public ResponseEntity<String> confirmResetPassword(
       @RequestParam("token") String token, @RequestParam("newPassword") String newPassword) {
-    // Find user by reset token
-    return "Should receive: Password reset successful message";
+    try {
+      accountEmailService.resetPassword(token, newPassword);
+      return ResponseEntity.ok("Your password has been reset. Please log in again.");
+    } catch (InvalidEmailTokenException | IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected Error: " + ex.getMessage());
+    }
   }
 }
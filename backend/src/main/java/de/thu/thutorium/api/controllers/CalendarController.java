@@ -0,0 +1,111 @@
+package de.thu.thutorium.api.controllers;
+
+import de.thu.thutorium.Utility.AuthUtil;
+import de.thu.thutorium.api.transferObjects.common.CalendarFeedTO;
+import de.thu.thutorium.services.interfaces.CalendarFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller for the iCalendar feed of a user's meetings.
+ *
+ * <p>Calendar applications cannot send a JWT, so the feed is authenticated by a secret token in
+ * its URL, which the authenticated user creates through this controller. The feed supports
+ * conditional requests: applications polling an unchanged feed receive a 304 response without the
+ * meetings being read.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/calendar")
+@Slf4j
+public class CalendarController {
+  private static final String CALENDAR_CONTENT_TYPE = "text/calendar; charset=utf-8";
+
+  private final CalendarFeedService calendarFeedService;
+
+  /**
+   * Creates a new feed URL for the authenticated user. A previously created URL stops working.
+   *
+   * @return the path of the feed, relative to the server URL
+   */
+  @Operation(
+      summary = "Create a calendar subscription URL",
+      description =
+          "Creates a secret URL of an iCalendar feed of the user's meetings, which can be"
+              + " subscribed to from calendar applications. Replaces any previous URL.",
+      tags = {"Calendar Endpoints"})
+  @ApiResponses({
+    @ApiResponse(responseCode = "201", description = "Feed URL created"),
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/token")
+  public ResponseEntity<?> createFeedToken() {
+    try {
+      String token = calendarFeedService.createFeedToken(AuthUtil.getAuthenticatedUserId());
+      return ResponseEntity.status(HttpStatus.CREATED).body("/calendar/feed/" + token + ".ics");
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns the iCalendar feed for the given token.
+   *
+   * @param token the secret token of the feed URL
+   * @param webRequest the request, used to evaluate the conditional headers
+   * @param response the response the feed is streamed to
+   * @return an error response, or {@code null} once the response has been written
+   */
+  @Operation(
+      summary = "Download the calendar feed",
+      description = "Streams the user's upcoming meetings. Supports If-None-Match and If-Modified-Since.",
+      tags = {"Calendar Endpoints"})
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "The calendar"),
+    @ApiResponse(responseCode = "304", description = "The calendar has not changed"),
+    @ApiResponse(responseCode = "404", description = "Unknown token")
+  })
+  @GetMapping("/feed/{token}.ics")
+  public ResponseEntity<?> getFeed(
+      @PathVariable String token, WebRequest webRequest, HttpServletResponse response) {
+    CalendarFeedTO feed;
+    try {
+      feed = calendarFeedService.getFeed(token);
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    // sets the ETag and Last-Modified headers, and the 304 status if the client's copy is current
+    if (webRequest.checkNotModified(feed.getETag(), feed.getLastModified().toEpochMilli())) {
+      return null;
+    }
+
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(CALENDAR_CONTENT_TYPE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    try {
+      Writer writer = response.getWriter();
+      calendarFeedService.writeFeed(feed.getUserId(), writer);
+    } catch (IOException ex) {
+      log.debug("Download of calendar feed of user {} was aborted", feed.getUserId(), ex);
+    }
+    // the response has been written directly
+    return null;
+  }
+}
@@ -0,0 +1,99 @@
+package de.thu.thutorium.api.controllers;
+
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.services.interfaces.MeetingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controller for meeting scheduling helpers that are not bound to a role.
+ *
+ * <p>This controller handles requests under the "/meetings" path. All endpoints require an
+ * authenticated user.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/meetings")
+public class MeetingController {
+
+  private final MeetingService meetingService;
+
+  /**
+   * Finds the common free time of a tutor, a set of participants and optionally a room.
+   *
+   * @param tutorId the ID of the tutor.
+   * @param participantIds the IDs of the participants.
+   * @param addressId the ID of the address of the room.
+   * @param roomNum the room number.
+   * @param from the start of the window.
+   * @param to the end of the window.
+   * @param minDurationMinutes the minimum length of a returned slot in minutes.
+   * @return the free time intervals within the requested window.
+   */
+  @Operation(
+      summary = "Find free time slots",
+      description =
+          "Returns the time intervals within the window in which the tutor, all participants and"
+              + " the room (if given) have no meeting. A meeting created within one of these"
+              + " intervals does not violate the overlap constraints.",
+      tags = {"Meeting Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Free time slots computed successfully",
+        content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = TimeSlotTO.class)))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid time window",
+        content = @Content(schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/availability")
+  public ResponseEntity<?> getAvailability(
+      @Parameter(description = "The ID of the tutor holding the meeting") @RequestParam
+          Long tutorId,
+      @Parameter(description = "The IDs of the participants") @RequestParam(required = false)
+          List<Long> participantIds,
+      @Parameter(description = "The ID of the address of the room") @RequestParam(required = false)
+          Long addressId,
+      @Parameter(description = "The room number") @RequestParam(required = false) String roomNum,
+      @Parameter(description = "The start of the window, e.g. 2025-01-13T08:00")
+          @RequestParam
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @Parameter(description = "The end of the window, e.g. 2025-01-17T20:00")
+          @RequestParam
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @Parameter(description = "The minimum length of a free slot in minutes")
+          @RequestParam(defaultValue = "0")
+          int minDurationMinutes) {
+    try {
+      List<TimeSlotTO> slots =
+          meetingService.findAvailability(
+              tutorId, participantIds, addressId, roomNum, from, to, minDurationMinutes);
+      return ResponseEntity.status(HttpStatus.OK).body(slots);
+    } catch (InvalidMeetingRequestException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+}
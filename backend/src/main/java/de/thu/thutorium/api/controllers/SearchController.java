@@ -2,6 +2,7 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.api.transferObjects.common.CourseCategoryTO;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.NearbyTutorTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
 import de.thu.thutorium.exceptions.ResourceNotFoundException;
 import de.thu.thutorium.services.interfaces.CategoryService;
@@ -306,4 +307,65 @@ public class SearchController {
           .body("Unexpected error: " + ex.getMessage());
     }
   }
+
+  /**
+   * Finds tutors with upcoming in-person meetings near a location.
+   *
+   * @param latitude the latitude of the location; used together with {@code longitude}
+   * @param longitude the longitude of the location; used together with {@code latitude}
+   * @param postalCode the postal code of the location, used if no coordinates are given
+   * @param country the country of the postal code
+   * @param radiusKm the search radius in kilometres
+   * @param limit the maximum number of tutors to return
+   * @return the nearest tutors with their distance
+   */
+  @Operation(
+      summary = "Find tutors nearby",
+      description =
+          "Returns the tutors with upcoming offline or hybrid meetings within the given radius of a"
+              + " location, nearest first. The location is given as coordinates or as postal code.",
+      tags = {"Search Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Tutors returned successfully",
+        content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = NearbyTutorTO.class)))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Missing location or radius/limit out of range",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Unknown postal code",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/tutors-nearby")
+  public ResponseEntity<?> findTutorsNearby(
+      @RequestParam(required = false) Double latitude,
+      @RequestParam(required = false) Double longitude,
+      @RequestParam(required = false) String postalCode,
+      @RequestParam(defaultValue = "DE") String country,
+      @RequestParam(defaultValue = "10") double radiusKm,
+      @RequestParam(defaultValue = "20") int limit) {
+    try {
+      List<NearbyTutorTO> tutors =
+          searchService.findTutorsNearby(
+              latitude, longitude, postalCode, country, radiusKm, limit);
+      return ResponseEntity.status(HttpStatus.OK).body(tutors);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (ResourceNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
 }
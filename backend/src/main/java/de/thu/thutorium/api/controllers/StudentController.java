@@ -1,9 +1,13 @@
 package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.Utility.AuthUtil;
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
 import de.thu.thutorium.api.transferObjects.common.RatingCourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
+import de.thu.thutorium.exceptions.ScheduleClashException;
 import de.thu.thutorium.services.implementations.UserServiceImpl;
+import de.thu.thutorium.services.interfaces.AttendanceService;
 import de.thu.thutorium.services.interfaces.CourseService;
 import de.thu.thutorium.swagger.CommonApiResponses;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +24,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /** Controller for managing user operations. */
 @RestController
 @RequiredArgsConstructor
@@ -30,6 +36,7 @@ public class StudentController {
 
   private final UserServiceImpl studentService;
   private final CourseService courseService;
+  private final AttendanceService attendanceService;
 
   /**
    * A student enrolls in a course.
@@ -93,7 +100,14 @@ public class StudentController {
         content =
             @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = String.class)))
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Meetings of the course clash with meetings of enrolled courses.",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ScheduleClashTO.class)))
   })
   @PostMapping("/enroll-course/{courseId}")
   public ResponseEntity<?> enrollInCourse(
@@ -107,6 +121,8 @@ public class StudentController {
       Long studentID = AuthUtil.getAuthenticatedUserId();
       studentService.enrollCourse(studentID, courseId);
       return ResponseEntity.status(HttpStatus.OK).body("Enrolled successfully in the course");
+    } catch (ScheduleClashException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getClashes());
     } catch (EntityNotFoundException ex) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
     } catch (Exception ex) {
@@ -115,6 +131,40 @@ public class StudentController {
     }
   }
 
+  /**
+   * Checks which meetings of the given courses would clash with the student's schedule, without
+   * enrolling the student.
+   *
+   * @param courseIds The IDs of the courses the student considers enrolling in.
+   * @return suitable HTTP response containing all clashes, empty if there are none.
+   */
+  @Operation(
+      summary = "Student checks courses for schedule clashes. ",
+      description =
+          "Returns every upcoming meeting of the given courses that overlaps with a meeting of a"
+              + " course the student is enrolled in, or with a meeting of another given course.",
+      tags = {"Student Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Clashes retrieved successfully.",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ScheduleClashTO.class)))
+  })
+  @PostMapping("/schedule-clashes")
+  public ResponseEntity<?> findScheduleClashes(@RequestBody List<Long> courseIds) {
+    try {
+      Long studentId = AuthUtil.getAuthenticatedUserId();
+      List<ScheduleClashTO> clashes = studentService.findScheduleClashes(studentId, courseIds);
+      return ResponseEntity.status(HttpStatus.OK).body(clashes);
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /**
    * A student Unenrolls in a course.
    *
@@ -272,4 +322,34 @@ public class StudentController {
           .body("Unexpected error: " + ex.getMessage());
     }
   }
+
+  /**
+   * Retrieves the attendance rates of the authenticated student in all of their courses.
+   *
+   * @return suitable HTTP response containing the attendance rate per course.
+   */
+  @Operation(
+      summary = "Student views their attendance. ",
+      description = "Returns the attendance counts and rate of the student in every course.",
+      tags = {"Student Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Attendance rates retrieved successfully.",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttendanceRateTO.class)))
+  })
+  @GetMapping("/attendance")
+  public ResponseEntity<?> getAttendance() {
+    try {
+      Long studentId = AuthUtil.getAuthenticatedUserId();
+      List<AttendanceRateTO> rates = attendanceService.getStudentAttendance(studentId);
+      return ResponseEntity.status(HttpStatus.OK).body(rates);
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
 }
@@ -1,8 +1,17 @@
 package de.thu.thutorium.api.controllers;
 
+import de.thu.thutorium.Utility.AuthUtil;
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
+import de.thu.thutorium.api.transferObjects.common.AttendanceTO;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingConflictTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingSeriesTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.ProgressTO;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.exceptions.MeetingConflictException;
+import de.thu.thutorium.exceptions.MeetingSeriesConflictException;
+import de.thu.thutorium.services.interfaces.AttendanceService;
 import de.thu.thutorium.services.interfaces.CourseService;
 import de.thu.thutorium.services.interfaces.MeetingService;
 import de.thu.thutorium.services.interfaces.ProgressService;
@@ -19,9 +28,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * TutorController provides REST API endpoints for managing tutor-related operations such as
  * creating and managing meetings, courses, and progress records. It also includes functionality for
@@ -56,6 +68,9 @@ public class TutorController {
   /** Service for managing progress-related operations. */
   private final ProgressService progressService;
 
+  /** Service for managing attendance-related operations. */
+  private final AttendanceService attendanceService;
+
   /**
    * Creates a new meeting.
    *
@@ -95,6 +110,110 @@ public class TutorController {
     }
   }
 
+  /**
+   * Creates several meetings at once, e.g. all sessions of a tutorial group for a semester.
+   *
+   * @param meetingTOs the list of {@link MeetingTO} objects containing the meeting details.
+   * @return the created meetings.
+   */
+  @Operation(
+      summary = "Create several meetings",
+      description =
+          "Creates all given meetings in one transaction. If one of them cannot be created, none"
+              + " of them is stored.",
+      tags = {"Meeting Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "201",
+        description = "Meetings created successfully",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MeetingTO.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Tutor/Course/Address/Participant not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @PostMapping("/create-meetings")
+  public ResponseEntity<?> createMeetings(@RequestBody List<@Valid MeetingTO> meetingTOs) {
+    try {
+      List<MeetingTO> meetings = meetingService.createMeetings(meetingTOs);
+      return ResponseEntity.status(HttpStatus.CREATED).body(meetings);
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Creates a recurring meeting series, e.g. a weekly tutorial for a whole semester.
+   *
+   * @param meetingSeriesTO the {@link MeetingSeriesTO} object describing the series.
+   * @return the created meetings, or the list of conflicts if any occurrence overlaps with an
+   *     existing meeting.
+   */
+  @Operation(
+      summary = "Create a recurring meeting series",
+      description =
+          "Expands a weekly or biweekly rule into meetings. All occurrences are checked against"
+              + " existing meetings first; if any of them conflicts, nothing is created and all"
+              + " conflicts are returned.",
+      tags = {"Meeting Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "201",
+        description = "Meeting series created successfully",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MeetingTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid recurrence rule",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Tutor/Course/Address/Participant not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Occurrences conflict with existing meetings",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MeetingConflictTO.class)))
+  })
+  @PostMapping("/create-meeting-series")
+  public ResponseEntity<?> createMeetingSeries(@RequestBody @Valid MeetingSeriesTO meetingSeriesTO) {
+    try {
+      List<MeetingTO> meetings = meetingService.createMeetingSeries(meetingSeriesTO);
+      return ResponseEntity.status(HttpStatus.CREATED).body(meetings);
+    } catch (MeetingSeriesConflictException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getConflicts());
+    } catch (MeetingConflictException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + ex.getMessage());
+    } catch (InvalidMeetingRequestException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /**
    * Deletes a meeting by its ID.
    *
@@ -169,6 +288,113 @@ public class TutorController {
     }
   }
 
+  /** Attendance Operations */
+
+  /**
+   * Records the roll call of a meeting held by the authenticated tutor.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param attendance the attendance status of every participant to record.
+   * @return a success message.
+   */
+  @Operation(
+      summary = "Record the attendance of a meeting",
+      description =
+          "Records the status (PRESENT, ABSENT or EXCUSED) of the participants of a meeting in one"
+              + " request. Statuses recorded earlier are replaced.",
+      tags = {"Attendance Endpoints"})
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Attendance recorded successfully"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid status or student not participating in the meeting",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "403",
+        description = "The meeting is held by another tutor",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Meeting not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @PostMapping("/meetings/{meetingId}/attendance")
+  public ResponseEntity<?> recordAttendance(
+      @PathVariable Long meetingId, @RequestBody List<@Valid AttendanceTO> attendance) {
+    try {
+      attendanceService.recordAttendance(
+          AuthUtil.getAuthenticatedUserId(), meetingId, attendance);
+      return ResponseEntity.status(HttpStatus.OK).body("Attendance recorded successfully");
+    } catch (InvalidMeetingRequestException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (AccessDeniedException ex) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: " + ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Retrieves the attendance rates of the students of a course held by the authenticated tutor.
+   *
+   * @param courseId the ID of the course.
+   * @return the attendance rate of every student.
+   */
+  @Operation(
+      summary = "Get the attendance of a course",
+      description = "Returns the attendance counts and rate of every student of the course.",
+      tags = {"Attendance Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Attendance rates retrieved successfully",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AttendanceRateTO.class))),
+    @ApiResponse(
+        responseCode = "403",
+        description = "The course is held by another tutor",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Course not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/attendance/course/{courseId}")
+  public ResponseEntity<?> getCourseAttendance(@PathVariable Long courseId) {
+    try {
+      List<AttendanceRateTO> rates =
+          attendanceService.getCourseAttendance(AuthUtil.getAuthenticatedUserId(), courseId);
+      return ResponseEntity.status(HttpStatus.OK).body(rates);
+    } catch (AccessDeniedException ex) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: " + ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /** Course Operations */
 
   /**
@@ -6,6 +6,8 @@ import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
 import de.thu.thutorium.services.interfaces.*;
 import de.thu.thutorium.swagger.CommonApiResponses;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,12 +19,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static de.thu.thutorium.Utility.AuthUtil.getAuthenticatedUserId;
@@ -198,6 +202,55 @@ public class UserController {
     }
   }
 
+  /**
+   * Retrieves one page of the authenticated user's meeting feed.
+   *
+   * @param from the earliest start time, defaults to now.
+   * @param to the latest start time (exclusive), defaults to four weeks after {@code from}.
+   * @param status the status to filter by.
+   * @param cursor the cursor of the next page, as returned with the previous page.
+   * @param limit the maximum number of meetings on the page.
+   * @return a {@link MeetingPageTO} with the meetings ordered by start time.
+   */
+  @Operation(
+      summary = "Retrieve the meeting feed of the authenticated user",
+      description =
+          "Returns the meetings the user holds or takes part in within a time window, each once,"
+              + " ordered by start time and paginated with a cursor.",
+      tags = {"User Operations"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Meeting feed retrieved successfully",
+        content = @Content(schema = @Schema(implementation = MeetingPageTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid time window or cursor",
+        content = @Content(schema = @Schema(implementation = String.class))),
+    @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @GetMapping("/get-meeting-feed")
+  public ResponseEntity<?> getMeetingFeed(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) MeetingStatus status,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int limit) {
+    try {
+      MeetingPageTO page =
+          meetingService.getMeetingFeed(
+              getAuthenticatedUserId(), from, to, status, cursor, limit);
+      return ResponseEntity.status(HttpStatus.OK).body(page);
+    } catch (InvalidMeetingRequestException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /*chat*/
   @Operation(
       summary = "Retrieve chat summaries for a specific user",
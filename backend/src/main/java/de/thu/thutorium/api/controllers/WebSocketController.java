@@ -1,8 +1,10 @@
 package de.thu.thutorium.api.controllers;
 
+import de.thu.thutorium.WebSocket.ChatMembershipCache;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.security.JwtPrincipal;
 import de.thu.thutorium.services.interfaces.ChatService;
 import de.thu.thutorium.services.interfaces.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +15,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -29,38 +34,62 @@ public class WebSocketController {
 
   private final MessageService messageService;
   private final ChatService chatService;
+  private final ChatMembershipCache chatMembershipCache;
 
   /**
    * Constructor for initializing the WebSocketController with the MessageService.
    *
    * @param messageService the service responsible for handling message operations
+   * @param chatService the service responsible for handling chat operations
+   * @param chatMembershipCache the cache used to check that sender and receiver belong to the chat
    */
-  public WebSocketController(MessageService messageService, ChatService chatService) {
+  public WebSocketController(
+      MessageService messageService,
+      ChatService chatService,
+      ChatMembershipCache chatMembershipCache) {
     this.messageService = messageService;
     this.chatService = chatService;
+    this.chatMembershipCache = chatMembershipCache;
   }
 
   /**
    * Handles the sending of a new message via WebSocket. This method listens for messages sent to
-   * the "/sendMessage" destination, processes the message, saves it using the message service, and
-   * then broadcasts the message to all clients subscribed to the "/topic/messages" destination.
+   * the "/app/chat/{chatId}/sendMessage" destination, saves the message using the message service,
+   * and then broadcasts it to the clients subscribed to "/topic/chat/{chatId}", which are only the
+   * participants of the chat.
    *
+   * <p>The sender is the user the STOMP session was authenticated as; a {@code senderId} in the
+   * payload is ignored. Sender and receiver must be participants of the chat.
+   *
+   * @param chatId the ID of the chat, taken from the destination
    * @param messageTO the message data transfer object containing the message details
+   * @param principal the user the session was authenticated as on CONNECT
    * @return the saved message as a MessageDTO, which will be sent to all subscribers
+   * @throws AccessDeniedException if the sender or the receiver does not participate in the chat
    */
-  @MessageMapping("/sendMessage")
-  @SendTo("/topic/messages")
-  public MessageTO sendMessage(MessageTO messageTO) {
-    // Save the message via the service
-    return messageService.saveMessage(messageTO);
+  @MessageMapping("/chat/{chatId}/sendMessage")
+  @SendTo("/topic/chat/{chatId}")
+  public MessageTO sendMessage(
+      @DestinationVariable Long chatId, MessageTO messageTO, JwtPrincipal principal) {
+    if (!chatMembershipCache.isParticipant(chatId, principal.userId())
+        || !chatMembershipCache.isParticipant(chatId, messageTO.getReceiverId())) {
+      throw new AccessDeniedException("Sender and receiver must be participants of the chat");
+    }
+    messageTO.setChatId(chatId);
+    return messageService.saveChatMessage(principal.userId(), messageTO);
   }
 
   /**
    * Sends a new message. This will persist the message in the database and send it to the
    * recipient.
    *
+   * <p>The sender is the authenticated user; a {@code senderId} in the body is ignored. Sender and
+   * receiver must be participants of the chat.
+   *
    * @param messageTO the message transfer object containing the message details
-   * @return the created message wrapped in a ResponseEntity
+   * @param principal the authenticated user
+   * @return the created message wrapped in a ResponseEntity, or 403 if the sender or the receiver
+   *     does not participate in the chat or the sender has no access to the attachment
    */
   @Operation(
       summary = "Send a new message",
@@ -71,12 +100,26 @@ public class WebSocketController {
         responseCode = "200",
         description = "Message sent successfully",
         content = @Content(schema = @Schema(implementation = MessageTO.class))),
-    @ApiResponse(responseCode = "400", description = "Invalid message data")
+    @ApiResponse(responseCode = "400", description = "Invalid message data"),
+    @ApiResponse(
+        responseCode = "403",
+        description = "Not a participant of the chat, or no access to the attachment")
   })
   @PostMapping("/message/send")
-  public ResponseEntity<MessageTO> PostsendMessage(@RequestBody MessageTO messageTO) {
-    MessageTO savedMessage = messageService.saveMessage(messageTO);
-    return ResponseEntity.ok(savedMessage);
+  public ResponseEntity<?> PostsendMessage(
+      @RequestBody MessageTO messageTO, @AuthenticationPrincipal JwtPrincipal principal) {
+    if (!chatMembershipCache.isParticipant(messageTO.getChatId(), principal.userId())
+        || !chatMembershipCache.isParticipant(messageTO.getChatId(), messageTO.getReceiverId())) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN)
+          .body("Error: Sender and receiver must be participants of the chat");
+    }
+    messageTO.setSenderId(principal.userId());
+    try {
+      MessageTO savedMessage = messageService.saveMessage(messageTO);
+      return ResponseEntity.ok(savedMessage);
+    } catch (AccessDeniedException ex) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: " + ex.getMessage());
+    }
   }
 
   /**
@@ -9,8 +9,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Transfer object for authentication user response. Contains the JWT token, creation time, and
- * expiration time.
+ * Transfer object for authentication user response. Contains the JWT access token, creation time,
+ * and expiration time, and the refresh token used to obtain a new access token at {@code
+ * /auth/refresh} once it has expired.
  */
 @Data
 @Builder
@@ -26,6 +27,12 @@ public class LogInResponseTO {
   /** The expiration time of the token. */
   private String expiresAt;
 
+  /** The opaque refresh token. */
+  private String refreshToken;
+
+  /** The expiration time of the refresh token. */
+  private String refreshExpiresAt;
+
   /**
    * Constructs an AuthenticationUserResponseTO with the specified token, creation time, and
    * expiration duration.
@@ -40,6 +47,26 @@ public class LogInResponseTO {
     this.expiresAt = formatDateTime(createdAt.plusSeconds(expiresIn / 1000));
   }
 
+  /**
+   * Constructs a response with an access token and a refresh token.
+   *
+   * @param token the JWT token
+   * @param createdAt the creation time of the token
+   * @param expiresIn the duration in milliseconds until the token expires
+   * @param refreshToken the refresh token
+   * @param refreshExpiresAt the expiration time of the refresh token
+   */
+  public LogInResponseTO(
+      String token,
+      LocalDateTime createdAt,
+      long expiresIn,
+      String refreshToken,
+      LocalDateTime refreshExpiresAt) {
+    this(token, createdAt, expiresIn);
+    this.refreshToken = refreshToken;
+    this.refreshExpiresAt = formatDateTime(refreshExpiresAt);
+  }
+
   public LogInResponseTO(String token) {
     this.token = token;
   }
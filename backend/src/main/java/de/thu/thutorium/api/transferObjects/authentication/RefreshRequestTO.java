@@ -0,0 +1,16 @@
+package de.thu.thutorium.api.transferObjects.authentication;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+/** Transfer object for a token refresh or logout request. Contains the opaque refresh token. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequestTO {
+
+  @NotEmpty(message = "Refresh token cannot be empty")
+  private String refreshToken;
+}
@@ -0,0 +1,23 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+/** Transfer object representing a stored chat attachment. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentTO {
+
+  /** The hex-encoded SHA-256 hash of the content, used to reference and download the file. */
+  private String contentHash;
+
+  /** The file name of the attachment. */
+  private String fileName;
+
+  /** The media type of the attachment. */
+  private String contentType;
+
+  /** The size of the attachment in bytes. */
+  private Long sizeBytes;
+}
@@ -0,0 +1,50 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+/**
+ * Transfer object representing attendance counts and the resulting attendance rate, either of one
+ * student in a course or of a whole course.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRateTO {
+
+  /** The ID of the course. */
+  private Long courseId;
+
+  /** The ID of the student, or {@code null} for the total of a course. */
+  private Long studentId;
+
+  private long presentCount;
+
+  private long absentCount;
+
+  private long excusedCount;
+
+  /**
+   * The share of attended meetings among the attended and missed ones; excused meetings are not
+   * counted. {@code null} if no attendance has been recorded.
+   */
+  private Double attendanceRate;
+
+  /**
+   * Creates the transfer object and computes the attendance rate from the counts.
+   *
+   * @param courseId the ID of the course
+   * @param studentId the ID of the student, or {@code null}
+   * @param presentCount the number of attended meetings
+   * @param absentCount the number of missed meetings
+   * @param excusedCount the number of excused meetings
+   * @return the transfer object
+   */
+  public static AttendanceRateTO of(
+      Long courseId, Long studentId, long presentCount, long absentCount, long excusedCount) {
+    long counted = presentCount + absentCount;
+    Double rate = counted == 0 ? null : (double) presentCount / counted;
+    return new AttendanceRateTO(
+        courseId, studentId, presentCount, absentCount, excusedCount, rate);
+  }
+}
@@ -0,0 +1,21 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/** Transfer object representing the attendance of one student in a roll call. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceTO {
+
+  /** The ID of the student. */
+  @NotNull(message = "Student ID cannot be null")
+  private Long studentId;
+
+  /** The attendance status: {@code PRESENT}, {@code ABSENT} or {@code EXCUSED}. */
+  @NotNull(message = "Status cannot be null")
+  private MeetingStatus status;
+}
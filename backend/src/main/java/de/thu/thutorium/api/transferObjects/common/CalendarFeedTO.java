@@ -0,0 +1,22 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/** Transfer object describing the current state of a user's calendar feed. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedTO {
+
+  /** The ID of the user the feed belongs to. */
+  private Long userId;
+
+  /** The entity tag of the current feed content. */
+  private String eTag;
+
+  /** The time of the last change to the feed content. */
+  private Instant lastModified;
+}
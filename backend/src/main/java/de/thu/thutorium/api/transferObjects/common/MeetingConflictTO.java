@@ -0,0 +1,39 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Transfer object describing an existing meeting that a requested meeting would overlap with. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingConflictTO {
+
+  /** Why two meetings may not overlap. */
+  public enum Reason {
+    /** The tutor already holds another meeting at that time. */
+    TUTOR,
+    /** The room is already booked at that time. */
+    ROOM
+  }
+
+  /** The start of the requested meeting. */
+  private LocalDateTime requestedStartTime;
+
+  /** The end of the requested meeting. */
+  private LocalDateTime requestedEndTime;
+
+  /** The ID of the existing meeting. */
+  private Long conflictingMeetingId;
+
+  /** The start of the existing meeting. */
+  private LocalDateTime conflictingStartTime;
+
+  /** The end of the existing meeting. */
+  private LocalDateTime conflictingEndTime;
+
+  /** The constraint the requested meeting would violate. */
+  private Reason reason;
+}
@@ -0,0 +1,22 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Transfer object representing one page of a user's meeting feed. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingPageTO {
+
+  /** The meetings of this page, ordered by their start time. */
+  private List<MeetingTO> meetings;
+
+  /**
+   * The cursor to pass to request the next page, or {@code null} if this is the last page. The
+   * cursor is opaque to the client.
+   */
+  private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Transfer object pushed to the tutor and participants of a meeting before it starts. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingReminderTO {
+
+  /** The ID of the meeting. */
+  private Long meetingId;
+
+  /** The name of the course the meeting belongs to. */
+  private String courseName;
+
+  /** The start of the meeting. */
+  private LocalDateTime startTime;
+
+  /** The number of minutes until the meeting starts. */
+  private Long minutesBefore;
+}
@@ -0,0 +1,68 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.database.dbObjects.enums.RecurrenceFrequency;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Transfer object describing a recurring meeting series. The series is expanded into one meeting
+ * per matching date between {@code firstDate} and {@code untilDate}, skipping the {@code
+ * exceptionDates}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MeetingSeriesTO {
+  /** The tutor who creates the series. */
+  @NotNull(message = "Tutor cannot be null")
+  private Long tutorId;
+
+  /** The course to which the meetings are related. */
+  @NotNull(message = "Course ID cannot be null")
+  private Long courseId;
+
+  /** The date of the first meeting. */
+  @NotNull(message = "First date cannot be null")
+  private LocalDate firstDate;
+
+  /** The last date on which a meeting may take place. */
+  @NotNull(message = "Until date cannot be null")
+  private LocalDate untilDate;
+
+  /** How often the meetings repeat. */
+  @NotNull(message = "Frequency cannot be null")
+  private RecurrenceFrequency frequency;
+
+  /** Dates matching the rule on which no meeting takes place. */
+  private List<LocalDate> exceptionDates;
+
+  /** The time of day at which every meeting starts. */
+  @NotNull(message = "Start time cannot be null")
+  private LocalTime startTime;
+
+  /** The time of day at which every meeting ends. */
+  @NotNull(message = "End time cannot be null")
+  private LocalTime endTime;
+
+  /** The type of the meetings. */
+  @NotNull(message = "Meeting types cannot be null")
+  private MeetingType meetingType;
+
+  @NotEmpty(message = "Participants cannot be empty")
+  private List<Long> participantIds;
+
+  /** The address ID where the meetings are held. */
+  private Long addressId;
+
+  private String roomNum;
+
+  private String meetingLink;
+}
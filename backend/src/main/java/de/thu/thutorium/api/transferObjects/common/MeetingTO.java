@@ -1,5 +1,6 @@
 package de.thu.thutorium.api.transferObjects.common;
 
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
 import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +16,9 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class MeetingTO {
+  /** The ID of the meeting, set in responses. */
+  private Long meetingId;
+
   /** The tutor who created the meeting. */
   @NotNull(message = "Tutor cannot be null")
   private Long tutorId;
@@ -56,4 +60,7 @@ public class MeetingTO {
   private String universityName;
 
   private String meetingLink;
+
+  /** The status of the meeting, set in responses. */
+  private MeetingStatus status;
 }
@@ -41,4 +41,7 @@ public class MessageTO {
   /** Indicates whether the message has been read. */
   @NotNull(message = "Read status cannot be null")
   private Boolean isRead = false;
+
+  /** The content hash of the attached file, if the message has an attachment. */
+  private String attachmentHash;
 }
@@ -0,0 +1,29 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+/** Transfer object describing a tutor holding in-person meetings near a location. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTutorTO {
+
+  /** The ID of the tutor. */
+  private Long tutorId;
+
+  /** The first name of the tutor. */
+  private String firstName;
+
+  /** The last name of the tutor. */
+  private String lastName;
+
+  /** The distance in kilometres to the nearest address of an upcoming in-person meeting. */
+  private double distanceKm;
+
+  /** The ID of that address. */
+  private Long addressId;
+
+  /** The number of upcoming in-person meetings of the tutor within the search radius. */
+  private int meetingCount;
+}
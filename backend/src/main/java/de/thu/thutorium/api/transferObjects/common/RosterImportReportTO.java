@@ -0,0 +1,32 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Transfer object summarizing the result of a roster import. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterImportReportTO {
+
+  /** The number of entries read from the roster. */
+  private int totalRows;
+
+  /** The number of users created with the password given in the roster. */
+  private int createdUsers;
+
+  /** The number of users created without a password and invited by email to choose one. */
+  private int invitedUsers;
+
+  /** The entries that were not imported, in roster order. */
+  private List<RosterRowErrorTO> errors = new ArrayList<>();
+
+  /**
+   * Whether reading the roster stopped at a malformed entry. The entries before it were imported,
+   * and the last error names the entry at which reading stopped.
+   */
+  private boolean incomplete;
+}
@@ -0,0 +1,20 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+/** Transfer object describing a roster entry that was not imported. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterRowErrorTO {
+
+  /** The 1-based number of the entry in the roster, not counting a CSV header. */
+  private int row;
+
+  /** The email address of the entry, if it could be read. */
+  private String email;
+
+  /** Why the entry was not imported. */
+  private String message;
+}
@@ -0,0 +1,40 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transfer object describing a meeting of a course a student wants to enroll in that overlaps with
+ * a meeting of another course of the student.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleClashTO {
+
+  /** The ID of the course the student wants to enroll in. */
+  private Long courseId;
+
+  /** The ID of the overlapping meeting of that course. */
+  private Long meetingId;
+
+  /** The start of the overlapping meeting of that course. */
+  private LocalDateTime startTime;
+
+  /** The end of the overlapping meeting of that course. */
+  private LocalDateTime endTime;
+
+  /** The ID of the course the meeting clashes with. */
+  private Long clashingCourseId;
+
+  /** The ID of the meeting it clashes with. */
+  private Long clashingMeetingId;
+
+  /** The start of the meeting it clashes with. */
+  private LocalDateTime clashingStartTime;
+
+  /** The end of the meeting it clashes with. */
+  private LocalDateTime clashingEndTime;
+}
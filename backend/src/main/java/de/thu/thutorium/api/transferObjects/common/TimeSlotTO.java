@@ -0,0 +1,21 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Transfer object representing a time interval, including its start and excluding its end. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class TimeSlotTO {
+
+  /** The start of the interval. */
+  private LocalDateTime start;
+
+  /** The end of the interval. */
+  private LocalDateTime end;
+}
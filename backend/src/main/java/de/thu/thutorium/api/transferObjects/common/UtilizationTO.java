@@ -0,0 +1,32 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.*;
+
+/**
+ * Transfer object describing the utilization of a room or a campus within one hour of the week,
+ * summed over all weeks of a report.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationTO {
+
+  /** The ID of the address of the campus. */
+  private Long addressId;
+
+  /** The room number, or {@code null} for a campus report. */
+  private String roomNum;
+
+  /** The hour of the week, from 0 (Monday 00:00) to 167 (Sunday 23:00). */
+  private int hourOfWeek;
+
+  /** The booked minutes within this hour over all weeks of the report. */
+  private long bookedMinutes;
+
+  /** The highest number of rooms in use within this hour in any week of the report. */
+  private int peakConcurrency;
+
+  /** The unbooked minutes of the rooms within this hour over all weeks of the report. */
+  private long idleMinutes;
+}
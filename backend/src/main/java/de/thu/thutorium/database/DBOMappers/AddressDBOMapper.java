@@ -19,5 +19,9 @@ public interface AddressDBOMapper {
    * @return an {@code AddressDBO} object containing the mapped data
    */
   @Mapping(source = "university", target = "university")
+  @Mapping(target = "latitude", ignore = true) // Geocoded from the postal code
+  @Mapping(target = "longitude", ignore = true) // Geocoded from the postal code
+  @Mapping(target = "gridRow", ignore = true) // Derived from the coordinates
+  @Mapping(target = "gridColumn", ignore = true) // Derived from the coordinates
   AddressDBO toDBO(AddressTO addressTO);
 }
@@ -36,6 +36,8 @@ public interface MeetingDBMapper {
    *   <li>address: Ignored because it will be set in the service layer.
    *   <li>participants: Ignored because it is default-initialized in the constructor.
    *   <li>meetingId: Ignored because it is auto-generated by the database.
+   *   <li>status: Ignored because new meetings are always scheduled.
+   *   <li>series: Ignored because it is only set for occurrences of a meeting series.
    *   <li>universityName, campusName: Ignored because they are part of address details.
    * </ul>
    *
@@ -47,6 +49,8 @@ public interface MeetingDBMapper {
   @Mapping(target = "address", ignore = true) // Will be set in service layer
   @Mapping(target = "participants", ignore = true) // Will be set in service layer
   @Mapping(target = "meetingId", ignore = true) // Auto-generated in the database
+  @Mapping(target = "status", ignore = true) // Defaults to SCHEDULED
+  @Mapping(target = "series", ignore = true) // Only set for occurrences of a series
   @Mapping(source = "roomNum", target = "roomNum")
   @Mapping(source = "meetingDate", target = "meetingDate")
   @Mapping(source = "startTime", target = "startTime")
@@ -29,7 +29,7 @@ import java.util.List;
  * The postal code, must not be null. - {@code country} - The name of the country, must not be null.
  */
 @Entity
-@Table(name = "address")
+@Table(name = "address", indexes = @Index(name = "idx_address_grid", columnList = "grid_row, grid_column"))
 @Getter
 @Setter
 @Builder
@@ -87,6 +87,22 @@ public class AddressDBO {
   @Column(name = "email_address")
   private String emailAddress;
 
+  /** The latitude of the address, geocoded from its postal code. */
+  @Column(name = "latitude")
+  private Double latitude;
+
+  /** The longitude of the address, geocoded from its postal code. */
+  @Column(name = "longitude")
+  private Double longitude;
+
+  /** The row of the {@link de.thu.thutorium.geo.GeoGrid} cell containing the address. */
+  @Column(name = "grid_row")
+  private Integer gridRow;
+
+  /** The column of the {@link de.thu.thutorium.geo.GeoGrid} cell containing the address. */
+  @Column(name = "grid_column")
+  private Integer gridColumn;
+
   /**
    * The meeting associated with this address.
    *
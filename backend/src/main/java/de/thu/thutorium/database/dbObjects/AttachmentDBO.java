@@ -0,0 +1,67 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Represents a file attachment of chat messages. This class is mapped to the "attachment" table in
+ * the database using JPA annotations.
+ *
+ * <p>The file content itself is not stored in the database but in a content-addressed file store,
+ * under the SHA-256 hash of its content. Identical files are stored only once, so any number of
+ * messages can refer to the same attachment. Every user who uploaded the content is recorded as
+ * one of its uploaders, so a deduplicated upload stays accessible to each of them.
+ */
+@Builder
+@Entity
+@Table(name = "attachment")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentDBO {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "attachment_id")
+  private Long attachmentId;
+
+  /** The hex-encoded SHA-256 hash of the file content, which also names the stored file. */
+  @Column(name = "content_hash", length = 64, nullable = false, unique = true)
+  private String contentHash;
+
+  /** The file name given by the first uploader. */
+  @Column(name = "file_name", nullable = false)
+  private String fileName;
+
+  /** The media type of the file. */
+  @Column(name = "content_type", nullable = false)
+  private String contentType;
+
+  /** The size of the file in bytes. */
+  @Column(name = "size_bytes", nullable = false)
+  private Long sizeBytes;
+
+  /** The user who first uploaded the file. */
+  @ManyToOne
+  @JoinColumn(name = "uploaded_by")
+  private UserDBO uploadedBy;
+
+  /** The users who uploaded the file, each of whom may download it. */
+  @ManyToMany
+  @JoinTable(
+      name = "attachment_uploaders",
+      joinColumns = @JoinColumn(name = "attachment_id"),
+      inverseJoinColumns = @JoinColumn(name = "user_id"))
+  @Builder.Default
+  private Set<UserDBO> uploaders = new HashSet<>();
+
+  /** The timestamp when the file was first uploaded. */
+  @Column(name = "created_at", nullable = false)
+  @Builder.Default
+  private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,52 @@
+package de.thu.thutorium.database.dbObjects;
+
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the attendance of a student at a meeting. This class is mapped to the
+ * "meeting_attendance" table in the database using JPA annotations.
+ *
+ * <p>Rows are written by the roll call of the tutor with a single upsert per meeting, see {@link
+ * de.thu.thutorium.database.repositories.AttendanceRepository}. The IDs are kept as plain columns,
+ * so the attendance history survives the deletion of a meeting.
+ */
+@Builder
+@Entity
+@Table(name = "meeting_attendance")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceDBO {
+
+  @EmbeddedId private AttendanceId id;
+
+  /** The attendance status, one of {@code PRESENT}, {@code ABSENT} or {@code EXCUSED}. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private MeetingStatus status;
+
+  /** The time the status was last recorded. */
+  @Column(name = "recorded_at", nullable = false)
+  private LocalDateTime recordedAt;
+
+  /** The composite key of an attendance: the meeting and the student. */
+  @Embeddable
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class AttendanceId implements Serializable {
+    @Column(name = "meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+  }
+}
@@ -0,0 +1,56 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Represents the attendance counts of a student in a course. This class is mapped to the
+ * "attendance_summary" table in the database using JPA annotations.
+ *
+ * <p>The counts are maintained incrementally by the same statement that records a roll call, so
+ * attendance rates are read from these rows instead of being computed from the attendance
+ * history. The primary key serves per-course reads, the index on the student serves per-student
+ * reads.
+ */
+@Builder
+@Entity
+@Table(
+    name = "attendance_summary",
+    indexes = @Index(name = "idx_attendance_summary_student", columnList = "student_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSummaryDBO {
+
+  @EmbeddedId private SummaryId id;
+
+  /** The number of meetings the student attended. */
+  @Column(name = "present_count", nullable = false)
+  private Integer presentCount;
+
+  /** The number of meetings the student missed. */
+  @Column(name = "absent_count", nullable = false)
+  private Integer absentCount;
+
+  /** The number of meetings the student was excused from. */
+  @Column(name = "excused_count", nullable = false)
+  private Integer excusedCount;
+
+  /** The composite key of a summary: the course and the student. */
+  @Embeddable
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class SummaryId implements Serializable {
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+  }
+}
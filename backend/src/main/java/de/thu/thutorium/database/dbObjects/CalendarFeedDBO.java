@@ -0,0 +1,43 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the calendar subscription of a user. This class is mapped to the "calendar_feed"
+ * table in the database using JPA annotations.
+ *
+ * <p>The token authenticates requests of calendar applications, which cannot send a JWT. The
+ * meetings version is increased whenever a meeting of the user is created, changed or deleted, so
+ * the feed can be validated with a cheap lookup instead of being rendered again.
+ */
+@Builder
+@Entity
+@Table(name = "calendar_feed")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedDBO {
+
+  /** The ID of the user the feed belongs to. */
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  /** The secret token in the feed URL, or {@code null} if the user has not subscribed yet. */
+  @Column(name = "token", length = 64, unique = true)
+  private String token;
+
+  /** Counter increased on every change to one of the user's meetings. */
+  @Column(name = "meetings_version", nullable = false)
+  @Builder.Default
+  private Long meetingsVersion = 0L;
+
+  /** The time of the last change to one of the user's meetings. */
+  @Column(name = "updated_at", nullable = false)
+  @Builder.Default
+  private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,49 @@
+package de.thu.thutorium.database.dbObjects;
+
+import de.thu.thutorium.database.dbObjects.enums.EmailTokenPurpose;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a single-use token sent by email, e.g. in an email verification or password reset
+ * link. This class is mapped to the "email_token" table in the database using JPA annotations.
+ *
+ * <p>Only the SHA-256 hash of the token is stored. A token is consumed by setting {@code usedAt},
+ * and issuing a new token for the same user and purpose consumes all earlier ones, so only the
+ * link of the most recent email works.
+ */
+@Builder
+@Entity
+@Table(
+    name = "email_token",
+    indexes = @Index(name = "idx_email_token_user_purpose", columnList = "user_id, purpose"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailTokenDBO {
+
+  /** The hex encoded SHA-256 hash of the token. */
+  @Id
+  @Column(name = "token_hash", length = 64)
+  private String tokenHash;
+
+  /** The ID of the user the token was issued to. */
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /** The action the token authorizes. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "purpose", nullable = false, length = 20)
+  private EmailTokenPurpose purpose;
+
+  /** The time the token expires. */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  /** The time the token was used or superseded, or {@code null} while it is valid. */
+  @Column(name = "used_at")
+  private LocalDateTime usedAt;
+}
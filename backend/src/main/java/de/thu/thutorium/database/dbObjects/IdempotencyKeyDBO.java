@@ -0,0 +1,56 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a request made with an {@code Idempotency-Key} header and the response it was answered
+ * with. This class is mapped to the "idempotency_key" table in the database using JPA annotations.
+ *
+ * <p>A row is claimed when the first request with a key arrives and completed with the response
+ * once the request has been processed, so a retry of the request on any node is answered with the
+ * stored response instead of being processed again. Rows are purged once they have expired by the
+ * {@link de.thu.thutorium.idempotency.IdempotencyStore}.
+ */
+@Builder
+@Entity
+@Table(
+    name = "idempotency_key",
+    indexes = @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyDBO {
+
+  /** SHA-256 hash of the user and the key sent by the client. */
+  @Id
+  @Column(name = "key_hash", length = 64)
+  private String keyHash;
+
+  /** SHA-256 hash of the method, the URI and the body of the request. */
+  @Column(name = "request_hash", nullable = false, length = 64)
+  private String requestHash;
+
+  /** The HTTP status of the response, or {@code null} while the request is being processed. */
+  @Column(name = "status_code")
+  private Integer statusCode;
+
+  /** The content type of the response. */
+  @Column(name = "content_type")
+  private String contentType;
+
+  /** The body of the response. */
+  @Column(name = "response_body", columnDefinition = "BYTEA")
+  private byte[] responseBody;
+
+  /** The time the key was first used. */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /** The time after which the key may be used for a new request. */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -1,5 +1,6 @@
 package de.thu.thutorium.database.dbObjects;
 
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
 import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -78,6 +79,15 @@ public class MeetingDBO {
   @Column(name = "meeting_type", nullable = false)
   private MeetingType meetingType;
 
+  /**
+   * The status of the meeting as enumerated by the {@link MeetingStatus}. New meetings are {@link
+   * MeetingStatus#SCHEDULED}.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "meeting_status")
+  @Builder.Default
+  private MeetingStatus status = MeetingStatus.SCHEDULED;
+
   /**
    * The room number where the meeting is taking place, if applicable. This field may be null and
    * can have a length of up to 50 characters.
@@ -109,6 +119,11 @@ public class MeetingDBO {
   @Builder.Default
   private List<UserDBO> participants = new ArrayList<>();
 
+  /** The recurring series this meeting is an occurrence of, or {@code null} for single meetings. */
+  @ManyToOne
+  @JoinColumn(name = "series_id")
+  private MeetingSeriesDBO series;
+
   @Column(name = "time_range", columnDefinition = "tsrange", insertable = false, updatable = false)
   private String timeRange;
 }
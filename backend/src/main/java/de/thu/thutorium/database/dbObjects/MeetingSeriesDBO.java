@@ -0,0 +1,110 @@
+package de.thu.thutorium.database.dbObjects;
+
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.database.dbObjects.enums.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a recurring meeting series, e.g. the weekly tutorial of a course for a whole semester.
+ * This class is mapped to the "meeting_series" table in the database using JPA annotations.
+ *
+ * <p>The series stores the recurrence rule: the first date, the last possible date, the frequency
+ * and the dates on which no meeting takes place (e.g. public holidays). Each occurrence is stored
+ * as a regular {@link MeetingDBO} that refers back to its series, so the existing meeting queries
+ * and database constraints apply to every occurrence.
+ */
+@Builder
+@Entity
+@Table(name = "meeting_series")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingSeriesDBO {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "series_id")
+  private Long seriesId;
+
+  /** The tutor who created the series. */
+  @ManyToOne
+  @JoinColumn(name = "created_by", nullable = false)
+  private UserDBO tutor;
+
+  /** The course to which the meetings of this series belong. */
+  @ManyToOne
+  @JoinColumn(name = "course_id", nullable = false)
+  private CourseDBO course;
+
+  /** The date of the first occurrence. */
+  @Column(name = "first_date", nullable = false)
+  private LocalDate firstDate;
+
+  /** The last date on which an occurrence may take place. */
+  @Column(name = "until_date", nullable = false)
+  private LocalDate untilDate;
+
+  /** How often the meetings repeat. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "frequency", nullable = false)
+  private RecurrenceFrequency frequency;
+
+  /** The time of day at which every occurrence starts. */
+  @Column(name = "start_time", nullable = false)
+  private LocalTime startTime;
+
+  /** The time of day at which every occurrence ends. */
+  @Column(name = "end_time", nullable = false)
+  private LocalTime endTime;
+
+  /** Dates matching the rule on which no meeting takes place. */
+  @ElementCollection
+  @CollectionTable(name = "meeting_series_exception", joinColumns = @JoinColumn(name = "series_id"))
+  @Column(name = "exception_date", nullable = false)
+  @Builder.Default
+  private Set<LocalDate> exceptionDates = new HashSet<>();
+
+  /** The type of the meetings of this series. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "meeting_type", nullable = false)
+  private MeetingType meetingType;
+
+  /** The address where the meetings are held, if applicable. */
+  @ManyToOne
+  @JoinColumn(name = "address_id")
+  private AddressDBO address;
+
+  /** The room where the meetings are held, if applicable. */
+  @Column(name = "room_number", length = 50)
+  private String roomNum;
+
+  /** The link to access the meetings of an online series. */
+  @Column(name = "meeting_link", columnDefinition = "TEXT")
+  private String meetingLink;
+
+  /**
+   * Expands the recurrence rule into the dates of the individual occurrences.
+   *
+   * @return the occurrence dates in chronological order, without the exception dates
+   */
+  public List<LocalDate> getOccurrenceDates() {
+    List<LocalDate> dates = new ArrayList<>();
+    for (LocalDate date = firstDate;
+        !date.isAfter(untilDate);
+        date = date.plusWeeks(frequency.getIntervalWeeks())) {
+      if (!exceptionDates.contains(date)) {
+        dates.add(date);
+      }
+    }
+    return dates;
+  }
+}
@@ -55,4 +55,9 @@ public class MessageDBO {
   /** The timestamp when the message was read. */
   @Column(name = "read_at")
   private LocalDateTime readAt;
+
+  /** The optional file attached to the message. */
+  @ManyToOne
+  @JoinColumn(name = "attachment_id")
+  private AttachmentDBO attachment;
 }
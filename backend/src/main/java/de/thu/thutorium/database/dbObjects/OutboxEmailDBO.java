@@ -0,0 +1,70 @@
+package de.thu.thutorium.database.dbObjects;
+
+import de.thu.thutorium.database.dbObjects.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an email waiting to be sent, or the record of one that has been sent. This class is
+ * mapped to the "email_outbox" table in the database using JPA annotations.
+ *
+ * <p>Emails are written to the outbox in the same transaction as the change that causes them, e.g.
+ * the registration of a user, so an email is sent if and only if that change is committed. The
+ * {@link de.thu.thutorium.mail.EmailOutboxDispatcher} delivers them in the background.
+ */
+@Builder
+@Entity
+@Table(
+    name = "email_outbox",
+    indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEmailDBO {
+
+  /** The unique identifier of the email. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "email_id")
+  private Long emailId;
+
+  /** The address the email is sent to. */
+  @Column(name = "recipient", nullable = false)
+  private String recipient;
+
+  /** The subject of the email. */
+  @Column(name = "subject", nullable = false)
+  private String subject;
+
+  /** The plain text body of the email. */
+  @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+  private String body;
+
+  /** The delivery state of the email. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 10)
+  private OutboxStatus status;
+
+  /** The number of delivery attempts made so far. */
+  @Column(name = "attempts", nullable = false)
+  private Integer attempts;
+
+  /** The earliest time of the next delivery attempt. */
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  /** The time the email was added to the outbox. */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  /** The time the email was delivered to the mail server. */
+  @Column(name = "sent_at")
+  private LocalDateTime sentAt;
+
+  /** The error of the last failed attempt. */
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+}
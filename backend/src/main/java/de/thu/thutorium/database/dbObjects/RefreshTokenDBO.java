@@ -0,0 +1,55 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an issued refresh token. This class is mapped to the "refresh_token" table in the
+ * database using JPA annotations.
+ *
+ * <p>Only the SHA-256 hash of the token is stored. Every refresh replaces the token with a new one
+ * of the same family and marks the old one as used. A used token that is presented again means the
+ * token has been copied, so the whole family is revoked, see {@link
+ * de.thu.thutorium.security.RefreshTokenService}.
+ */
+@Builder
+@Entity
+@Table(
+    name = "refresh_token",
+    indexes = {
+      @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+      @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenDBO {
+
+  /** The hex encoded SHA-256 hash of the token. */
+  @Id
+  @Column(name = "token_hash", length = 64)
+  private String tokenHash;
+
+  /** The ID of the user the token was issued to. */
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /** The ID shared by all tokens that were rotated from the same login. */
+  @Column(name = "family_id", nullable = false, length = 36)
+  private String familyId;
+
+  /** The time the token expires. */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  /** The time the token was exchanged for a new one, or {@code null} while it is unused. */
+  @Column(name = "used_at")
+  private LocalDateTime usedAt;
+
+  /** Whether the family of the token has been revoked. */
+  @Column(name = "revoked", nullable = false)
+  private boolean revoked;
+}
@@ -0,0 +1,43 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a single revoked JWT. This class is mapped to the "revoked_token" table in the
+ * database using JPA annotations.
+ *
+ * <p>A row is only needed until the token would have expired on its own, so rows whose {@code
+ * expiresAt} has passed are purged periodically by the {@link
+ * de.thu.thutorium.security.TokenRevocationService}.
+ */
+@Builder
+@Entity
+@Table(
+    name = "revoked_token",
+    indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenDBO {
+
+  /** The ID of the token, taken from its {@code jti} claim. */
+  @Id
+  @Column(name = "token_id", length = 36)
+  private String tokenId;
+
+  /** The ID of the user the token was issued to. */
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /** The time the token expires. */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  /** The time the token was revoked. */
+  @Column(name = "revoked_at", nullable = false)
+  private LocalDateTime revokedAt;
+}
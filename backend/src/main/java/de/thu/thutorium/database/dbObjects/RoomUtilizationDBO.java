@@ -0,0 +1,64 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Represents the booked time of a room within one hour of one week. This class is mapped to the
+ * "room_utilization" table in the database using JPA annotations.
+ *
+ * <p>The rows are a rollup of the {@code meeting} table. They are maintained incrementally by the
+ * {@link de.thu.thutorium.services.implementations.MeetingServiceImpl} whenever a meeting with an
+ * address is created, updated or deleted, see {@link
+ * de.thu.thutorium.database.repositories.RoomUtilizationRepository}. Utilization reports read only
+ * this table.
+ */
+@Builder
+@Entity
+@Table(
+    name = "room_utilization",
+    indexes = @Index(name = "idx_room_utilization_week", columnList = "week_start, address_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomUtilizationDBO {
+
+  @EmbeddedId private BucketId id;
+
+  /** The minutes of the hour the room is booked. */
+  @Column(name = "booked_minutes", nullable = false)
+  private Integer bookedMinutes;
+
+  /** The number of meetings that take place in the room within the hour. */
+  @Column(name = "meeting_count", nullable = false)
+  private Integer meetingCount;
+
+  /**
+   * The composite key of a bucket: the room, the Monday of the week and the hour of the week,
+   * counted from 0 (Monday 00:00) to 167 (Sunday 23:00).
+   */
+  @Embeddable
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class BucketId implements Serializable {
+    @Column(name = "address_id", nullable = false)
+    private Long addressId;
+
+    /** The room number, or an empty string for meetings at an address without a room. */
+    @Column(name = "room_number", length = 50, nullable = false)
+    private String roomNum;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "hour_of_week", nullable = false)
+    private Short hourOfWeek;
+  }
+}
@@ -0,0 +1,32 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the point in time before which all JWTs of a user are revoked. This class is mapped
+ * to the "token_cutoff" table in the database using JPA annotations.
+ *
+ * <p>A cutoff is written when a user deletes their account or their roles change, so that every
+ * token issued before is rejected without having to know the individual token IDs.
+ */
+@Builder
+@Entity
+@Table(name = "token_cutoff")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenCutoffDBO {
+
+  /** The ID of the user. */
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  /** Tokens of the user issued before this time are revoked. */
+  @Column(name = "not_before", nullable = false)
+  private LocalDateTime notBefore;
+}
@@ -0,0 +1,7 @@
+package de.thu.thutorium.database.dbObjects.enums;
+
+/** The action a token sent by email authorizes. */
+public enum EmailTokenPurpose {
+  VERIFY_EMAIL,
+  RESET_PASSWORD
+}
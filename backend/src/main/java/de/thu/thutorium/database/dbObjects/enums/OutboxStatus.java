@@ -0,0 +1,8 @@
+package de.thu.thutorium.database.dbObjects.enums;
+
+/** The delivery state of an email in the outbox. */
+public enum OutboxStatus {
+  PENDING,
+  SENT,
+  FAILED
+}
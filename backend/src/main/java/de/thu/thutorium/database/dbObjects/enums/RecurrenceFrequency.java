@@ -0,0 +1,15 @@
+package de.thu.thutorium.database.dbObjects.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** How often the occurrences of a recurring meeting series repeat. */
+@Getter
+@RequiredArgsConstructor
+public enum RecurrenceFrequency {
+  WEEKLY(1),
+  BIWEEKLY(2);
+
+  /** The number of weeks between two occurrences. */
+  private final int intervalWeeks;
+}
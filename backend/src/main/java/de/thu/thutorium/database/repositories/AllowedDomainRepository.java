@@ -0,0 +1,53 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the {@code allowed_domain} table.
+ *
+ * <p>The table is read as a whole to build the in-memory domain lookup. {@link #findVersion()}
+ * returns a cheap fingerprint of its content, so the lookup is only rebuilt when the table has
+ * changed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AllowedDomainRepository {
+  private static final String VERSION_SQL =
+      "SELECT count(*) || ':' || coalesce(md5(string_agg(domain_name || '=' || affiliation_id, ','"
+          + " ORDER BY domain_id)), '') FROM allowed_domain";
+
+  /**
+   * An allowed email domain.
+   *
+   * @param domainName the domain, e.g. {@code uni-ulm.de}
+   * @param affiliationId the ID of the affiliation users of the domain belong to
+   */
+  public record AllowedDomain(String domainName, Long affiliationId) { }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns all allowed domains.
+   *
+   * @return the domains with their affiliations
+   */
+  public List<AllowedDomain> findAll() {
+    return jdbcTemplate.query(
+        "SELECT domain_name, affiliation_id FROM allowed_domain",
+        (rs, rowNum) -> new AllowedDomain(rs.getString("domain_name"), rs.getLong("affiliation_id")));
+  }
+
+  /**
+   * Returns a fingerprint of the allowed domains that changes whenever a domain is added, removed
+   * or assigned to another affiliation.
+   *
+   * @return the fingerprint
+   */
+  public String findVersion() {
+    return jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+  }
+}
@@ -0,0 +1,59 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.AttachmentDBO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link AttachmentDBO} entities.
+ *
+ * <p>This interface extends {@link JpaRepository}, providing CRUD (Create, Read, Update, Delete)
+ * operations and query methods for {@link AttachmentDBO} entities, which represent files attached
+ * to chat messages.
+ */
+@Repository
+public interface AttachmentRepository extends JpaRepository<AttachmentDBO, Long> {
+  /**
+   * Finds an attachment by the hash of its content.
+   *
+   * @param contentHash the hex-encoded SHA-256 hash of the file content
+   * @return an Optional containing the found attachment, or empty if not found
+   */
+  Optional<AttachmentDBO> findByContentHash(String contentHash);
+
+  /**
+   * Records a user as an uploader of an attachment. Recording the same user twice has no effect.
+   *
+   * @param attachmentId the ID of the attachment
+   * @param userId the ID of the uploading user
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "INSERT INTO attachment_uploaders (attachment_id, user_id) VALUES (:attachmentId, :userId)"
+              + " ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  void addUploader(@Param("attachmentId") Long attachmentId, @Param("userId") Long userId);
+
+  /**
+   * Checks whether a user may download an attachment, i.e. whether the user uploaded it or
+   * participates in a chat containing a message with this attachment.
+   *
+   * @param contentHash the hex-encoded SHA-256 hash of the file content
+   * @param userId the ID of the user
+   * @return {@code true} if the user may access the attachment
+   */
+  @Query(
+      "SELECT COUNT(a) > 0 FROM AttachmentDBO a WHERE a.contentHash = :contentHash"
+          + " AND (a.uploadedBy.userId = :userId OR EXISTS (SELECT 1 FROM AttachmentDBO u"
+          + " JOIN u.uploaders up WHERE u = a AND up.userId = :userId) OR EXISTS (SELECT 1 FROM MessageDBO m"
+          + " JOIN m.chat.participants p WHERE m.attachment = a AND p.userId = :userId))")
+  boolean isAccessibleBy(@Param("contentHash") String contentHash, @Param("userId") Long userId);
+}
@@ -0,0 +1,112 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the {@code meeting_attendance} and {@code attendance_summary} tables.
+ *
+ * <p>A roll call is written with a single statement: the submitted statuses are passed as arrays,
+ * upserted into {@code meeting_attendance}, and the difference between the previous and the new
+ * status of every student is added to the counts in {@code attendance_summary}. Correcting a
+ * status therefore moves the student from one count to the other instead of counting the meeting
+ * twice, and reading an attendance rate never has to scan the attendance history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceRepository {
+  private static final String LOCK_MEETING_SQL =
+      "SELECT meeting_id FROM meeting WHERE meeting_id = ? FOR UPDATE";
+
+  // all CTEs see the same snapshot, so "old" holds the statuses from before the upsert
+  private static final String RECORD_ATTENDANCE_SQL =
+      "WITH input AS (SELECT * FROM unnest(?::bigint[], ?::text[]) AS i(student_id, status)),"
+          + " old AS (SELECT a.student_id, a.status FROM meeting_attendance a"
+          + " JOIN input i ON i.student_id = a.student_id WHERE a.meeting_id = ?),"
+          + " upserted AS (INSERT INTO meeting_attendance (meeting_id, student_id, status, recorded_at)"
+          + " SELECT ?, student_id, status, now() FROM input"
+          + " ON CONFLICT (meeting_id, student_id)"
+          + " DO UPDATE SET status = EXCLUDED.status, recorded_at = EXCLUDED.recorded_at"
+          + " RETURNING student_id, status),"
+          + " delta AS (SELECT u.student_id,"
+          + " (u.status = 'PRESENT')::int - (o.status IS NOT DISTINCT FROM 'PRESENT')::int AS present,"
+          + " (u.status = 'ABSENT')::int - (o.status IS NOT DISTINCT FROM 'ABSENT')::int AS absent,"
+          + " (u.status = 'EXCUSED')::int - (o.status IS NOT DISTINCT FROM 'EXCUSED')::int AS excused"
+          + " FROM upserted u LEFT JOIN old o ON o.student_id = u.student_id)"
+          + " INSERT INTO attendance_summary (course_id, student_id, present_count, absent_count, excused_count)"
+          + " SELECT ?, student_id, present, absent, excused FROM delta"
+          + " ON CONFLICT (course_id, student_id) DO UPDATE SET"
+          + " present_count = attendance_summary.present_count + EXCLUDED.present_count,"
+          + " absent_count = attendance_summary.absent_count + EXCLUDED.absent_count,"
+          + " excused_count = attendance_summary.excused_count + EXCLUDED.excused_count";
+
+  private static final String SELECT_SUMMARY =
+      "SELECT course_id, student_id, present_count, absent_count, excused_count"
+          + " FROM attendance_summary";
+
+  private static final RowMapper<AttendanceRateTO> RATE_MAPPER =
+      (rs, rowNum) ->
+          AttendanceRateTO.of(
+              rs.getLong("course_id"),
+              rs.getLong("student_id"),
+              rs.getLong("present_count"),
+              rs.getLong("absent_count"),
+              rs.getLong("excused_count"));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Records the roll call of a meeting and updates the attendance counts of the course. The two
+   * lists are read pairwise and must not contain a student twice.
+   *
+   * <p>The meeting row is locked first, so that concurrent roll calls for the same meeting are
+   * serialized and compute their differences against the same previous statuses. This method must
+   * therefore run inside a transaction.
+   *
+   * @param meetingId the ID of the meeting
+   * @param courseId the ID of the course the meeting belongs to
+   * @param studentIds the IDs of the students
+   * @param statuses the names of the attendance statuses
+   */
+  public void recordAttendance(
+      Long meetingId, Long courseId, List<Long> studentIds, List<String> statuses) {
+    if (studentIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.queryForList(LOCK_MEETING_SQL, Long.class, meetingId);
+    jdbcTemplate.update(
+        RECORD_ATTENDANCE_SQL,
+        studentIds.toArray(Long[]::new),
+        statuses.toArray(String[]::new),
+        meetingId,
+        meetingId,
+        courseId);
+  }
+
+  /**
+   * Returns the attendance counts of all students of a course.
+   *
+   * @param courseId the ID of the course
+   * @return the counts per student, ordered by student ID
+   */
+  public List<AttendanceRateTO> findByCourse(Long courseId) {
+    return jdbcTemplate.query(
+        SELECT_SUMMARY + " WHERE course_id = ? ORDER BY student_id", RATE_MAPPER, courseId);
+  }
+
+  /**
+   * Returns the attendance counts of a student in all of their courses.
+   *
+   * @param studentId the ID of the student
+   * @return the counts per course, ordered by course ID
+   */
+  public List<AttendanceRateTO> findByStudent(Long studentId) {
+    return jdbcTemplate.query(
+        SELECT_SUMMARY + " WHERE student_id = ? ORDER BY course_id", RATE_MAPPER, studentId);
+  }
+}
@@ -0,0 +1,40 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.CalendarFeedDBO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/** Repository interface for {@link CalendarFeedDBO} entities. */
+@Repository
+public interface CalendarFeedRepository extends JpaRepository<CalendarFeedDBO, Long> {
+
+  /**
+   * Finds the calendar feed with the given token.
+   *
+   * @param token the token of the feed URL
+   * @return the feed, if the token is valid
+   */
+  Optional<CalendarFeedDBO> findByToken(String token);
+
+  /**
+   * Increases the meetings version of the given users with a single statement, creating the row
+   * of users that have none yet.
+   *
+   * @param userIds the IDs of the users whose meetings have changed
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO calendar_feed (user_id, meetings_version, updated_at)"
+              + " SELECT u.user_id, 1, now() FROM user_account u WHERE u.user_id IN (:userIds)"
+              + " ON CONFLICT (user_id) DO UPDATE"
+              + " SET meetings_version = calendar_feed.meetings_version + 1, updated_at = now()",
+      nativeQuery = true)
+  void bumpMeetingsVersion(@Param("userIds") Collection<Long> userIds);
+}
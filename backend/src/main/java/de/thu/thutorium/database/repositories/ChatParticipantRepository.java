@@ -0,0 +1,33 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Repository for the {@code chat_participants} join table.
+ *
+ * <p>Reading the participants through {@code ChatDBO.participants} loads every participant as a
+ * full user entity. Authorizing chat traffic only needs the IDs, which this repository reads with
+ * a single query on the join table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatParticipantRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the IDs of the participants of a chat.
+   *
+   * @param chatId the ID of the chat
+   * @return the IDs of the users participating in the chat; empty if the chat does not exist
+   */
+  public Set<Long> findParticipantIds(Long chatId) {
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            "SELECT user_id FROM chat_participants WHERE chat_id = ?", Long.class, chatId));
+  }
+}
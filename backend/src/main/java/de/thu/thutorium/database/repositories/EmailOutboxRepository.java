@@ -0,0 +1,150 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the {@code email_outbox} table.
+ *
+ * <p>Several application nodes may drain the outbox at the same time. {@link #claimDue} picks due
+ * emails with {@code FOR UPDATE SKIP LOCKED} and moves their next attempt into the future in the
+ * same statement, so every email is claimed by one node only and the claim outlives the short
+ * transaction. The email is then sent without holding a lock; if the node dies while sending, the
+ * email becomes due again once the claim expires.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxRepository {
+  private static final String ENQUEUE_SQL =
+      "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at)"
+          + " VALUES (?, ?, ?, 'PENDING', 0, now(), now())";
+
+  private static final String ENQUEUE_ALL_SQL =
+      "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at)"
+          + " SELECT recipient, ?, body, 'PENDING', 0, now(), now()"
+          + " FROM unnest(?::text[], ?::text[]) AS t(recipient, body)";
+
+  private static final String CLAIM_SQL =
+      "UPDATE email_outbox SET attempts = attempts + 1,"
+          + " next_attempt_at = now() + make_interval(secs => ?)"
+          + " WHERE email_id IN (SELECT email_id FROM email_outbox"
+          + " WHERE status = 'PENDING' AND next_attempt_at <= now()"
+          + " ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+          + " RETURNING email_id, recipient, subject, body, attempts";
+
+  /**
+   * An email claimed for delivery.
+   *
+   * @param emailId the ID of the email
+   * @param recipient the address the email is sent to
+   * @param subject the subject of the email
+   * @param body the plain text body of the email
+   * @param attempts the number of delivery attempts including the current one
+   */
+  public record ClaimedEmail(
+      Long emailId, String recipient, String subject, String body, int attempts) { }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds an email to the outbox. It is sent once the surrounding transaction has committed.
+   *
+   * @param recipient the address the email is sent to
+   * @param subject the subject of the email
+   * @param body the plain text body of the email
+   */
+  public void enqueue(String recipient, String subject, String body) {
+    jdbcTemplate.update(ENQUEUE_SQL, recipient, subject, body);
+  }
+
+  /**
+   * Adds emails with the same subject to the outbox in one statement. The lists are read pairwise.
+   *
+   * @param recipients the addresses the emails are sent to
+   * @param subject the subject of all emails
+   * @param bodies the plain text bodies of the emails
+   */
+  public void enqueueAll(List<String> recipients, String subject, List<String> bodies) {
+    if (recipients.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        ENQUEUE_ALL_SQL, subject, recipients.toArray(String[]::new), bodies.toArray(String[]::new));
+  }
+
+  /**
+   * Claims a batch of due emails for delivery.
+   *
+   * @param limit the maximum number of emails to claim
+   * @param claimSeconds the time in seconds other nodes skip the claimed emails
+   * @return the claimed emails
+   */
+  public List<ClaimedEmail> claimDue(int limit, long claimSeconds) {
+    return jdbcTemplate.query(
+        CLAIM_SQL,
+        (rs, rowNum) ->
+            new ClaimedEmail(
+                rs.getLong("email_id"),
+                rs.getString("recipient"),
+                rs.getString("subject"),
+                rs.getString("body"),
+                rs.getInt("attempts")),
+        claimSeconds,
+        limit);
+  }
+
+  /**
+   * Marks an email as delivered.
+   *
+   * @param emailId the ID of the email
+   */
+  public void markSent(Long emailId) {
+    jdbcTemplate.update(
+        "UPDATE email_outbox SET status = 'SENT', sent_at = now(), last_error = NULL WHERE email_id = ?",
+        emailId);
+  }
+
+  /**
+   * Schedules another delivery attempt after a failed one.
+   *
+   * @param emailId the ID of the email
+   * @param nextAttemptAt the earliest time of the next attempt
+   * @param error the error of the failed attempt
+   */
+  public void markRetry(Long emailId, Instant nextAttemptAt, String error) {
+    jdbcTemplate.update(
+        "UPDATE email_outbox SET next_attempt_at = ?, last_error = ? WHERE email_id = ?",
+        Timestamp.from(nextAttemptAt),
+        error,
+        emailId);
+  }
+
+  /**
+   * Gives up on an email after its last failed attempt.
+   *
+   * @param emailId the ID of the email
+   * @param error the error of the last attempt
+   */
+  public void markFailed(Long emailId, String error) {
+    jdbcTemplate.update(
+        "UPDATE email_outbox SET status = 'FAILED', last_error = ? WHERE email_id = ?",
+        error,
+        emailId);
+  }
+
+  /**
+   * Deletes sent emails older than the given time.
+   *
+   * @param before emails sent before this time are deleted
+   * @return the number of deleted emails
+   */
+  public int deleteSentBefore(Instant before) {
+    return jdbcTemplate.update(
+        "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < ?", Timestamp.from(before));
+  }
+}
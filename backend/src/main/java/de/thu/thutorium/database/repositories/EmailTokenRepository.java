@@ -0,0 +1,97 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.enums.EmailTokenPurpose;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@code email_token} table.
+ *
+ * <p>Consuming a token is a single conditional update, so a link cannot be used twice even if it
+ * is opened concurrently.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailTokenRepository {
+  private static final String SUPERSEDE_SQL =
+      "UPDATE email_token SET used_at = now()"
+          + " WHERE user_id = ? AND purpose = ? AND used_at IS NULL";
+
+  private static final String INSERT_SQL =
+      "INSERT INTO email_token (token_hash, user_id, purpose, expires_at) VALUES (?, ?, ?, ?)";
+
+  private static final String INSERT_ALL_SQL =
+      "INSERT INTO email_token (token_hash, user_id, purpose, expires_at)"
+          + " SELECT token_hash, user_id, ?, ? FROM unnest(?::text[], ?::bigint[]) AS t(token_hash, user_id)";
+
+  private static final String CONSUME_SQL =
+      "UPDATE email_token SET used_at = now()"
+          + " WHERE token_hash = ? AND purpose = ? AND used_at IS NULL AND expires_at > now()"
+          + " RETURNING user_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Stores a new token and invalidates all earlier unused tokens of the user for the same purpose.
+   *
+   * @param tokenHash the hash of the token
+   * @param userId the ID of the user
+   * @param purpose the action the token authorizes
+   * @param expiresAt the time the token expires
+   */
+  public void replace(String tokenHash, Long userId, EmailTokenPurpose purpose, Instant expiresAt) {
+    jdbcTemplate.update(SUPERSEDE_SQL, userId, purpose.name());
+    jdbcTemplate.update(INSERT_SQL, tokenHash, userId, purpose.name(), Timestamp.from(expiresAt));
+  }
+
+  /**
+   * Stores tokens for users that have no tokens yet, e.g. users that were just created. The lists
+   * are read pairwise.
+   *
+   * @param tokenHashes the hashes of the tokens
+   * @param userIds the IDs of the users
+   * @param purpose the action the tokens authorize
+   * @param expiresAt the time the tokens expire
+   */
+  public void insertAll(
+      List<String> tokenHashes, List<Long> userIds, EmailTokenPurpose purpose, Instant expiresAt) {
+    if (tokenHashes.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        INSERT_ALL_SQL,
+        purpose.name(),
+        Timestamp.from(expiresAt),
+        tokenHashes.toArray(String[]::new),
+        userIds.toArray(Long[]::new));
+  }
+
+  /**
+   * Marks a token as used if it is valid.
+   *
+   * @param tokenHash the hash of the token
+   * @param purpose the action the token must authorize
+   * @return the ID of the user the token was issued to, or empty if the token is unknown, expired,
+   *     already used or issued for a different purpose
+   */
+  public Optional<Long> consume(String tokenHash, EmailTokenPurpose purpose) {
+    return jdbcTemplate.queryForList(CONSUME_SQL, Long.class, tokenHash, purpose.name()).stream()
+        .findFirst();
+  }
+
+  /**
+   * Deletes tokens that have expired or been used.
+   *
+   * @return the number of deleted tokens
+   */
+  public int deleteStale() {
+    return jdbcTemplate.update(
+        "DELETE FROM email_token WHERE expires_at < now() OR used_at IS NOT NULL");
+  }
+}
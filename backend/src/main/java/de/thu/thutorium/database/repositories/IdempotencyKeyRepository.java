@@ -0,0 +1,133 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@code idempotency_key} table.
+ *
+ * <p>The table is shared by all application nodes. A key is claimed with a single insert, so of two
+ * requests with the same key that arrive on different nodes at the same time only one is processed.
+ * An expired key, including the short lease of a request that never completed, can be claimed again
+ * in the same statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+  private static final String CLAIM_SQL =
+      "INSERT INTO idempotency_key (key_hash, request_hash, created_at, expires_at) VALUES (?, ?, now(), ?)"
+          + " ON CONFLICT (key_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash,"
+          + " status_code = NULL, content_type = NULL, response_body = NULL,"
+          + " created_at = now(), expires_at = EXCLUDED.expires_at"
+          + " WHERE idempotency_key.expires_at <= now()";
+
+  private static final String FIND_SQL =
+      "SELECT request_hash, status_code, content_type, response_body, expires_at"
+          + " FROM idempotency_key WHERE key_hash = ? AND expires_at > now()";
+
+  /**
+   * A request made with an idempotency key.
+   *
+   * @param requestHash the hash of the method, the URI and the body of the request
+   * @param statusCode the HTTP status of the response, or {@code null} while the request is being
+   *     processed
+   * @param contentType the content type of the response
+   * @param body the body of the response
+   * @param expiresAt the time after which the key may be used for a new request
+   */
+  public record StoredResponse(
+      String requestHash, Integer statusCode, String contentType, byte[] body, Instant expiresAt) {
+
+    /**
+     * Checks whether the request has been processed.
+     *
+     * @return {@code true} if the response is stored
+     */
+    public boolean isCompleted() {
+      return statusCode != null;
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Claims a key for a request that is about to be processed.
+   *
+   * @param keyHash the hash of the user and the key
+   * @param requestHash the hash of the request
+   * @param expiresAt the end of the lease, after which the key may be claimed by another request
+   * @return {@code true} if the key was not in use and now belongs to the request
+   */
+  public boolean claim(String keyHash, String requestHash, Instant expiresAt) {
+    return jdbcTemplate.update(CLAIM_SQL, keyHash, requestHash, Timestamp.from(expiresAt)) > 0;
+  }
+
+  /**
+   * Finds the request a key is in use for.
+   *
+   * @param keyHash the hash of the user and the key
+   * @return the request and its response, if the key is in use and has not expired
+   */
+  public Optional<StoredResponse> find(String keyHash) {
+    List<StoredResponse> rows =
+        jdbcTemplate.query(
+            FIND_SQL,
+            (rs, rowNum) ->
+                new StoredResponse(
+                    rs.getString("request_hash"),
+                    (Integer) rs.getObject("status_code"),
+                    rs.getString("content_type"),
+                    rs.getBytes("response_body"),
+                    rs.getTimestamp("expires_at").toInstant()),
+            keyHash);
+    return rows.stream().findFirst();
+  }
+
+  /**
+   * Stores the response of a claimed key.
+   *
+   * @param keyHash the hash of the user and the key
+   * @param statusCode the HTTP status of the response
+   * @param contentType the content type of the response
+   * @param body the body of the response
+   * @param expiresAt the time after which the key may be used for a new request
+   */
+  public void complete(
+      String keyHash, int statusCode, String contentType, byte[] body, Instant expiresAt) {
+    jdbcTemplate.update(
+        "UPDATE idempotency_key SET status_code = ?, content_type = ?, response_body = ?,"
+            + " expires_at = ? WHERE key_hash = ?",
+        statusCode,
+        contentType,
+        body,
+        Timestamp.from(expiresAt),
+        keyHash);
+  }
+
+  /**
+   * Releases a claimed key whose request failed, so that it can be retried.
+   *
+   * @param keyHash the hash of the user and the key
+   */
+  public void release(String keyHash) {
+    jdbcTemplate.update(
+        "DELETE FROM idempotency_key WHERE key_hash = ? AND status_code IS NULL", keyHash);
+  }
+
+  /**
+   * Deletes keys that have expired.
+   *
+   * @param before keys expiring before this time are deleted
+   * @return the number of deleted keys
+   */
+  public int deleteExpiredBefore(Instant before) {
+    return jdbcTemplate.update(
+        "DELETE FROM idempotency_key WHERE expires_at < ?", Timestamp.from(before));
+  }
+}
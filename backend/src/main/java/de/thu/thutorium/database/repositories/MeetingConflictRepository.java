@@ -0,0 +1,175 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.api.transferObjects.common.MeetingConflictTO;
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Checks requested meetings against the {@code no_tutor_overlapping_meetings} and {@code
+ * no_overlapping_meetings} exclusion constraints created by {@link de.thu.thutorium.DBInitializer}
+ * before they are inserted.
+ *
+ * <p>All requested time ranges are passed as arrays and joined against the {@code time_range} column
+ * in a single query, which is served by the GiST indexes backing the constraints. This way every
+ * conflict of a whole meeting series is found at once, instead of the insert failing on the first
+ * one.
+ *
+ * <p>The same index also serves {@link #findBusyIntervals}, which loads the meetings blocking a
+ * tutor, participants or a room within a time window for the availability search, and {@link
+ * #findScheduleClashes}, which checks the upcoming meetings of courses against each other before a
+ * student enrolls.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MeetingConflictRepository {
+  private static final String FIND_CONFLICTS_SQL =
+      "SELECT o.start_time, o.end_time, m.meeting_id, m.meeting_start_time, m.meeting_end_time,"
+          + " m.created_by = ? AS tutor_conflict"
+          + " FROM unnest(?::timestamp[], ?::timestamp[]) AS o(start_time, end_time)"
+          + " JOIN meeting m ON m.time_range && tsrange(o.start_time, o.end_time)"
+          + " AND (m.created_by = ? OR (m.room_number = ? AND m.address_id = ?))"
+          + " ORDER BY o.start_time, m.meeting_id";
+
+  private static final String FIND_BUSY_INTERVALS_SQL =
+      "SELECT m.meeting_start_time, m.meeting_end_time FROM meeting m"
+          + " WHERE m.time_range && tsrange(?::timestamp, ?::timestamp)"
+          + " AND (m.created_by = ? OR m.created_by = ANY(?::bigint[])"
+          + " OR (m.room_number = ? AND m.address_id = ?)"
+          + " OR EXISTS (SELECT 1 FROM students_meetings sm"
+          + " WHERE sm.meeting_id = m.meeting_id AND sm.student_id = ANY(?::bigint[])))"
+          + " ORDER BY m.meeting_start_time";
+
+  // pairs candidate meetings with meetings of enrolled courses, and with meetings of the other
+  // candidates (each pair of candidates once)
+  private static final String FIND_SCHEDULE_CLASHES_SQL =
+      "WITH enrolled AS (SELECT course_id FROM course_students WHERE student_id = ?)"
+          + " SELECT c.course_id, c.meeting_id, c.meeting_start_time, c.meeting_end_time,"
+          + " m.course_id AS clashing_course_id, m.meeting_id AS clashing_meeting_id,"
+          + " m.meeting_start_time AS clashing_start_time, m.meeting_end_time AS clashing_end_time"
+          + " FROM meeting c"
+          + " JOIN meeting m ON m.time_range && c.time_range AND m.course_id <> c.course_id"
+          + " WHERE c.course_id = ANY(?::bigint[]) AND c.meeting_end_time > ?::timestamp"
+          + " AND ((m.course_id IN (SELECT course_id FROM enrolled)"
+          + " AND m.course_id <> ALL(?::bigint[]))"
+          + " OR (m.course_id = ANY(?::bigint[]) AND m.course_id > c.course_id))"
+          + " ORDER BY c.meeting_start_time, c.meeting_id, m.meeting_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Finds the existing meetings that overlap with the requested time ranges, either because the
+   * tutor is busy or because the room is booked. The two lists are read pairwise.
+   *
+   * @param tutorId the ID of the tutor holding the requested meetings
+   * @param addressId the ID of the address of the requested meetings, or {@code null}
+   * @param roomNum the room of the requested meetings, or {@code null}
+   * @param startTimes the start times of the requested meetings
+   * @param endTimes the end times of the requested meetings
+   * @return the conflicts ordered by the start of the requested meeting, empty if there are none
+   */
+  public List<MeetingConflictTO> findConflicts(
+      Long tutorId,
+      Long addressId,
+      String roomNum,
+      List<LocalDateTime> startTimes,
+      List<LocalDateTime> endTimes) {
+    if (startTimes.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        FIND_CONFLICTS_SQL,
+        (rs, rowNum) ->
+            new MeetingConflictTO(
+                rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime(),
+                rs.getLong("meeting_id"),
+                rs.getTimestamp("meeting_start_time").toLocalDateTime(),
+                rs.getTimestamp("meeting_end_time").toLocalDateTime(),
+                rs.getBoolean("tutor_conflict")
+                    ? MeetingConflictTO.Reason.TUTOR
+                    : MeetingConflictTO.Reason.ROOM),
+        tutorId,
+        startTimes.stream().map(Object::toString).toArray(String[]::new),
+        endTimes.stream().map(Object::toString).toArray(String[]::new),
+        tutorId,
+        roomNum,
+        addressId);
+  }
+
+  /**
+   * Loads the time ranges of all meetings within a window that block the tutor, one of the
+   * participants (as student or as tutor) or the room.
+   *
+   * @param tutorId the ID of the tutor
+   * @param participantIds the IDs of the participants
+   * @param addressId the ID of the address of the room, or {@code null}
+   * @param roomNum the room, or {@code null}
+   * @param from the start of the window
+   * @param to the end of the window
+   * @return the busy intervals ordered by their start
+   */
+  public List<TimeSlotTO> findBusyIntervals(
+      Long tutorId,
+      Collection<Long> participantIds,
+      Long addressId,
+      String roomNum,
+      LocalDateTime from,
+      LocalDateTime to) {
+    Long[] participants = participantIds.toArray(Long[]::new);
+    return jdbcTemplate.query(
+        FIND_BUSY_INTERVALS_SQL,
+        (rs, rowNum) ->
+            new TimeSlotTO(
+                rs.getTimestamp("meeting_start_time").toLocalDateTime(),
+                rs.getTimestamp("meeting_end_time").toLocalDateTime()),
+        from.toString(),
+        to.toString(),
+        tutorId,
+        participants,
+        roomNum,
+        addressId,
+        participants);
+  }
+
+  /**
+   * Finds the upcoming meetings of the candidate courses that overlap with meetings of the courses
+   * the student is enrolled in, or with meetings of another candidate course. All candidates are
+   * checked in a single query.
+   *
+   * @param studentId the ID of the student
+   * @param candidateCourseIds the IDs of the courses the student wants to enroll in
+   * @param now the current time; meetings that have ended are ignored
+   * @return the clashes ordered by the start of the candidate meeting, empty if there are none
+   */
+  public List<ScheduleClashTO> findScheduleClashes(
+      Long studentId, Collection<Long> candidateCourseIds, LocalDateTime now) {
+    if (candidateCourseIds.isEmpty()) {
+      return List.of();
+    }
+    Long[] candidates = candidateCourseIds.toArray(Long[]::new);
+    return jdbcTemplate.query(
+        FIND_SCHEDULE_CLASHES_SQL,
+        (rs, rowNum) ->
+            new ScheduleClashTO(
+                rs.getLong("course_id"),
+                rs.getLong("meeting_id"),
+                rs.getTimestamp("meeting_start_time").toLocalDateTime(),
+                rs.getTimestamp("meeting_end_time").toLocalDateTime(),
+                rs.getLong("clashing_course_id"),
+                rs.getLong("clashing_meeting_id"),
+                rs.getTimestamp("clashing_start_time").toLocalDateTime(),
+                rs.getTimestamp("clashing_end_time").toLocalDateTime()),
+        studentId,
+        candidates,
+        now.toString(),
+        candidates,
+        candidates);
+  }
+}
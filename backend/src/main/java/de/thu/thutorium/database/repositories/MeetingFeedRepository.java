@@ -0,0 +1,152 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads the meeting feed of a user, i.e. the meetings the user holds as tutor or takes part in as a
+ * student, in chronological order.
+ *
+ * <p>The feed is read with one query. Both sources are restricted to the requested time window
+ * before they are combined, so they are served by the {@code idx_meeting_tutor_start} and {@code
+ * idx_students_meetings_student} indexes created by {@link de.thu.thutorium.DBInitializer}. The
+ * {@code UNION} removes meetings the user appears in twice. Pages are read with a keyset on {@code
+ * (meeting_start_time, meeting_id)}, so later pages cost the same as the first one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MeetingFeedRepository {
+  private static final String FEED_SQL =
+      "WITH feed AS ("
+          + " SELECT m.meeting_id FROM meeting m"
+          + " WHERE m.created_by = ? AND m.meeting_start_time >= ? AND m.meeting_start_time < ?"
+          + " UNION"
+          + " SELECT m.meeting_id FROM students_meetings sm JOIN meeting m ON m.meeting_id = sm.meeting_id"
+          + " WHERE sm.student_id = ? AND m.meeting_start_time >= ? AND m.meeting_start_time < ?)"
+          + " SELECT m.meeting_id, m.created_by, m.course_id, m.meeting_date, m.meeting_start_time,"
+          + " m.meeting_end_time, m.duration_minutes, m.meeting_type, m.room_number, m.meeting_link,"
+          + " m.address_id, COALESCE(m.meeting_status, 'SCHEDULED') AS meeting_status,"
+          + " a.campus_name, u.university_name"
+          + " FROM feed JOIN meeting m ON m.meeting_id = feed.meeting_id"
+          + " LEFT JOIN address a ON a.address_id = m.address_id"
+          + " LEFT JOIN university u ON u.university_id = a.university"
+          + " WHERE (m.meeting_start_time, m.meeting_id) > (?, ?)"
+          + " AND (CAST(? AS text) IS NULL OR COALESCE(m.meeting_status, 'SCHEDULED') = ?)"
+          + " ORDER BY m.meeting_start_time, m.meeting_id"
+          + " LIMIT ?";
+
+  private static final String CALENDAR_SQL =
+      "WITH feed AS ("
+          + " SELECT m.meeting_id FROM meeting m"
+          + " WHERE m.created_by = ? AND m.meeting_start_time >= ? AND m.meeting_start_time < ?"
+          + " UNION"
+          + " SELECT m.meeting_id FROM students_meetings sm JOIN meeting m ON m.meeting_id = sm.meeting_id"
+          + " WHERE sm.student_id = ? AND m.meeting_start_time >= ? AND m.meeting_start_time < ?)"
+          + " SELECT m.meeting_id, m.meeting_start_time, m.meeting_end_time, m.meeting_type,"
+          + " m.room_number, m.meeting_link, c.course_name, a.campus_name, a.street_name,"
+          + " a.house_number, a.postal_code, a.city"
+          + " FROM feed JOIN meeting m ON m.meeting_id = feed.meeting_id"
+          + " JOIN course c ON c.course_id = m.course_id"
+          + " LEFT JOIN address a ON a.address_id = m.address_id"
+          + " ORDER BY m.meeting_start_time, m.meeting_id";
+
+  /** Rows fetched per round trip when streaming the calendar of a user. */
+  private static final int CALENDAR_FETCH_SIZE = 100;
+
+  private static final RowMapper<MeetingTO> MEETING_ROW_MAPPER =
+      (rs, rowNum) -> {
+        MeetingTO meeting = new MeetingTO();
+        meeting.setMeetingId(rs.getLong("meeting_id"));
+        meeting.setTutorId(rs.getLong("created_by"));
+        meeting.setCourseId(rs.getLong("course_id"));
+        meeting.setMeetingDate(rs.getDate("meeting_date").toLocalDate());
+        meeting.setStartTime(rs.getTimestamp("meeting_start_time").toLocalDateTime());
+        meeting.setEndTime(rs.getTimestamp("meeting_end_time").toLocalDateTime());
+        meeting.setDuration(rs.getObject("duration_minutes", Integer.class));
+        meeting.setMeetingType(MeetingType.valueOf(rs.getString("meeting_type")));
+        meeting.setRoomNum(rs.getString("room_number"));
+        meeting.setMeetingLink(rs.getString("meeting_link"));
+        meeting.setAddressId(rs.getObject("address_id", Long.class));
+        meeting.setStatus(MeetingStatus.valueOf(rs.getString("meeting_status")));
+        meeting.setCampusName(rs.getString("campus_name"));
+        meeting.setUniversityName(rs.getString("university_name"));
+        return meeting;
+      };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Reads one page of the meeting feed of a user.
+   *
+   * @param userId the ID of the user
+   * @param from the start of the window for the first page, or the start time of the last meeting
+   *     of the previous page
+   * @param to the latest start time of a returned meeting (exclusive)
+   * @param status the status to filter by, or {@code null} for all meetings
+   * @param afterMeetingId {@code 0} for the first page, or the ID of the last meeting of the
+   *     previous page; meetings starting at {@code from} are only returned if their ID is greater
+   * @param limit the maximum number of meetings to return
+   * @return the meetings ordered by start time and ID
+   */
+  public List<MeetingTO> findFeed(
+      Long userId,
+      LocalDateTime from,
+      LocalDateTime to,
+      MeetingStatus status,
+      long afterMeetingId,
+      int limit) {
+    String statusName = status == null ? null : status.name();
+    return jdbcTemplate.query(
+        FEED_SQL,
+        MEETING_ROW_MAPPER,
+        userId,
+        from,
+        to,
+        userId,
+        from,
+        to,
+        from,
+        afterMeetingId,
+        statusName,
+        statusName,
+        limit);
+  }
+
+  /**
+   * Streams the meetings of a user within a window, including the course name and address needed
+   * for a calendar entry, to the given handler. The rows are fetched in small batches, so the
+   * result is never held in memory as a whole. Must be called within a transaction for the
+   * database to use a cursor.
+   *
+   * @param userId the ID of the user
+   * @param from the earliest start time (inclusive)
+   * @param to the latest start time (exclusive)
+   * @param handler the handler called for every row, in chronological order
+   */
+  public void streamCalendarEntries(
+      Long userId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(CALENDAR_SQL);
+          statement.setFetchSize(CALENDAR_FETCH_SIZE);
+          statement.setLong(1, userId);
+          statement.setObject(2, from);
+          statement.setObject(3, to);
+          statement.setLong(4, userId);
+          statement.setObject(5, from);
+          statement.setObject(6, to);
+          return statement;
+        },
+        handler);
+  }
+}
@@ -0,0 +1,86 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository for the {@code students_meetings} join table.
+ *
+ * <p>The owning side of the many-to-many relationship between students and meetings is {@code
+ * UserDBO.meetings}, so maintaining it through JPA loads the full meeting list of every
+ * participant. This repository writes the join rows directly instead, each operation being a
+ * single set-based statement regardless of the number of participants.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MeetingParticipantRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the IDs of the participants of a meeting.
+   *
+   * @param meetingId the ID of the meeting
+   * @return the IDs of the students participating in the meeting
+   */
+  public Set<Long> findParticipantIds(Long meetingId) {
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            "SELECT student_id FROM students_meetings WHERE meeting_id = ?", Long.class, meetingId));
+  }
+
+  /**
+   * Adds participants to meetings. The two lists are read pairwise, i.e. the student at index
+   * {@code i} is added to the meeting at index {@code i}.
+   *
+   * @param meetingIds the IDs of the meetings
+   * @param studentIds the IDs of the students
+   */
+  public void addParticipants(List<Long> meetingIds, List<Long> studentIds) {
+    if (meetingIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        "INSERT INTO students_meetings (student_id, meeting_id)"
+            + " SELECT * FROM unnest(?::bigint[], ?::bigint[])",
+        studentIds.toArray(Long[]::new),
+        meetingIds.toArray(Long[]::new));
+  }
+
+  /**
+   * Adds participants to a single meeting.
+   *
+   * @param meetingId the ID of the meeting
+   * @param studentIds the IDs of the students to add
+   */
+  public void addParticipants(Long meetingId, Collection<Long> studentIds) {
+    if (studentIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        "INSERT INTO students_meetings (student_id, meeting_id) SELECT unnest(?::bigint[]), ?",
+        studentIds.toArray(Long[]::new),
+        meetingId);
+  }
+
+  /**
+   * Removes participants from a meeting.
+   *
+   * @param meetingId the ID of the meeting
+   * @param studentIds the IDs of the students to remove
+   */
+  public void removeParticipants(Long meetingId, Collection<Long> studentIds) {
+    if (studentIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        "DELETE FROM students_meetings WHERE meeting_id = ? AND student_id = ANY(?::bigint[])",
+        meetingId,
+        studentIds.toArray(Long[]::new));
+  }
+}
@@ -1,11 +1,14 @@
 package de.thu.thutorium.database.repositories;
 
 import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -48,4 +51,51 @@ public interface MeetingRepository extends JpaRepository<MeetingDBO, Long> {
    */
   @Query("SELECT m FROM MeetingDBO m WHERE m.tutor.userId = :userId")
   List<MeetingDBO> findScheduledMeetingsByTutorId(@Param("userId") Long userId);
+
+  /**
+   * Checks whether both users take part in the given meeting, as tutor or as participant, and the
+   * meeting is of one of the given types.
+   *
+   * @param meetingId the unique identifier of the meeting
+   * @param firstUserId the unique identifier of the first user
+   * @param secondUserId the unique identifier of the second user
+   * @param types the accepted meeting types
+   * @return {@code true} if the meeting exists, has an accepted type and both users take part in it
+   */
+  @Query(
+      "SELECT COUNT(m) > 0 FROM MeetingDBO m WHERE m.meetingId = :meetingId AND m.meetingType IN :types"
+          + " AND (m.tutor.userId = :firstUserId OR EXISTS (SELECT 1 FROM MeetingDBO m1 JOIN m1.participants p1"
+          + " WHERE m1 = m AND p1.userId = :firstUserId))"
+          + " AND (m.tutor.userId = :secondUserId OR EXISTS (SELECT 1 FROM MeetingDBO m2 JOIN m2.participants p2"
+          + " WHERE m2 = m AND p2.userId = :secondUserId))")
+  boolean isSharedMeetingOfType(
+      @Param("meetingId") Long meetingId,
+      @Param("firstUserId") Long firstUserId,
+      @Param("secondUserId") Long secondUserId,
+      @Param("types") Collection<MeetingType> types);
+
+  /**
+   * Finds the meetings of the given types that both users take part in and that have not ended
+   * before the given time, ordered by their start time.
+   *
+   * @param firstUserId the unique identifier of the first user
+   * @param secondUserId the unique identifier of the second user
+   * @param types the accepted meeting types
+   * @param from the earliest accepted end time
+   * @param to the latest accepted start time
+   * @return the matching meetings, earliest first
+   */
+  @Query(
+      "SELECT m FROM MeetingDBO m WHERE m.meetingType IN :types AND m.endTime >= :from AND m.startTime <= :to"
+          + " AND (m.tutor.userId = :firstUserId OR EXISTS (SELECT 1 FROM MeetingDBO m1 JOIN m1.participants p1"
+          + " WHERE m1 = m AND p1.userId = :firstUserId))"
+          + " AND (m.tutor.userId = :secondUserId OR EXISTS (SELECT 1 FROM MeetingDBO m2 JOIN m2.participants p2"
+          + " WHERE m2 = m AND p2.userId = :secondUserId))"
+          + " ORDER BY m.startTime")
+  List<MeetingDBO> findSharedMeetingsOfTypeBetween(
+      @Param("firstUserId") Long firstUserId,
+      @Param("secondUserId") Long secondUserId,
+      @Param("types") Collection<MeetingType> types,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
 }
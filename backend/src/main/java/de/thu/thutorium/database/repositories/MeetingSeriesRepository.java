@@ -0,0 +1,14 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.MeetingSeriesDBO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for {@link MeetingSeriesDBO} entities.
+ *
+ * <p>The occurrences of a series are regular meetings and are accessed through the {@link
+ * MeetingRepository}.
+ */
+@Repository
+public interface MeetingSeriesRepository extends JpaRepository<MeetingSeriesDBO, Long> { }
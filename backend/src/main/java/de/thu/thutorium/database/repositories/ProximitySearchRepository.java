@@ -0,0 +1,80 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.api.transferObjects.common.NearbyTutorTO;
+import de.thu.thutorium.geo.GeoGrid;
+import de.thu.thutorium.geo.GeoPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Finds tutors holding in-person meetings near a location.
+ *
+ * <p>Candidate addresses are read through the {@code idx_address_grid} index on their {@link
+ * GeoGrid} cell, limited to the cells covering the bounding box of the search circle. Only these
+ * candidates get their exact distance computed, and the search returns at most the requested
+ * number of nearest tutors.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProximitySearchRepository {
+  private static final String FIND_TUTORS_NEARBY_SQL =
+      "WITH near AS (SELECT address_id, 2 * "
+          + GeoPoint.EARTH_RADIUS_KM
+          + " * asin(least(1, sqrt(power(sin(radians(latitude - ?) / 2), 2)"
+          + " + cos(radians(?)) * cos(radians(latitude))"
+          + " * power(sin(radians(longitude - ?) / 2), 2)))) AS distance_km"
+          + " FROM address"
+          + " WHERE grid_row BETWEEN ? AND ? AND grid_column BETWEEN ? AND ?),"
+          + " ranked AS (SELECT m.created_by AS tutor_id, n.address_id, n.distance_km,"
+          + " COUNT(*) OVER (PARTITION BY m.created_by) AS meeting_count,"
+          + " row_number() OVER (PARTITION BY m.created_by ORDER BY n.distance_km, n.address_id) AS rank"
+          + " FROM near n JOIN meeting m ON m.address_id = n.address_id"
+          + " WHERE n.distance_km <= ? AND m.meeting_type IN ('OFFLINE', 'HYBRID')"
+          + " AND m.meeting_end_time > ?::timestamp)"
+          + " SELECT r.tutor_id, u.first_name, u.last_name, r.distance_km, r.address_id,"
+          + " r.meeting_count"
+          + " FROM ranked r JOIN user_account u ON u.user_id = r.tutor_id"
+          + " WHERE r.rank = 1"
+          + " ORDER BY r.distance_km, r.tutor_id"
+          + " LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the tutors with upcoming offline or hybrid meetings within a radius, nearest first.
+   *
+   * @param origin the location to search from
+   * @param radiusKm the search radius in kilometres
+   * @param limit the maximum number of tutors to return
+   * @param now the current time; meetings that have ended are ignored
+   * @return the nearest tutors with the distance to their nearest meeting address
+   */
+  public List<NearbyTutorTO> findTutorsNearby(
+      GeoPoint origin, double radiusKm, int limit, LocalDateTime now) {
+    GeoGrid.CellRange cells = GeoGrid.cover(origin, radiusKm);
+    return jdbcTemplate.query(
+        FIND_TUTORS_NEARBY_SQL,
+        (rs, rowNum) ->
+            new NearbyTutorTO(
+                rs.getLong("tutor_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getDouble("distance_km"),
+                rs.getLong("address_id"),
+                rs.getInt("meeting_count")),
+        origin.latitude(),
+        origin.latitude(),
+        origin.longitude(),
+        cells.minRow(),
+        cells.maxRow(),
+        cells.minColumn(),
+        cells.maxColumn(),
+        radiusKm,
+        now.toString(),
+        limit);
+  }
+}
@@ -0,0 +1,120 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository for the {@code refresh_token} table.
+ *
+ * <p>Tokens are looked up by the hash of the presented token only. Consuming a token is a single
+ * conditional update, so two concurrent refreshes with the same token cannot both succeed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRepository {
+  private static final String INSERT_SQL =
+      "INSERT INTO refresh_token (token_hash, user_id, family_id, expires_at, revoked)"
+          + " VALUES (?, ?, ?, ?, false)";
+
+  private static final String CONSUME_SQL =
+      "UPDATE refresh_token SET used_at = now()"
+          + " WHERE token_hash = ? AND used_at IS NULL AND NOT revoked AND expires_at > now()"
+          + " RETURNING user_id, family_id";
+
+  /**
+   * The owner and family of a refresh token.
+   *
+   * @param userId the ID of the user the token was issued to
+   * @param familyId the ID of the token family
+   * @param usedAt the time the token was exchanged, or {@code null} if it is unused
+   */
+  public record TokenFamily(Long userId, String familyId, Instant usedAt) { }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Stores a new refresh token.
+   *
+   * @param tokenHash the hash of the token
+   * @param userId the ID of the user the token is issued to
+   * @param familyId the ID of the token family
+   * @param expiresAt the time the token expires
+   */
+  public void insert(String tokenHash, Long userId, String familyId, Instant expiresAt) {
+    jdbcTemplate.update(INSERT_SQL, tokenHash, userId, familyId, Timestamp.from(expiresAt));
+  }
+
+  /**
+   * Marks a token as used if it is unused, not revoked and not expired.
+   *
+   * @param tokenHash the hash of the token
+   * @return the owner and family of the token, or empty if the token cannot be used
+   */
+  public Optional<TokenFamily> consume(String tokenHash) {
+    return jdbcTemplate
+        .query(
+            CONSUME_SQL,
+            (rs, rowNum) -> new TokenFamily(rs.getLong("user_id"), rs.getString("family_id"), null),
+            tokenHash)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Looks up a token regardless of its state.
+   *
+   * @param tokenHash the hash of the token
+   * @return the owner, family and usage of the token, or empty if the token is unknown
+   */
+  public Optional<TokenFamily> findByHash(String tokenHash) {
+    return jdbcTemplate
+        .query(
+            "SELECT user_id, family_id, used_at FROM refresh_token WHERE token_hash = ?",
+            (rs, rowNum) -> {
+              Timestamp usedAt = rs.getTimestamp("used_at");
+              return new TokenFamily(
+                  rs.getLong("user_id"),
+                  rs.getString("family_id"),
+                  usedAt != null ? usedAt.toInstant() : null);
+            },
+            tokenHash)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Revokes every token of a family.
+   *
+   * @param familyId the ID of the token family
+   * @return the number of revoked tokens
+   */
+  public int revokeFamily(String familyId) {
+    return jdbcTemplate.update(
+        "UPDATE refresh_token SET revoked = true WHERE family_id = ? AND NOT revoked", familyId);
+  }
+
+  /**
+   * Revokes every token of a user.
+   *
+   * @param userId the ID of the user
+   * @return the number of revoked tokens
+   */
+  public int revokeAllForUser(Long userId) {
+    return jdbcTemplate.update(
+        "UPDATE refresh_token SET revoked = true WHERE user_id = ? AND NOT revoked", userId);
+  }
+
+  /**
+   * Deletes all expired tokens.
+   *
+   * @return the number of deleted tokens
+   */
+  public int deleteExpired() {
+    return jdbcTemplate.update("DELETE FROM refresh_token WHERE expires_at < now()");
+  }
+}
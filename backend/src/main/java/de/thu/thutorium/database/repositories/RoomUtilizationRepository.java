@@ -0,0 +1,176 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.api.transferObjects.common.UtilizationTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Repository for the {@code room_utilization} rollup table.
+ *
+ * <p>Bookings are split into hour buckets with {@code generate_series} and added to or subtracted
+ * from the affected rows with a single upsert, so creating, moving or deleting meetings costs a
+ * few row updates instead of a scan over the {@code meeting} table. The reports aggregate the
+ * rollup rows of the requested weeks only.
+ *
+ * <p>A campus is an address. Its capacity is the number of distinct rooms that have ever been
+ * booked there, because the schema has no room inventory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoomUtilizationRepository {
+  // splits every booking into the hours it touches and sums them per bucket, as ON CONFLICT may
+  // not update the same row twice
+  private static final String BUCKET_SQL =
+      "INSERT INTO room_utilization"
+          + " (address_id, room_number, week_start, hour_of_week, booked_minutes, meeting_count)"
+          + " SELECT b.address_id, b.room_number, date_trunc('week', h)::date,"
+          + " ((extract(isodow FROM h)::int - 1) * 24 + extract(hour FROM h)::int),"
+          + " SUM(b.sign * round(extract(epoch FROM"
+          + " least(b.end_time, h + interval '1 hour') - greatest(b.start_time, h)) / 60)::int),"
+          + " SUM(b.sign)"
+          + " FROM (%s) AS b(address_id, room_number, start_time, end_time, sign)"
+          + " CROSS JOIN LATERAL generate_series(date_trunc('hour', b.start_time),"
+          + " b.end_time - interval '1 microsecond', interval '1 hour') AS h"
+          + " WHERE b.end_time > b.start_time"
+          + " GROUP BY 1, 2, 3, 4"
+          + " ON CONFLICT (address_id, room_number, week_start, hour_of_week) DO UPDATE SET"
+          + " booked_minutes = room_utilization.booked_minutes + EXCLUDED.booked_minutes,"
+          + " meeting_count = room_utilization.meeting_count + EXCLUDED.meeting_count";
+
+  private static final String ADD_BOOKINGS_SQL =
+      BUCKET_SQL.formatted(
+          "SELECT address_id, room_number, start_time, end_time, ?::int"
+              + " FROM unnest(?::bigint[], ?::text[], ?::timestamp[], ?::timestamp[])"
+              + " AS i(address_id, room_number, start_time, end_time)");
+
+  private static final String REBUILD_SQL =
+      BUCKET_SQL.formatted(
+          "SELECT address_id, COALESCE(room_number, ''), meeting_start_time, meeting_end_time, 1"
+              + " FROM meeting WHERE address_id IS NOT NULL");
+
+  private static final String ROOM_REPORT_SQL =
+      "SELECT address_id, room_number, hour_of_week, SUM(booked_minutes) AS booked,"
+          + " MAX(CASE WHEN booked_minutes > 0 THEN 1 ELSE 0 END) AS peak,"
+          + " ? * 60 - SUM(booked_minutes) AS idle"
+          + " FROM room_utilization"
+          + " WHERE address_id = ? AND week_start >= ? AND week_start < ?"
+          + " GROUP BY address_id, room_number, hour_of_week"
+          + " ORDER BY room_number, hour_of_week";
+
+  private static final String CAMPUS_REPORT_SQL =
+      "WITH per_week AS (SELECT address_id, week_start, hour_of_week,"
+          + " SUM(booked_minutes) AS booked,"
+          + " COUNT(*) FILTER (WHERE booked_minutes > 0) AS rooms_in_use"
+          + " FROM room_utilization WHERE week_start >= ? AND week_start < ?"
+          + " AND (?::bigint IS NULL OR address_id = ?)"
+          + " GROUP BY address_id, week_start, hour_of_week),"
+          + " rooms AS (SELECT address_id, COUNT(DISTINCT room_number) AS room_count"
+          + " FROM room_utilization WHERE address_id IN (SELECT address_id FROM per_week)"
+          + " GROUP BY address_id)"
+          + " SELECT p.address_id, p.hour_of_week, SUM(p.booked) AS booked,"
+          + " MAX(p.rooms_in_use) AS peak, r.room_count * ? * 60 - SUM(p.booked) AS idle"
+          + " FROM per_week p JOIN rooms r ON r.address_id = p.address_id"
+          + " GROUP BY p.address_id, p.hour_of_week, r.room_count"
+          + " ORDER BY p.address_id, p.hour_of_week";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds bookings to the rollup, or removes them with a negative sign. The lists are read pairwise.
+   *
+   * @param addressIds the IDs of the addresses of the meetings
+   * @param roomNums the room numbers, empty strings for meetings without a room
+   * @param startTimes the start times of the meetings
+   * @param endTimes the end times of the meetings
+   * @param sign {@code 1} to add the bookings, {@code -1} to remove them
+   */
+  public void addBookings(
+      List<Long> addressIds,
+      List<String> roomNums,
+      List<LocalDateTime> startTimes,
+      List<LocalDateTime> endTimes,
+      int sign) {
+    if (addressIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        ADD_BOOKINGS_SQL,
+        sign,
+        addressIds.toArray(Long[]::new),
+        roomNums.toArray(String[]::new),
+        startTimes.stream().map(Object::toString).toArray(String[]::new),
+        endTimes.stream().map(Object::toString).toArray(String[]::new));
+  }
+
+  /**
+   * Recomputes the whole rollup from the {@code meeting} table, e.g. after meetings have been
+   * removed by deleting their course.
+   */
+  public void rebuild() {
+    jdbcTemplate.update("DELETE FROM room_utilization");
+    jdbcTemplate.update(REBUILD_SQL);
+  }
+
+  /**
+   * Returns the utilization of every room of an address per hour of the week.
+   *
+   * @param addressId the ID of the address
+   * @param fromWeek the Monday of the first week of the report
+   * @param toWeek the Monday after the last week of the report
+   * @return the utilization per room and hour, ordered by room and hour
+   */
+  public List<UtilizationTO> findRoomUtilization(
+      Long addressId, LocalDate fromWeek, LocalDate toWeek) {
+    return jdbcTemplate.query(
+        ROOM_REPORT_SQL,
+        (rs, rowNum) ->
+            new UtilizationTO(
+                rs.getLong("address_id"),
+                rs.getString("room_number"),
+                rs.getInt("hour_of_week"),
+                rs.getLong("booked"),
+                rs.getInt("peak"),
+                rs.getLong("idle")),
+        weeksBetween(fromWeek, toWeek),
+        addressId,
+        fromWeek,
+        toWeek);
+  }
+
+  /**
+   * Returns the utilization of every campus, or of a single one, per hour of the week.
+   *
+   * @param addressId the ID of the address, or {@code null} for all campuses
+   * @param fromWeek the Monday of the first week of the report
+   * @param toWeek the Monday after the last week of the report
+   * @return the utilization per campus and hour, ordered by campus and hour
+   */
+  public List<UtilizationTO> findCampusUtilization(
+      Long addressId, LocalDate fromWeek, LocalDate toWeek) {
+    return jdbcTemplate.query(
+        CAMPUS_REPORT_SQL,
+        (rs, rowNum) ->
+            new UtilizationTO(
+                rs.getLong("address_id"),
+                null,
+                rs.getInt("hour_of_week"),
+                rs.getLong("booked"),
+                rs.getInt("peak"),
+                rs.getLong("idle")),
+        fromWeek,
+        toWeek,
+        addressId,
+        addressId,
+        weeksBetween(fromWeek, toWeek));
+  }
+
+  private static long weeksBetween(LocalDate fromWeek, LocalDate toWeek) {
+    return ChronoUnit.WEEKS.between(fromWeek, toWeek);
+  }
+}
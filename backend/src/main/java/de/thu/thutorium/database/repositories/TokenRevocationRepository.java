@@ -0,0 +1,134 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@code revoked_token} and {@code token_cutoff} tables.
+ *
+ * <p>The tables hold the revocation state that is shared between all application nodes. Each node
+ * keeps a Bloom filter over the revoked token IDs and the users with a cutoff, see {@link
+ * de.thu.thutorium.security.TokenRevocationService}, and only asks this repository when the filter
+ * reports a possible match.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenRevocationRepository {
+  private static final String REVOKE_TOKEN_SQL =
+      "INSERT INTO revoked_token (token_id, user_id, expires_at, revoked_at) VALUES (?, ?, ?, now())"
+          + " ON CONFLICT (token_id) DO NOTHING";
+
+  // a cutoff only ever moves forward, so a late write cannot re-enable revoked tokens
+  private static final String UPSERT_CUTOFF_SQL =
+      "INSERT INTO token_cutoff (user_id, not_before) VALUES (?, ?)"
+          + " ON CONFLICT (user_id)"
+          + " DO UPDATE SET not_before = GREATEST(token_cutoff.not_before, EXCLUDED.not_before)";
+
+  // changes whenever a row is added to or removed from either table
+  private static final String VERSION_SQL =
+      "SELECT (SELECT count(*) || ':' || coalesce(max(revoked_at)::text, '') FROM revoked_token)"
+          + " || '/' || (SELECT count(*) || ':' || coalesce(max(not_before)::text, '') FROM token_cutoff)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Adds a token to the denylist. Revoking a token twice has no effect.
+   *
+   * @param tokenId the ID of the token
+   * @param userId the ID of the user the token was issued to
+   * @param expiresAt the time the token expires
+   */
+  public void revokeToken(String tokenId, Long userId, Instant expiresAt) {
+    jdbcTemplate.update(REVOKE_TOKEN_SQL, tokenId, userId, Timestamp.from(expiresAt));
+  }
+
+  /**
+   * Revokes all tokens of a user issued before the given time.
+   *
+   * @param userId the ID of the user
+   * @param notBefore tokens issued before this time are revoked
+   */
+  public void revokeTokensIssuedBefore(Long userId, Instant notBefore) {
+    jdbcTemplate.update(UPSERT_CUTOFF_SQL, userId, Timestamp.from(notBefore));
+  }
+
+  /**
+   * Checks whether a token is on the denylist.
+   *
+   * @param tokenId the ID of the token
+   * @return {@code true} if the token has been revoked
+   */
+  public boolean isTokenRevoked(String tokenId) {
+    Boolean revoked =
+        jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM revoked_token WHERE token_id = ?)", Boolean.class, tokenId);
+    return Boolean.TRUE.equals(revoked);
+  }
+
+  /**
+   * Returns the cutoff of a user.
+   *
+   * @param userId the ID of the user
+   * @return the time before which the user's tokens are revoked, or empty if there is none
+   */
+  public Optional<Instant> findCutoff(Long userId) {
+    return jdbcTemplate
+        .query(
+            "SELECT not_before FROM token_cutoff WHERE user_id = ?",
+            (rs, rowNum) -> rs.getTimestamp("not_before").toInstant(),
+            userId)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Returns a short fingerprint of both tables. Two calls return the same value as long as no
+   * token has been revoked and no row has been purged in between, which lets a node skip rebuilding
+   * its Bloom filter.
+   *
+   * @return the fingerprint of the revocation state
+   */
+  public String findVersion() {
+    return jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+  }
+
+  /**
+   * Returns the IDs of all revoked tokens.
+   *
+   * @return the revoked token IDs
+   */
+  public List<String> findRevokedTokenIds() {
+    return jdbcTemplate.queryForList("SELECT token_id FROM revoked_token", String.class);
+  }
+
+  /**
+   * Returns the IDs of all users with a cutoff.
+   *
+   * @return the user IDs
+   */
+  public List<Long> findCutoffUserIds() {
+    return jdbcTemplate.queryForList("SELECT user_id FROM token_cutoff", Long.class);
+  }
+
+  /**
+   * Deletes the rows that can no longer match a valid token: revoked tokens that have expired and
+   * cutoffs older than the lifetime of a token.
+   *
+   * @param tokenLifetimeMillis the lifetime of a token in milliseconds
+   * @return the number of deleted rows
+   */
+  public int purgeExpired(long tokenLifetimeMillis) {
+    int tokens = jdbcTemplate.update("DELETE FROM revoked_token WHERE expires_at < now()");
+    int cutoffs =
+        jdbcTemplate.update(
+            "DELETE FROM token_cutoff WHERE not_before < ?",
+            Timestamp.from(Instant.now().minusMillis(tokenLifetimeMillis)));
+    return tokens + cutoffs;
+  }
+}
@@ -0,0 +1,75 @@
+package de.thu.thutorium.database.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository that creates user accounts in bulk for roster imports.
+ *
+ * <p>Registering users through JPA costs several statements per user. This repository inserts a
+ * whole batch of users together with their roles in one statement, passing the columns as arrays
+ * that are expanded with {@code unnest}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+  private static final String INSERT_USERS_SQL =
+      "WITH input AS ("
+          + " SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::bigint[], ?::bigint[])"
+          + " AS t(email_address, first_name, last_name, hashed_password, role_id, affiliation_id)),"
+          + " inserted AS ("
+          + " INSERT INTO user_account (first_name, last_name, email_address, hashed_password,"
+          + " affiliation_id, created_at, is_verified, enabled)"
+          + " SELECT first_name, last_name, email_address, hashed_password, affiliation_id, now(), false, true"
+          + " FROM input ON CONFLICT (email_address) DO NOTHING"
+          + " RETURNING user_id, email_address),"
+          + " roles AS ("
+          + " INSERT INTO user_roles (user_id, role_id)"
+          + " SELECT inserted.user_id, input.role_id FROM inserted"
+          + " JOIN input ON input.email_address = inserted.email_address)"
+          + " SELECT user_id, email_address FROM inserted";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates users with one role each. The lists are read pairwise, i.e. index {@code i} of every
+   * list describes the same user. Users whose email address is already registered are skipped.
+   *
+   * @param emails the email addresses
+   * @param firstNames the first names
+   * @param lastNames the last names
+   * @param hashedPasswords the encoded passwords
+   * @param roleIds the IDs of the roles
+   * @param affiliationIds the IDs of the affiliations
+   * @return the IDs of the created users by email address
+   */
+  public Map<String, Long> insertUsers(
+      List<String> emails,
+      List<String> firstNames,
+      List<String> lastNames,
+      List<String> hashedPasswords,
+      List<Long> roleIds,
+      List<Long> affiliationIds) {
+    Map<String, Long> created = new HashMap<>();
+    if (emails.isEmpty()) {
+      return created;
+    }
+    jdbcTemplate.query(
+        INSERT_USERS_SQL,
+        rs -> {
+          created.put(rs.getString("email_address"), rs.getLong("user_id"));
+        },
+        emails.toArray(String[]::new),
+        firstNames.toArray(String[]::new),
+        lastNames.toArray(String[]::new),
+        hashedPasswords.toArray(String[]::new),
+        roleIds.toArray(Long[]::new),
+        affiliationIds.toArray(Long[]::new));
+    return created;
+  }
+}
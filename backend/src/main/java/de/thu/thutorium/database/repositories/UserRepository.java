@@ -4,10 +4,12 @@ import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -88,4 +90,24 @@ public interface UserRepository extends JpaRepository<UserDBO, Long> {
   Optional<UserDBO> findUserDBOByUserIdAndRoles_RoleName(Long userId, Role roleName);
 
   List<UserDBO> findUserDBOSByRoles_RoleName(Role roleName);
+
+  /**
+   * Returns which of the given user IDs exist.
+   *
+   * @param userIds the user IDs to check
+   * @return the subset of the given IDs that belong to existing users
+   */
+  @Query("SELECT u.userId FROM UserDBO u WHERE u.userId IN :userIds")
+  Set<Long> findExistingUserIds(@Param("userIds") Collection<Long> userIds);
+
+  /**
+   * Replaces the password hash of a user without loading or writing the rest of the user.
+   *
+   * @param userId the ID of the user
+   * @param password the new password hash
+   * @return the number of updated users
+   */
+  @Modifying
+  @Query("UPDATE UserDBO u SET u.password = :password WHERE u.userId = :userId")
+  int updatePassword(@Param("userId") Long userId, @Param("password") String password);
 }
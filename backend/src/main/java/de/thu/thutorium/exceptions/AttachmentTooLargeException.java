@@ -0,0 +1,8 @@
+package de.thu.thutorium.exceptions;
+
+/** Exception thrown when an uploaded attachment exceeds the configured maximum size. */
+public class AttachmentTooLargeException extends RuntimeException {
+  public AttachmentTooLargeException(String message) {
+    super(message);
+  }
+}
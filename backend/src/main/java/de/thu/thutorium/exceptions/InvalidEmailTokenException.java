@@ -0,0 +1,11 @@
+package de.thu.thutorium.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST) // HTTP 400 for unknown, expired or already used email links
+public class InvalidEmailTokenException extends RuntimeException {
+  public InvalidEmailTokenException(String message) {
+    super(message);
+  }
+}
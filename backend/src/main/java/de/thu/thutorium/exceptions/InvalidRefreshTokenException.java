@@ -0,0 +1,11 @@
+package de.thu.thutorium.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED) //Returns 401 error code for unknown, expired or reused refresh tokens
+public class InvalidRefreshTokenException extends RuntimeException {
+  public InvalidRefreshTokenException(String message) {
+    super(message);
+  }
+}
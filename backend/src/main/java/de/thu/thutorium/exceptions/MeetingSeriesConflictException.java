@@ -0,0 +1,20 @@
+package de.thu.thutorium.exceptions;
+
+import de.thu.thutorium.api.transferObjects.common.MeetingConflictTO;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Exception thrown when occurrences of a meeting series overlap with existing meetings. It carries
+ * all conflicts of the series, so they can be reported together.
+ */
+@Getter
+public class MeetingSeriesConflictException extends MeetingConflictException {
+  private final List<MeetingConflictTO> conflicts;
+
+  public MeetingSeriesConflictException(List<MeetingConflictTO> conflicts) {
+    super(conflicts.size() + " meeting(s) of the series conflict with existing meetings.");
+    this.conflicts = conflicts;
+  }
+}
@@ -0,0 +1,30 @@
+package de.thu.thutorium.exceptions;
+
+/**
+ * Exception thrown when a roster cannot be read to its end, e.g. because an entry is malformed or
+ * the upload is truncated. The entries before the failing one have been read.
+ */
+public class RosterReadException extends IllegalArgumentException {
+  private final int row;
+
+  /**
+   * Creates the exception.
+   *
+   * @param row the 1-based number of the entry that could not be read
+   * @param message why the entry could not be read
+   * @param cause the underlying parse or I/O error
+   */
+  public RosterReadException(int row, String message, Throwable cause) {
+    super(message, cause);
+    this.row = row;
+  }
+
+  /**
+   * Returns the number of the entry that could not be read.
+   *
+   * @return the 1-based number of the entry, not counting a CSV header
+   */
+  public int getRow() {
+    return row;
+  }
+}
@@ -0,0 +1,24 @@
+package de.thu.thutorium.exceptions;
+
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+/**
+ * Exception thrown when the meetings of a course a student wants to enroll in overlap with the
+ * meetings of the student's other courses. It carries all clashes, so they can be reported
+ * together.
+ */
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ScheduleClashException extends RuntimeException {
+  private final List<ScheduleClashTO> clashes;
+
+  public ScheduleClashException(List<ScheduleClashTO> clashes) {
+    super(clashes.size() + " meeting(s) of the course clash with meetings of enrolled courses.");
+    this.clashes = clashes;
+  }
+}
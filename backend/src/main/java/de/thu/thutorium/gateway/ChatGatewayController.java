@@ -0,0 +1,198 @@
+package de.thu.thutorium.gateway;
+
+import de.thu.thutorium.WebSocket.ChatMembershipCache;
+import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
+import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.security.JwtPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controller of the chat gateway. It mirrors the chat endpoints of the {@code WebSocketController}
+ * under the {@code /gateway} prefix and returns {@link CompletableFuture}s, so the servlet thread
+ * is handed back to the container while the {@link ChatGatewayService} works on the request.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/gateway")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.gateway.enabled", havingValue = "true")
+public class ChatGatewayController {
+  private final ChatGatewayService chatGatewayService;
+  private final ChatMembershipCache chatMembershipCache;
+
+  /**
+   * Handles a message sent via WebSocket to "/app/gateway/chat/{chatId}/sendMessage", saves it and
+   * broadcasts it to the participants of the chat subscribed to "/topic/chat/{chatId}". The sender
+   * is the user the STOMP session was authenticated as.
+   *
+   * @param chatId the ID of the chat, taken from the destination
+   * @param messageTO the message to send
+   * @param principal the user the session was authenticated as on CONNECT
+   * @return a future completed with the saved message
+   * @throws AccessDeniedException if the sender or the receiver does not participate in the chat
+   */
+  @MessageMapping("/gateway/chat/{chatId}/sendMessage")
+  @SendTo("/topic/chat/{chatId}")
+  public CompletableFuture<MessageTO> sendMessage(
+      @DestinationVariable Long chatId, MessageTO messageTO, JwtPrincipal principal) {
+    if (!chatMembershipCache.isParticipant(chatId, principal.userId())
+        || !chatMembershipCache.isParticipant(chatId, messageTO.getReceiverId())) {
+      throw new AccessDeniedException("Sender and receiver must be participants of the chat");
+    }
+    messageTO.setChatId(chatId);
+    messageTO.setSenderId(principal.userId());
+    return chatGatewayService.saveMessage(messageTO);
+  }
+
+  /**
+   * Sends a new message and persists it in the database. The sender is the authenticated user; a
+   * {@code senderId} in the body is ignored.
+   *
+   * @param messageTO the message transfer object containing the message details
+   * @param principal the authenticated user
+   * @return the created message wrapped in a ResponseEntity, or 403 if the sender or the receiver
+   *     does not participate in the chat or the sender may not access the attachment
+   */
+  @Operation(
+      summary = "Send a new message through the chat gateway",
+      description = "Persists a new message in the database and sends it to the recipient.",
+      tags = {"Chat Gateway"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Message sent successfully",
+        content = @Content(schema = @Schema(implementation = MessageTO.class))),
+    @ApiResponse(responseCode = "400", description = "Invalid message data"),
+    @ApiResponse(
+        responseCode = "403",
+        description = "Not a participant of the chat, or no access to the attachment"),
+    @ApiResponse(responseCode = "409", description = "Message violates a database constraint"),
+    @ApiResponse(responseCode = "503", description = "Chat gateway is overloaded")
+  })
+  @PostMapping("/message/send")
+  public CompletableFuture<ResponseEntity<?>> postSendMessage(
+      @RequestBody MessageTO messageTO, @AuthenticationPrincipal JwtPrincipal principal) {
+    if (!chatMembershipCache.isParticipant(messageTO.getChatId(), principal.userId())
+        || !chatMembershipCache.isParticipant(messageTO.getChatId(), messageTO.getReceiverId())) {
+      return forbidden("Sender and receiver must be participants of the chat");
+    }
+    messageTO.setSenderId(principal.userId());
+    return chatGatewayService
+        .saveMessage(messageTO)
+        .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+        .exceptionally(this::toErrorResponse);
+  }
+
+  /**
+   * Fetches the chat summaries of the authenticated user.
+   *
+   * @param principal the authenticated user
+   * @return the chat summaries wrapped in a ResponseEntity
+   */
+  @Operation(
+      summary = "Get the chat summaries of the current user through the chat gateway",
+      description = "Fetches a list of chat summaries for the authenticated user.",
+      tags = {"Chat Gateway"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successfully retrieved chat summaries",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ChatSummaryTO.class))),
+    @ApiResponse(responseCode = "503", description = "Chat gateway is overloaded")
+  })
+  @GetMapping("/get-chat-summaries")
+  public CompletableFuture<ResponseEntity<?>> getChatSummaries(
+      @AuthenticationPrincipal JwtPrincipal principal) {
+    return chatGatewayService
+        .getChatSummaries(principal.userId())
+        .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+        .exceptionally(this::toErrorResponse);
+  }
+
+  /**
+   * Fetches the messages of a chat the authenticated user participates in.
+   *
+   * @param chatId the ID of the chat
+   * @param principal the authenticated user
+   * @return the messages wrapped in a ResponseEntity, or 403 if the user does not participate in the
+   *     chat
+   */
+  @Operation(
+      summary = "Get messages for a specific chat through the chat gateway",
+      description = "Fetches a list of messages in a chat by the chat's unique ID.",
+      tags = {"Chat Gateway"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successfully retrieved chat messages",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = MessageTO.class))),
+    @ApiResponse(responseCode = "403", description = "Not a participant of the chat"),
+    @ApiResponse(responseCode = "503", description = "Chat gateway is overloaded")
+  })
+  @GetMapping("/get-messages-chat")
+  public CompletableFuture<ResponseEntity<?>> getChatMessages(
+      @RequestParam Long chatId, @AuthenticationPrincipal JwtPrincipal principal) {
+    if (!chatMembershipCache.isParticipant(chatId, principal.userId())) {
+      return forbidden("Only participants of the chat can read its messages");
+    }
+    return chatGatewayService
+        .getMessagesByChatId(chatId)
+        .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+        .exceptionally(this::toErrorResponse);
+  }
+
+  private static CompletableFuture<ResponseEntity<?>> forbidden(String message) {
+    return CompletableFuture.completedFuture(
+        ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: " + message));
+  }
+
+  private ResponseEntity<?> toErrorResponse(Throwable throwable) {
+    Throwable ex = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (ex instanceof RejectedExecutionException) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Chat gateway is overloaded");
+    }
+    if (ex instanceof AccessDeniedException) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: " + ex.getMessage());
+    }
+    if (ex instanceof IllegalArgumentException) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+    if (ex instanceof DataIntegrityViolationException) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body("Message violates a database constraint");
+    }
+    log.error("Chat gateway request failed", ex);
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body("Unexpected error: " + ex.getMessage());
+  }
+}
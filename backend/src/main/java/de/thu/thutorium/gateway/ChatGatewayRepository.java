@@ -0,0 +1,176 @@
+package de.thu.thutorium.gateway;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
+import de.thu.thutorium.api.transferObjects.chat.ReceiverTO;
+import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data access for the chat gateway.
+ *
+ * <p>The repository owns a small, dedicated connection pool, so that a spike in chat traffic cannot
+ * exhaust the pool used by the JPA repositories of the rest of the application. The pool is not
+ * exposed as a {@code DataSource} bean and therefore does not interfere with the auto-configured
+ * one. All reads are single set-based statements, in particular the chat summaries, which are
+ * loaded together with the receiver and the unread count in one query.
+ */
+@Repository
+@ConditionalOnProperty(name = "chat.gateway.enabled", havingValue = "true")
+public class ChatGatewayRepository {
+  private static final String INSERT_MESSAGE =
+      "INSERT INTO message (chat_id, sender_id, receiver_id, message_content, send_at, is_read, attachment_id) "
+          + "VALUES (?, ?, ?, ?, ?, false, (SELECT attachment_id FROM attachment WHERE content_hash = ?)) "
+          + "RETURNING message_id";
+
+  private static final String SELECT_ATTACHMENT_ACCESS =
+      "SELECT EXISTS (SELECT 1 FROM attachment a WHERE a.content_hash = ? AND (a.uploaded_by = ? "
+          + "OR EXISTS (SELECT 1 FROM attachment_uploaders u "
+          + " WHERE u.attachment_id = a.attachment_id AND u.user_id = ?) "
+          + "OR EXISTS (SELECT 1 FROM message m JOIN chat_participants p ON p.chat_id = m.chat_id "
+          + " WHERE m.attachment_id = a.attachment_id AND p.user_id = ?)))";
+
+  private static final String SELECT_MESSAGES =
+      "SELECT m.message_id, m.sender_id, m.receiver_id, m.chat_id, m.message_content, m.send_at, "
+          + "m.read_at, m.is_read, a.content_hash FROM message m "
+          + "LEFT JOIN attachment a ON a.attachment_id = m.attachment_id "
+          + "WHERE m.chat_id = ? ORDER BY m.send_at, m.message_id";
+
+  private static final String SELECT_CHAT_SUMMARIES =
+      "SELECT c.chat_id, c.creator_id, r.user_id AS receiver_id, r.first_name, r.last_name, "
+          + "(SELECT count(*) FROM message m "
+          + " WHERE m.chat_id = c.chat_id AND m.receiver_id = ? AND m.is_read = false) AS unread "
+          + "FROM chat c "
+          + "JOIN chat_participants me ON me.chat_id = c.chat_id AND me.user_id = ? "
+          + "LEFT JOIN LATERAL ("
+          + " SELECT u.user_id, u.first_name, u.last_name FROM chat_participants p "
+          + " JOIN user_account u ON u.user_id = p.user_id "
+          + " WHERE p.chat_id = c.chat_id AND p.user_id <> ? ORDER BY p.user_id LIMIT 1) r ON true "
+          + "ORDER BY c.chat_id";
+
+  private static final RowMapper<MessageTO> MESSAGE_ROW_MAPPER =
+      (rs, rowNum) ->
+          new MessageTO(
+              rs.getLong("message_id"),
+              rs.getLong("sender_id"),
+              rs.getLong("receiver_id"),
+              rs.getLong("chat_id"),
+              rs.getString("message_content"),
+              rs.getTimestamp("send_at").toLocalDateTime(),
+              toLocalDateTime(rs.getTimestamp("read_at")),
+              rs.getBoolean("is_read"),
+              rs.getString("content_hash"));
+
+  private final HikariDataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates the repository and its connection pool.
+   *
+   * @param url the JDBC URL of the database
+   * @param username the database user
+   * @param password the password of the database user
+   * @param poolSize the maximum number of connections of the gateway pool
+   */
+  public ChatGatewayRepository(
+      @Value("${spring.datasource.url}") String url,
+      @Value("${spring.datasource.username}") String username,
+      @Value("${spring.datasource.password}") String password,
+      @Value("${chat.gateway.pool-size:8}") int poolSize) {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("chat-gateway");
+    config.setJdbcUrl(url);
+    config.setUsername(username);
+    config.setPassword(password);
+    config.setMaximumPoolSize(poolSize);
+    this.dataSource = new HikariDataSource(config);
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  /**
+   * Inserts a new unread message. An attachment is linked by its content hash; an unknown hash
+   * leaves the message without attachment.
+   *
+   * @param messageTO the message to insert
+   * @return the generated message ID
+   */
+  public Long insertMessage(MessageTO messageTO) {
+    return jdbcTemplate.queryForObject(
+        INSERT_MESSAGE,
+        Long.class,
+        messageTO.getChatId(),
+        messageTO.getSenderId(),
+        messageTO.getReceiverId(),
+        messageTO.getMessageContent(),
+        Timestamp.valueOf(messageTO.getSendAt()),
+        messageTO.getAttachmentHash());
+  }
+
+  /**
+   * Checks whether a user may attach the content with the given hash, i.e. whether the user uploaded
+   * it or participates in a chat in which it was shared.
+   *
+   * @param contentHash the hex-encoded SHA-256 hash of the content
+   * @param userId the ID of the user
+   * @return {@code true} if the attachment exists and the user may access it
+   */
+  public boolean isAttachmentAccessibleBy(String contentHash, Long userId) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            SELECT_ATTACHMENT_ACCESS, Boolean.class, contentHash, userId, userId, userId));
+  }
+
+  /**
+   * Loads all messages of a chat in the order they were sent.
+   *
+   * @param chatId the ID of the chat
+   * @return the messages of the chat
+   */
+  public List<MessageTO> findMessagesByChatId(Long chatId) {
+    return jdbcTemplate.query(SELECT_MESSAGES, MESSAGE_ROW_MAPPER, chatId);
+  }
+
+  /**
+   * Loads the summaries of all chats the user participates in.
+   *
+   * @param userId the ID of the user
+   * @return one summary per chat, including the other participant and the unread count
+   */
+  public List<ChatSummaryTO> findChatSummaries(Long userId) {
+    return jdbcTemplate.query(
+        SELECT_CHAT_SUMMARIES, ChatGatewayRepository::mapChatSummary, userId, userId, userId);
+  }
+
+  /** Closes the gateway connection pool. */
+  @PreDestroy
+  public void close() {
+    dataSource.close();
+  }
+
+  private static ChatSummaryTO mapChatSummary(ResultSet rs, int rowNum) throws SQLException {
+    long receiverId = rs.getLong("receiver_id");
+    ReceiverTO receiver =
+        rs.wasNull()
+            ? null
+            : new ReceiverTO(receiverId, rs.getString("first_name"), rs.getString("last_name"));
+    long creatorId = rs.getLong("creator_id");
+    Long creator = rs.wasNull() ? null : creatorId;
+    return new ChatSummaryTO(rs.getLong("chat_id"), creator, receiver, rs.getInt("unread"));
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toLocalDateTime() : null;
+  }
+}
@@ -0,0 +1,125 @@
+package de.thu.thutorium.gateway;
+
+import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
+import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service of the chat gateway.
+ *
+ * <p>Every operation runs on a bounded worker pool owned by the gateway and completes a {@link
+ * CompletableFuture}, so the calling servlet or broker thread is released immediately. When the
+ * queue of the pool is full, the returned future fails with a {@link
+ * java.util.concurrent.RejectedExecutionException} instead of piling up further work.
+ */
+@Service
+@ConditionalOnProperty(name = "chat.gateway.enabled", havingValue = "true")
+public class ChatGatewayService {
+  private final ChatGatewayRepository chatGatewayRepository;
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates the service and its worker pool.
+   *
+   * @param chatGatewayRepository the gateway repository
+   * @param workerThreads the number of worker threads, which should match the gateway pool size
+   * @param queueCapacity the number of operations that may wait for a worker
+   */
+  public ChatGatewayService(
+      ChatGatewayRepository chatGatewayRepository,
+      @Value("${chat.gateway.pool-size:8}") int workerThreads,
+      @Value("${chat.gateway.queue-capacity:1000}") int queueCapacity) {
+    this.chatGatewayRepository = chatGatewayRepository;
+    this.executor =
+        new ThreadPoolExecutor(
+            workerThreads,
+            workerThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("chat-gateway-"),
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Saves a new message. A referenced attachment must be accessible to the sender.
+   *
+   * @param messageTO the message to save
+   * @return a future completed with the saved message, or failed with an {@link
+   *     AccessDeniedException} if the sender may not access the referenced attachment
+   */
+  public CompletableFuture<MessageTO> saveMessage(MessageTO messageTO) {
+    if (messageTO == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("MessageTO cannot be null"));
+    }
+    if (messageTO.getSendAt() == null) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("The send time of the message cannot be null"));
+    }
+    return submit(
+        () -> {
+          if (messageTO.getAttachmentHash() != null
+              && !chatGatewayRepository.isAttachmentAccessibleBy(
+                  messageTO.getAttachmentHash(), messageTO.getSenderId())) {
+            throw new AccessDeniedException("You do not have access to this attachment");
+          }
+          Long messageId = chatGatewayRepository.insertMessage(messageTO);
+          return new MessageTO(
+              messageId,
+              messageTO.getSenderId(),
+              messageTO.getReceiverId(),
+              messageTO.getChatId(),
+              messageTO.getMessageContent(),
+              messageTO.getSendAt(),
+              null,
+              false,
+              messageTO.getAttachmentHash());
+        });
+  }
+
+  /**
+   * Loads all messages of a chat.
+   *
+   * @param chatId the ID of the chat
+   * @return a future completed with the messages of the chat
+   */
+  public CompletableFuture<List<MessageTO>> getMessagesByChatId(Long chatId) {
+    return submit(() -> chatGatewayRepository.findMessagesByChatId(chatId));
+  }
+
+  /**
+   * Loads the chat summaries of a user.
+   *
+   * @param userId the ID of the user
+   * @return a future completed with one summary per chat of the user
+   */
+  public CompletableFuture<List<ChatSummaryTO>> getChatSummaries(Long userId) {
+    return submit(() -> chatGatewayRepository.findChatSummaries(userId));
+  }
+
+  /** Stops the worker pool when the application context is closed. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, executor);
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+/**
+ * Provides the optional chat gateway of the Thutorium application.
+ *
+ * <p>This package contains an alternative implementation of the chat read and write paths that is
+ * isolated from the rest of the application. It is only active when {@code chat.gateway.enabled}
+ * is set and serves the same {@code MessageTO} and {@code ChatSummaryTO} contracts as the regular
+ * chat endpoints, with its own worker threads and its own connection pool.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.gateway;
@@ -0,0 +1,56 @@
+package de.thu.thutorium.geo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geocodes the addresses that were stored before geocoding was introduced, or while their postal
+ * code was missing from the postal code table. New addresses are geocoded when they are created.
+ *
+ * <p>The located addresses are written with one batched update once the application has started.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AddressGeocodingInitializer {
+  private final JdbcTemplate jdbcTemplate;
+  private final PostalCodeGeocoder postalCodeGeocoder;
+
+  /** Locates all addresses without coordinates. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void geocodeMissingAddresses() {
+    List<Object[]> updates = new ArrayList<>();
+    jdbcTemplate.query(
+        "SELECT address_id, country, postal_code, city FROM address WHERE latitude IS NULL",
+        rs -> {
+          long addressId = rs.getLong("address_id");
+          postalCodeGeocoder
+              .locate(rs.getString("country"), rs.getString("postal_code"), rs.getString("city"))
+              .ifPresent(
+                  point ->
+                      updates.add(
+                          new Object[] {
+                            point.latitude(),
+                            point.longitude(),
+                            GeoGrid.row(point.latitude()),
+                            GeoGrid.column(point.longitude()),
+                            addressId
+                          }));
+        });
+    if (updates.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        "UPDATE address SET latitude = ?, longitude = ?, grid_row = ?, grid_column = ?"
+            + " WHERE address_id = ?",
+        updates);
+    log.info("Geocoded {} existing addresses", updates.size());
+  }
+}
@@ -0,0 +1,65 @@
+package de.thu.thutorium.geo;
+
+/**
+ * A fixed grid of cells of {@value #CELL_DEGREES} degrees, i.e. about 11 km in latitude and 7 km
+ * in longitude in southern Germany. Addresses store the row and column of their cell, which are
+ * indexed together, so a proximity search reads the addresses of the few cells overlapping the
+ * bounding box of the search circle instead of computing the distance to every address.
+ */
+public final class GeoGrid {
+  /** The edge length of a cell in degrees. */
+  public static final double CELL_DEGREES = 0.1;
+
+  private static final double KM_PER_DEGREE_LATITUDE = Math.PI * GeoPoint.EARTH_RADIUS_KM / 180;
+
+  private GeoGrid() { }
+
+  /**
+   * Returns the grid row of a latitude.
+   *
+   * @param latitude the latitude
+   * @return the row
+   */
+  public static int row(double latitude) {
+    return (int) Math.floor(latitude / CELL_DEGREES);
+  }
+
+  /**
+   * Returns the grid column of a longitude.
+   *
+   * @param longitude the longitude
+   * @return the column
+   */
+  public static int column(double longitude) {
+    return (int) Math.floor(longitude / CELL_DEGREES);
+  }
+
+  /**
+   * Returns the cells covering the bounding box of a circle.
+   *
+   * @param center the center of the circle
+   * @param radiusKm the radius of the circle in kilometres
+   * @return the first and last row and column, inclusive
+   */
+  public static CellRange cover(GeoPoint center, double radiusKm) {
+    double dLat = radiusKm / KM_PER_DEGREE_LATITUDE;
+    // close to the poles the box spans every longitude
+    double cosLat = Math.cos(Math.toRadians(center.latitude()));
+    double dLon = cosLat < 1e-6 ? 180 : Math.min(180, dLat / cosLat);
+    return new CellRange(
+        row(center.latitude() - dLat),
+        row(center.latitude() + dLat),
+        column(center.longitude() - dLon),
+        column(center.longitude() + dLon));
+  }
+
+  /**
+   * An inclusive range of grid cells.
+   *
+   * @param minRow the first row
+   * @param maxRow the last row
+   * @param minColumn the first column
+   * @param maxColumn the last column
+   */
+  public record CellRange(int minRow, int maxRow, int minColumn, int maxColumn) { }
+}
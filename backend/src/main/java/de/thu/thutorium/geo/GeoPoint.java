@@ -0,0 +1,29 @@
+package de.thu.thutorium.geo;
+
+/**
+ * A position on the earth in decimal degrees.
+ *
+ * @param latitude the latitude, from -90 to 90
+ * @param longitude the longitude, from -180 to 180
+ */
+public record GeoPoint(double latitude, double longitude) {
+  /** The mean radius of the earth in kilometres. */
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+
+  /**
+   * Returns the great-circle distance to another point using the haversine formula.
+   *
+   * @param other the other point
+   * @return the distance in kilometres
+   */
+  public double distanceKm(GeoPoint other) {
+    double dLat = Math.toRadians(other.latitude - latitude);
+    double dLon = Math.toRadians(other.longitude - longitude);
+    double a =
+        Math.pow(Math.sin(dLat / 2), 2)
+            + Math.cos(Math.toRadians(latitude))
+                * Math.cos(Math.toRadians(other.latitude))
+                * Math.pow(Math.sin(dLon / 2), 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+}
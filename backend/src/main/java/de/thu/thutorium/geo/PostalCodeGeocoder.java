@@ -0,0 +1,100 @@
+package de.thu.thutorium.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocodes addresses offline from a bundled postal code table.
+ *
+ * <p>The table uses the tab-separated format of the GeoNames postal code export: country code,
+ * postal code, place name, three pairs of administrative division names and codes, latitude,
+ * longitude and accuracy. The bundled file only covers the region around the university; it can be
+ * replaced with the full export of one or more countries through {@code geo.postal-codes.location}.
+ *
+ * <p>An address is located by its postal code first. If the postal code is unknown, the first entry
+ * of its city is used instead. Countries may be given as ISO code or as English or German name,
+ * since addresses store the country as entered.
+ */
+@Slf4j
+@Component
+public class PostalCodeGeocoder {
+  private final Map<String, GeoPoint> byPostalCode = new HashMap<>();
+  private final Map<String, GeoPoint> byCity = new HashMap<>();
+  private final Map<String, String> countryCodes = new HashMap<>();
+
+  /**
+   * Loads the postal code table.
+   *
+   * @param postalCodes the postal code table
+   */
+  public PostalCodeGeocoder(
+      @Value("${geo.postal-codes.location:classpath:geo/postal-codes.txt}") Resource postalCodes) {
+    for (String code : Locale.getISOCountries()) {
+      Locale country = new Locale("", code);
+      String lowerCode = code.toLowerCase(Locale.ROOT);
+      countryCodes.put(lowerCode, lowerCode);
+      countryCodes.put(country.getDisplayCountry(Locale.ENGLISH).toLowerCase(Locale.ROOT), lowerCode);
+      countryCodes.put(country.getDisplayCountry(Locale.GERMAN).toLowerCase(Locale.ROOT), lowerCode);
+    }
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(postalCodes.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < 11) {
+          continue;
+        }
+        String country = columns[0].toLowerCase(Locale.ROOT);
+        GeoPoint point =
+            new GeoPoint(Double.parseDouble(columns[9]), Double.parseDouble(columns[10]));
+        byPostalCode.putIfAbsent(key(country, columns[1]), point);
+        byCity.putIfAbsent(key(country, columns[2]), point);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not read the postal code table", ex);
+    }
+    log.info("Loaded {} postal codes for geocoding", byPostalCode.size());
+  }
+
+  /**
+   * Locates an address by its postal code, or by its city if the postal code is unknown.
+   *
+   * @param country the ISO code or the name of the country
+   * @param postalCode the postal code, may be {@code null}
+   * @param city the city, may be {@code null}
+   * @return the position, or empty if neither the postal code nor the city is known
+   */
+  public Optional<GeoPoint> locate(String country, String postalCode, String city) {
+    if (country == null) {
+      return Optional.empty();
+    }
+    String code = countryCodes.get(country.trim().toLowerCase(Locale.ROOT));
+    if (code == null) {
+      return Optional.empty();
+    }
+    if (postalCode != null) {
+      GeoPoint point = byPostalCode.get(key(code, postalCode));
+      if (point != null) {
+        return Optional.of(point);
+      }
+    }
+    return city == null ? Optional.empty() : Optional.ofNullable(byCity.get(key(code, city)));
+  }
+
+  private static String key(String country, String value) {
+    return country + ":" + value.trim().toLowerCase(Locale.ROOT);
+  }
+}
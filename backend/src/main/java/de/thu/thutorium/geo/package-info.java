@@ -0,0 +1,10 @@
+/**
+ * Provides the geographic lookups of the Thutorium application.
+ *
+ * <p>This package contains the offline postal code geocoder, which places addresses on the map
+ * from a bundled postal code table, and the grid used to index addresses for proximity searches.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.geo;
@@ -0,0 +1,282 @@
+package de.thu.thutorium.idempotency;
+
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository.StoredResponse;
+import de.thu.thutorium.security.JwtPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Makes the mutating endpoints that clients retry on flaky networks idempotent.
+ *
+ * <p>A client sends a unique {@code Idempotency-Key} header with a request. The first request with a
+ * key claims it in the {@link IdempotencyStore} and is processed; its response is stored with the
+ * key. A retry with the same key is answered with the stored response, marked by the {@code
+ * Idempotent-Replayed} header, instead of sending the message or creating the meeting a second time.
+ * A retry that arrives while the first request is still being processed gets 409, and reusing a key
+ * for a different request gets 422. Keys are scoped to the user, so clients only need to generate
+ * keys that are unique for themselves.
+ *
+ * <p>Responses with a server error are not stored and release the key, so the retry is processed
+ * again. Requests without the header are processed as before. Since the body of a request is read
+ * into memory to be hashed, requests with a key and a body larger than the configured maximum get
+ * 413.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+  /** The request header carrying the idempotency key. */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  /** The response header marking a replayed response. */
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private static final List<String> IDEMPOTENT_PATHS =
+      List.of(
+          "/tutor/create-meeting",
+          "/message/send",
+          "/chat-create",
+          "/student/enroll-course/*",
+          "/student/rate-*");
+
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final IdempotencyStore idempotencyStore;
+  private final int maxBodyBytes;
+
+  /**
+   * Creates the filter.
+   *
+   * @param idempotencyStore the store of the keys and their responses
+   * @param maxBodyBytes the largest request body in bytes that is accepted with a key
+   */
+  public IdempotencyFilter(
+      IdempotencyStore idempotencyStore,
+      @Value("${idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+    this.idempotencyStore = idempotencyStore;
+    this.maxBodyBytes = maxBodyBytes;
+  }
+
+  /**
+   * Only filters POST requests to the idempotent endpoints that carry an idempotency key.
+   *
+   * @param request the HTTP request
+   * @return {@code true} if the request is processed without idempotency
+   */
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+      return true;
+    }
+    String path = request.getServletPath();
+    return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+  }
+
+  /**
+   * Replays the stored response of a known key, or processes the request and stores its response.
+   *
+   * @param request the HTTP request
+   * @param response the HTTP response
+   * @param filterChain the filter chain
+   * @throws ServletException if a servlet error occurs
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    Long userId = currentUserId();
+    if (userId == null) {
+      // the endpoints require authentication, which rejects the request further down the chain
+      filterChain.doFilter(request, response);
+      return;
+    }
+    String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      response.setStatus(HttpStatus.BAD_REQUEST.value());
+      response.getWriter().write("Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+
+    // a chunked body has no declared length, so at most one byte more than allowed is read
+    byte[] body =
+        request.getContentLengthLong() > maxBodyBytes
+            ? null
+            : request.getInputStream().readNBytes(maxBodyBytes + 1);
+    if (body == null || body.length > maxBodyBytes) {
+      response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+      response
+          .getWriter()
+          .write("Requests with an Idempotency-Key may have at most " + maxBodyBytes + " bytes");
+      return;
+    }
+
+    CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+    String keyHash = sha256(userId + "\n" + key);
+    String requestHash = sha256(requestLine(request), cachedRequest.body);
+
+    Optional<StoredResponse> existing = idempotencyStore.claim(keyHash, requestHash);
+    if (existing.isPresent()) {
+      StoredResponse stored = existing.get();
+      if (!stored.requestHash().equals(requestHash)) {
+        response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+        response.getWriter().write("Idempotency-Key has already been used for a different request");
+      } else if (!stored.isCompleted()) {
+        response.setStatus(HttpStatus.CONFLICT.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.getWriter().write("A request with this Idempotency-Key is still being processed");
+      } else {
+        replay(stored, response);
+      }
+      return;
+    }
+
+    ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+    boolean stored = false;
+    try {
+      filterChain.doFilter(cachedRequest, cachedResponse);
+      int status = cachedResponse.getStatus();
+      if (status < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+        idempotencyStore.complete(
+            keyHash,
+            requestHash,
+            status,
+            cachedResponse.getContentType(),
+            cachedResponse.getContentAsByteArray());
+        stored = true;
+      }
+    } finally {
+      if (!stored) {
+        idempotencyStore.release(keyHash);
+      }
+      cachedResponse.copyBodyToResponse();
+    }
+  }
+
+  private static void replay(StoredResponse stored, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(stored.statusCode());
+    response.setHeader(REPLAYED_HEADER, "true");
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    if (stored.body() != null) {
+      response.setContentLength(stored.body().length);
+      response.getOutputStream().write(stored.body());
+    }
+  }
+
+  private static String requestLine(HttpServletRequest request) {
+    String query = request.getQueryString();
+    return request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query);
+  }
+
+  private static Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+      return principal.userId();
+    }
+    return null;
+  }
+
+  private static String sha256(String text) {
+    return sha256(text, new byte[0]);
+  }
+
+  private static String sha256(String text, byte[] body) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(text.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) '\n');
+      digest.update(body);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Request whose body has been read up front, so it can be hashed and still be read again. */
+  private static class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          // the whole body is in memory, so it is available and read right away
+          try {
+            readListener.onDataAvailable();
+            readListener.onAllDataRead();
+          } catch (IOException ex) {
+            readListener.onError(ex);
+          }
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(
+          new InputStreamReader(
+              getInputStream(),
+              encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package de.thu.thutorium.idempotency;
+
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository;
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository.StoredResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps track of the requests made with an idempotency key and of their responses.
+ *
+ * <p>The {@code idempotency_key} table is the shared state of all nodes. Completed responses are
+ * additionally kept in a small LRU cache, so a client retrying against the same node, which is the
+ * common case, is answered without a database round trip. Only completed responses are cached: a
+ * key that is still being processed may be completed on another node at any time.
+ *
+ * <p>A claimed key is only leased for a short time while its request is processed, so the key of a
+ * node that dies in the middle of a request can be claimed again by a retry. Once the response is
+ * stored, the key is kept for the full time to live.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final Duration lease;
+  private final Duration ttl;
+  private final Map<String, StoredResponse> completed;
+
+  /**
+   * Creates the store.
+   *
+   * @param idempotencyKeyRepository the repository of the shared state
+   * @param capacity the maximum number of responses cached on this node
+   * @param leaseSeconds the number of seconds a key is held for a request being processed
+   * @param ttlHours the number of hours a key is kept after its response is stored
+   */
+  public IdempotencyStore(
+      IdempotencyKeyRepository idempotencyKeyRepository,
+      @Value("${idempotency.cache-size:10000}") int capacity,
+      @Value("${idempotency.lease-seconds:60}") long leaseSeconds,
+      @Value("${idempotency.ttl-hours:24}") long ttlHours) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    this.ttl = Duration.ofHours(ttlHours);
+    this.completed =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > capacity;
+              }
+            });
+  }
+
+  /**
+   * Claims a key for a request, unless it is already in use.
+   *
+   * @param keyHash the hash of the user and the key
+   * @param requestHash the hash of the request
+   * @return the request the key is already in use for, or an empty optional if the key now belongs
+   *     to this request and the request has to be processed
+   */
+  public Optional<StoredResponse> claim(String keyHash, String requestHash) {
+    StoredResponse cached = completed.get(keyHash);
+    if (cached != null) {
+      if (cached.expiresAt().isAfter(Instant.now())) {
+        return Optional.of(cached);
+      }
+      completed.remove(keyHash);
+    }
+    while (true) {
+      if (idempotencyKeyRepository.claim(keyHash, requestHash, Instant.now().plus(lease))) {
+        return Optional.empty();
+      }
+      // the key was released or its lease has expired in between if it cannot be found, so claim it again
+      Optional<StoredResponse> existing = idempotencyKeyRepository.find(keyHash);
+      if (existing.isPresent()) {
+        if (existing.get().isCompleted()) {
+          completed.put(keyHash, existing.get());
+        }
+        return existing;
+      }
+    }
+  }
+
+  /**
+   * Stores the response of a request whose key was claimed.
+   *
+   * @param keyHash the hash of the user and the key
+   * @param requestHash the hash of the request
+   * @param statusCode the HTTP status of the response
+   * @param contentType the content type of the response
+   * @param body the body of the response
+   */
+  public void complete(
+      String keyHash, String requestHash, int statusCode, String contentType, byte[] body) {
+    Instant expiresAt = Instant.now().plus(ttl);
+    idempotencyKeyRepository.complete(keyHash, statusCode, contentType, body, expiresAt);
+    completed.put(keyHash, new StoredResponse(requestHash, statusCode, contentType, body, expiresAt));
+  }
+
+  /**
+   * Releases the key of a request that could not be processed, so that a retry processes it.
+   *
+   * @param keyHash the hash of the user and the key
+   */
+  public void release(String keyHash) {
+    idempotencyKeyRepository.release(keyHash);
+  }
+
+  /** Deletes expired keys. */
+  @Scheduled(cron = "${idempotency.purge-cron:0 45 3 * * *}")
+  public void purgeExpired() {
+    int purged = idempotencyKeyRepository.deleteExpiredBefore(Instant.now());
+    if (purged > 0) {
+      log.info("Purged {} expired idempotency keys", purged);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * Provides idempotency keys for the mutating REST endpoints of the Thutorium application.
+ *
+ * <p>This package contains the filter that answers retried requests with the response of the first
+ * attempt, and the store that keeps the keys and responses in the database shared by all nodes and
+ * in a cache on each node.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.idempotency;
@@ -0,0 +1,138 @@
+package de.thu.thutorium.mail;
+
+import de.thu.thutorium.database.repositories.EmailOutboxRepository;
+import de.thu.thutorium.database.repositories.EmailOutboxRepository.ClaimedEmail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivers the emails of the outbox to the SMTP server.
+ *
+ * <p>The dispatcher polls the outbox at a fixed delay and claims up to one batch of due emails at a
+ * time, see {@link EmailOutboxRepository#claimDue}, until no due email is left. Services therefore
+ * never wait for the mail server: they only insert into the outbox within their own transaction.
+ *
+ * <p>A failed delivery is retried with exponential backoff and jitter. After the configured number
+ * of attempts the email is marked as failed and left in the outbox for inspection.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final EmailOutboxRepository outboxRepository;
+  private final JavaMailSender mailSender;
+  private final String from;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration claimDuration;
+  private final Duration retention;
+
+  /**
+   * Creates the dispatcher.
+   *
+   * @param outboxRepository the repository of the outbox
+   * @param mailSender the sender connected to the SMTP server
+   * @param settings the delivery settings
+   */
+  public EmailOutboxDispatcher(
+      EmailOutboxRepository outboxRepository,
+      JavaMailSender mailSender,
+      EmailOutboxSettings settings) {
+    this.outboxRepository = outboxRepository;
+    this.mailSender = mailSender;
+    this.from = settings.getFrom();
+    this.batchSize = settings.getBatchSize();
+    this.maxAttempts = settings.getMaxAttempts();
+    this.initialBackoff = settings.getInitialBackoff();
+    this.maxBackoff = settings.getMaxBackoff();
+    this.claimDuration = settings.getClaimDuration();
+    this.retention = settings.getRetention();
+  }
+
+  /** Sends all due emails, one batch after the other. */
+  @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+  public void dispatch() {
+    try {
+      List<ClaimedEmail> batch;
+      do {
+        batch = outboxRepository.claimDue(batchSize, claimDuration.toSeconds());
+        batch.forEach(this::send);
+      } while (batch.size() == batchSize);
+    } catch (DataAccessException ex) {
+      log.warn("Could not read the email outbox: {}", ex.getMessage());
+    }
+  }
+
+  /** Deletes sent emails after the retention period. */
+  @Scheduled(cron = "${mail.outbox.purge-cron:0 30 3 * * *}")
+  public void purgeSent() {
+    int purged = outboxRepository.deleteSentBefore(Instant.now().minus(retention));
+    if (purged > 0) {
+      log.info("Purged {} sent emails from the outbox", purged);
+    }
+  }
+
+  /**
+   * Sends a single claimed email and records the outcome.
+   *
+   * @param email the email to send
+   */
+  void send(ClaimedEmail email) {
+    SimpleMailMessage message = new SimpleMailMessage();
+    message.setFrom(from);
+    message.setTo(email.recipient());
+    message.setSubject(email.subject());
+    message.setText(email.body());
+    try {
+      mailSender.send(message);
+      outboxRepository.markSent(email.emailId());
+    } catch (MailException ex) {
+      String error = truncate(ex.getMessage());
+      if (email.attempts() >= maxAttempts) {
+        log.error("Giving up on email {} after {} attempts: {}", email.emailId(), email.attempts(), error);
+        outboxRepository.markFailed(email.emailId(), error);
+      } else {
+        Instant nextAttempt = Instant.now().plus(backoff(email.attempts()));
+        log.warn("Email {} could not be sent, retrying at {}: {}", email.emailId(), nextAttempt, error);
+        outboxRepository.markRetry(email.emailId(), nextAttempt, error);
+      }
+    }
+  }
+
+  /**
+   * Returns the delay after the given number of failed attempts: the initial backoff doubled for
+   * every further attempt, capped at the maximum, with up to 20 % random jitter so that emails that
+   * failed together are not retried together.
+   *
+   * @param attempts the number of failed attempts
+   * @return the delay before the next attempt
+   */
+  Duration backoff(int attempts) {
+    long exponent = Math.min(attempts - 1, 30);
+    long millis = Math.min(initialBackoff.toMillis() << exponent, maxBackoff.toMillis());
+    long jitter = ThreadLocalRandom.current().nextLong(millis / 5 + 1);
+    return Duration.ofMillis(millis - jitter);
+  }
+
+  private static String truncate(String error) {
+    if (error == null) {
+      return null;
+    }
+    return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -0,0 +1,50 @@
+package de.thu.thutorium.mail;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/** The delivery settings of the {@link EmailOutboxDispatcher}. */
+@Getter
+@Component
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxSettings {
+  private final String from;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration claimDuration;
+  private final Duration retention;
+
+  /**
+   * Creates the settings.
+   *
+   * @param from the sender address of all emails
+   * @param batchSize the number of emails claimed at once
+   * @param maxAttempts the number of attempts after which an email is given up
+   * @param initialBackoffMillis the delay before the first retry in milliseconds
+   * @param maxBackoffMillis the longest delay between two attempts in milliseconds
+   * @param claimSeconds the time in seconds a claimed email is hidden from other nodes
+   * @param retentionDays the number of days sent emails are kept
+   */
+  public EmailOutboxSettings(
+      @Value("${mail.from:no-reply@thutorium.de}") String from,
+      @Value("${mail.outbox.batch-size:50}") int batchSize,
+      @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+      @Value("${mail.outbox.initial-backoff-ms:30000}") long initialBackoffMillis,
+      @Value("${mail.outbox.max-backoff-ms:3600000}") long maxBackoffMillis,
+      @Value("${mail.outbox.claim-seconds:300}") long claimSeconds,
+      @Value("${mail.outbox.retention-days:30}") int retentionDays) {
+    this.from = from;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+    this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+    this.claimDuration = Duration.ofSeconds(claimSeconds);
+    this.retention = Duration.ofDays(retentionDays);
+  }
+}
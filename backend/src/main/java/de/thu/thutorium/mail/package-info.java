@@ -0,0 +1,10 @@
+/**
+ * Provides the outgoing email delivery of the Thutorium application.
+ *
+ * <p>This package contains the dispatcher that drains the email outbox, in which services store
+ * their emails transactionally, and delivers the emails to the configured SMTP server with retries.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.mail;
@@ -0,0 +1,180 @@
+package de.thu.thutorium.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel that holds a large number of timers at constant cost per timer.
+ *
+ * <p>The wheel consists of a fixed number of buckets, each covering one tick. A timer is placed in
+ * the bucket of its deadline together with the number of full rotations left until it expires. A
+ * single worker thread advances the wheel once per tick and only looks at the current bucket, so
+ * scheduling and cancelling a timer are O(1) and the cost of a tick does not depend on how many
+ * timers are pending elsewhere. Timers fire with a precision of one tick.
+ *
+ * <p>Expired tasks run on the worker thread and must be short. After every tick the optional
+ * {@code afterTick} callback runs, which lets callers collect the work of all timers of a tick and
+ * process it as a batch.
+ */
+@Slf4j
+public class HashedTimingWheel {
+  private final long tickNanos;
+  private final int mask;
+  private final Queue<Timeout>[] buckets;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final Runnable afterTick;
+  private final Thread worker;
+
+  private volatile boolean running;
+  private volatile long startNanos;
+  private long tick;
+
+  /**
+   * Creates a timing wheel. The wheel is started with {@link #start()}.
+   *
+   * @param tickDuration the duration of one tick, i.e. the precision of the timers
+   * @param wheelSize the number of buckets, rounded up to a power of two
+   * @param threadFactory the factory of the worker thread
+   * @param afterTick a callback run on the worker thread after every tick, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public HashedTimingWheel(
+      Duration tickDuration, int wheelSize, ThreadFactory threadFactory, Runnable afterTick) {
+    if (tickDuration.isNegative() || tickDuration.isZero()) {
+      throw new IllegalArgumentException("The tick duration must be positive.");
+    }
+    int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+    this.tickNanos = tickDuration.toNanos();
+    this.mask = size - 1;
+    this.buckets = new Queue[size];
+    for (int i = 0; i < size; i++) {
+      buckets[i] = new ArrayDeque<>();
+    }
+    this.afterTick = afterTick;
+    this.worker = threadFactory.newThread(this::run);
+  }
+
+  /** Starts the worker thread. */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    startNanos = System.nanoTime();
+    running = true;
+    worker.start();
+  }
+
+  /** Stops the worker thread. Pending timers are dropped. */
+  public void stop() {
+    running = false;
+    worker.interrupt();
+  }
+
+  /**
+   * Schedules a task to run after the given delay.
+   *
+   * @param task the task to run
+   * @param delay the delay; negative delays run the task on the next tick
+   * @return the timeout, which can be used to cancel the task
+   */
+  public Timeout schedule(Runnable task, Duration delay) {
+    long deadline = System.nanoTime() + Math.max(0, delay.toNanos());
+    Timeout timeout = new Timeout(task, deadline);
+    pending.add(timeout);
+    return timeout;
+  }
+
+  private void run() {
+    while (running) {
+      long wakeUp = startNanos + (tick + 1) * tickNanos;
+      long sleepNanos = wakeUp - System.nanoTime();
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException ex) {
+          if (!running) {
+            return;
+          }
+          continue;
+        }
+      }
+      transferPending();
+      expire(buckets[(int) (tick & mask)]);
+      if (afterTick != null) {
+        try {
+          afterTick.run();
+        } catch (RuntimeException ex) {
+          log.error("After-tick callback of timing wheel failed", ex);
+        }
+      }
+      tick++;
+    }
+  }
+
+  /** Moves newly scheduled timers into the bucket of their deadline. */
+  private void transferPending() {
+    Timeout timeout;
+    while ((timeout = pending.poll()) != null) {
+      if (timeout.cancelled) {
+        continue;
+      }
+      long deadlineTick = Math.max((timeout.deadlineNanos - startNanos) / tickNanos, tick);
+      timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+      buckets[(int) (deadlineTick & mask)].add(timeout);
+    }
+  }
+
+  /** Runs the expired timers of a bucket and counts down the rounds of the others. */
+  private void expire(Queue<Timeout> bucket) {
+    Iterator<Timeout> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      Timeout timeout = iterator.next();
+      if (timeout.cancelled) {
+        iterator.remove();
+      } else if (timeout.remainingRounds <= 0) {
+        iterator.remove();
+        try {
+          timeout.task.run();
+        } catch (RuntimeException ex) {
+          log.error("Timer task failed", ex);
+        }
+      } else {
+        timeout.remainingRounds--;
+      }
+    }
+  }
+
+  /** A scheduled task of the wheel. */
+  public static final class Timeout {
+    private final Runnable task;
+    private final long deadlineNanos;
+    private long remainingRounds;
+    private volatile boolean cancelled;
+
+    private Timeout(Runnable task, long deadlineNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    /** Cancels the task. A cancelled task is removed when the wheel reaches its bucket. */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    /**
+     * Returns whether the task has been cancelled.
+     *
+     * @return {@code true} if {@link #cancel()} has been called
+     */
+    public boolean isCancelled() {
+      return cancelled;
+    }
+  }
+}
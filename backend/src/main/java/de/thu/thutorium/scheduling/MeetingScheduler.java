@@ -0,0 +1,309 @@
+package de.thu.thutorium.scheduling;
+
+import de.thu.thutorium.api.transferObjects.common.MeetingReminderTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.sql.DataSource;
+
+/**
+ * Sends meeting reminders and moves meetings from {@code SCHEDULED} to {@code UPCOMING}.
+ *
+ * <p>Instead of polling the whole {@code meeting} table, the scheduler periodically loads the
+ * meetings starting within a rolling lookahead window, which is a range scan on the start time,
+ * and keeps one timer per reminder and status transition in a {@link HashedTimingWheel}. Reminders
+ * are pushed over STOMP to {@code /topic/reminders/{userId}} of the tutor and every participant.
+ * Status transitions that fall into the same tick are written with a single {@code UPDATE}.
+ *
+ * <p>Only one application node runs the timers. Leadership is a Postgres session-level advisory
+ * lock, held on a dedicated pooled connection for as long as the node is leader. If that
+ * connection is lost, the database releases the lock, the node drops its timers, and another node
+ * takes over at its next refresh.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "meeting.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class MeetingScheduler {
+  /** Key of the advisory lock that elects the node running the scheduler. */
+  static final long LEADER_LOCK_KEY = 4_036_001L;
+
+  private static final String LOAD_WINDOW_SQL =
+      "SELECT m.meeting_id, m.meeting_start_time, m.created_by, c.course_name,"
+          + " COALESCE(m.meeting_status, 'SCHEDULED') AS meeting_status,"
+          + " ARRAY(SELECT sm.student_id FROM students_meetings sm"
+          + " WHERE sm.meeting_id = m.meeting_id) AS participant_ids"
+          + " FROM meeting m JOIN course c ON c.course_id = m.course_id"
+          + " WHERE m.meeting_start_time >= ? AND m.meeting_start_time < ?";
+
+  private static final String MARK_UPCOMING_SQL =
+      "UPDATE meeting SET meeting_status = 'UPCOMING'"
+          + " WHERE meeting_id = ANY(?::bigint[])"
+          + " AND COALESCE(meeting_status, 'SCHEDULED') = 'SCHEDULED'";
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final Duration lookahead;
+  private final Duration upcomingLead;
+  private final List<Duration> reminderOffsets;
+  private final Duration tickDuration;
+  private final int wheelSize;
+
+  private final Map<Long, ScheduledMeeting> meetings = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Long> dueTransitions = new ConcurrentLinkedQueue<>();
+
+  private Connection leaderConnection;
+  private HashedTimingWheel wheel;
+
+  /**
+   * Creates the scheduler.
+   *
+   * @param dataSource the data source the leader connection is taken from
+   * @param jdbcTemplate the template used to load meetings and write status transitions
+   * @param messagingTemplate the template used to push reminders
+   * @param settings the timing settings of the scheduler
+   */
+  public MeetingScheduler(
+      DataSource dataSource,
+      JdbcTemplate jdbcTemplate,
+      SimpMessagingTemplate messagingTemplate,
+      MeetingSchedulerSettings settings) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = jdbcTemplate;
+    this.messagingTemplate = messagingTemplate;
+    this.lookahead = settings.getLookahead();
+    this.upcomingLead = settings.getUpcomingLead();
+    this.reminderOffsets = settings.getReminderOffsets();
+    this.tickDuration = settings.getTickDuration();
+    this.wheelSize = settings.getWheelSize();
+  }
+
+  /**
+   * Tries to become or stay leader and, as leader, loads the meetings of the lookahead window and
+   * schedules the timers of meetings that are new or have been moved.
+   */
+  @Scheduled(
+      fixedDelayString = "${meeting.scheduler.refresh-interval-ms:60000}",
+      initialDelayString = "${meeting.scheduler.initial-delay-ms:10000}")
+  public synchronized void refresh() {
+    if (!holdLeadership()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    Set<Long> loaded = new HashSet<>();
+    jdbcTemplate.query(
+        LOAD_WINDOW_SQL,
+        rs -> {
+          long meetingId = rs.getLong("meeting_id");
+          loaded.add(meetingId);
+          LocalDateTime startTime = rs.getTimestamp("meeting_start_time").toLocalDateTime();
+          Set<Long> recipients = recipients(rs);
+          ScheduledMeeting scheduled = meetings.get(meetingId);
+          if (scheduled != null && scheduled.startTime.equals(startTime)) {
+            // participants may have changed since the timers were scheduled
+            scheduled.recipients = recipients;
+            return;
+          }
+          if (scheduled != null) {
+            scheduled.cancel();
+          }
+          meetings.put(
+              meetingId,
+              schedule(
+                  meetingId,
+                  rs.getString("course_name"),
+                  startTime,
+                  recipients,
+                  "SCHEDULED".equals(rs.getString("meeting_status")),
+                  now));
+        },
+        now,
+        now.plus(lookahead));
+
+    // meetings that started, were deleted or moved out of the window
+    meetings.entrySet().removeIf(
+        entry -> {
+          if (loaded.contains(entry.getKey())) {
+            return false;
+          }
+          entry.getValue().cancel();
+          return true;
+        });
+  }
+
+  /** Releases leadership and stops the timers when the application shuts down. */
+  @PreDestroy
+  public synchronized void shutdown() {
+    resign();
+  }
+
+  private ScheduledMeeting schedule(
+      long meetingId,
+      String courseName,
+      LocalDateTime startTime,
+      Set<Long> recipients,
+      boolean scheduled,
+      LocalDateTime now) {
+    ScheduledMeeting meeting = new ScheduledMeeting(startTime, recipients);
+    Duration untilStart = Duration.between(now, startTime);
+    if (scheduled) {
+      meeting.timeouts.add(
+          wheel.schedule(() -> dueTransitions.add(meetingId), untilStart.minus(upcomingLead)));
+    }
+    for (Duration offset : reminderOffsets) {
+      Duration delay = untilStart.minus(offset);
+      if (delay.isNegative()) {
+        // the reminder time has passed, e.g. the meeting was created at short notice
+        continue;
+      }
+      MeetingReminderTO reminder =
+          new MeetingReminderTO(meetingId, courseName, startTime, offset.toMinutes());
+      meeting.timeouts.add(wheel.schedule(() -> sendReminder(meeting, reminder), delay));
+    }
+    return meeting;
+  }
+
+  private void sendReminder(ScheduledMeeting meeting, MeetingReminderTO reminder) {
+    for (Long userId : meeting.recipients) {
+      messagingTemplate.convertAndSend("/topic/reminders/" + userId, reminder);
+    }
+  }
+
+  /** Writes the status transitions that became due during the last tick with one statement. */
+  private void flushTransitions() {
+    List<Long> meetingIds = new ArrayList<>();
+    Long meetingId;
+    while ((meetingId = dueTransitions.poll()) != null) {
+      meetingIds.add(meetingId);
+    }
+    if (meetingIds.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.update(MARK_UPCOMING_SQL, (Object) meetingIds.toArray(Long[]::new));
+    } catch (RuntimeException ex) {
+      log.error("Could not mark {} meeting(s) as upcoming", meetingIds.size(), ex);
+    }
+  }
+
+  private static Set<Long> recipients(ResultSet rs) throws SQLException {
+    Set<Long> recipients = new HashSet<>();
+    recipients.add(rs.getLong("created_by"));
+    Array participants = rs.getArray("participant_ids");
+    if (participants != null) {
+      for (Object participant : (Object[]) participants.getArray()) {
+        recipients.add(((Number) participant).longValue());
+      }
+    }
+    return recipients;
+  }
+
+  /**
+   * Returns whether this node is leader, trying to acquire the advisory lock if it is not. The
+   * lock is bound to the connection it was acquired on, which is therefore kept open.
+   */
+  private boolean holdLeadership() {
+    try {
+      if (leaderConnection != null) {
+        if (leaderConnection.isValid(5)) {
+          return true;
+        }
+        log.warn("Lost the meeting scheduler leader connection");
+        resign();
+      }
+      Connection connection = dataSource.getConnection();
+      boolean acquired;
+      try (PreparedStatement statement =
+          connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+        statement.setLong(1, LEADER_LOCK_KEY);
+        try (ResultSet rs = statement.executeQuery()) {
+          acquired = rs.next() && rs.getBoolean(1);
+        }
+      }
+      if (!acquired) {
+        connection.close();
+        return false;
+      }
+      leaderConnection = connection;
+      wheel =
+          new HashedTimingWheel(
+              tickDuration,
+              wheelSize,
+              new CustomizableThreadFactory("meeting-timer-"),
+              this::flushTransitions);
+      wheel.start();
+      log.info("This node now runs the meeting scheduler");
+      return true;
+    } catch (SQLException ex) {
+      log.error("Could not determine the meeting scheduler leader", ex);
+      resign();
+      return false;
+    }
+  }
+
+  /**
+   * Drops all timers and releases the advisory lock. The lock has to be released explicitly,
+   * because closing the connection only returns it to the pool.
+   */
+  private void resign() {
+    meetings.values().forEach(ScheduledMeeting::cancel);
+    meetings.clear();
+    dueTransitions.clear();
+    if (wheel != null) {
+      wheel.stop();
+      wheel = null;
+    }
+    if (leaderConnection != null) {
+      try (PreparedStatement statement =
+          leaderConnection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+        statement.setLong(1, LEADER_LOCK_KEY);
+        statement.execute();
+      } catch (SQLException ex) {
+        // the connection is broken, so the database has released the lock already
+        log.debug("Could not release the meeting scheduler lock", ex);
+      }
+      try {
+        leaderConnection.close();
+      } catch (SQLException ex) {
+        log.debug("Could not close the meeting scheduler leader connection", ex);
+      }
+      leaderConnection = null;
+    }
+  }
+
+  /** The timers of one meeting within the lookahead window. */
+  private static final class ScheduledMeeting {
+    private final LocalDateTime startTime;
+    private final List<HashedTimingWheel.Timeout> timeouts = new ArrayList<>();
+    private volatile Set<Long> recipients;
+
+    private ScheduledMeeting(LocalDateTime startTime, Set<Long> recipients) {
+      this.startTime = startTime;
+      this.recipients = recipients;
+    }
+
+    private void cancel() {
+      timeouts.forEach(HashedTimingWheel.Timeout::cancel);
+    }
+  }
+}
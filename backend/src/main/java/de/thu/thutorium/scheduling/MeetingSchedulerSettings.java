@@ -0,0 +1,53 @@
+package de.thu.thutorium.scheduling;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The timing settings of the {@link MeetingScheduler}.
+ *
+ * <p>The lead time of the status transition and the reminder offsets are limited to the lookahead
+ * window, since the scheduler only keeps timers for meetings within the window.
+ */
+@Getter
+@Component
+@ConditionalOnProperty(name = "meeting.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class MeetingSchedulerSettings {
+  private final Duration lookahead;
+  private final Duration upcomingLead;
+  private final List<Duration> reminderOffsets;
+  private final Duration tickDuration;
+  private final int wheelSize;
+
+  /**
+   * Creates the settings.
+   *
+   * @param lookaheadMinutes how far ahead meetings are loaded
+   * @param upcomingLeadMinutes how long before its start a meeting becomes {@code UPCOMING}
+   * @param reminderOffsetsMinutes how long before its start reminders are sent
+   * @param tickMillis the precision of the timers
+   * @param wheelSize the number of buckets of the timing wheel
+   */
+  public MeetingSchedulerSettings(
+      @Value("${meeting.scheduler.lookahead-minutes:120}") long lookaheadMinutes,
+      @Value("${meeting.scheduler.upcoming-lead-minutes:60}") long upcomingLeadMinutes,
+      @Value("${meeting.reminder.offsets-minutes:60,10}") long[] reminderOffsetsMinutes,
+      @Value("${meeting.scheduler.tick-ms:1000}") long tickMillis,
+      @Value("${meeting.scheduler.wheel-size:512}") int wheelSize) {
+    this.lookahead = Duration.ofMinutes(lookaheadMinutes);
+    this.upcomingLead = Duration.ofMinutes(Math.min(upcomingLeadMinutes, lookaheadMinutes));
+    this.reminderOffsets =
+        Arrays.stream(reminderOffsetsMinutes)
+            .filter(minutes -> minutes <= lookaheadMinutes)
+            .mapToObj(Duration::ofMinutes)
+            .toList();
+    this.tickDuration = Duration.ofMillis(tickMillis);
+    this.wheelSize = wheelSize;
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * Provides the time-based background processing of the Thutorium application.
+ *
+ * <p>This package contains the meeting scheduler, which sends meeting reminders and moves meetings
+ * through their statuses, and the hashed timing wheel it uses to keep the timers of all meetings
+ * within its lookahead window.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.scheduling;
@@ -2,20 +2,41 @@ package de.thu.thutorium.security;
 
 import de.thu.thutorium.database.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
-/** Configuration class for authentication-related beans. */
+import java.util.Map;
+
+/**
+ * Configuration class for authentication-related beans.
+ *
+ * <p>Passwords are hashed with the algorithm and work factor configured under {@code
+ * security.password.*}. New hashes are stored with an algorithm prefix such as {@code {bcrypt}};
+ * hashes without a prefix were written before the algorithm became configurable and are verified
+ * as BCrypt. After a successful login, a hash that uses a different algorithm or a lower work
+ * factor than configured is replaced by the {@link UserDetailsPasswordService}, so raising the work
+ * factor takes effect for every user on their next login.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class AuthConfig {
+  /** The ID of the BCrypt encoder. */
+  public static final String BCRYPT = "bcrypt";
+
+  /** The ID of the PBKDF2 encoder. */
+  public static final String PBKDF2 = "pbkdf2";
 
   private final UserRepository userRepository;
 
@@ -33,26 +54,69 @@ public class AuthConfig {
   }
 
   /**
-   * Bean for AuthenticationProvider. Provides an authentication provider for authentication.
+   * Bean for AuthenticationProvider. Provides an authentication provider for authentication that
+   * rehashes outdated password hashes after a successful login.
    *
+   * @param passwordEncoder the password encoder
+   * @param passwordUpgradeService the service storing rehashed passwords
    * @return an AuthenticationProvider instance
    */
   @Bean
-  public AuthenticationProvider authenticationProvider() {
+  public AuthenticationProvider authenticationProvider(
+      PasswordEncoder passwordEncoder, UserDetailsPasswordService passwordUpgradeService) {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService());
-    authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setPasswordEncoder(passwordEncoder);
+    authProvider.setUserDetailsPasswordService(passwordUpgradeService);
     return authProvider;
   }
 
   /**
-   * Bean for BCryptPasswordEncoder. Provides a password encoder for encoding passwords.
+   * Bean for PasswordEncoder. Encodes new passwords with the configured algorithm and verifies
+   * passwords hashed with any supported algorithm.
    *
-   * @return a BCryptPasswordEncoder instance
+   * @param encoderId the ID of the algorithm used for new hashes, {@value #BCRYPT} or {@value
+   *     #PBKDF2}
+   * @param bcryptStrength the BCrypt work factor (log2 of the number of rounds)
+   * @param pbkdf2Iterations the number of PBKDF2 iterations
+   * @return a DelegatingPasswordEncoder instance
    */
   @Bean
-  public BCryptPasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${security.password.encoder:bcrypt}") String encoderId,
+      @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+      @Value("${security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations) {
+    Map<String, PasswordEncoder> encoders =
+        Map.of(
+            BCRYPT, createPasswordEncoder(BCRYPT, bcryptStrength, pbkdf2Iterations),
+            PBKDF2, createPasswordEncoder(PBKDF2, bcryptStrength, pbkdf2Iterations));
+    if (!encoders.containsKey(encoderId)) {
+      throw new IllegalArgumentException("Unsupported password encoder: " + encoderId);
+    }
+    DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+    // hashes stored before the algorithm prefix was introduced are plain BCrypt hashes
+    delegatingEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+    return delegatingEncoder;
+  }
+
+  /**
+   * Creates a single password encoder without an algorithm prefix.
+   *
+   * @param encoderId the ID of the algorithm, {@value #BCRYPT} or {@value #PBKDF2}
+   * @param bcryptStrength the BCrypt work factor (log2 of the number of rounds)
+   * @param pbkdf2Iterations the number of PBKDF2 iterations
+   * @return the password encoder
+   * @throws IllegalArgumentException if the algorithm is not supported
+   */
+  public static PasswordEncoder createPasswordEncoder(
+      String encoderId, int bcryptStrength, int pbkdf2Iterations) {
+    return switch (encoderId) {
+      case BCRYPT -> new BCryptPasswordEncoder(bcryptStrength);
+      case PBKDF2 ->
+          new Pbkdf2PasswordEncoder(
+              "", 16, pbkdf2Iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+      default -> throw new IllegalArgumentException("Unsupported password encoder: " + encoderId);
+    };
   }
 
   /**
@@ -0,0 +1,130 @@
+package de.thu.thutorium.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter over strings.
+ *
+ * <p>{@link #mightContain} never returns {@code false} for a key that has been added, and returns
+ * {@code true} for a key that has not been added only with roughly the false positive rate the
+ * filter was sized for. The bits are kept in an {@link AtomicLongArray}, so keys can be added while
+ * other threads query the filter without any locking.
+ *
+ * <p>The bit positions are derived by double hashing from a single 64-bit FNV-1a hash of the UTF-8
+ * bytes of the key.
+ */
+public final class BloomFilter {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  /**
+   * Creates an empty filter sized for the given number of keys and false positive rate.
+   *
+   * @param expectedInsertions the number of keys the filter is expected to hold
+   * @param falsePositiveRate the desired false positive rate, between 0 and 1 exclusive
+   * @throws IllegalArgumentException if one of the arguments is out of range
+   */
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    double ln2 = Math.log(2);
+    long optimalBits =
+        (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int words = (int) Math.max(1, (optimalBits + 63) / 64);
+    this.bits = new AtomicLongArray(words);
+    this.bitCount = (long) words * 64;
+    this.hashCount =
+        Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+  }
+
+  /**
+   * Adds a key to the filter.
+   *
+   * @param key the key to add
+   */
+  public void put(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long index = index(h1 + i * h2);
+      int word = (int) (index >>> 6);
+      long mask = 1L << index;
+      long current;
+      do {
+        current = bits.get(word);
+        if ((current & mask) != 0) {
+          break;
+        }
+      } while (!bits.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  /**
+   * Checks whether a key may have been added to the filter.
+   *
+   * @param key the key to check
+   * @return {@code false} if the key has definitely not been added, {@code true} if it might have
+   *     been
+   */
+  public boolean mightContain(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long index = index(h1 + i * h2);
+      if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of bits of the filter.
+   *
+   * @return the size of the filter in bits
+   */
+  public long bitSize() {
+    return bitCount;
+  }
+
+  /**
+   * Returns the number of hash functions applied to every key.
+   *
+   * @return the number of hash functions
+   */
+  public int hashCount() {
+    return hashCount;
+  }
+
+  private long index(int combinedHash) {
+    // flip negative hashes instead of taking the absolute value, which keeps Integer.MIN_VALUE in range
+    int positive = combinedHash < 0 ? ~combinedHash : combinedHash;
+    return positive % bitCount;
+  }
+
+  private static long hash(String key) {
+    long hash = FNV_OFFSET_BASIS;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= FNV_PRIME;
+    }
+    // final avalanche so that both halves of the hash depend on every input byte
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
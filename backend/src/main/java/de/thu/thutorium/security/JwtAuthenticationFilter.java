@@ -1,6 +1,7 @@
 package de.thu.thutorium.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,32 +9,44 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Filter for JWT authentication. This filter intercepts HTTP requests to validate JWT tokens and
  * set the authentication context.
+ *
+ * <p>The token is verified once by {@link JwtService#authenticate} and the authentication is built
+ * from its claims as a {@link JwtPrincipal}, so no user is loaded from the database. Revoked tokens
+ * are rejected by the {@link TokenRevocationService}, which answers from memory for all tokens that
+ * have not been revoked.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final TokenRevocationService tokenRevocationService;
   private final HandlerExceptionResolver handlerExceptionResolver;
 
+  /**
+   * Skips the token endpoints that authenticate with a refresh token, so that a client can renew an
+   * expired access token even if it still sends the old one.
+   *
+   * @param request the HTTP request
+   * @return {@code true} for the refresh and logout endpoints
+   */
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    String path = request.getServletPath();
+    return path.equals("/auth/refresh") || path.equals("/auth/logout");
+  }
+
   /**
    * Filters incoming HTTP requests to validate JWT tokens.
    *
@@ -50,8 +63,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       @NonNull FilterChain filterChain)
       throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
-    final String jwt;
-    final String userEmail;
 
     // missing authorization, return
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -59,32 +70,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       return;
     }
     // Get the payload
-    jwt = authHeader.substring(7);
-    try {
-      // extract username/email
-      userEmail = jwtService.extractUsername(jwt);
-    } catch (ExpiredJwtException e) {
-      // Token expired
-      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      response.getWriter().write("Token has expired");
-      return;
-    }
-    // Extract roles
-    List<String> roles = jwtService.extractRoles(jwt);
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    if (userEmail != null && authentication == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-      // Validate the token (not the password, just username)
-      if (jwtService.isTokenValid(jwt, userDetails)) {
-        UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(
-                userDetails,
-                null,
-                // userDetails.getAuthorities() // This will still have the roles
-                roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
-        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+    final String jwt = authHeader.substring(7);
+    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+      final JwtPrincipal principal;
+      try {
+        // verify the signature and expiration and read the claims in one pass
+        principal = jwtService.authenticate(jwt);
+      } catch (ExpiredJwtException e) {
+        // Token expired
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write("Token has expired");
+        return;
+      } catch (JwtException | IllegalArgumentException e) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write("Invalid token");
+        return;
+      }
+      if (tokenRevocationService.isRevoked(principal)) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write("Token has been revoked");
+        return;
       }
+      UsernamePasswordAuthenticationToken authToken =
+          new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+      authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      SecurityContextHolder.getContext().setAuthentication(authToken);
     }
     try {
       filterChain.doFilter(request, response);
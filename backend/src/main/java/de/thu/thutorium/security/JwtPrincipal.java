@@ -0,0 +1,41 @@
+package de.thu.thutorium.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The authenticated user of a request, built from the claims of a verified JWT.
+ *
+ * <p>It replaces the {@link de.thu.thutorium.database.dbObjects.UserDBO} that used to be loaded
+ * for every request, so authenticating a request does not touch the database.
+ *
+ * @param userId the ID of the user, from the {@code id} claim
+ * @param email the email address of the user, from the {@code sub} claim
+ * @param authorities the roles of the user, from the {@code roles} claim
+ * @param tokenId the ID of the token, from the {@code jti} claim; {@code null} for tokens issued
+ *     before token IDs were introduced
+ * @param issuedAt the time the token was issued, from the {@code iat} claim
+ * @param expiresAt the time the token expires, from the {@code exp} claim
+ */
+public record JwtPrincipal(
+    Long userId,
+    String email,
+    List<GrantedAuthority> authorities,
+    String tokenId,
+    Instant issuedAt,
+    Instant expiresAt)
+    implements Principal {
+
+  /**
+   * Returns the email address of the user.
+   *
+   * @return the email address
+   */
+  @Override
+  public String getName() {
+    return email;
+  }
+}
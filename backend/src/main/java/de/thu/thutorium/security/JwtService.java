@@ -1,26 +1,40 @@
 package de.thu.thutorium.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-
-/** Service class for handling JWT operations. */
+import java.util.UUID;
+
+/**
+ * Service class for handling JWT operations.
+ *
+ * <p>The signing key and the parser are created once. {@link #authenticate} verifies a token with a
+ * single parse and keeps the resulting principal in a small LRU cache until the token expires, so a
+ * client sending the same token with every request costs one HMAC verification per token instead
+ * of several per request.
+ */
 @Service
 @Getter
 @Setter
@@ -32,37 +46,81 @@ public class JwtService {
   @Value("${security.jwt.expiration-time}")
   private long JWT_EXPIRATION;
 
-  /**
-   * Extracts the username(email) from the JWT token.
-   *
-   * @param token the JWT token
-   * @return the username extracted from the token
-   */
-  public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject); // subject is emailid of token/user
-  }
-
-  /**
-   * Extracts the roles from the JWT token.
-   *
-   * @param token the JWT token
-   * @return a list of roles extracted from the token
-   */
-  public List<String> extractRoles(String token) {
-    return extractClaim(token, claims -> claims.get("roles", List.class));
+  @Value("${security.jwt.verified-cache-size:10000}")
+  private int verifiedCacheSize;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Key signingKey;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private JwtParser parser;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Map<String, VerifiedToken> verifiedTokens;
+
+  /** Decodes the signing key and builds the parser and the cache of verified tokens. */
+  @PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    int capacity = verifiedCacheSize;
+    verifiedTokens =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > capacity;
+              }
+            });
   }
 
   /**
-   * Extracts a specific claim from the JWT token.
+   * Verifies a token and builds the principal from its claims. The token is parsed once; a token
+   * verified before is taken from the cache until it expires.
    *
    * @param token the JWT token
-   * @param claimsResolver a function to resolve the claim
-   * @param <T> the type of the claim
-   * @return the extracted claim
+   * @return the principal of the token
+   * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, its signature is invalid or
+   *     claims are missing
    */
-  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  public JwtPrincipal authenticate(String token) {
+    VerifiedToken cached = verifiedTokens.get(token);
+    if (cached != null) {
+      if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+        return cached.principal();
+      }
+      verifiedTokens.remove(token);
+    }
+
+    Claims claims = extractAllClaims(token);
+    Long userId = claims.get("id", Long.class);
+    if (userId == null
+        || claims.getSubject() == null
+        || claims.getIssuedAt() == null
+        || claims.getExpiration() == null) {
+      throw new MalformedJwtException("Token is missing required claims");
+    }
+    List<?> roles = claims.get("roles", List.class);
+    List<GrantedAuthority> authorities =
+        roles == null
+            ? List.of()
+            : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    JwtPrincipal principal =
+        new JwtPrincipal(
+            userId,
+            claims.getSubject(),
+            authorities,
+            claims.getId(),
+            claims.getIssuedAt().toInstant(),
+            claims.getExpiration().toInstant());
+    verifiedTokens.put(token, new VerifiedToken(principal, claims.getExpiration().getTime()));
+    return principal;
   }
 
   /**
@@ -72,21 +130,7 @@ public class JwtService {
    * @return the claims extracted from the token
    */
   private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-  }
-
-  /**
-   * Retrieves the signing key for JWT operations.
-   *
-   * @return the signing key
-   */
-  private Key getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-    return Keys.hmacShaKeyFor(keyBytes);
+    return parser.parseClaimsJws(token).getBody();
   }
 
   /**
@@ -131,44 +175,13 @@ public class JwtService {
     return Jwts.builder()
         .setClaims(extraClaims)
         .setSubject(userDetails.getUsername())
+        .setId(UUID.randomUUID().toString())
         .setIssuedAt(new Date(System.currentTimeMillis()))
         .setExpiration(new Date(System.currentTimeMillis() + expiration))
-        .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
-  /**
-   * Validates the JWT token against the user details.
-   *
-   * @param token the JWT token
-   * @param userDetails the user details
-   * @return true if the token is valid, false otherwise
-   */
-  public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-  }
-
-  /**
-   * Checks if the JWT token is expired.
-   *
-   * @param token the JWT token
-   * @return true if the token is expired, false otherwise
-   */
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  /**
-   * Extracts the expiration date from the JWT token.
-   *
-   * @param token the JWT token
-   * @return the expiration date extracted from the token
-   */
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
-
   /**
    * Retrieves the JWT expiration time.
    *
@@ -177,4 +190,12 @@ public class JwtService {
   public long getExpirationTime() {
     return JWT_EXPIRATION;
   }
+
+  /**
+   * A verified token in the cache.
+   *
+   * @param principal the principal built from the claims
+   * @param expiresAtMillis the expiration time of the token
+   */
+  private record VerifiedToken(JwtPrincipal principal, long expiresAtMillis) { }
 }
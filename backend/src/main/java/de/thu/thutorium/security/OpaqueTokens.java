@@ -0,0 +1,49 @@
+package de.thu.thutorium.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Generates and hashes opaque tokens, such as refresh tokens and the tokens in verification and
+ * password reset links.
+ *
+ * <p>A token carries 256 random bits and is handed to the client once; only its SHA-256 hash is
+ * stored. With that much entropy a fast hash is sufficient, so looking up a token never runs the
+ * password encoder.
+ */
+public final class OpaqueTokens {
+  private static final int TOKEN_BYTES = 32;
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private OpaqueTokens() { }
+
+  /**
+   * Generates a new random token.
+   *
+   * @return the URL-safe Base64 encoded token
+   */
+  public static String generate() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    SECURE_RANDOM.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /**
+   * Hashes a token for storage and lookup.
+   *
+   * @param token the token
+   * @return the hex encoded SHA-256 hash of the token
+   */
+  public static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores a rehashed password after a successful login. Called by the {@link
+ * org.springframework.security.authentication.dao.DaoAuthenticationProvider} whenever the stored
+ * hash uses a different algorithm or a lower work factor than the configured password encoder.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+  private final UserRepository userRepository;
+
+  /**
+   * Replaces the password hash of the user. Only the password column is updated, so the rest of
+   * the user loaded for the login is not written back.
+   *
+   * @param user the authenticated user
+   * @param newPassword the new password hash
+   * @return the user with the new password hash
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    UserDBO userDBO = (UserDBO) user;
+    userRepository.updatePassword(userDBO.getUserId(), newPassword);
+    userDBO.setPassword(newPassword);
+    log.debug("Upgraded password hash of user {}", userDBO.getUserId());
+    return userDBO;
+  }
+}
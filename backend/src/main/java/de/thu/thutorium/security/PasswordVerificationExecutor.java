@@ -0,0 +1,67 @@
+package de.thu.thutorium.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool for password verification.
+ *
+ * <p>Verifying a password hash is deliberately expensive and occupies a CPU core for the whole
+ * time. Logins are therefore not verified on the request threads but handed to this pool, which has
+ * a fixed number of threads and a bounded queue. During a login storm, logins queue up here while
+ * the request threads keep serving all other endpoints, and once the queue is full further logins
+ * are rejected right away instead of piling up.
+ */
+@Component
+public class PasswordVerificationExecutor {
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates the pool.
+   *
+   * @param threads the number of verification threads; {@code 0} uses one thread per available
+   *     processor
+   * @param queueCapacity the number of logins that may wait for a thread
+   */
+  public PasswordVerificationExecutor(
+      @Value("${security.login.threads:0}") int threads,
+      @Value("${security.login.queue-capacity:200}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("login-"),
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Runs a task that verifies a password on the pool.
+   *
+   * @param task the task to run
+   * @param <T> the result type of the task
+   * @return a future completed with the result of the task
+   * @throws java.util.concurrent.RejectedExecutionException if all threads are busy and the queue
+   *     is full
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, executor);
+  }
+
+  /** Stops the pool when the application context is closed. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,139 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.repositories.RefreshTokenRepository;
+import de.thu.thutorium.database.repositories.RefreshTokenRepository.TokenFamily;
+import de.thu.thutorium.exceptions.InvalidRefreshTokenException;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Service for issuing and rotating refresh tokens.
+ *
+ * <p>A refresh token is an opaque random string from {@link OpaqueTokens}. It is handed to the
+ * client once and only its hash is stored, so a refresh never runs the password encoder.
+ *
+ * <p>Every refresh consumes the presented token and issues a new one of the same family. If a
+ * token that has already been consumed is presented again, either the legitimate client or an
+ * attacker holds a copy, and the whole family is revoked so that both have to log in again. A
+ * second use within a short grace period is rejected without revoking the family, since it is
+ * usually a client sending two refreshes concurrently.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final long refreshExpirationMillis;
+  private final long reuseGraceMillis;
+
+  /**
+   * An issued refresh token.
+   *
+   * @param userId the ID of the user the token is issued to
+   * @param token the opaque token handed to the client
+   * @param expiresAt the time the token expires
+   */
+  public record IssuedRefreshToken(Long userId, String token, Instant expiresAt) { }
+
+  /**
+   * Creates the service.
+   *
+   * @param refreshTokenRepository the repository storing the token hashes
+   * @param refreshExpirationMillis the lifetime of a refresh token in milliseconds
+   * @param reuseGraceMillis the time in milliseconds after a rotation during which the old token
+   *     is rejected without revoking its family
+   */
+  public RefreshTokenService(
+      RefreshTokenRepository refreshTokenRepository,
+      @Value("${security.jwt.refresh-expiration-time:1209600000}") long refreshExpirationMillis,
+      @Value("${security.jwt.refresh-reuse-grace-ms:5000}") long reuseGraceMillis) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshExpirationMillis = refreshExpirationMillis;
+    this.reuseGraceMillis = reuseGraceMillis;
+  }
+
+  /**
+   * Issues the first refresh token of a new family, e.g. after a login.
+   *
+   * @param userId the ID of the user
+   * @return the issued token
+   */
+  public IssuedRefreshToken issue(Long userId) {
+    return issue(userId, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Exchanges a refresh token for a new one of the same family.
+   *
+   * @param token the presented refresh token
+   * @return the new token
+   * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or has already
+   *     been used
+   */
+  @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+  public IssuedRefreshToken rotate(String token) {
+    String tokenHash = OpaqueTokens.hash(token);
+    TokenFamily family =
+        refreshTokenRepository
+            .consume(tokenHash)
+            .orElseThrow(() -> rejectUnusable(tokenHash));
+    return issue(family.userId(), family.familyId());
+  }
+
+  /**
+   * Revokes the family of a refresh token, e.g. on logout. Unknown tokens are ignored.
+   *
+   * @param token the refresh token
+   */
+  public void revoke(String token) {
+    refreshTokenRepository
+        .findByHash(OpaqueTokens.hash(token))
+        .ifPresent(family -> refreshTokenRepository.revokeFamily(family.familyId()));
+  }
+
+  /**
+   * Revokes every refresh token of a user.
+   *
+   * @param userId the ID of the user
+   */
+  public void revokeAll(Long userId) {
+    refreshTokenRepository.revokeAllForUser(userId);
+  }
+
+  /** Deletes expired refresh tokens. */
+  @Scheduled(cron = "${security.jwt.refresh-purge-cron:0 45 * * * *}")
+  public void purgeExpired() {
+    int purged = refreshTokenRepository.deleteExpired();
+    if (purged > 0) {
+      log.info("Purged {} expired refresh tokens", purged);
+    }
+  }
+
+  private IssuedRefreshToken issue(Long userId, String familyId) {
+    String token = OpaqueTokens.generate();
+    Instant expiresAt = Instant.now().plusMillis(refreshExpirationMillis);
+    refreshTokenRepository.insert(OpaqueTokens.hash(token), userId, familyId, expiresAt);
+    return new IssuedRefreshToken(userId, token, expiresAt);
+  }
+
+  private InvalidRefreshTokenException rejectUnusable(String tokenHash) {
+    TokenFamily family = refreshTokenRepository.findByHash(tokenHash).orElse(null);
+    if (family != null
+        && family.usedAt() != null
+        && family.usedAt().isBefore(Instant.now().minusMillis(reuseGraceMillis))) {
+      int revoked = refreshTokenRepository.revokeFamily(family.familyId());
+      if (revoked > 0) {
+        log.warn(
+            "Refresh token reuse detected for user {}, revoked token family {}",
+            family.userId(),
+            family.familyId());
+      }
+    }
+    return new InvalidRefreshTokenException("Refresh token is invalid or expired");
+  }
+}
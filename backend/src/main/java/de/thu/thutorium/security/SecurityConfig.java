@@ -1,5 +1,7 @@
 package de.thu.thutorium.security;
 
+import de.thu.thutorium.admission.RequestAdmissionFilter;
+import de.thu.thutorium.idempotency.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,12 +23,14 @@ import java.util.List;
 public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthFilter;
+  private final RequestAdmissionFilter requestAdmissionFilter;
+  private final IdempotencyFilter idempotencyFilter;
   private final AuthenticationProvider authenticationProvider;
 
   /**
    * Configures the security filter chain for HTTP requests. Disables CSRF, sets authorization rules
    * for different endpoints based on user roles, enforces stateless session management, and adds a
-   * JWT authentication filter.
+   * JWT authentication filter followed by the request admission and idempotency filters.
    *
    * @param http the HttpSecurity to configure
    * @return the configured SecurityFilterChain
@@ -50,6 +54,13 @@ public class SecurityConfig {
                         "/v3/api-docs.yaml",
                         "/chat/**")
                     .permitAll()
+                    // STOMP sessions on /chat authenticate with the JWT in the CONNECT frame
+                    // signaling authenticates with the JWT during the WebSocket handshake
+                    .requestMatchers("/signaling")
+                    .permitAll()
+                    // calendar applications authenticate with the token in the feed URL
+                    .requestMatchers("/calendar/feed/**")
+                    .permitAll()
                     .requestMatchers("/course/**")
                     .permitAll()
                     .requestMatchers("/search/**")
@@ -69,7 +80,11 @@ public class SecurityConfig {
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authenticationProvider(authenticationProvider)
-        .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+        // rate and concurrency limits, applied once the user of the token is known
+        .addFilterAfter(requestAdmissionFilter, JwtAuthenticationFilter.class)
+        // retries with an Idempotency-Key are answered with the first response
+        .addFilterAfter(idempotencyFilter, RequestAdmissionFilter.class);
     return http.build();
   }
 
@@ -98,7 +113,8 @@ public class SecurityConfig {
     configuration.setAllowedMethods(
         List.of("GET", "POST", "PUT", "DELETE")); // Allow specific HTTP methods
     configuration.setAllowedHeaders(
-        List.of("Authorization", "Content-Type")); // Allow specific headers
+        List.of("Authorization", "Content-Type", "Idempotency-Key")); // Allow specific headers
+    configuration.setExposedHeaders(List.of("Idempotent-Replayed", "Retry-After"));
     configuration.setAllowCredentials(true); // Allow credentials for authorization headers
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,189 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.repositories.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for revoking JWTs before they expire.
+ *
+ * <p>A token is revoked either individually by its {@code jti} claim, or together with all other
+ * tokens of a user by a cutoff: every token of the user issued before the cutoff is rejected. Both
+ * are persisted by the {@link TokenRevocationRepository}, so they apply to every application node.
+ *
+ * <p>Checking the database on every request would add a query to every authenticated call, while
+ * almost no token is ever revoked. Each node therefore keeps a {@link BloomFilter} over the keys
+ * {@code jti:<tokenId>} and {@code user:<userId>}. A negative answer of the filter is final, so
+ * nearly every request is checked in memory; only possible positives are confirmed against the
+ * database. The filter is rebuilt periodically from the tables, which picks up revocations made
+ * on other nodes and drops purged rows. Revocations made on this node are added to the current
+ * filter immediately.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+  private static final String TOKEN_PREFIX = "jti:";
+  private static final String USER_PREFIX = "user:";
+
+  private final TokenRevocationRepository revocationRepository;
+  private final long tokenLifetimeMillis;
+  private final int minimumCapacity;
+  private final double falsePositiveRate;
+
+  private volatile BloomFilter filter;
+
+  /** The fingerprint of the tables the current filter was built from. */
+  private volatile String filterVersion;
+
+  /** Keys revoked on this node, carried over into a filter that is being rebuilt concurrently. */
+  private final Set<String> localKeys = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates the service with an empty filter. The filter is filled once the application is ready.
+   *
+   * @param revocationRepository the repository holding the revocations
+   * @param tokenLifetimeMillis the lifetime of a token in milliseconds
+   * @param minimumCapacity the smallest number of keys the filter is sized for
+   * @param falsePositiveRate the false positive rate of the filter
+   */
+  public TokenRevocationService(
+      TokenRevocationRepository revocationRepository,
+      @Value("${security.jwt.expiration-time}") long tokenLifetimeMillis,
+      @Value("${security.revocation.filter-min-capacity:1024}") int minimumCapacity,
+      @Value("${security.revocation.filter-false-positive-rate:0.001}") double falsePositiveRate) {
+    this.revocationRepository = revocationRepository;
+    this.tokenLifetimeMillis = tokenLifetimeMillis;
+    this.minimumCapacity = minimumCapacity;
+    this.falsePositiveRate = falsePositiveRate;
+    this.filter = new BloomFilter(minimumCapacity, falsePositiveRate);
+  }
+
+  /**
+   * Checks whether the token of an authenticated principal has been revoked.
+   *
+   * @param principal the principal built from the token
+   * @return {@code true} if the token must be rejected
+   */
+  public boolean isRevoked(JwtPrincipal principal) {
+    BloomFilter current = filter;
+    String tokenId = principal.tokenId();
+    if (tokenId != null
+        && current.mightContain(TOKEN_PREFIX + tokenId)
+        && revocationRepository.isTokenRevoked(tokenId)) {
+      return true;
+    }
+    if (!current.mightContain(USER_PREFIX + principal.userId())) {
+      return false;
+    }
+    return revocationRepository
+        .findCutoff(principal.userId())
+        .map(cutoff -> principal.issuedAt().isBefore(cutoff))
+        .orElse(false);
+  }
+
+  /**
+   * Revokes a single token.
+   *
+   * @param principal the principal built from the token
+   */
+  public void revokeToken(JwtPrincipal principal) {
+    if (principal.tokenId() == null) {
+      // tokens without an ID can only be revoked together with all other tokens of the user
+      revokeTokensIssuedBefore(principal.userId(), principal.issuedAt().plusSeconds(1));
+      return;
+    }
+    revocationRepository.revokeToken(principal.tokenId(), principal.userId(), principal.expiresAt());
+    addLocalKey(TOKEN_PREFIX + principal.tokenId());
+  }
+
+  /**
+   * Revokes every token of a user issued so far, including tokens issued within the current
+   * second.
+   *
+   * @param userId the ID of the user
+   */
+  public void revokeAllTokens(Long userId) {
+    revokeTokensIssuedBefore(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+  }
+
+  /**
+   * Revokes every token of a user issued before the given time. The {@code iat} claim has a
+   * precision of one second, so a token issued within the same second as {@code notBefore} stays
+   * valid.
+   *
+   * @param userId the ID of the user
+   * @param notBefore tokens issued before this time are revoked
+   */
+  public void revokeTokensIssuedBefore(Long userId, Instant notBefore) {
+    revocationRepository.revokeTokensIssuedBefore(userId, notBefore);
+    addLocalKey(USER_PREFIX + userId);
+  }
+
+  /** Builds the filter from the database once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refreshFilter();
+  }
+
+  /**
+   * Rebuilds the filter from the database if the revocations have changed since the last build.
+   * Revocations made on other nodes become effective on this node after at most one interval.
+   */
+  @Scheduled(
+      fixedDelayString = "${security.revocation.refresh-interval-ms:10000}",
+      initialDelayString = "${security.revocation.refresh-interval-ms:10000}")
+  public void refreshFilter() {
+    try {
+      String version = revocationRepository.findVersion();
+      if (Objects.equals(version, filterVersion)) {
+        return;
+      }
+      // keys revoked locally before the tables are read are contained in the tables
+      List<String> readKeys = List.copyOf(localKeys);
+      List<String> tokenIds = revocationRepository.findRevokedTokenIds();
+      List<Long> userIds = revocationRepository.findCutoffUserIds();
+      // leave headroom for the revocations this node adds before the next rebuild
+      int capacity = Math.max(minimumCapacity, 2 * (tokenIds.size() + userIds.size()));
+      BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+      tokenIds.forEach(tokenId -> rebuilt.put(TOKEN_PREFIX + tokenId));
+      userIds.forEach(userId -> rebuilt.put(USER_PREFIX + userId));
+      localKeys.forEach(rebuilt::put);
+      filter = rebuilt;
+      filterVersion = version;
+      localKeys.forEach(rebuilt::put);
+      readKeys.forEach(localKeys::remove);
+      log.debug(
+          "Rebuilt token revocation filter with {} tokens and {} users",
+          tokenIds.size(),
+          userIds.size());
+    } catch (DataAccessException ex) {
+      log.warn("Could not refresh the token revocation filter: {}", ex.getMessage());
+    }
+  }
+
+  private void addLocalKey(String key) {
+    localKeys.add(key);
+    filter.put(key);
+  }
+
+  /** Deletes revocations that can no longer match a valid token. */
+  @Scheduled(cron = "${security.revocation.purge-cron:0 15 * * * *}")
+  public void purgeExpired() {
+    int purged = revocationRepository.purgeExpired(tokenLifetimeMillis);
+    if (purged > 0) {
+      log.info("Purged {} expired token revocations", purged);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.EmailTokenPurpose;
+import de.thu.thutorium.database.repositories.EmailOutboxRepository;
+import de.thu.thutorium.database.repositories.EmailTokenRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.InvalidEmailTokenException;
+import de.thu.thutorium.security.OpaqueTokens;
+import de.thu.thutorium.security.RefreshTokenService;
+import de.thu.thutorium.security.TokenRevocationService;
+import de.thu.thutorium.services.interfaces.AccountEmailService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for the account actions confirmed by email.
+ *
+ * <p>The links carry a single-use token from {@link OpaqueTokens}; only its hash is stored in the
+ * {@code email_token} table. The emails are written to the outbox in the caller's transaction and
+ * delivered by the {@link de.thu.thutorium.mail.EmailOutboxDispatcher}, so a request returns as
+ * soon as its transaction has committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountEmailServiceImpl implements AccountEmailService {
+  private final EmailTokenRepository emailTokenRepository;
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final UserRepository userRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenService refreshTokenService;
+
+  @Value("${mail.links.base-url:http://localhost:8080}")
+  private String linkBaseUrl;
+
+  @Value("${mail.links.reset-password-url:http://localhost:3000/reset-password}")
+  private String resetPasswordUrl;
+
+  @Value("${mail.tokens.verify-email-hours:48}")
+  private long verifyEmailHours;
+
+  @Value("${mail.tokens.reset-password-minutes:60}")
+  private long resetPasswordMinutes;
+
+  @Value("${mail.tokens.invitation-days:14}")
+  private long invitationDays;
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void sendVerificationEmail(UserDBO user) {
+    String token =
+        issueToken(user.getUserId(), EmailTokenPurpose.VERIFY_EMAIL, Duration.ofHours(verifyEmailHours));
+    emailOutboxRepository.enqueue(
+        user.getEmail(),
+        "Please verify your email address",
+        "Hello "
+            + user.getFirstName()
+            + ",\n\nwelcome to THUtorium! Please confirm your email address by opening the"
+            + " following link within "
+            + verifyEmailHours
+            + " hours:\n\n"
+            + linkBaseUrl
+            + "/auth/verify?token="
+            + token
+            + "\n\nIf you did not register, you can ignore this email.\n");
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The tokens and emails of all users are written with one statement each, since an import
+   * invites thousands of users at once.
+   */
+  @Override
+  @Transactional
+  public void sendInvitations(List<UserDBO> users) {
+    List<String> tokenHashes = new ArrayList<>(users.size());
+    List<Long> userIds = new ArrayList<>(users.size());
+    List<String> recipients = new ArrayList<>(users.size());
+    List<String> bodies = new ArrayList<>(users.size());
+    for (UserDBO user : users) {
+      String token = OpaqueTokens.generate();
+      tokenHashes.add(OpaqueTokens.hash(token));
+      userIds.add(user.getUserId());
+      recipients.add(user.getEmail());
+      bodies.add(
+          "Hello "
+              + user.getFirstName()
+              + ",\n\nan account has been created for you on THUtorium. Please choose your"
+              + " password by opening the following link within "
+              + invitationDays
+              + " days:\n\n"
+              + resetPasswordUrl
+              + "?token="
+              + token
+              + "\n\nAfterwards you can log in with this email address.\n");
+    }
+    emailTokenRepository.insertAll(
+        tokenHashes,
+        userIds,
+        EmailTokenPurpose.RESET_PASSWORD,
+        Instant.now().plus(Duration.ofDays(invitationDays)));
+    emailOutboxRepository.enqueueAll(recipients, "You have been invited to THUtorium", bodies);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void verifyEmail(String token) {
+    Long userId = consumeToken(token, EmailTokenPurpose.VERIFY_EMAIL);
+    UserDBO user =
+        userRepository
+            .findUserDBOByUserId(userId)
+            .orElseThrow(() -> new InvalidEmailTokenException("The account no longer exists"));
+    user.setIsVerified(true);
+    user.setVerified_on(LocalDateTime.now());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void requestPasswordReset(String email) {
+    userRepository
+        .findByEmail(email.trim())
+        .ifPresentOrElse(
+            user -> {
+              String token =
+                  issueToken(
+                      user.getUserId(),
+                      EmailTokenPurpose.RESET_PASSWORD,
+                      Duration.ofMinutes(resetPasswordMinutes));
+              emailOutboxRepository.enqueue(
+                  user.getEmail(),
+                  "Reset your password",
+                  "Hello "
+                      + user.getFirstName()
+                      + ",\n\nwe received a request to reset your password. Open the following"
+                      + " link within "
+                      + resetPasswordMinutes
+                      + " minutes to choose a new one:\n\n"
+                      + resetPasswordUrl
+                      + "?token="
+                      + token
+                      + "\n\nIf you did not request this, you can ignore this email.\n");
+            },
+            () -> log.debug("Password reset requested for unknown email"));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void resetPassword(String token, String newPassword) {
+    if (newPassword == null || newPassword.isBlank()) {
+      throw new IllegalArgumentException("Password cannot be empty");
+    }
+    Long userId = consumeToken(token, EmailTokenPurpose.RESET_PASSWORD);
+    if (userRepository.updatePassword(userId, passwordEncoder.encode(newPassword)) == 0) {
+      throw new InvalidEmailTokenException("The account no longer exists");
+    }
+    // sessions opened with the old password must not outlive the reset
+    tokenRevocationService.revokeAllTokens(userId);
+    refreshTokenService.revokeAll(userId);
+  }
+
+  /** Deletes used and expired tokens. */
+  @Scheduled(cron = "${mail.tokens.purge-cron:0 0 4 * * *}")
+  public void purgeStaleTokens() {
+    int purged = emailTokenRepository.deleteStale();
+    if (purged > 0) {
+      log.info("Purged {} used or expired email tokens", purged);
+    }
+  }
+
+  private String issueToken(Long userId, EmailTokenPurpose purpose, Duration lifetime) {
+    String token = OpaqueTokens.generate();
+    emailTokenRepository.replace(
+        OpaqueTokens.hash(token), userId, purpose, Instant.now().plus(lifetime));
+    return token;
+  }
+
+  private Long consumeToken(String token, EmailTokenPurpose purpose) {
+    if (token == null || token.isBlank()) {
+      throw new InvalidEmailTokenException("The link is invalid or has expired");
+    }
+    return emailTokenRepository
+        .consume(OpaqueTokens.hash(token), purpose)
+        .orElseThrow(() -> new InvalidEmailTokenException("The link is invalid or has expired"));
+  }
+}
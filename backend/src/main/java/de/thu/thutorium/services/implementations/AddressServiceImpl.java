@@ -7,6 +7,8 @@ import de.thu.thutorium.database.dbObjects.AddressDBO;
 import de.thu.thutorium.database.dbObjects.UniversityDBO;
 import de.thu.thutorium.database.repositories.AddressRepository;
 import de.thu.thutorium.database.repositories.UniversityRepository;
+import de.thu.thutorium.geo.GeoGrid;
+import de.thu.thutorium.geo.PostalCodeGeocoder;
 import de.thu.thutorium.services.interfaces.AddressService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.transaction.Transactional;
@@ -26,13 +28,15 @@ public class AddressServiceImpl implements AddressService {
   private final AddressTOMapper addressTOMapper;
   private final AddressDBOMapper addressDBOMapper;
   private final UniversityRepository universityRepository;
+  private final PostalCodeGeocoder postalCodeGeocoder;
 
   /**
    * Creates a new university and associated address.
    *
    * <p>The address is always associated with a university. If the university does not exist, it is
    * created. If the university already exists, the new address is associated with the university as
-   * an additional address.
+   * an additional address. The address is geocoded from its postal code, so that it can be found
+   * by proximity searches.
    *
    * @param address the {@code AddressTO} object containing the address data
    * @return the newly created {@code AddressTO} object
@@ -65,6 +69,7 @@ public class AddressServiceImpl implements AddressService {
     if (resultAddressDBO.isEmpty()) {
       addressDBO = addressDBOMapper.toDBO(address);
       addressDBO.setUniversity(universityDBO);
+      locate(addressDBO);
       AddressDBO savedAddress = addressRepository.save(addressDBO);
       return addressTOMapper.toDTO(savedAddress);
     } else {
@@ -72,4 +77,27 @@ public class AddressServiceImpl implements AddressService {
           "Address already exists with the university " + universityDBO.getUniversityName());
     }
   }
+
+  /**
+   * Sets the coordinates and grid cell of an address from the postal code table. Addresses that
+   * cannot be located keep empty coordinates and are not found by proximity searches.
+   *
+   * @param address the address to locate
+   */
+  private void locate(AddressDBO address) {
+    postalCodeGeocoder
+        .locate(address.getCountry(), address.getPostalCode(), address.getCity())
+        .ifPresentOrElse(
+            point -> {
+              address.setLatitude(point.latitude());
+              address.setLongitude(point.longitude());
+              address.setGridRow(GeoGrid.row(point.latitude()));
+              address.setGridColumn(GeoGrid.column(point.longitude()));
+            },
+            () ->
+                log.warn(
+                    "Could not geocode postal code {} in {}",
+                    address.getPostalCode(),
+                    address.getCountry()));
+  }
 }
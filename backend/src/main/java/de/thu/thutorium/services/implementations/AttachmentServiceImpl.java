@@ -0,0 +1,209 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.AttachmentTO;
+import de.thu.thutorium.database.dbObjects.AttachmentDBO;
+import de.thu.thutorium.database.repositories.AttachmentRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.AttachmentTooLargeException;
+import de.thu.thutorium.services.interfaces.AttachmentService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Service implementation for managing chat attachments.
+ *
+ * <p>Files are kept in a content-addressed store on the local file system: every file is stored
+ * under the hex-encoded SHA-256 hash of its content, sharded into two directory levels by the first
+ * four hex digits. An upload is streamed through a {@link DigestInputStream} into a temporary file
+ * in the store, so the heap never holds more than one copy buffer of it. Once the hash is known the
+ * temporary file is moved atomically to its final location, or discarded if the same content is
+ * already stored.
+ */
+@Slf4j
+@Service
+public class AttachmentServiceImpl implements AttachmentService {
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_FILE_NAME_LENGTH = 255;
+
+  private final AttachmentRepository attachmentRepository;
+  private final UserRepository userRepository;
+  private final Path storeDirectory;
+  private final Path uploadDirectory;
+  private final long maxSizeBytes;
+
+  /**
+   * Creates the service and the directories of the attachment store.
+   *
+   * @param attachmentRepository the repository for attachment metadata
+   * @param userRepository the repository for users
+   * @param storeDirectory the root directory of the attachment store
+   * @param maxSizeBytes the maximum size of a single attachment in bytes
+   */
+  public AttachmentServiceImpl(
+      AttachmentRepository attachmentRepository,
+      UserRepository userRepository,
+      @Value("${chat.attachments.directory:./data/attachments}") String storeDirectory,
+      @Value("${chat.attachments.max-size-bytes:26214400}") long maxSizeBytes) {
+    this.attachmentRepository = attachmentRepository;
+    this.userRepository = userRepository;
+    this.storeDirectory = Paths.get(storeDirectory).toAbsolutePath().normalize();
+    // temporary files live inside the store, so moving them into place is an atomic rename
+    this.uploadDirectory = this.storeDirectory.resolve("tmp");
+    this.maxSizeBytes = maxSizeBytes;
+    try {
+      Files.createDirectories(uploadDirectory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Cannot create attachment store at " + storeDirectory, ex);
+    }
+  }
+
+  @Override
+  public AttachmentTO storeAttachment(
+      InputStream content, String fileName, String contentType, Long uploaderId)
+      throws IOException {
+    Path tempFile = Files.createTempFile(uploadDirectory, "upload-", ".tmp");
+    try {
+      MessageDigest digest = sha256();
+      long size;
+      try (InputStream in = new DigestInputStream(content, digest);
+          OutputStream out = Files.newOutputStream(tempFile)) {
+        size = copyWithLimit(in, out);
+      }
+      String contentHash = HexFormat.of().formatHex(digest.digest());
+
+      Path target = getAttachmentPath(contentHash);
+      if (Files.exists(target)) {
+        log.debug("Attachment {} is already stored, discarding duplicate upload", contentHash);
+      } else {
+        Files.createDirectories(target.getParent());
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+      }
+
+      AttachmentDBO attachment =
+          attachmentRepository
+              .findByContentHash(contentHash)
+              .orElseGet(
+                  () -> saveAttachment(contentHash, fileName, contentType, size, uploaderId));
+      if (uploaderId != null) {
+        // the first uploader owns the metadata; every uploader keeps access to the content
+        attachmentRepository.addUploader(attachment.getAttachmentId(), uploaderId);
+      }
+      return toTO(attachment);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @Override
+  public AttachmentTO getAttachment(String contentHash, Long userId) {
+    if (contentHash == null || !HASH_PATTERN.matcher(contentHash).matches()) {
+      throw new EntityNotFoundException("Attachment not found");
+    }
+    AttachmentDBO attachment =
+        attachmentRepository
+            .findByContentHash(contentHash)
+            .orElseThrow(() -> new EntityNotFoundException("Attachment not found"));
+    if (!attachmentRepository.isAccessibleBy(contentHash, userId)) {
+      throw new AccessDeniedException("You do not have access to this attachment");
+    }
+    return toTO(attachment);
+  }
+
+  @Override
+  public Path getAttachmentPath(String contentHash) {
+    if (!HASH_PATTERN.matcher(contentHash).matches()) {
+      throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+    }
+    return storeDirectory
+        .resolve(contentHash.substring(0, 2))
+        .resolve(contentHash.substring(2, 4))
+        .resolve(contentHash);
+  }
+
+  /**
+   * Saves the metadata of a newly stored file. If a concurrent upload of the same content saved it
+   * first, the unique constraint on the hash fails and the existing row is returned instead.
+   */
+  private AttachmentDBO saveAttachment(
+      String contentHash, String fileName, String contentType, long size, Long uploaderId) {
+    AttachmentDBO attachment =
+        AttachmentDBO.builder()
+            .contentHash(contentHash)
+            .fileName(sanitizeFileName(fileName))
+            .contentType(
+                contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType)
+            .sizeBytes(size)
+            .uploadedBy(uploaderId != null ? userRepository.getReferenceById(uploaderId) : null)
+            .build();
+    try {
+      return attachmentRepository.saveAndFlush(attachment);
+    } catch (DataIntegrityViolationException ex) {
+      return attachmentRepository
+          .findByContentHash(contentHash)
+          .orElseThrow(() -> ex);
+    }
+  }
+
+  private long copyWithLimit(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[COPY_BUFFER_SIZE];
+    long total = 0;
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      total += read;
+      if (total > maxSizeBytes) {
+        throw new AttachmentTooLargeException(
+            "Attachment exceeds the maximum size of " + maxSizeBytes + " bytes");
+      }
+      out.write(buffer, 0, read);
+    }
+    return total;
+  }
+
+  private static String sanitizeFileName(String fileName) {
+    if (fileName == null || fileName.isBlank()) {
+      return "attachment";
+    }
+    // keep only the last path segment of names sent by browsers on Windows or Unix
+    String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+    name = name.replaceAll("[\\p{Cntrl}\"]", "_").trim();
+    if (name.isEmpty()) {
+      return "attachment";
+    }
+    return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name;
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static AttachmentTO toTO(AttachmentDBO attachment) {
+    return new AttachmentTO(
+        attachment.getContentHash(),
+        attachment.getFileName(),
+        attachment.getContentType(),
+        attachment.getSizeBytes());
+  }
+}
@@ -0,0 +1,103 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
+import de.thu.thutorium.api.transferObjects.common.AttendanceTO;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import de.thu.thutorium.database.repositories.AttendanceRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingParticipantRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.services.interfaces.AttendanceService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service implementation for meeting attendance.
+ *
+ * <p>The roll call of a meeting is validated against the participants of the meeting and written
+ * through the {@link AttendanceRepository} as one batched upsert, which also keeps the
+ * per-student and per-course counts up to date. The rates are read from these counts.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceServiceImpl implements AttendanceService {
+  private static final Set<MeetingStatus> ATTENDANCE_STATUSES =
+      EnumSet.of(MeetingStatus.PRESENT, MeetingStatus.ABSENT, MeetingStatus.EXCUSED);
+
+  private final AttendanceRepository attendanceRepository;
+  private final MeetingRepository meetingRepository;
+  private final MeetingParticipantRepository meetingParticipantRepository;
+  private final CourseRepository courseRepository;
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void recordAttendance(Long tutorId, Long meetingId, List<AttendanceTO> attendance) {
+    MeetingDBO meeting =
+        meetingRepository
+            .findById(meetingId)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Meeting with ID " + meetingId + " not found"));
+    if (!meeting.getTutor().getUserId().equals(tutorId)) {
+      throw new AccessDeniedException("Only the tutor of the meeting can record attendance");
+    }
+
+    // a student listed twice counts once, with the last status given
+    Map<Long, MeetingStatus> statuses = new LinkedHashMap<>();
+    for (AttendanceTO entry : attendance) {
+      if (!ATTENDANCE_STATUSES.contains(entry.getStatus())) {
+        throw new InvalidMeetingRequestException(
+            "Invalid attendance status " + entry.getStatus() + " for student " + entry.getStudentId());
+      }
+      statuses.put(entry.getStudentId(), entry.getStatus());
+    }
+
+    Set<Long> participantIds = meetingParticipantRepository.findParticipantIds(meetingId);
+    List<Long> studentIds = new ArrayList<>(statuses.keySet());
+    for (Long studentId : studentIds) {
+      if (!participantIds.contains(studentId)) {
+        throw new InvalidMeetingRequestException(
+            "Student " + studentId + " does not participate in meeting " + meetingId);
+      }
+    }
+
+    attendanceRepository.recordAttendance(
+        meetingId,
+        meeting.getCourse().getCourseId(),
+        studentIds,
+        statuses.values().stream().map(MeetingStatus::name).toList());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<AttendanceRateTO> getCourseAttendance(Long tutorId, Long courseId) {
+    CourseDBO course =
+        courseRepository
+            .findById(courseId)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Course with ID " + courseId + " not found"));
+    if (course.getTutor() == null || !course.getTutor().getUserId().equals(tutorId)) {
+      throw new AccessDeniedException("Only the tutor of the course can read its attendance");
+    }
+    return attendanceRepository.findByCourse(courseId);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<AttendanceRateTO> getStudentAttendance(Long studentId) {
+    return attendanceRepository.findByStudent(studentId);
+  }
+}
@@ -2,13 +2,21 @@ package de.thu.thutorium.services.implementations;
 
 import de.thu.thutorium.api.transferObjects.authentication.LogInRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.LogInResponseTO;
+import de.thu.thutorium.api.transferObjects.authentication.RefreshRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.RegisterRequestTO;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.AffiliationRepository;
 import de.thu.thutorium.database.repositories.RoleRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.InvalidRefreshTokenException;
 import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.security.RefreshTokenService;
+import de.thu.thutorium.security.RefreshTokenService.IssuedRefreshToken;
+import de.thu.thutorium.security.TokenRevocationService;
+import de.thu.thutorium.services.interfaces.AccountEmailService;
 import de.thu.thutorium.services.interfaces.AuthenticationService;
+import de.thu.thutorium.services.interfaces.DomainAffiliationService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,14 +24,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -38,10 +48,12 @@ import java.util.Set;
  *
  * <p>The registration process includes checking if a user with the provided email and role already
  * exists in the system. If the user does not exist, a new user is created, their roles are
- * assigned, and their credentials are securely stored.
+ * assigned, their university affiliation is derived from their email domain, their credentials are
+ * securely stored, and a verification email is queued.
  *
  * <p>The authentication process includes validating the user's credentials, loading the user
- * details, and generating a JWT token with an expiration time.
+ * details, and generating a short-lived JWT token together with a refresh token. The refresh token
+ * is exchanged at {@code /auth/refresh} for a new pair without verifying the password again.
  */
 @Component
 @RequiredArgsConstructor
@@ -51,9 +63,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   /** The authentication manager to authenticate users. */
   private final AuthenticationManager authenticationManager;
 
-  /** The user details tests to load user information. */
-  private final UserDetailsService userDetailsService;
-
   /** The JWT to generate tokens. */
   private final JwtService jwtService;
 
@@ -63,11 +72,28 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   private final UserRepository UserRepository;
   private final RoleRepository roleRepository;
 
+  /** Revokes the tokens of a user whose roles have changed. */
+  private final TokenRevocationService tokenRevocationService;
+
+  /** Issues and rotates refresh tokens. */
+  private final RefreshTokenService refreshTokenService;
+
+  /** Sends the verification email to new users. */
+  private final AccountEmailService accountEmailService;
+
+  /** Derives the affiliation of new users from their email domain. */
+  private final DomainAffiliationService domainAffiliationService;
+
+  private final AffiliationRepository affiliationRepository;
+
   /**
    * Authenticates a user based on the provided login request.
    *
    * <p>This method authenticates a user by checking the provided email and password, generates a
-   * JWT token, and returns the token along with its expiration time.
+   * JWT token and a refresh token, and returns them along with their expiration times. The user
+   * loaded by the authentication manager is reused, so the user is read from the database only
+   * once. The password check is the expensive part of a login; callers should run this method on
+   * the {@link de.thu.thutorium.security.PasswordVerificationExecutor}.
    *
    * @param loginRequestTO the login request transfer object containing the user's email and
    *     password
@@ -76,24 +102,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
    */
   @Override
   public ResponseEntity<LogInResponseTO> authenticate(@RequestBody LogInRequestTO loginRequestTO) {
-    // Authenticate the user
-    authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(
-            loginRequestTO.getEmail(), loginRequestTO.getPassword()));
-    // Load user details
-    UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequestTO.getEmail());
-    // Retrieve the user ID from the userDetails object (assuming you have a method to get it)
-    Long userId =
-        ((UserDBO) userDetails)
-            .getUserId(); // Assuming CustomUserDetails implements UserDetails and has getId()
-    // Generate JWT token
-    String jwtToken = jwtService.generateToken(userId, userDetails);
-    // Set expiration time (e.g., 24 hours)
-    long expiresIn = jwtService.getExpirationTime();
-    // Create the response
-    LogInResponseTO response =
-        new LogInResponseTO(jwtToken, LocalDateTime.now(ZoneOffset.UTC), expiresIn);
-    return ResponseEntity.ok(response);
+    // Authenticate the user; the principal is the user the provider loaded for the check
+    Authentication authentication =
+        authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken(
+                loginRequestTO.getEmail(), loginRequestTO.getPassword()));
+    UserDBO userDetails = (UserDBO) authentication.getPrincipal();
+    Long userId = userDetails.getUserId();
+    return ResponseEntity.ok(buildResponse(userDetails, refreshTokenService.issue(userId)));
   }
 
   /**
@@ -136,21 +152,84 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                         .password(passwordEncoder.encode(registerRequestTO.password()))
                         .roles(new HashSet<>())
                         .build());
+    if (user.getAffiliation() == null) {
+      // the university is derived from the email domain, see the allowed_domain table
+      domainAffiliationService
+          .findAffiliationId(email)
+          .map(affiliationRepository::getReferenceById)
+          .ifPresent(user::setAffiliation);
+    }
+    // Remember whether the role is added to an existing account before the save assigns an ID
+    boolean roleAdded = user.getUserId() != null;
     // Add the new role to the user's roles
     user.getRoles().add(requestedRole);
     // Save the user and get the saved entity
     UserDBO savedUser = UserRepository.save(user);
     // Get the user ID of the newly created user
     Long userId = savedUser.getUserId();
-    // Load user details
-    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-    // Generate JWT token
-    String jwtToken = jwtService.generateToken(userId, userDetails);
-    // Set expiration time (e.g., 24 hours)
+    if (roleAdded) {
+      // tokens issued before the role change carry the old roles; the token issued below stays valid
+      tokenRevocationService.revokeTokensIssuedBefore(
+          userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    } else {
+      // queued in the outbox within this transaction, delivered after the commit
+      accountEmailService.sendVerificationEmail(savedUser);
+    }
+    // The saved user carries the roles, so it is not loaded again
+    return ResponseEntity.ok(buildResponse(savedUser, refreshTokenService.issue(userId)));
+  }
+
+  /**
+   * Exchanges a refresh token for a new access token and a new refresh token.
+   *
+   * <p>The presented refresh token is consumed and replaced by a new one of the same family. The
+   * user is loaded by ID, so neither the password encoder nor the authentication manager is
+   * involved.
+   *
+   * @param refreshRequestTO the request containing the refresh token
+   * @return a {@link ResponseEntity} containing the new tokens
+   * @throws InvalidRefreshTokenException if the refresh token cannot be used or the user no longer
+   *     exists
+   */
+  @Override
+  @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+  public ResponseEntity<LogInResponseTO> refresh(@RequestBody RefreshRequestTO refreshRequestTO) {
+    IssuedRefreshToken refreshToken = refreshTokenService.rotate(refreshRequestTO.getRefreshToken());
+    UserDBO user =
+        UserRepository.findUserDBOByUserId(refreshToken.userId())
+            .orElseThrow(
+                () -> {
+                  refreshTokenService.revokeAll(refreshToken.userId());
+                  return new InvalidRefreshTokenException("User no longer exists");
+                });
+    return ResponseEntity.ok(buildResponse(user, refreshToken));
+  }
+
+  /**
+   * Revokes a refresh token together with all tokens rotated from the same login.
+   *
+   * @param refreshRequestTO the request containing the refresh token
+   */
+  @Override
+  public void logout(@RequestBody RefreshRequestTO refreshRequestTO) {
+    refreshTokenService.revoke(refreshRequestTO.getRefreshToken());
+  }
+
+  /**
+   * Generates an access token for the user and combines it with the refresh token.
+   *
+   * @param userDetails the user the tokens are issued to
+   * @param refreshToken the refresh token issued with the access token
+   * @return the response containing both tokens
+   */
+  private LogInResponseTO buildResponse(UserDetails userDetails, IssuedRefreshToken refreshToken) {
+    String jwtToken = jwtService.generateToken(refreshToken.userId(), userDetails);
     long expiresIn = jwtService.getExpirationTime();
-    // Create the response
-    LogInResponseTO response =
-        new LogInResponseTO(jwtToken, LocalDateTime.now(ZoneOffset.UTC), expiresIn);
-    return ResponseEntity.ok(response);
+    return new LogInResponseTO(
+        jwtToken,
+        LocalDateTime.now(ZoneOffset.UTC),
+        expiresIn,
+        refreshToken.token(),
+        LocalDateTime.ofInstant(refreshToken.expiresAt(), ZoneOffset.UTC));
   }
 }
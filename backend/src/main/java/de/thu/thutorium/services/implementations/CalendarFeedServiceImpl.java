@@ -0,0 +1,161 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.Utility.ICalendarWriter;
+import de.thu.thutorium.api.transferObjects.common.CalendarFeedTO;
+import de.thu.thutorium.database.dbObjects.CalendarFeedDBO;
+import de.thu.thutorium.database.repositories.CalendarFeedRepository;
+import de.thu.thutorium.database.repositories.MeetingFeedRepository;
+import de.thu.thutorium.services.interfaces.CalendarFeedService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Service implementation for the iCalendar feed.
+ *
+ * <p>The feed contains the meetings of the user from the start of the current day until the
+ * configured number of days ahead. Its ETag combines the user's meetings version, which is
+ * increased by the {@link MeetingServiceImpl} on every change, with the current date, because
+ * meetings drop out of the window as days pass. A calendar application polling an unchanged feed
+ * therefore costs a single primary key lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final String PRODUCT_ID = "-//THUtorium//Meetings//EN";
+
+  private final CalendarFeedRepository calendarFeedRepository;
+  private final MeetingFeedRepository meetingFeedRepository;
+
+  @Value("${calendar.feed.days-ahead:180}")
+  private int daysAhead;
+
+  @Value("${calendar.time-zone:Europe/Berlin}")
+  private String timeZone;
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public String createFeedToken(Long userId) {
+    byte[] bytes = new byte[32];
+    RANDOM.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    CalendarFeedDBO feed =
+        calendarFeedRepository
+            .findById(userId)
+            .orElseGet(() -> CalendarFeedDBO.builder().userId(userId).build());
+    feed.setToken(token);
+    calendarFeedRepository.save(feed);
+    return token;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public CalendarFeedTO getFeed(String token) {
+    CalendarFeedDBO feed =
+        calendarFeedRepository
+            .findByToken(token)
+            .orElseThrow(() -> new EntityNotFoundException("Calendar feed not found"));
+
+    ZoneId zone = ZoneId.of(timeZone);
+    LocalDate today = LocalDate.now(zone);
+    String eTag = "\"" + feed.getMeetingsVersion() + "-" + today + "\"";
+    Instant startOfDay = today.atStartOfDay(zone).toInstant();
+    Instant updatedAt = feed.getUpdatedAt().atZone(zone).toInstant();
+    Instant lastModified = updatedAt.isAfter(startOfDay) ? updatedAt : startOfDay;
+    return new CalendarFeedTO(feed.getUserId(), eTag, lastModified);
+  }
+
+  /**
+   * Streams the meetings of the user into an iCalendar document. The meetings are read with a
+   * database cursor and written one by one, so the document is never held in memory.
+   *
+   * @param userId the ID of the user
+   * @param writer the writer the document is streamed to
+   * @throws IOException if writing fails
+   */
+  @Override
+  @Transactional
+  public void writeFeed(Long userId, Writer writer) throws IOException {
+    ZoneId zone = ZoneId.of(timeZone);
+    LocalDateTime from = LocalDate.now(zone).atStartOfDay();
+    LocalDateTime to = from.plusDays(daysAhead);
+    Instant stamp = Instant.now();
+
+    ICalendarWriter calendar = new ICalendarWriter(writer);
+    calendar.beginCalendar(PRODUCT_ID, "THUtorium meetings");
+    try {
+      meetingFeedRepository.streamCalendarEntries(
+          userId,
+          from,
+          to,
+          rs -> {
+            try {
+              calendar.event(
+                  new ICalendarWriter.Event(
+                      "meeting-" + rs.getLong("meeting_id") + "@thutorium",
+                      stamp,
+                      rs.getTimestamp("meeting_start_time")
+                          .toLocalDateTime()
+                          .atZone(zone)
+                          .toInstant(),
+                      rs.getTimestamp("meeting_end_time")
+                          .toLocalDateTime()
+                          .atZone(zone)
+                          .toInstant(),
+                      rs.getString("course_name"),
+                      location(
+                          rs.getString("room_number"),
+                          rs.getString("campus_name"),
+                          rs.getString("street_name"),
+                          rs.getString("house_number"),
+                          rs.getString("postal_code"),
+                          rs.getString("city")),
+                      "Meeting type: " + rs.getString("meeting_type"),
+                      rs.getString("meeting_link")));
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    calendar.endCalendar();
+  }
+
+  /** Joins the non-empty parts of a meeting location into one line. */
+  private static String location(
+      String room, String campus, String street, String houseNumber, String postalCode, String city) {
+    StringJoiner location = new StringJoiner(", ");
+    if (room != null && !room.isBlank()) {
+      location.add("Room " + room);
+    }
+    if (campus != null && !campus.isBlank()) {
+      location.add(campus);
+    }
+    if (street != null) {
+      location.add(houseNumber != null ? street + " " + houseNumber : street);
+    }
+    if (city != null) {
+      location.add(postalCode != null ? postalCode + " " + city : city);
+    }
+    return location.toString();
+  }
+}
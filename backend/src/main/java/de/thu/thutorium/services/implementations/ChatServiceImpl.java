@@ -1,5 +1,6 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.WebSocket.ChatMembershipCache;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.chat.ReceiverTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
@@ -42,6 +43,9 @@ public class ChatServiceImpl implements ChatService {
 
   private final MessageRepository messageRepository;
 
+  /** Cache of chat participants, cleared for a chat once it is deleted. */
+  private final ChatMembershipCache chatMembershipCache;
+
   /**
    * Creates a new chat.
    *
@@ -95,6 +99,7 @@ public class ChatServiceImpl implements ChatService {
             .orElseThrow(() -> new EntityNotFoundException("Chat not found"));
 
     chatRepository.delete(chatDBO);
+    chatMembershipCache.invalidate(chatId);
   }
 
   @Override
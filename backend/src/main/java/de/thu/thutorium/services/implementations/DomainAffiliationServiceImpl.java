@@ -0,0 +1,87 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.Utility.DomainSuffixTrie;
+import de.thu.thutorium.database.repositories.AllowedDomainRepository;
+import de.thu.thutorium.database.repositories.AllowedDomainRepository.AllowedDomain;
+import de.thu.thutorium.services.interfaces.DomainAffiliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service implementation for the domain-based affiliation lookup.
+ *
+ * <p>The allowed domains are held in a {@link DomainSuffixTrie}, so a lookup neither queries the
+ * database nor scans the domains. The trie is built once the application has started and rebuilt
+ * whenever the fingerprint of the {@code allowed_domain} table changes, which is checked
+ * periodically; changes made directly in the database or on another node are therefore picked up
+ * after at most one interval. A rebuilt trie replaces the old one as a whole, so readers never see
+ * a partially built trie.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DomainAffiliationServiceImpl implements DomainAffiliationService {
+  private final AllowedDomainRepository allowedDomainRepository;
+
+  /** The allowed domains mapped to the IDs of their affiliations. */
+  private volatile DomainSuffixTrie<Long> domains = new DomainSuffixTrie<>();
+
+  /** The fingerprint of the table the current trie was built from. */
+  private volatile String domainsVersion;
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<Long> findAffiliationId(String email) {
+    if (email == null) {
+      return Optional.empty();
+    }
+    int at = email.lastIndexOf('@');
+    if (at < 0 || at == email.length() - 1) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(domains.findLongestMatch(email.substring(at + 1)));
+  }
+
+  /** Builds the trie from the database once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refresh();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Scheduled(
+      fixedDelayString = "${user.domains.refresh-interval-ms:60000}",
+      initialDelayString = "${user.domains.refresh-interval-ms:60000}")
+  public void refresh() {
+    try {
+      String version = allowedDomainRepository.findVersion();
+      if (Objects.equals(version, domainsVersion)) {
+        return;
+      }
+      List<AllowedDomain> allowedDomains = allowedDomainRepository.findAll();
+      DomainSuffixTrie<Long> rebuilt = new DomainSuffixTrie<>();
+      for (AllowedDomain allowedDomain : allowedDomains) {
+        try {
+          rebuilt.put(allowedDomain.domainName(), allowedDomain.affiliationId());
+        } catch (IllegalArgumentException ex) {
+          log.warn("Ignoring allowed domain: {}", ex.getMessage());
+        }
+      }
+      domains = rebuilt;
+      domainsVersion = version;
+      log.debug("Loaded {} allowed email domains", rebuilt.size());
+    } catch (DataAccessException ex) {
+      log.warn("Could not refresh the allowed email domains: {}", ex.getMessage());
+    }
+  }
+}
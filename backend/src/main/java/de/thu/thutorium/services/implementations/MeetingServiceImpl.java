@@ -1,25 +1,56 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.Utility.FreeSlotFinder;
 import de.thu.thutorium.api.TOMappers.MeetingTOMapper;
+import de.thu.thutorium.api.transferObjects.common.MeetingConflictTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingPageTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingSeriesTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
 import de.thu.thutorium.database.DBOMappers.MeetingDBMapper;
 import de.thu.thutorium.database.dbObjects.AddressDBO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
 import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.MeetingSeriesDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
 import de.thu.thutorium.database.repositories.AddressRepository;
+import de.thu.thutorium.database.repositories.CalendarFeedRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingConflictRepository;
+import de.thu.thutorium.database.repositories.MeetingFeedRepository;
+import de.thu.thutorium.database.repositories.MeetingParticipantRepository;
 import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.MeetingSeriesRepository;
+import de.thu.thutorium.database.repositories.RoomUtilizationRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.exceptions.MeetingConflictException;
+import de.thu.thutorium.exceptions.MeetingSeriesConflictException;
 import de.thu.thutorium.services.interfaces.MeetingService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +59,14 @@ import java.util.stream.Collectors;
  * <p>This service provides methods for creating, updating, deleting, and retrieving meetings. It
  * interacts with the {@link MeetingRepository}, {@link UserRepository}, {@link CourseRepository},
  * and {@link AddressRepository} for database operations.
+ *
+ * <p>Participants are resolved with one set-based existence check and written to the {@code
+ * students_meetings} join table through the {@link MeetingParticipantRepository}, so the number of
+ * queries does not grow with the number of participants.
+ *
+ * <p>Every change to a meeting increases the calendar feed version of its tutor and participants,
+ * which the {@link CalendarFeedServiceImpl} uses to answer conditional feed requests, and adds
+ * the difference in booked room time to the {@link RoomUtilizationRepository} rollup.
  */
 @Slf4j
 @Service
@@ -39,6 +78,21 @@ public class MeetingServiceImpl implements MeetingService {
   private final AddressRepository addressRepository;
   private final MeetingTOMapper meetingTOMapper;
   private final MeetingDBMapper meetingDBMapper;
+  private final MeetingParticipantRepository meetingParticipantRepository;
+  private final MeetingSeriesRepository meetingSeriesRepository;
+  private final MeetingConflictRepository meetingConflictRepository;
+  private final MeetingFeedRepository meetingFeedRepository;
+  private final CalendarFeedRepository calendarFeedRepository;
+  private final RoomUtilizationRepository roomUtilizationRepository;
+
+  @Value("${meeting.availability.max-window-days:31}")
+  private int maxAvailabilityWindowDays;
+
+  @Value("${meeting.feed.default-window-days:28}")
+  private int defaultFeedWindowDays;
+
+  @Value("${meeting.feed.max-page-size:200}")
+  private int maxFeedPageSize;
 
   /**
    * Creates a new meeting based on the provided {@link MeetingTO}.
@@ -81,18 +135,9 @@ public class MeetingServiceImpl implements MeetingService {
                     new EntityNotFoundException(
                         "Address not found with ID: " + meetingTO.getAddressId()));
 
-    // Fetch and validate participants
-    List<UserDBO> participants =
-        meetingTO.getParticipantIds().stream()
-            .map(
-                participantId ->
-                    userRepository
-                        .findById(participantId)
-                        .orElseThrow(
-                            () ->
-                                new EntityNotFoundException(
-                                    "Participant not found with ID: " + participantId)))
-            .collect(Collectors.toList());
+    // Validate all participants with a single query
+    Set<Long> participantIds = distinctParticipantIds(meetingTO);
+    requireExistingUsers(participantIds);
 
     // Convert the TO to the entity
     MeetingDBO meetingDBO = meetingDBMapper.toEntity(meetingTO);
@@ -101,16 +146,218 @@ public class MeetingServiceImpl implements MeetingService {
     meetingDBO.setTutor(tutor);
     meetingDBO.setCourse(course);
     meetingDBO.setAddress(address);
-    meetingDBO.setParticipants(participants);
 
-    // Maintain bidirectional relationship for participants
-    participants.forEach(participant -> participant.getMeetings().add(meetingDBO));
-
-    // Save the meeting entity
+    // Save the meeting entity and write the participant rows in one statement
     MeetingDBO savedMeeting = meetingRepository.save(meetingDBO);
+    meetingParticipantRepository.addParticipants(savedMeeting.getMeetingId(), participantIds);
+    touchCalendars(tutor.getUserId(), participantIds);
+    recordRoomUsage(List.of(savedMeeting), 1);
 
     // Convert the saved entity back to a DTO
-    return meetingTOMapper.toDTO(savedMeeting);
+    return toDTO(savedMeeting, participantIds);
+  }
+
+  /**
+   * Creates several meetings in one transaction.
+   *
+   * <p>Tutors, courses and addresses are loaded once per distinct ID, all participants are
+   * validated with a single query, and the participant rows of all meetings are written with a
+   * single statement. If any meeting cannot be created, none of them is.
+   *
+   * @param meetingTOs the transfer objects containing the data of the meetings to be created
+   * @return the created meetings, in the order of the request
+   * @throws EntityNotFoundException if a tutor, course, address or participant does not exist
+   */
+  @Override
+  @Transactional
+  public List<MeetingTO> createMeetings(List<MeetingTO> meetingTOs) {
+    Map<Long, UserDBO> tutors =
+        loadAll(
+            meetingTOs,
+            MeetingTO::getTutorId,
+            userRepository::findAllById,
+            UserDBO::getUserId,
+            "Tutor");
+    Map<Long, CourseDBO> courses =
+        loadAll(
+            meetingTOs,
+            MeetingTO::getCourseId,
+            courseRepository::findAllById,
+            CourseDBO::getCourseId,
+            "Course");
+    Map<Long, AddressDBO> addresses =
+        loadAll(
+            meetingTOs,
+            MeetingTO::getAddressId,
+            addressRepository::findAllById,
+            AddressDBO::getAddressId,
+            "Address");
+
+    List<Set<Long>> participantIdsPerMeeting =
+        meetingTOs.stream().map(this::distinctParticipantIds).toList();
+    requireExistingUsers(
+        participantIdsPerMeeting.stream().flatMap(Set::stream).collect(Collectors.toSet()));
+
+    List<MeetingDBO> meetings = new ArrayList<>();
+    for (MeetingTO meetingTO : meetingTOs) {
+      MeetingDBO meetingDBO = meetingDBMapper.toEntity(meetingTO);
+      meetingDBO.setTutor(tutors.get(meetingTO.getTutorId()));
+      meetingDBO.setCourse(courses.get(meetingTO.getCourseId()));
+      meetingDBO.setAddress(addresses.get(meetingTO.getAddressId()));
+      meetings.add(meetingDBO);
+    }
+    List<MeetingDBO> savedMeetings = meetingRepository.saveAll(meetings);
+
+    // Write the participant rows of all meetings at once
+    List<Long> joinMeetingIds = new ArrayList<>();
+    List<Long> joinStudentIds = new ArrayList<>();
+    for (int i = 0; i < savedMeetings.size(); i++) {
+      for (Long studentId : participantIdsPerMeeting.get(i)) {
+        joinMeetingIds.add(savedMeetings.get(i).getMeetingId());
+        joinStudentIds.add(studentId);
+      }
+    }
+    meetingParticipantRepository.addParticipants(joinMeetingIds, joinStudentIds);
+    Set<Long> affectedUserIds = new HashSet<>(tutors.keySet());
+    affectedUserIds.addAll(joinStudentIds);
+    touchCalendars(affectedUserIds);
+    recordRoomUsage(savedMeetings, 1);
+
+    List<MeetingTO> result = new ArrayList<>();
+    for (int i = 0; i < savedMeetings.size(); i++) {
+      result.add(toDTO(savedMeetings.get(i), participantIdsPerMeeting.get(i)));
+    }
+    return result;
+  }
+
+  /**
+   * Creates a recurring meeting series and all of its meetings.
+   *
+   * <p>The series is expanded into its occurrences first. All occurrences are then checked against
+   * the existing meetings of the tutor and the room with a single query, so a semester of weekly
+   * meetings is validated in one round trip and every conflict is reported, not just the first one.
+   * Only if there are no conflicts are the series, its meetings and their participants stored.
+   *
+   * @param meetingSeriesTO the transfer object describing the series
+   * @return the created meetings in chronological order
+   * @throws EntityNotFoundException if the tutor, course, address or a participant does not exist
+   * @throws InvalidMeetingRequestException if the rule is invalid or has no occurrences
+   * @throws MeetingSeriesConflictException if occurrences overlap with existing meetings
+   */
+  @Override
+  @Transactional
+  public List<MeetingTO> createMeetingSeries(MeetingSeriesTO meetingSeriesTO) {
+    validateSeriesRule(meetingSeriesTO);
+
+    UserDBO tutor =
+        userRepository
+            .findById(meetingSeriesTO.getTutorId())
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException(
+                        "Tutor not found with ID: " + meetingSeriesTO.getTutorId()));
+    CourseDBO course =
+        courseRepository
+            .findById(meetingSeriesTO.getCourseId())
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException(
+                        "Course not found with ID: " + meetingSeriesTO.getCourseId()));
+    AddressDBO address = null;
+    if (meetingSeriesTO.getAddressId() != null) {
+      address =
+          addressRepository
+              .findById(meetingSeriesTO.getAddressId())
+              .orElseThrow(
+                  () ->
+                      new EntityNotFoundException(
+                          "Address not found with ID: " + meetingSeriesTO.getAddressId()));
+    }
+
+    Set<Long> participantIds = new LinkedHashSet<>(meetingSeriesTO.getParticipantIds());
+    requireExistingUsers(participantIds);
+
+    MeetingSeriesDBO series =
+        MeetingSeriesDBO.builder()
+            .tutor(tutor)
+            .course(course)
+            .firstDate(meetingSeriesTO.getFirstDate())
+            .untilDate(meetingSeriesTO.getUntilDate())
+            .frequency(meetingSeriesTO.getFrequency())
+            .startTime(meetingSeriesTO.getStartTime())
+            .endTime(meetingSeriesTO.getEndTime())
+            .exceptionDates(
+                meetingSeriesTO.getExceptionDates() == null
+                    ? new HashSet<>()
+                    : new HashSet<>(meetingSeriesTO.getExceptionDates()))
+            .meetingType(meetingSeriesTO.getMeetingType())
+            .address(address)
+            .roomNum(meetingSeriesTO.getRoomNum())
+            .meetingLink(meetingSeriesTO.getMeetingLink())
+            .build();
+
+    List<LocalDate> dates = series.getOccurrenceDates();
+    if (dates.isEmpty()) {
+      throw new InvalidMeetingRequestException("The meeting series has no occurrences.");
+    }
+    List<LocalDateTime> startTimes =
+        dates.stream().map(date -> date.atTime(series.getStartTime())).toList();
+    List<LocalDateTime> endTimes =
+        dates.stream().map(date -> date.atTime(series.getEndTime())).toList();
+
+    // Check every occurrence against the exclusion constraints with a single query
+    List<MeetingConflictTO> conflicts =
+        meetingConflictRepository.findConflicts(
+            tutor.getUserId(),
+            meetingSeriesTO.getAddressId(),
+            meetingSeriesTO.getRoomNum(),
+            startTimes,
+            endTimes);
+    if (!conflicts.isEmpty()) {
+      throw new MeetingSeriesConflictException(conflicts);
+    }
+
+    MeetingSeriesDBO savedSeries = meetingSeriesRepository.save(series);
+    int duration = (int) Duration.between(series.getStartTime(), series.getEndTime()).toMinutes();
+    List<MeetingDBO> meetings = new ArrayList<>();
+    for (int i = 0; i < dates.size(); i++) {
+      meetings.add(
+          MeetingDBO.builder()
+              .tutor(tutor)
+              .course(course)
+              .meetingDate(dates.get(i))
+              .startTime(startTimes.get(i))
+              .endTime(endTimes.get(i))
+              .duration(duration)
+              .meetingType(savedSeries.getMeetingType())
+              .roomNum(savedSeries.getRoomNum())
+              .meetingLink(savedSeries.getMeetingLink())
+              .address(address)
+              .series(savedSeries)
+              .build());
+    }
+
+    List<MeetingDBO> savedMeetings;
+    try {
+      savedMeetings = meetingRepository.saveAll(meetings);
+    } catch (DataIntegrityViolationException ex) {
+      // A conflicting meeting was created between the check and the insert
+      throw new MeetingConflictException("A conflicting meeting already exists.");
+    }
+
+    List<Long> joinMeetingIds = new ArrayList<>();
+    List<Long> joinStudentIds = new ArrayList<>();
+    for (MeetingDBO meeting : savedMeetings) {
+      for (Long studentId : participantIds) {
+        joinMeetingIds.add(meeting.getMeetingId());
+        joinStudentIds.add(studentId);
+      }
+    }
+    meetingParticipantRepository.addParticipants(joinMeetingIds, joinStudentIds);
+    touchCalendars(tutor.getUserId(), participantIds);
+    recordRoomUsage(savedMeetings, 1);
+
+    return savedMeetings.stream().map(meeting -> toDTO(meeting, participantIds)).toList();
   }
 
   /**
@@ -125,11 +372,17 @@ public class MeetingServiceImpl implements MeetingService {
   @Override
   @Transactional
   public void deleteMeeting(Long meetingId) {
-    if (!meetingRepository.existsById(meetingId)) {
-      throw new EntityNotFoundException("Meeting not found with ID: " + meetingId);
-    }
+    MeetingDBO meeting =
+        meetingRepository
+            .findById(meetingId)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
+    Set<Long> participantIds = meetingParticipantRepository.findParticipantIds(meetingId);
+
     // Delete the meeting
+    recordRoomUsage(List.of(meeting), -1);
     meetingRepository.deleteById(meetingId);
+    touchCalendars(meeting.getTutor().getUserId(), participantIds);
   }
 
   /**
@@ -154,6 +407,9 @@ public class MeetingServiceImpl implements MeetingService {
             .orElseThrow(
                 () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
 
+    // Remove the previous booking from the room utilization before the meeting changes
+    recordRoomUsage(List.of(existingMeeting), -1);
+
     // Update fields
     existingMeeting.setMeetingDate(meetingTO.getMeetingDate());
     existingMeeting.setStartTime(meetingTO.getStartTime());
@@ -161,6 +417,8 @@ public class MeetingServiceImpl implements MeetingService {
     existingMeeting.setDuration(meetingTO.getDuration());
     existingMeeting.setMeetingType(meetingTO.getMeetingType());
 
+    Long previousTutorId = existingMeeting.getTutor().getUserId();
+
     // Update associated objects (tutor, course, and address)
     UserDBO tutor =
         userRepository
@@ -189,48 +447,33 @@ public class MeetingServiceImpl implements MeetingService {
                         "Address not found with ID: " + meetingTO.getAddressId()));
     existingMeeting.setAddress(address);
 
-    // Update participants
-    List<UserDBO> newParticipants =
-        meetingTO.getParticipantIds().stream()
-            .map(
-                participantId ->
-                    userRepository
-                        .findById(participantId)
-                        .orElseThrow(
-                            () ->
-                                new EntityNotFoundException(
-                                    "Participant not found with ID: " + participantId)))
-            .collect(Collectors.toList());
-
-    // Remove participants who are no longer part of the meeting
-    existingMeeting
-        .getParticipants()
-        .forEach(
-            participant -> {
-              if (!newParticipants.contains(participant)) {
-                participant.getMeetings().remove(existingMeeting);
-              }
-            });
-
-    // Add new participants
-    newParticipants.forEach(
-        participant -> {
-          if (!existingMeeting.getParticipants().contains(participant)) {
-            participant.getMeetings().add(existingMeeting);
-          }
-        });
-
-    // Set the updated list of participants
-    existingMeeting.setParticipants(newParticipants);
+    // Update participants: validate the new set with one query and only write the difference
+    Set<Long> newParticipantIds = distinctParticipantIds(meetingTO);
+    requireExistingUsers(newParticipantIds);
+    Set<Long> currentParticipantIds = meetingParticipantRepository.findParticipantIds(meetingId);
+
+    Set<Long> removedParticipantIds = new HashSet<>(currentParticipantIds);
+    removedParticipantIds.removeAll(newParticipantIds);
+    Set<Long> addedParticipantIds = new LinkedHashSet<>(newParticipantIds);
+    addedParticipantIds.removeAll(currentParticipantIds);
+
+    meetingParticipantRepository.removeParticipants(meetingId, removedParticipantIds);
+    meetingParticipantRepository.addParticipants(meetingId, addedParticipantIds);
 
     // Update optional fields (room number, campus name, university name)
     existingMeeting.setRoomNum(meetingTO.getRoomNum());
 
     // Save the updated meeting
     MeetingDBO updatedMeeting = meetingRepository.save(existingMeeting);
+    recordRoomUsage(List.of(updatedMeeting), 1);
+
+    Set<Long> affectedUserIds = new HashSet<>(currentParticipantIds);
+    affectedUserIds.addAll(newParticipantIds);
+    affectedUserIds.add(previousTutorId);
+    touchCalendars(tutor.getUserId(), affectedUserIds);
 
     // Convert the updated entity back to DTO
-    return meetingTOMapper.toDTO(updatedMeeting);
+    return toDTO(updatedMeeting, newParticipantIds);
   }
 
   /**
@@ -252,12 +495,271 @@ public class MeetingServiceImpl implements MeetingService {
         meetingRepository.findParticipatedMeetingsByUserId(userId);
     List<MeetingDBO> scheduledMeetings = meetingRepository.findScheduledMeetingsByTutorId(userId);
 
-    // Combine both lists
+    // Combine both lists, listing a meeting the user both holds and attends only once
+    Set<Long> seenMeetingIds = new HashSet<>();
     List<MeetingDBO> allMeetings = new ArrayList<>();
-    allMeetings.addAll(participatedMeetings);
-    allMeetings.addAll(scheduledMeetings);
+    for (MeetingDBO meeting : participatedMeetings) {
+      if (seenMeetingIds.add(meeting.getMeetingId())) {
+        allMeetings.add(meeting);
+      }
+    }
+    for (MeetingDBO meeting : scheduledMeetings) {
+      if (seenMeetingIds.add(meeting.getMeetingId())) {
+        allMeetings.add(meeting);
+      }
+    }
 
     // Map to DTO
     return meetingTOMapper.toDTOList(allMeetings);
   }
+
+  /**
+   * Retrieves one page of the meeting feed of a user.
+   *
+   * <p>Unlike {@link #getMeetingsForUser(Long)}, the feed is read with a single bounded query that
+   * removes duplicates and does not load participant lists. One extra row is read to know whether
+   * another page follows. The cursor encodes the start time and ID of the last meeting of the page.
+   *
+   * @throws InvalidMeetingRequestException if the window is empty or the cursor is malformed
+   */
+  @Override
+  public MeetingPageTO getMeetingFeed(
+      Long userId,
+      LocalDateTime from,
+      LocalDateTime to,
+      MeetingStatus status,
+      String cursor,
+      int limit) {
+    LocalDateTime windowStart = from != null ? from : LocalDateTime.now();
+    LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(defaultFeedWindowDays);
+    if (!windowEnd.isAfter(windowStart)) {
+      throw new InvalidMeetingRequestException("The end of the window must be after its start.");
+    }
+    int pageSize = Math.max(1, Math.min(limit, maxFeedPageSize));
+
+    LocalDateTime afterStartTime = windowStart;
+    long afterMeetingId = 0;
+    if (cursor != null && !cursor.isBlank()) {
+      String[] position = decodeCursor(cursor);
+      afterStartTime = LocalDateTime.parse(position[0]);
+      afterMeetingId = Long.parseLong(position[1]);
+      if (afterStartTime.isBefore(windowStart)) {
+        afterStartTime = windowStart;
+        afterMeetingId = 0;
+      }
+    }
+
+    List<MeetingTO> meetings =
+        meetingFeedRepository.findFeed(
+            userId, afterStartTime, windowEnd, status, afterMeetingId, pageSize + 1);
+    String nextCursor = null;
+    if (meetings.size() > pageSize) {
+      meetings = new ArrayList<>(meetings.subList(0, pageSize));
+      MeetingTO last = meetings.get(pageSize - 1);
+      nextCursor = encodeCursor(last.getStartTime(), last.getMeetingId());
+    }
+    return new MeetingPageTO(meetings, nextCursor);
+  }
+
+  /**
+   * Finds the common free time of a tutor, participants and optionally a room.
+   *
+   * <p>All meetings blocking any of them within the window are loaded with one range query on the
+   * indexed {@code time_range} column. The busy intervals are then merged in a single sorted sweep
+   * and the gaps between them are returned, so the client can offer slots that the exclusion
+   * constraints will accept instead of guessing and retrying.
+   *
+   * @throws InvalidMeetingRequestException if the window is empty or longer than the configured
+   *     maximum
+   */
+  @Override
+  public List<TimeSlotTO> findAvailability(
+      Long tutorId,
+      List<Long> participantIds,
+      Long addressId,
+      String roomNum,
+      LocalDateTime from,
+      LocalDateTime to,
+      int minDurationMinutes) {
+    if (!to.isAfter(from)) {
+      throw new InvalidMeetingRequestException("The end of the window must be after its start.");
+    }
+    if (Duration.between(from, to).compareTo(Duration.ofDays(maxAvailabilityWindowDays)) > 0) {
+      throw new InvalidMeetingRequestException(
+          "The window must not be longer than " + maxAvailabilityWindowDays + " days.");
+    }
+    Set<Long> participants =
+        participantIds == null ? Set.of() : new LinkedHashSet<>(participantIds);
+    List<TimeSlotTO> busy =
+        meetingConflictRepository.findBusyIntervals(
+            tutorId, participants, addressId, roomNum, from, to);
+    return FreeSlotFinder.findFreeSlots(busy, from, to, Duration.ofMinutes(minDurationMinutes));
+  }
+
+  /** Encodes the position of a meeting in the feed as an opaque cursor. */
+  private String encodeCursor(LocalDateTime startTime, Long meetingId) {
+    String position = startTime + "|" + meetingId;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor created by {@link #encodeCursor} into the start time and the meeting ID.
+   *
+   * @throws InvalidMeetingRequestException if the cursor is malformed
+   */
+  private String[] decodeCursor(String cursor) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = position.split("\\|");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException(position);
+      }
+      LocalDateTime.parse(parts[0]);
+      Long.parseLong(parts[1]);
+      return parts;
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new InvalidMeetingRequestException("Invalid cursor: " + cursor);
+    }
+  }
+
+  /**
+   * Validates the recurrence rule of a series. Meetings may not cross midnight and may not be
+   * scheduled more than one year ahead, matching the {@code no_cross_day_meetings} and {@code
+   * meeting_date_limit} constraints.
+   *
+   * @param meetingSeriesTO the series to validate
+   * @throws InvalidMeetingRequestException if the rule is invalid
+   */
+  private void validateSeriesRule(MeetingSeriesTO meetingSeriesTO) {
+    if (!meetingSeriesTO.getEndTime().isAfter(meetingSeriesTO.getStartTime())) {
+      throw new InvalidMeetingRequestException("The end time must be after the start time.");
+    }
+    if (meetingSeriesTO.getUntilDate().isBefore(meetingSeriesTO.getFirstDate())) {
+      throw new InvalidMeetingRequestException("The until date must not be before the first date.");
+    }
+    if (meetingSeriesTO.getUntilDate().isAfter(LocalDate.now().plusYears(1))) {
+      throw new InvalidMeetingRequestException(
+          "Meetings cannot be scheduled more than one year ahead.");
+    }
+  }
+
+  /**
+   * Returns the distinct participant IDs of a meeting request, keeping their order.
+   *
+   * @param meetingTO the meeting transfer object
+   * @return the participant IDs, or an empty set if none are given
+   */
+  private Set<Long> distinctParticipantIds(MeetingTO meetingTO) {
+    return meetingTO.getParticipantIds() == null
+        ? new LinkedHashSet<>()
+        : new LinkedHashSet<>(meetingTO.getParticipantIds());
+  }
+
+  /**
+   * Checks with a single query that all given users exist.
+   *
+   * @param userIds the user IDs to check
+   * @throws EntityNotFoundException naming the first ID that does not belong to a user
+   */
+  private void requireExistingUsers(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    Set<Long> existing = userRepository.findExistingUserIds(userIds);
+    for (Long userId : userIds) {
+      if (!existing.contains(userId)) {
+        throw new EntityNotFoundException("Participant not found with ID: " + userId);
+      }
+    }
+  }
+
+  /**
+   * Loads the entities referenced by a list of meeting requests with one query per entity type.
+   *
+   * @param meetingTOs the meeting transfer objects
+   * @param idGetter extracts the referenced ID from a meeting transfer object
+   * @param finder loads the entities for a set of IDs
+   * @param entityIdGetter extracts the ID from a loaded entity
+   * @param entityName the entity name used in the error message
+   * @return the loaded entities by their ID
+   * @throws EntityNotFoundException if a referenced entity does not exist
+   */
+  private <T> Map<Long, T> loadAll(
+      List<MeetingTO> meetingTOs,
+      Function<MeetingTO, Long> idGetter,
+      Function<Set<Long>, List<T>> finder,
+      Function<T, Long> entityIdGetter,
+      String entityName) {
+    Set<Long> ids = meetingTOs.stream().map(idGetter).collect(Collectors.toSet());
+    Map<Long, T> entities = new HashMap<>();
+    finder.apply(ids).forEach(entity -> entities.put(entityIdGetter.apply(entity), entity));
+    for (Long id : ids) {
+      if (!entities.containsKey(id)) {
+        throw new EntityNotFoundException(entityName + " not found with ID: " + id);
+      }
+    }
+    return entities;
+  }
+
+  /**
+   * Increases the calendar feed version of a tutor and the given users with a single statement.
+   *
+   * @param tutorId the ID of the tutor
+   * @param userIds the IDs of the other affected users
+   */
+  private void touchCalendars(Long tutorId, Collection<Long> userIds) {
+    Set<Long> affectedUserIds = new HashSet<>(userIds);
+    affectedUserIds.add(tutorId);
+    touchCalendars(affectedUserIds);
+  }
+
+  /**
+   * Increases the calendar feed version of the given users with a single statement.
+   *
+   * @param userIds the IDs of the users whose meetings have changed
+   */
+  private void touchCalendars(Set<Long> userIds) {
+    if (!userIds.isEmpty()) {
+      calendarFeedRepository.bumpMeetingsVersion(userIds);
+    }
+  }
+
+  /**
+   * Adds the booked room time of meetings to the utilization rollup, or removes it. Meetings
+   * without an address do not occupy a room and are skipped.
+   *
+   * @param meetings the meetings
+   * @param sign {@code 1} to add the bookings, {@code -1} to remove them
+   */
+  private void recordRoomUsage(Collection<MeetingDBO> meetings, int sign) {
+    List<Long> addressIds = new ArrayList<>();
+    List<String> roomNums = new ArrayList<>();
+    List<LocalDateTime> startTimes = new ArrayList<>();
+    List<LocalDateTime> endTimes = new ArrayList<>();
+    for (MeetingDBO meeting : meetings) {
+      if (meeting.getAddress() == null) {
+        continue;
+      }
+      addressIds.add(meeting.getAddress().getAddressId());
+      roomNums.add(meeting.getRoomNum() == null ? "" : meeting.getRoomNum());
+      startTimes.add(meeting.getStartTime());
+      endTimes.add(meeting.getEndTime());
+    }
+    roomUtilizationRepository.addBookings(addressIds, roomNums, startTimes, endTimes, sign);
+  }
+
+  /**
+   * Maps a meeting to its transfer object, including the given participant IDs.
+   *
+   * @param meetingDBO the meeting entity
+   * @param participantIds the IDs of the meeting participants
+   * @return the meeting transfer object
+   */
+  private MeetingTO toDTO(MeetingDBO meetingDBO, Collection<Long> participantIds) {
+    MeetingTO meetingTO = meetingTOMapper.toDTO(meetingDBO);
+    meetingTO.setParticipantIds(new ArrayList<>(participantIds));
+    return meetingTO;
+  }
 }
@@ -2,14 +2,18 @@ package de.thu.thutorium.services.implementations;
 
 import de.thu.thutorium.api.TOMappers.MessageTOMapper;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.database.dbObjects.AttachmentDBO;
 import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.MessageDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.AttachmentRepository;
 import de.thu.thutorium.database.repositories.ChatRepository;
 import de.thu.thutorium.database.repositories.MessageRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.interfaces.MessageService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -29,16 +33,19 @@ public class MessageServiceImpl implements MessageService {
   private final ChatRepository chatRepository;
   private final UserRepository userRepository;
   private final MessageTOMapper messageTOMapper;
+  private final AttachmentRepository attachmentRepository;
 
   public MessageServiceImpl(
       MessageRepository messageRepository,
       ChatRepository chatRepository,
       UserRepository userRepository,
-      MessageTOMapper messageTOMapper) {
+      MessageTOMapper messageTOMapper,
+      AttachmentRepository attachmentRepository) {
     this.messageRepository = messageRepository;
     this.chatRepository = chatRepository;
     this.userRepository = userRepository;
     this.messageTOMapper = messageTOMapper;
+    this.attachmentRepository = attachmentRepository;
   }
 
   /**
@@ -46,13 +53,17 @@ public class MessageServiceImpl implements MessageService {
    *
    * <p>This method validates the input {@link MessageTO}, retrieves the associated chat, sender,
    * and receiver from the database using the provided IDs, and creates a new message entity to be
-   * stored in the database. It then maps the saved entity back into a {@link MessageTO}.
+   * stored in the database. If the message refers to an uploaded attachment by its content hash,
+   * the attachment is linked to the message. It then maps the saved entity back into a {@link
+   * MessageTO}.
    *
    * @param messageTO the transfer object containing the message data to be saved
    * @return the saved message as a {@link MessageTO}
    * @throws IllegalArgumentException if the provided messageTO is null
    * @throws RuntimeException if the chat, sender, or receiver cannot be found based on the provided
    *     IDs
+   * @throws EntityNotFoundException if the referenced attachment does not exist
+   * @throws AccessDeniedException if the sender may not access the referenced attachment
    */
   @Override
   @Transactional
@@ -85,6 +96,9 @@ public class MessageServiceImpl implements MessageService {
                     new RuntimeException(
                         "Receiver not found for ID: " + messageTO.getReceiverId()));
 
+    // Find the attachment by its content hash, if the message has one
+    AttachmentDBO attachment = findAttachment(messageTO.getAttachmentHash(), sender.getUserId());
+
     // Create a new message entity
     MessageDBO messageDBO =
         MessageDBO.builder()
@@ -94,6 +108,7 @@ public class MessageServiceImpl implements MessageService {
             .messageContent(messageTO.getMessageContent())
             .sendAt(messageTO.getSendAt()) // Use sendAt from MessageTO
             .isRead(false)
+            .attachment(attachment)
             .build();
 
     // Save the message to the database
@@ -108,7 +123,50 @@ public class MessageServiceImpl implements MessageService {
         messageDBO.getMessageContent(),
         messageDBO.getSendAt(),
         messageDBO.getReadAt(),
-        messageDBO.getIsRead());
+        messageDBO.getIsRead(),
+        attachment != null ? attachment.getContentHash() : null);
+  }
+
+  /**
+   * Saves a message sent over an authenticated STOMP session.
+   *
+   * <p>Unlike {@link #saveMessage}, the chat, the sender and the receiver are not loaded: the
+   * caller has already checked that both users participate in the chat, so the message is written
+   * with references by ID only.
+   *
+   * @param senderId the ID of the authenticated sender
+   * @param messageTO the message; its {@code senderId} is ignored
+   * @return the saved message as a {@link MessageTO}
+   * @throws EntityNotFoundException if the referenced attachment does not exist
+   * @throws AccessDeniedException if the sender may not access the referenced attachment
+   */
+  @Override
+  @Transactional
+  public MessageTO saveChatMessage(Long senderId, MessageTO messageTO) {
+    AttachmentDBO attachment = findAttachment(messageTO.getAttachmentHash(), senderId);
+
+    MessageDBO messageDBO =
+        MessageDBO.builder()
+            .chat(chatRepository.getReferenceById(messageTO.getChatId()))
+            .sender(userRepository.getReferenceById(senderId))
+            .receiver(userRepository.getReferenceById(messageTO.getReceiverId()))
+            .messageContent(messageTO.getMessageContent())
+            .sendAt(messageTO.getSendAt())
+            .isRead(false)
+            .attachment(attachment)
+            .build();
+    messageRepository.save(messageDBO);
+
+    return new MessageTO(
+        messageDBO.getMessageId(),
+        senderId,
+        messageTO.getReceiverId(),
+        messageTO.getChatId(),
+        messageDBO.getMessageContent(),
+        messageDBO.getSendAt(),
+        null,
+        false,
+        messageTO.getAttachmentHash());
   }
 
   /**
@@ -142,4 +200,23 @@ public class MessageServiceImpl implements MessageService {
     List<MessageDBO> messages = messageRepository.findByChat_ChatId(chatId);
     return messageTOMapper.toDTOList(messages);
   }
+
+  /**
+   * Finds the attachment a message refers to. A sender may only attach content they uploaded or
+   * that was shared in one of their chats, so that knowing a content hash is not enough to obtain
+   * the file.
+   */
+  private AttachmentDBO findAttachment(String contentHash, Long senderId) {
+    if (contentHash == null) {
+      return null;
+    }
+    AttachmentDBO attachment =
+        attachmentRepository
+            .findByContentHash(contentHash)
+            .orElseThrow(() -> new EntityNotFoundException("Attachment not found"));
+    if (!attachmentRepository.isAccessibleBy(contentHash, senderId)) {
+      throw new AccessDeniedException("You do not have access to this attachment");
+    }
+    return attachment;
+  }
 }
@@ -0,0 +1,148 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.RosterImportReportTO;
+import de.thu.thutorium.api.transferObjects.common.RosterRowErrorTO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.UserImportRepository;
+import de.thu.thutorium.services.interfaces.AccountEmailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes the users of a roster import, one batch at a time.
+ *
+ * <p>Each batch of users is inserted together with their roles in one statement by {@link
+ * UserImportRepository}, and the invitations of the batch are queued in the same transaction.
+ * Since each batch has its own transaction, no database connection is held while the passwords of
+ * the next batch are being hashed.
+ */
+@Component
+public class RosterBatchWriter {
+  /**
+   * Stored for invited users until they choose a password. It is not a valid BCrypt hash, so no
+   * password matches it.
+   */
+  static final String INVITED_PASSWORD = "{bcrypt}!invited";
+
+  private final UserImportRepository userImportRepository;
+  private final AccountEmailService accountEmailService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  /**
+   * A valid roster entry waiting to be written with its batch.
+   *
+   * @param row the row of the entry in the roster
+   * @param email the email address of the user
+   * @param firstName the first name of the user
+   * @param lastName the last name of the user
+   * @param roleId the ID of the role of the user
+   * @param affiliationId the ID of the affiliation of the user
+   * @param hashedPassword the hash of the password given in the roster, or {@code null} if the user
+   *     is invited to choose one
+   */
+  public record PendingUser(
+      int row,
+      String email,
+      String firstName,
+      String lastName,
+      Long roleId,
+      Long affiliationId,
+      CompletableFuture<String> hashedPassword) { }
+
+  /**
+   * Creates the writer.
+   *
+   * @param userImportRepository the repository the users are inserted with
+   * @param accountEmailService the service queuing the invitations
+   * @param transactionTemplate the template running each batch in its own transaction
+   * @param batchSize the number of users written per statement
+   */
+  public RosterBatchWriter(
+      UserImportRepository userImportRepository,
+      AccountEmailService accountEmailService,
+      TransactionTemplate transactionTemplate,
+      @Value("${user.import.batch-size:500}") int batchSize) {
+    this.userImportRepository = userImportRepository;
+    this.accountEmailService = accountEmailService;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Returns the number of users written per statement.
+   *
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Writes a batch of users and adds the outcome to the report. Users whose email address is
+   * already taken are reported as errors; invited users are sent an invitation.
+   *
+   * @param batch the users to write
+   * @param report the report of the import
+   */
+  public void write(List<PendingUser> batch, RosterImportReportTO report) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<String> emails = new ArrayList<>(batch.size());
+    List<String> firstNames = new ArrayList<>(batch.size());
+    List<String> lastNames = new ArrayList<>(batch.size());
+    List<String> hashedPasswords = new ArrayList<>(batch.size());
+    List<Long> roleIds = new ArrayList<>(batch.size());
+    List<Long> affiliationIds = new ArrayList<>(batch.size());
+    for (PendingUser user : batch) {
+      emails.add(user.email());
+      firstNames.add(user.firstName());
+      lastNames.add(user.lastName());
+      hashedPasswords.add(
+          user.hashedPassword() == null ? INVITED_PASSWORD : user.hashedPassword().join());
+      roleIds.add(user.roleId());
+      affiliationIds.add(user.affiliationId());
+    }
+
+    List<RosterRowErrorTO> errors = new ArrayList<>();
+    List<UserDBO> invited = new ArrayList<>();
+    int[] created = new int[1];
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          Map<String, Long> userIds =
+              userImportRepository.insertUsers(
+                  emails, firstNames, lastNames, hashedPasswords, roleIds, affiliationIds);
+          for (PendingUser user : batch) {
+            Long userId = userIds.get(user.email());
+            if (userId == null) {
+              errors.add(
+                  new RosterRowErrorTO(
+                      user.row(), user.email(), "An account with this email address already exists"));
+            } else if (user.hashedPassword() == null) {
+              invited.add(
+                  UserDBO.builder()
+                      .userId(userId)
+                      .email(user.email())
+                      .firstName(user.firstName())
+                      .build());
+            } else {
+              created[0]++;
+            }
+          }
+          if (!invited.isEmpty()) {
+            // queued in the outbox within this transaction, delivered after the commit
+            accountEmailService.sendInvitations(invited);
+          }
+        });
+    report.setCreatedUsers(report.getCreatedUsers() + created[0]);
+    report.setInvitedUsers(report.getInvitedUsers() + invited.size());
+    report.getErrors().addAll(errors);
+  }
+}
@@ -4,15 +4,22 @@ import de.thu.thutorium.api.TOMappers.CourseCategoryTOMapper;
 import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.TutorTOMapper;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.NearbyTutorTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
 import de.thu.thutorium.database.dbObjects.*;
 import de.thu.thutorium.database.repositories.CategoryRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.ProximitySearchRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.ResourceNotFoundException;
+import de.thu.thutorium.geo.GeoPoint;
+import de.thu.thutorium.geo.PostalCodeGeocoder;
 import de.thu.thutorium.services.interfaces.SearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -31,6 +38,14 @@ public class SearchServiceImpl implements SearchService {
   private final TutorTOMapper tutorTOMapper;
   private final CategoryRepository categoryRepository;
   private final CourseCategoryTOMapper courseCategoryTOMapper;
+  private final PostalCodeGeocoder postalCodeGeocoder;
+  private final ProximitySearchRepository proximitySearchRepository;
+
+  @Value("${search.nearby.max-radius-km:50}")
+  private double maxNearbyRadiusKm;
+
+  @Value("${search.nearby.max-results:50}")
+  private int maxNearbyResults;
 
   /**
    * Constructor for initializing the service with necessary dependencies.
@@ -85,6 +100,56 @@ public class SearchServiceImpl implements SearchService {
     return tutorTO;
   }
 
+  /**
+   * Finds the tutors with upcoming offline or hybrid meetings near a location.
+   *
+   * <p>The radius and the number of results are bounded, so a search reads the addresses of a
+   * limited number of grid cells and returns a limited number of rows.
+   *
+   * @param latitude the latitude of the location, or {@code null} to use the postal code
+   * @param longitude the longitude of the location, or {@code null} to use the postal code
+   * @param postalCode the postal code of the location
+   * @param country the ISO code or name of the country of the postal code
+   * @param radiusKm the search radius in kilometres
+   * @param limit the maximum number of tutors to return
+   * @return the nearest tutors
+   */
+  @Override
+  public List<NearbyTutorTO> findTutorsNearby(
+      Double latitude,
+      Double longitude,
+      String postalCode,
+      String country,
+      double radiusKm,
+      int limit) {
+    if (radiusKm <= 0 || radiusKm > maxNearbyRadiusKm) {
+      throw new IllegalArgumentException(
+          "The radius must be greater than 0 and at most " + maxNearbyRadiusKm + " km.");
+    }
+    if (limit < 1 || limit > maxNearbyResults) {
+      throw new IllegalArgumentException(
+          "The limit must be between 1 and " + maxNearbyResults + ".");
+    }
+
+    GeoPoint origin;
+    if (latitude != null && longitude != null) {
+      if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+        throw new IllegalArgumentException("Invalid coordinates.");
+      }
+      origin = new GeoPoint(latitude, longitude);
+    } else if (postalCode != null) {
+      origin =
+          postalCodeGeocoder
+              .locate(country, postalCode, null)
+              .orElseThrow(
+                  () -> new ResourceNotFoundException("Unknown postal code " + postalCode));
+    } else {
+      throw new IllegalArgumentException("Either coordinates or a postal code are required.");
+    }
+    return proximitySearchRepository.findTutorsNearby(
+        origin, radiusKm, limit, LocalDateTime.now());
+  }
+
   /**
    * Maps a {@link CourseDBO} entity to a {@link CourseTO} transfer object, including the average
    * rating of the course.
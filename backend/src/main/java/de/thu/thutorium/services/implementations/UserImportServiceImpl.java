@@ -0,0 +1,239 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.Utility.RosterReader;
+import de.thu.thutorium.api.transferObjects.common.RosterImportReportTO;
+import de.thu.thutorium.api.transferObjects.common.RosterRowErrorTO;
+import de.thu.thutorium.database.dbObjects.AffiliationDBO;
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UniversityDBO;
+import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.AffiliationRepository;
+import de.thu.thutorium.database.repositories.RoleRepository;
+import de.thu.thutorium.database.repositories.UniversityRepository;
+import de.thu.thutorium.exceptions.RosterReadException;
+import de.thu.thutorium.services.implementations.RosterBatchWriter.PendingUser;
+import de.thu.thutorium.services.interfaces.DomainAffiliationService;
+import de.thu.thutorium.services.interfaces.UserImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Service implementation for roster imports.
+ *
+ * <p>The roster is read entry by entry and written in batches by the {@link RosterBatchWriter}. The
+ * university, the affiliation and the roles are looked up once per import; without a university,
+ * the affiliations are taken from the in-memory domain lookup of the {@link
+ * DomainAffiliationService}. Passwords given in the roster are hashed on a dedicated pool while the
+ * next entries are read, so an import neither hashes on the request thread alone nor competes with
+ * the logins for the login pool.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+  private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+  private static final Set<Role> IMPORTABLE_ROLES = EnumSet.of(Role.STUDENT, Role.TUTOR);
+
+  private final UniversityRepository universityRepository;
+  private final AffiliationRepository affiliationRepository;
+  private final RoleRepository roleRepository;
+  private final DomainAffiliationService domainAffiliationService;
+  private final PasswordEncoder passwordEncoder;
+  private final RosterBatchWriter rosterBatchWriter;
+  private final ExecutorService hashPool;
+
+  /**
+   * Creates the service together with the pool that hashes the passwords of imported users.
+   *
+   * @param hashThreads the number of hashing threads; {@code 0} uses one thread per available
+   *     processor
+   */
+  public UserImportServiceImpl(
+      UniversityRepository universityRepository,
+      AffiliationRepository affiliationRepository,
+      RoleRepository roleRepository,
+      DomainAffiliationService domainAffiliationService,
+      PasswordEncoder passwordEncoder,
+      RosterBatchWriter rosterBatchWriter,
+      @Value("${user.import.hash-threads:0}") int hashThreads) {
+    this.universityRepository = universityRepository;
+    this.affiliationRepository = affiliationRepository;
+    this.roleRepository = roleRepository;
+    this.domainAffiliationService = domainAffiliationService;
+    this.passwordEncoder = passwordEncoder;
+    this.rosterBatchWriter = rosterBatchWriter;
+    this.hashPool =
+        Executors.newFixedThreadPool(
+            hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors(),
+            new CustomizableThreadFactory("roster-hash-"));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RosterImportReportTO importRoster(
+      InputStream roster,
+      String contentType,
+      String universityName,
+      AffiliationType affiliationType,
+      Role defaultRole)
+      throws IOException {
+    if (!IMPORTABLE_ROLES.contains(defaultRole)) {
+      throw new IllegalArgumentException("Only students and tutors can be imported");
+    }
+    Long universityAffiliationId = null;
+    if (universityName != null) {
+      UniversityDBO university =
+          universityRepository
+              .findByUniversityName(universityName)
+              .orElseThrow(
+                  () -> new EntityNotFoundException("University not found: " + universityName));
+      universityAffiliationId = resolveAffiliation(university, affiliationType).getAffiliationId();
+    }
+    Map<Role, Long> roleIds = new EnumMap<>(Role.class);
+
+    RosterImportReportTO report = new RosterImportReportTO();
+    Set<String> seenEmails = new HashSet<>();
+    int batchSize = rosterBatchWriter.getBatchSize();
+    List<PendingUser> batch = new ArrayList<>(batchSize);
+    try (RosterReader reader = RosterReader.open(roster, contentType)) {
+      try {
+        for (RosterReader.Entry entry = reader.next(); entry != null; entry = reader.next()) {
+          report.setTotalRows(report.getTotalRows() + 1);
+          String error = validate(entry, seenEmails);
+          Role role = null;
+          if (error == null) {
+            try {
+              role = entry.role() == null ? defaultRole : parseRole(entry.role());
+            } catch (IllegalArgumentException ex) {
+              error = ex.getMessage();
+            }
+          }
+          Long affiliationId = universityAffiliationId;
+          if (error == null && affiliationId == null) {
+            affiliationId = domainAffiliationService.findAffiliationId(entry.email().trim()).orElse(null);
+            if (affiliationId == null) {
+              error = "The email domain does not belong to a university";
+            }
+          }
+          if (error != null) {
+            report.getErrors().add(new RosterRowErrorTO(entry.row(), entry.email(), error));
+            continue;
+          }
+          Long roleId = roleIds.computeIfAbsent(role, this::findRoleId);
+          String password = entry.password();
+          batch.add(
+              new PendingUser(
+                  entry.row(),
+                  entry.email().trim(),
+                  entry.firstName().trim(),
+                  entry.lastName().trim(),
+                  roleId,
+                  affiliationId,
+                  password == null
+                      ? null
+                      : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashPool)));
+          if (batch.size() >= batchSize) {
+            rosterBatchWriter.write(batch, report);
+            batch.clear();
+          }
+        }
+      } catch (RosterReadException ex) {
+        // earlier batches are already committed, so the entries before the malformed one are
+        // imported as well and the report tells the admin where reading stopped
+        report.getErrors().add(new RosterRowErrorTO(ex.getRow(), null, ex.getMessage()));
+        report.setIncomplete(true);
+      }
+      rosterBatchWriter.write(batch, report);
+    }
+    log.info(
+        "Imported roster for {}: {} rows, {} created, {} invited, {} rejected, complete: {}",
+        universityName,
+        report.getTotalRows(),
+        report.getCreatedUsers(),
+        report.getInvitedUsers(),
+        report.getErrors().size(),
+        !report.isIncomplete());
+    return report;
+  }
+
+  /** Stops the hashing pool when the application context is closed. */
+  @PreDestroy
+  public void shutdown() {
+    hashPool.shutdownNow();
+  }
+
+  private AffiliationDBO resolveAffiliation(UniversityDBO university, AffiliationType type) {
+    return affiliationRepository
+        .findByAffiliationTypeAndUniversity_UniversityName(type, university.getUniversityName())
+        .orElseGet(
+            () -> {
+              AffiliationDBO affiliation = new AffiliationDBO();
+              affiliation.setAffiliationType(type);
+              affiliation.setUniversity(university);
+              return affiliationRepository.save(affiliation);
+            });
+  }
+
+  private Long findRoleId(Role role) {
+    RoleDBO roleDBO = roleRepository.findByRoleName(role);
+    if (roleDBO == null) {
+      throw new IllegalStateException("Role " + role + " does not exist");
+    }
+    return roleDBO.getRole_id();
+  }
+
+  private static String validate(RosterReader.Entry entry, Set<String> seenEmails) {
+    if (entry.error() != null) {
+      return entry.error();
+    }
+    if (entry.email() == null || !EMAIL_PATTERN.matcher(entry.email().trim()).matches()) {
+      return "Missing or invalid email address";
+    }
+    if (entry.firstName() == null || entry.firstName().isBlank()) {
+      return "Missing first name";
+    }
+    if (entry.lastName() == null || entry.lastName().isBlank()) {
+      return "Missing last name";
+    }
+    if (entry.password() != null && entry.password().isBlank()) {
+      return "Password cannot be empty";
+    }
+    if (!seenEmails.add(entry.email().trim().toLowerCase(Locale.ROOT))) {
+      return "Duplicate email address in roster";
+    }
+    return null;
+  }
+
+  private static Role parseRole(String value) {
+    Role role;
+    try {
+      role = Role.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("Unknown role: " + value);
+    }
+    if (!IMPORTABLE_ROLES.contains(role)) {
+      throw new IllegalArgumentException("Role " + role + " cannot be imported");
+    }
+    return role;
+  }
+}
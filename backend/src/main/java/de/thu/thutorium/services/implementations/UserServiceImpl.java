@@ -3,11 +3,15 @@ package de.thu.thutorium.services.implementations;
 import de.thu.thutorium.api.TOMappers.RatingTutorTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.DBOMappers.AffiliationDBOMapper;
 import de.thu.thutorium.database.dbObjects.*;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.*;
+import de.thu.thutorium.exceptions.ScheduleClashException;
+import de.thu.thutorium.security.RefreshTokenService;
+import de.thu.thutorium.security.TokenRevocationService;
 import de.thu.thutorium.services.interfaces.UserService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
@@ -18,6 +22,7 @@ import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +47,9 @@ public class UserServiceImpl implements UserService {
   private final RatingTutorRepository ratingTutorRepository;
   private final RatingTutorTOMapper ratingTutorTOMapper;
   private final ProgressRepository progressRepository;
+  private final MeetingConflictRepository meetingConflictRepository;
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenService refreshTokenService;
 
     /**
      * Returns the total number of students in the system.
@@ -116,8 +124,8 @@ public class UserServiceImpl implements UserService {
    * Deletes a user from the system by their unique user ID.
    *
    * <p>This method fetches the {@link UserDBO} from the {@link UserRepository} using the provided
-   * {@code userId}. If the user is found, it is deleted from the system. If the user does not
-   * exist, an {@link EntityNotFoundException} is thrown.
+   * {@code userId}. If the user is found, it is deleted from the system and all tokens issued to
+   * the user, including their refresh tokens, are revoked. If the user does not exist, an {@link EntityNotFoundException} is thrown.
    *
    * @param userId the unique ID of the user to delete.
    * @throws EntityNotFoundException if no user is found with the provided {@code userId}.
@@ -128,7 +136,11 @@ public class UserServiceImpl implements UserService {
     userRepository
         .findUserDBOByUserId(userId)
         .ifPresentOrElse(
-            userRepository::delete,
+            user -> {
+              userRepository.delete(user);
+              tokenRevocationService.revokeAllTokens(userId);
+              refreshTokenService.revokeAll(userId);
+            },
             () -> {
               throw new EntityNotFoundException(
                   "User with ID " + userId + " does not exist in database.");
@@ -195,6 +207,8 @@ public class UserServiceImpl implements UserService {
      * @param courseId the course in which the student enrolls.
      * @throws EntityNotFoundException if no user or course is found with the provided parameters.
      * @throws IllegalArgumentException if teh user does not have a STUDENT role.
+     * @throws ScheduleClashException if upcoming meetings of the course overlap with meetings of the
+     *     student's other courses.
      */
     @Override
     @Transactional
@@ -217,6 +231,13 @@ public class UserServiceImpl implements UserService {
                     + " is already enrolled in course with id "
                     + courseId);
         }
+
+        // Check all upcoming meetings of the course against the student's other courses at once
+        List<ScheduleClashTO> clashes = meetingConflictRepository.findScheduleClashes(
+                studentId, List.of(courseId), LocalDateTime.now());
+        if (!clashes.isEmpty()) {
+            throw new ScheduleClashException(clashes);
+        }
         student.getStudentCourses().add(course);
         userRepository.save(student);
 
@@ -231,6 +252,21 @@ public class UserServiceImpl implements UserService {
         progressRepository.save(progress);
     }
 
+  /**
+   * Checks the upcoming meetings of the given courses against the courses the student is enrolled
+   * in and against each other. All courses are checked with a single range-overlap query, so the
+   * student learns about every clash at once.
+   *
+   * @param studentId the unique ID of the student.
+   * @param courseIds the courses the student considers enrolling in.
+   * @return all clashes, empty if there are none.
+   */
+  @Override
+  public List<ScheduleClashTO> findScheduleClashes(Long studentId, List<Long> courseIds) {
+    return meetingConflictRepository.findScheduleClashes(
+        studentId, new LinkedHashSet<>(courseIds), LocalDateTime.now());
+  }
+
   /**
    * User rates a tutor.
    *
@@ -0,0 +1,77 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.UtilizationTO;
+import de.thu.thutorium.database.repositories.RoomUtilizationRepository;
+import de.thu.thutorium.services.interfaces.UtilizationService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Service implementation for the utilization reports.
+ *
+ * <p>The reports are read from the {@code room_utilization} rollup, which the {@link
+ * MeetingServiceImpl} keeps up to date, so they never scan the {@code meeting} table. Report
+ * ranges are aligned to whole weeks, the granularity of the rollup.
+ */
+@Service
+@RequiredArgsConstructor
+public class UtilizationServiceImpl implements UtilizationService {
+  private final RoomUtilizationRepository roomUtilizationRepository;
+
+  @Value("${utilization.report.max-weeks:53}")
+  private int maxReportWeeks;
+
+  /** {@inheritDoc} */
+  @Override
+  public List<UtilizationTO> getRoomUtilization(Long addressId, LocalDate from, LocalDate to) {
+    LocalDate fromWeek = weekStart(from);
+    LocalDate toWeek = weekEnd(from, to);
+    return roomUtilizationRepository.findRoomUtilization(addressId, fromWeek, toWeek);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<UtilizationTO> getCampusUtilization(Long addressId, LocalDate from, LocalDate to) {
+    LocalDate fromWeek = weekStart(from);
+    LocalDate toWeek = weekEnd(from, to);
+    return roomUtilizationRepository.findCampusUtilization(addressId, fromWeek, toWeek);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public void rebuild() {
+    roomUtilizationRepository.rebuild();
+  }
+
+  private static LocalDate weekStart(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  /**
+   * Returns the Monday after the week of {@code to}, after validating the range.
+   *
+   * @param from the first day of the report
+   * @param to the last day of the report
+   * @return the exclusive end of the report
+   */
+  private LocalDate weekEnd(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("The end of the report must not be before its start.");
+    }
+    LocalDate toWeek = to.plusDays(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    if (ChronoUnit.WEEKS.between(weekStart(from), toWeek) > maxReportWeeks) {
+      throw new IllegalArgumentException(
+          "A report may cover at most " + maxReportWeeks + " weeks.");
+    }
+    return toWeek;
+  }
+}
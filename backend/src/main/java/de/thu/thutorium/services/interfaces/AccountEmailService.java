@@ -0,0 +1,67 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The {@code AccountEmailService} interface provides the account actions that are confirmed by a
+ * link sent by email.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Send an email verification link to a newly registered user and verify the email.
+ *   <li>Send a password reset link and reset the password.
+ *   <li>Invite users created by a roster import to choose a password.
+ * </ul>
+ *
+ * <p>Emails are only written to the outbox, so none of these methods waits for the mail server.
+ */
+@Service
+public interface AccountEmailService {
+  /**
+   * Sends a verification link to the email address of a user. Earlier links of the user stop
+   * working.
+   *
+   * @param user the newly registered user
+   */
+  void sendVerificationEmail(UserDBO user);
+
+  /**
+   * Sends an invitation to each of the given users. The invitation links lead to the password reset
+   * page, where the users choose their first password.
+   *
+   * @param users the newly created users, carrying their ID, email address and first name
+   */
+  void sendInvitations(List<UserDBO> users);
+
+  /**
+   * Marks the email address of a user as verified.
+   *
+   * @param token the token from the verification link
+   * @throws de.thu.thutorium.exceptions.InvalidEmailTokenException if the token is unknown,
+   *     expired or already used
+   */
+  void verifyEmail(String token);
+
+  /**
+   * Sends a password reset link if an account with the given email exists. Nothing is revealed
+   * about whether it does.
+   *
+   * @param email the email address of the account
+   */
+  void requestPasswordReset(String email);
+
+  /**
+   * Sets a new password and logs the user out of all sessions.
+   *
+   * @param token the token from the password reset link
+   * @param newPassword the new password
+   * @throws de.thu.thutorium.exceptions.InvalidEmailTokenException if the token is unknown,
+   *     expired or already used
+   * @throws IllegalArgumentException if the new password is blank
+   */
+  void resetPassword(String token, String newPassword);
+}
@@ -0,0 +1,58 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.AttachmentTO;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * The {@code AttachmentService} interface provides methods for managing chat attachments.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Store an uploaded file in the content-addressed attachment store.
+ *   <li>Look up an attachment a user may download.
+ *   <li>Resolve the location of a stored attachment.
+ * </ul>
+ */
+@Service
+public interface AttachmentService {
+  /**
+   * Stores an uploaded file. The content is streamed to the store while its SHA-256 hash is
+   * computed; a file whose content is already stored is not stored a second time.
+   *
+   * @param content the content of the file
+   * @param fileName the name of the file
+   * @param contentType the media type of the file
+   * @param uploaderId the ID of the uploading user
+   * @return the stored attachment
+   * @throws IOException if the file cannot be written to the store
+   * @throws de.thu.thutorium.exceptions.AttachmentTooLargeException if the file exceeds the
+   *     maximum attachment size
+   */
+  AttachmentTO storeAttachment(InputStream content, String fileName, String contentType, Long uploaderId)
+      throws IOException;
+
+  /**
+   * Retrieves an attachment for download.
+   *
+   * @param contentHash the content hash of the attachment
+   * @param userId the ID of the requesting user
+   * @return the attachment
+   * @throws jakarta.persistence.EntityNotFoundException if no such attachment exists
+   * @throws org.springframework.security.access.AccessDeniedException if the user neither uploaded
+   *     the attachment nor participates in a chat where it was sent
+   */
+  AttachmentTO getAttachment(String contentHash, Long userId);
+
+  /**
+   * Resolves the location of a stored attachment in the file store.
+   *
+   * @param contentHash the content hash of the attachment
+   * @return the path of the stored file
+   */
+  Path getAttachmentPath(String contentHash);
+}
@@ -0,0 +1,57 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
+import de.thu.thutorium.api.transferObjects.common.AttendanceTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The {@code AttendanceService} interface provides methods for recording and reading the
+ * attendance of students at meetings.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Record the roll call of a meeting.
+ *   <li>Read the attendance rates of all students of a course.
+ *   <li>Read the attendance rates of a student in all of their courses.
+ * </ul>
+ */
+@Service
+public interface AttendanceService {
+  /**
+   * Records the attendance of the participants of a meeting. Students whose attendance has
+   * already been recorded get their status replaced.
+   *
+   * @param tutorId the ID of the tutor submitting the roll call
+   * @param meetingId the ID of the meeting
+   * @param attendance the status of every student to record
+   * @throws jakarta.persistence.EntityNotFoundException if the meeting does not exist
+   * @throws org.springframework.security.access.AccessDeniedException if the tutor does not hold
+   *     the meeting
+   * @throws de.thu.thutorium.exceptions.InvalidMeetingRequestException if a status is not an
+   *     attendance status or a student does not participate in the meeting
+   */
+  void recordAttendance(Long tutorId, Long meetingId, List<AttendanceTO> attendance);
+
+  /**
+   * Returns the attendance rates of all students of a course.
+   *
+   * @param tutorId the ID of the tutor requesting the rates
+   * @param courseId the ID of the course
+   * @return the attendance rate of every student with recorded attendance
+   * @throws jakarta.persistence.EntityNotFoundException if the course does not exist
+   * @throws org.springframework.security.access.AccessDeniedException if the tutor does not hold
+   *     the course
+   */
+  List<AttendanceRateTO> getCourseAttendance(Long tutorId, Long courseId);
+
+  /**
+   * Returns the attendance rates of a student in all of their courses.
+   *
+   * @param studentId the ID of the student
+   * @return the attendance rate per course
+   */
+  List<AttendanceRateTO> getStudentAttendance(Long studentId);
+}
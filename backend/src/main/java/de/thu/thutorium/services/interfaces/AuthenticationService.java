@@ -2,6 +2,7 @@ package de.thu.thutorium.services.interfaces;
 
 import de.thu.thutorium.api.transferObjects.authentication.LogInRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.LogInResponseTO;
+import de.thu.thutorium.api.transferObjects.authentication.RefreshRequestTO;
 import de.thu.thutorium.api.transferObjects.authentication.RegisterRequestTO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -36,4 +37,23 @@ public interface AuthenticationService {
    *     LogInResponseTO}, which may include a token for the newly registered user.
    */
   ResponseEntity<LogInResponseTO> register(@RequestBody RegisterRequestTO registerRequestTO);
+
+  /**
+   * Exchanges a refresh token for a new access token and a new refresh token.
+   *
+   * <p>The user is loaded by the ID stored with the refresh token, so the new access token carries
+   * the current roles. The password is not verified again.
+   *
+   * @param refreshRequestTO the request containing the refresh token
+   * @return a {@link ResponseEntity} containing the authentication response {@link
+   *     LogInResponseTO} with the new tokens
+   */
+  ResponseEntity<LogInResponseTO> refresh(@RequestBody RefreshRequestTO refreshRequestTO);
+
+  /**
+   * Revokes a refresh token together with all tokens rotated from the same login.
+   *
+   * @param refreshRequestTO the request containing the refresh token
+   */
+  void logout(@RequestBody RefreshRequestTO refreshRequestTO);
 }
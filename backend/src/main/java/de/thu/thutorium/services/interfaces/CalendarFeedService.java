@@ -0,0 +1,49 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.CalendarFeedTO;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The {@code CalendarFeedService} interface provides methods for the iCalendar feed, which lets
+ * users subscribe to their meetings from a calendar application.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Create or replace the secret token of a user's feed URL.
+ *   <li>Look up a feed and its validators by token.
+ *   <li>Write the feed of a user as an iCalendar document.
+ * </ul>
+ */
+@Service
+public interface CalendarFeedService {
+  /**
+   * Creates a new feed token for the user. A previously issued token stops working.
+   *
+   * @param userId the ID of the user
+   * @return the new token
+   */
+  String createFeedToken(Long userId);
+
+  /**
+   * Looks up the feed with the given token together with its ETag and last modification time.
+   * This does not read any meetings.
+   *
+   * @param token the token of the feed URL
+   * @return the state of the feed
+   * @throws jakarta.persistence.EntityNotFoundException if the token is unknown
+   */
+  CalendarFeedTO getFeed(String token);
+
+  /**
+   * Writes the upcoming meetings of the user as an iCalendar document.
+   *
+   * @param userId the ID of the user
+   * @param writer the writer the document is streamed to
+   * @throws IOException if writing fails
+   */
+  void writeFeed(Long userId, Writer writer) throws IOException;
+}
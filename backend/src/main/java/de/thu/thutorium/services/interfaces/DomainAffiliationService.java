@@ -0,0 +1,31 @@
+package de.thu.thutorium.services.interfaces;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * The {@code DomainAffiliationService} interface derives the university affiliation of a user from
+ * the domain of their email address, using the domains listed in the {@code allowed_domain} table.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Find the affiliation of an email address.
+ *   <li>Reload the allowed domains after they have changed.
+ * </ul>
+ */
+@Service
+public interface DomainAffiliationService {
+  /**
+   * Finds the affiliation of the most specific allowed domain the email address belongs to. An
+   * allowed domain matches addresses of the domain itself and of all its subdomains.
+   *
+   * @param email the email address
+   * @return the ID of the affiliation, or empty if no allowed domain matches
+   */
+  Optional<Long> findAffiliationId(String email);
+
+  /** Reloads the allowed domains if the table has changed since they were last loaded. */
+  void refresh();
+}
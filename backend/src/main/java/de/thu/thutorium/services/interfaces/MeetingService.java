@@ -1,8 +1,13 @@
 package de.thu.thutorium.services.interfaces;
 
+import de.thu.thutorium.api.transferObjects.common.MeetingPageTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingSeriesTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -12,6 +17,10 @@ import java.util.List;
  *
  * <ul>
  *   <li>Create a new meeting.
+ *   <li>Create several meetings at once.
+ *   <li>Create a recurring meeting series.
+ *   <li>Read a user's meeting feed page by page.
+ *   <li>Find the common free time of a tutor, participants and a room.
  *   <li>Delete an existing meeting by its ID.
  *   <li>Update an existing meeting's details.
  * </ul>
@@ -31,6 +40,32 @@ public interface MeetingService {
    */
   MeetingTO createMeeting(MeetingTO meetingTO);
 
+  /**
+   * Creates several meetings at once.
+   *
+   * <p>All meetings are created in a single transaction, so either all of them or none of them are
+   * stored.
+   *
+   * @param meetingTOs the {@link MeetingTO} objects containing the data for the meetings to be
+   *     created.
+   * @return the created meetings, in the order of the given list.
+   */
+  List<MeetingTO> createMeetings(List<MeetingTO> meetingTOs);
+
+  /**
+   * Creates a recurring meeting series and all of its meetings.
+   *
+   * <p>All occurrences are checked against existing meetings before anything is stored. If any of
+   * them overlaps with a meeting of the same tutor or in the same room, no meeting is created and
+   * all conflicts are reported together.
+   *
+   * @param meetingSeriesTO the {@link MeetingSeriesTO} object describing the series.
+   * @return the created meetings in chronological order.
+   * @throws de.thu.thutorium.exceptions.MeetingSeriesConflictException if occurrences conflict with
+   *     existing meetings.
+   */
+  List<MeetingTO> createMeetingSeries(MeetingSeriesTO meetingSeriesTO);
+
   /**
    * Deletes a meeting by its unique ID.
    *
@@ -63,4 +98,48 @@ public interface MeetingService {
    * @return a list of {@link MeetingTO} objects representing the meetings related to the user
    */
   List<MeetingTO> getMeetingsForUser(Long userId);
+
+  /**
+   * Retrieves one page of the meeting feed of a user.
+   *
+   * <p>The feed contains every meeting the user holds as tutor or takes part in, each once, ordered
+   * by start time. Only meetings starting within the given window are returned.
+   *
+   * @param userId the unique identifier of the user
+   * @param from the earliest start time, or {@code null} for now
+   * @param to the latest start time (exclusive), or {@code null} for the default window
+   * @param status the status to filter by, or {@code null} for all meetings
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+   * @param limit the maximum number of meetings on the page
+   * @return the page of meetings and the cursor of the next page
+   */
+  MeetingPageTO getMeetingFeed(
+      Long userId,
+      LocalDateTime from,
+      LocalDateTime to,
+      MeetingStatus status,
+      String cursor,
+      int limit);
+
+  /**
+   * Finds the time intervals within a window in which the tutor, all participants and the room are
+   * free.
+   *
+   * @param tutorId the ID of the tutor
+   * @param participantIds the IDs of the participants, may be empty
+   * @param addressId the ID of the address of the room, or {@code null}
+   * @param roomNum the room, or {@code null}
+   * @param from the start of the window
+   * @param to the end of the window
+   * @param minDurationMinutes the minimum length of a returned interval in minutes
+   * @return the free intervals in chronological order
+   */
+  List<TimeSlotTO> findAvailability(
+      Long tutorId,
+      List<Long> participantIds,
+      Long addressId,
+      String roomNum,
+      LocalDateTime from,
+      LocalDateTime to,
+      int minDurationMinutes);
 }
@@ -12,6 +12,7 @@ import java.util.List;
  *
  * <ul>
  *   <li>Save a new message.
+ *   <li>Save a message sent by an authenticated chat participant.
  *   <li>Mark a message as read.
  * </ul>
  */
@@ -24,9 +25,26 @@ public interface MessageService {
    *
    * @param messageTO the {@link MessageTO} object containing the data of the message to be saved.
    * @return the saved {@link MessageTO} object with any modifications (e.g., ID assignment).
+   * @throws org.springframework.security.access.AccessDeniedException if the sender may not access
+   *     the referenced attachment
    */
   MessageTO saveMessage(MessageTO messageTO);
 
+  /**
+   * Saves a message whose sender and receiver are known to be participants of its chat.
+   *
+   * <p>The sender is taken from the authenticated session, not from the message. The chat, the
+   * sender and the receiver are referenced by their IDs without being loaded.
+   *
+   * @param senderId the ID of the authenticated sender
+   * @param messageTO the message; its {@code senderId} is ignored
+   * @return the saved message
+   * @throws jakarta.persistence.EntityNotFoundException if the referenced attachment does not exist
+   * @throws org.springframework.security.access.AccessDeniedException if the sender may not access
+   *     the referenced attachment
+   */
+  MessageTO saveChatMessage(Long senderId, MessageTO messageTO);
+
   /**
    * Marks a message as read.
    *
@@ -1,5 +1,6 @@
 package de.thu.thutorium.services.interfaces;
 
+import de.thu.thutorium.api.transferObjects.common.NearbyTutorTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
 
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.List;
  *   <li>Search tutors by name.
  *   <li>Search courses by name.
  *   <li>Retrieve all available course categories.
+ *   <li>Find tutors with in-person meetings near a location.
  * </ul>
  */
 public interface SearchService {
@@ -30,4 +32,28 @@ public interface SearchService {
    *     is returned.
    */
   List<TutorTO> searchTutors(String tutorName);
+
+  /**
+   * Finds the tutors with upcoming offline or hybrid meetings within a radius of a location,
+   * nearest first. The location is given either as coordinates or as postal code, which is
+   * geocoded from the bundled postal code table.
+   *
+   * @param latitude the latitude of the location, or {@code null} to use the postal code
+   * @param longitude the longitude of the location, or {@code null} to use the postal code
+   * @param postalCode the postal code of the location
+   * @param country the ISO code or name of the country of the postal code
+   * @param radiusKm the search radius in kilometres
+   * @param limit the maximum number of tutors to return
+   * @return the nearest tutors
+   * @throws IllegalArgumentException if no location is given, or the radius or limit is out of
+   *     range
+   * @throws de.thu.thutorium.exceptions.ResourceNotFoundException if the postal code is unknown
+   */
+  List<NearbyTutorTO> findTutorsNearby(
+      Double latitude,
+      Double longitude,
+      String postalCode,
+      String country,
+      double radiusKm,
+      int limit);
 }
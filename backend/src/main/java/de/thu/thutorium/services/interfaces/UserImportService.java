@@ -0,0 +1,55 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.RosterImportReportTO;
+import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The {@code UserImportService} interface provides the bulk creation of user accounts from a
+ * university roster.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Import a CSV or JSON roster of students or tutors of a university and report the entries
+ *       that could not be imported.
+ * </ul>
+ */
+@Service
+public interface UserImportService {
+  /**
+   * Creates an account for every valid entry of a roster. Entries with a password get that
+   * password; all other users are invited by email to choose one. Entries that are invalid, appear
+   * twice in the roster or belong to an existing account are skipped and listed in the report.
+   *
+   * <p>If no university is given, the affiliation of every entry is derived from its email domain
+   * by the {@link DomainAffiliationService}; entries whose domain is not allowed are skipped.
+   *
+   * @param roster the uploaded roster, see {@link de.thu.thutorium.Utility.RosterReader} for the
+   *     format
+   * @param contentType the content type of the upload
+   * @param universityName the name of the university all users belong to, or {@code null} to derive
+   *     the affiliation from the email domains
+   * @param affiliationType the affiliation of the users with the university; ignored if no
+   *     university is given
+   * @param defaultRole the role of entries that do not name one
+   * @return the number of created users and the entries that were not imported. If an entry cannot
+   *     be read, the entries before it are imported and the report is marked incomplete, naming the
+   *     entry at which reading stopped
+   * @throws IOException if the roster cannot be opened
+   * @throws IllegalArgumentException if the content type is not supported, the roster has no valid
+   *     header, or the default role cannot be imported
+   * @throws jakarta.persistence.EntityNotFoundException if the university does not exist
+   */
+  RosterImportReportTO importRoster(
+      InputStream roster,
+      String contentType,
+      String universityName,
+      AffiliationType affiliationType,
+      Role defaultRole)
+      throws IOException;
+}
@@ -1,6 +1,7 @@
 package de.thu.thutorium.services.interfaces;
 
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import jakarta.validation.Valid;
 
@@ -78,9 +79,21 @@ public interface UserService {
    *
    * @param studentId the id of the student
    * @param courseId the id of the course
+   * @throws de.thu.thutorium.exceptions.ScheduleClashException if upcoming meetings of the course
+   *     overlap with meetings of the student's other courses
    */
   void enrollCourse(Long studentId, Long courseId);
 
+  /**
+   * Checks which upcoming meetings of the given courses would overlap with meetings of the courses
+   * the student is enrolled in, or with each other, without enrolling the student.
+   *
+   * @param studentId the id of the student
+   * @param courseIds the ids of the courses the student considers enrolling in
+   * @return all clashes, empty if the student could enroll in all courses
+   */
+  List<ScheduleClashTO> findScheduleClashes(Long studentId, List<Long> courseIds);
+
   /**
    * User rates an existing tutor.
    *
@@ -0,0 +1,46 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.UtilizationTO;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@code UtilizationService} interface provides the room and campus utilization reports.
+ *
+ * <p>It exposes the following functionalities:
+ *
+ * <ul>
+ *   <li>Report the utilization of the rooms of a campus per hour of the week.
+ *   <li>Report the utilization of campuses per hour of the week.
+ *   <li>Rebuild the utilization rollup from the meetings.
+ * </ul>
+ */
+@Service
+public interface UtilizationService {
+  /**
+   * Returns the utilization of every room of a campus per hour of the week.
+   *
+   * @param addressId the ID of the address of the campus
+   * @param from the first day of the report, extended to the start of its week
+   * @param to the last day of the report, extended to the end of its week
+   * @return the utilization per room and hour
+   * @throws IllegalArgumentException if the range is empty or too long
+   */
+  List<UtilizationTO> getRoomUtilization(Long addressId, LocalDate from, LocalDate to);
+
+  /**
+   * Returns the utilization of campuses per hour of the week.
+   *
+   * @param addressId the ID of the address of a single campus, or {@code null} for all campuses
+   * @param from the first day of the report, extended to the start of its week
+   * @param to the last day of the report, extended to the end of its week
+   * @return the utilization per campus and hour
+   * @throws IllegalArgumentException if the range is empty or too long
+   */
+  List<UtilizationTO> getCampusUtilization(Long addressId, LocalDate from, LocalDate to);
+
+  /** Recomputes the utilization rollup from all meetings. */
+  void rebuild();
+}
@@ -0,0 +1,51 @@
+package de.thu.thutorium.Utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainSuffixTrieTest {
+
+    @Test
+    void testMatchesDomainAndSubdomains() {
+        DomainSuffixTrie<Long> trie = new DomainSuffixTrie<>();
+        trie.put("thu.de", 1L);
+
+        assertEquals(1L, trie.findLongestMatch("thu.de"));
+        assertEquals(1L, trie.findLongestMatch("Studmail.THU.de."));
+        assertNull(trie.findLongestMatch("de"));
+        assertNull(trie.findLongestMatch("notthu.de"));
+        assertNull(trie.findLongestMatch("thu.de.example.com"));
+    }
+
+    @Test
+    void testMostSpecificDomainWins() {
+        DomainSuffixTrie<Long> trie = new DomainSuffixTrie<>();
+        trie.put("uni-ulm.de", 1L);
+        trie.put("alumni.uni-ulm.de", 2L);
+
+        assertEquals(2L, trie.findLongestMatch("alumni.uni-ulm.de"));
+        assertEquals(2L, trie.findLongestMatch("mail.alumni.uni-ulm.de"));
+        assertEquals(1L, trie.findLongestMatch("mail.uni-ulm.de"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void testReplacesValueOfSameDomain() {
+        DomainSuffixTrie<Long> trie = new DomainSuffixTrie<>();
+        trie.put("thu.de", 1L);
+        trie.put("THU.de", 3L);
+
+        assertEquals(3L, trie.findLongestMatch("thu.de"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testRejectsInvalidDomain() {
+        DomainSuffixTrie<Long> trie = new DomainSuffixTrie<>();
+
+        assertThrows(IllegalArgumentException.class, () -> trie.put(" ", 1L));
+        assertThrows(IllegalArgumentException.class, () -> trie.put("thu..de", 1L));
+        assertNull(trie.findLongestMatch(null));
+    }
+}
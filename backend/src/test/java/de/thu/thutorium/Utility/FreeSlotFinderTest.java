@@ -0,0 +1,63 @@
+package de.thu.thutorium.Utility;
+
+import de.thu.thutorium.api.transferObjects.common.TimeSlotTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FreeSlotFinderTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 13, 0, 0);
+
+    private static TimeSlotTO slot(int startHour, int startMinute, int endHour, int endMinute) {
+        return new TimeSlotTO(DAY.withHour(startHour).withMinute(startMinute),
+                DAY.withHour(endHour).withMinute(endMinute));
+    }
+
+    @Test
+    void testNoBusyIntervalsReturnsWholeWindow() {
+        List<TimeSlotTO> free = FreeSlotFinder.findFreeSlots(
+                List.of(), DAY.withHour(8), DAY.withHour(18), Duration.ZERO);
+
+        assertEquals(List.of(slot(8, 0, 18, 0)), free);
+    }
+
+    @Test
+    void testOverlappingAndUnsortedIntervalsAreMerged() {
+        List<TimeSlotTO> busy = List.of(
+                slot(13, 0, 14, 0),
+                slot(9, 0, 10, 30),
+                slot(10, 0, 11, 0),
+                slot(11, 0, 12, 0),
+                slot(9, 30, 9, 45));
+
+        List<TimeSlotTO> free = FreeSlotFinder.findFreeSlots(
+                busy, DAY.withHour(8), DAY.withHour(18), Duration.ZERO);
+
+        assertEquals(List.of(slot(8, 0, 9, 0), slot(12, 0, 13, 0), slot(14, 0, 18, 0)), free);
+    }
+
+    @Test
+    void testIntervalsExceedingTheWindowAreClipped() {
+        List<TimeSlotTO> busy = List.of(slot(7, 0, 9, 0), slot(17, 0, 20, 0));
+
+        List<TimeSlotTO> free = FreeSlotFinder.findFreeSlots(
+                busy, DAY.withHour(8), DAY.withHour(18), Duration.ZERO);
+
+        assertEquals(List.of(slot(9, 0, 17, 0)), free);
+    }
+
+    @Test
+    void testShortGapsAreDropped() {
+        List<TimeSlotTO> busy = List.of(slot(9, 0, 10, 0), slot(10, 30, 12, 0));
+
+        List<TimeSlotTO> free = FreeSlotFinder.findFreeSlots(
+                busy, DAY.withHour(9), DAY.withHour(14), Duration.ofMinutes(45));
+
+        assertEquals(List.of(slot(12, 0, 14, 0)), free);
+    }
+}
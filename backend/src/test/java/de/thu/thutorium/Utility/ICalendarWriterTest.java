@@ -0,0 +1,54 @@
+package de.thu.thutorium.Utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarWriterTest {
+
+    @Test
+    void testEscape() {
+        assertEquals("Room 1\\, Building A\\; Floor 2\\nback\\\\slash",
+                ICalendarWriter.escape("Room 1, Building A; Floor 2\nback\\slash"));
+        assertEquals("", ICalendarWriter.escape(null));
+    }
+
+    @Test
+    void testFoldKeepsLinesWithinLimit() {
+        String line = "DESCRIPTION:" + "ä".repeat(100);
+
+        String folded = ICalendarWriter.fold(line);
+
+        assertTrue(folded.endsWith("\r\n"));
+        for (String physical : folded.split("\r\n")) {
+            assertTrue(physical.getBytes(StandardCharsets.UTF_8).length <= 75, physical);
+        }
+        assertEquals(line, folded.replace("\r\n ", "").replace("\r\n", ""));
+    }
+
+    @Test
+    void testWritesEvent() throws Exception {
+        StringWriter out = new StringWriter();
+        ICalendarWriter writer = new ICalendarWriter(out);
+
+        writer.beginCalendar("-//Test//EN", "Meetings");
+        writer.event(new ICalendarWriter.Event("meeting-1@test",
+                Instant.parse("2025-01-01T00:00:00Z"),
+                Instant.parse("2025-01-13T09:00:00Z"), Instant.parse("2025-01-13T10:30:00Z"),
+                "Math, Tutorial", "Room 101", null, "https://example.com/meet"));
+        writer.endCalendar();
+
+        String calendar = out.toString();
+        assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(calendar.contains("DTSTART:20250113T090000Z\r\n"));
+        assertTrue(calendar.contains("DTEND:20250113T103000Z\r\n"));
+        assertTrue(calendar.contains("SUMMARY:Math\\, Tutorial\r\n"));
+        assertTrue(calendar.contains("LOCATION:Room 101\r\n"));
+        assertFalse(calendar.contains("DESCRIPTION"));
+        assertTrue(calendar.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+    }
+}
@@ -0,0 +1,105 @@
+package de.thu.thutorium.Utility;
+
+import de.thu.thutorium.exceptions.RosterReadException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterReaderTest {
+
+    private static RosterReader open(String content, String contentType) throws IOException {
+        return RosterReader.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), contentType);
+    }
+
+    @Test
+    void testReadsCsvWithQuotedFields() throws Exception {
+        String csv = "\uFEFFEmail,First Name,last_name,Role\r\n"
+                + "jane@example.com,Jane,\"Doe, Jr.\",tutor\r\n"
+                + "\r\n"
+                + "john@example.com,\"Jo\"\"hn\",\"Multi\nLine\",\r\n";
+
+        try (RosterReader reader = open(csv, "text/csv")) {
+            RosterReader.Entry first = reader.next();
+            assertEquals(1, first.row());
+            assertEquals("jane@example.com", first.email());
+            assertEquals("Doe, Jr.", first.lastName());
+            assertEquals("tutor", first.role());
+            assertNull(first.password());
+
+            RosterReader.Entry second = reader.next();
+            assertEquals(2, second.row());
+            assertEquals("Jo\"hn", second.firstName());
+            assertEquals("Multi\nLine", second.lastName());
+            assertNull(second.role());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testCsvRowWithWrongColumnCountIsReportedAsInvalid() throws Exception {
+        try (RosterReader reader = open("email,firstName,lastName\njane@example.com,Jane\n", "text/csv")) {
+            RosterReader.Entry entry = reader.next();
+            assertNotNull(entry.error());
+            assertNull(entry.email());
+        }
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> open("email,name\n", "text/csv"));
+    }
+
+    @Test
+    void testReadsJsonArray() throws Exception {
+        String json = "[{\"email\":\"jane@example.com\",\"firstName\":\"Jane\",\"lastName\":\"Doe\","
+                + "\"password\":\"secret\",\"tags\":[\"a\"]}, 42,"
+                + "{\"email\":\"john@example.com\",\"first_name\":\"John\",\"last_name\":\"Roe\",\"role\":null}]";
+
+        try (RosterReader reader = open(json, "application/json;charset=UTF-8")) {
+            RosterReader.Entry first = reader.next();
+            assertEquals("secret", first.password());
+            assertEquals("Doe", first.lastName());
+
+            RosterReader.Entry second = reader.next();
+            assertEquals(2, second.row());
+            assertNotNull(second.error());
+
+            RosterReader.Entry third = reader.next();
+            assertEquals("John", third.firstName());
+            assertNull(third.role());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testTruncatedJsonNamesTheEntryThatCannotBeRead() throws Exception {
+        String json = "[{\"email\":\"jane@example.com\",\"firstName\":\"Jane\",\"lastName\":\"Doe\"},"
+                + "{\"email\":\"john@example.com\",\"firstName\":";
+
+        try (RosterReader reader = open(json, "application/json")) {
+            assertEquals("Jane", reader.next().firstName());
+            RosterReadException ex = assertThrows(RosterReadException.class, reader::next);
+            assertEquals(2, ex.getRow());
+        }
+    }
+
+    @Test
+    void testUnterminatedCsvFieldNamesTheEntryThatCannotBeRead() throws Exception {
+        try (RosterReader reader = open("email,firstName,lastName\njane@example.com,\"Jane,Doe\n", "text/csv")) {
+            RosterReadException ex = assertThrows(RosterReadException.class, reader::next);
+            assertEquals(1, ex.getRow());
+        }
+    }
+
+    @Test
+    void testUnsupportedContentTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> open("<roster/>", "application/xml"));
+        assertThrows(IllegalArgumentException.class, () -> open("{}", "application/json"));
+    }
+}
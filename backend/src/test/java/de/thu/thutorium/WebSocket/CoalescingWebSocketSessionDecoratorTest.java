@@ -0,0 +1,119 @@
+package de.thu.thutorium.WebSocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingWebSocketSessionDecoratorTest {
+
+    @Mock
+    private WebSocketSession session;
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testFramesWithinWindowAreWrittenOnce() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 10_000, 65536);
+
+        decorator.sendMessage(new TextMessage("MESSAGE\n\nfirst\u0000"));
+        decorator.sendMessage(new TextMessage("MESSAGE\n\nsecond\u0000"));
+        verify(session, never()).sendMessage(any());
+
+        decorator.flush();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(1)).sendMessage(captor.capture());
+        assertEquals("MESSAGE\n\nfirst\u0000MESSAGE\n\nsecond\u0000", captor.getValue().getPayload());
+    }
+
+    @Test
+    void testScheduledFlushAfterWindow() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 5, 65536);
+
+        decorator.sendMessage(new TextMessage("frame\u0000"));
+
+        verify(session, timeout(1000).times(1)).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    void testMaxBatchSizeFlushesImmediately() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 10_000, 8);
+
+        decorator.sendMessage(new TextMessage("0123456789\u0000"));
+
+        verify(session, times(1)).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    void testBinaryMessageFlushesBufferFirst() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 10_000, 65536);
+        BinaryMessage binary = new BinaryMessage(new byte[] {1, 2, 3});
+
+        decorator.sendMessage(new TextMessage("frame\u0000"));
+        decorator.sendMessage(binary);
+
+        InOrder inOrder = inOrder(session);
+        inOrder.verify(session).sendMessage(any(TextMessage.class));
+        inOrder.verify(session).sendMessage(binary);
+    }
+
+    @Test
+    void testScheduledFlushClosesSessionOverLimit() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new SessionLimitExceededException("Buffer size limit exceeded", CloseStatus.SESSION_NOT_RELIABLE))
+                .when(session).sendMessage(any());
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 5, 65536);
+
+        decorator.sendMessage(new TextMessage("frame\u0000"));
+
+        verify(session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void testDiscardDropsPendingFrames() throws Exception {
+        CoalescingWebSocketSessionDecorator decorator =
+                new CoalescingWebSocketSessionDecorator(session, scheduler, 10_000, 65536);
+
+        decorator.sendMessage(new TextMessage("frame\u0000"));
+        decorator.discard();
+        decorator.flush();
+
+        verify(session, never()).sendMessage(any());
+    }
+}
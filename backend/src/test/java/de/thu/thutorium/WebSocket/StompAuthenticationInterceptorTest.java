@@ -0,0 +1,198 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.security.JwtPrincipal;
+import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.security.TokenRevocationService;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthenticationInterceptorTest {
+
+    private static final JwtPrincipal PRINCIPAL =
+            new JwtPrincipal(7L, "jane@example.com", List.of(), "jti", Instant.now(), null);
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private StompAuthenticationInterceptor interceptor;
+
+    private static StompHeaderAccessor accessor(StompCommand command) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void testConnectPinsPrincipal() {
+        when(jwtService.authenticate("token")).thenReturn(PRINCIPAL);
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer token");
+
+        interceptor.preSend(message(accessor), channel);
+
+        assertEquals(PRINCIPAL, accessor.getUser());
+    }
+
+    @Test
+    void testConnectWithoutTokenIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(message(accessor), channel));
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void testConnectWithInvalidTokenIsRejected() {
+        when(jwtService.authenticate("broken")).thenThrow(new MalformedJwtException("broken"));
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer broken");
+
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(message(accessor), channel));
+        assertNull(accessor.getUser());
+    }
+
+    @Test
+    void testConnectWithRevokedTokenIsRejected() {
+        when(jwtService.authenticate("token")).thenReturn(PRINCIPAL);
+        when(tokenRevocationService.isRevoked(PRINCIPAL)).thenReturn(true);
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer token");
+
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeToOwnChatIsAccepted() {
+        when(chatMembershipCache.isParticipant(3L, 7L)).thenReturn(true);
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/chat/3");
+
+        assertDoesNotThrow(() -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeToForeignChatIsRejected() {
+        when(chatMembershipCache.isParticipant(4L, 7L)).thenReturn(false);
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/chat/4");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeToForeignRemindersIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/reminders/8");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeToWildcardChatIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/chat/*");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+        verifyNoInteractions(chatMembershipCache);
+    }
+
+    @Test
+    void testSubscribeToOtherDestinationIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/**");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeWithoutDestinationIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSubscribeToOwnRemindersIsAccepted() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/reminders/7");
+
+        assertDoesNotThrow(() -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSendWithoutAuthenticatedSessionIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SEND);
+        accessor.setDestination("/app/chat/3/sendMessage");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSendToOwnChatIsAccepted() {
+        when(chatMembershipCache.isParticipant(3L, 7L)).thenReturn(true);
+        StompHeaderAccessor accessor = accessor(StompCommand.SEND);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/app/chat/3/sendMessage");
+
+        assertDoesNotThrow(() -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSendToForeignGatewayChatIsRejected() {
+        when(chatMembershipCache.isParticipant(4L, 7L)).thenReturn(false);
+        StompHeaderAccessor accessor = accessor(StompCommand.SEND);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/app/gateway/chat/4/sendMessage");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+    }
+
+    @Test
+    void testSendToBrokerTopicIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SEND);
+        accessor.setUser(PRINCIPAL);
+        accessor.setDestination("/topic/chat/3");
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(accessor), channel));
+        verifyNoInteractions(chatMembershipCache);
+    }
+}
@@ -0,0 +1,99 @@
+package de.thu.thutorium.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(
+                initialLimit,
+                2,
+                100,
+                Duration.ofMillis(500),
+                0.5,
+                Map.of(RequestPriority.NORMAL, 0.8, RequestPriority.LOW, 0.5),
+                now::get);
+    }
+
+    @Test
+    void testLowPriorityIsShedBeforeCritical() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+        }
+        assertFalse(limiter.tryAcquire(RequestPriority.LOW));
+        assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+        assertFalse(limiter.tryAcquire(RequestPriority.NORMAL));
+        assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertTrue(limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertFalse(limiter.tryAcquire(RequestPriority.CRITICAL));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void testSlowResponsesDecreaseLimitOncePerThreshold() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.tryAcquire(RequestPriority.NORMAL);
+
+        limiter.release(SLOW);
+        limiter.release(SLOW);
+        assertEquals(20, limiter.getLimit());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire(RequestPriority.NORMAL);
+        limiter.release(SLOW);
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void testLimitNeverDropsBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            limiter.tryAcquire(RequestPriority.CRITICAL);
+            limiter.release(SLOW);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testFastResponsesIncreaseUsedLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 4; i++) {
+                limiter.tryAcquire(RequestPriority.CRITICAL);
+            }
+            for (int i = 0; i < 4; i++) {
+                limiter.release(FAST);
+            }
+        }
+        assertTrue(limiter.getLimit() > 4);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testIdleLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(RequestPriority.CRITICAL);
+            limiter.release(FAST);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+}
@@ -0,0 +1,86 @@
+package de.thu.thutorium.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testBurstIsAdmittedAndThenLimited() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 3, 16, now::get);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testBucketRefillsOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 16, now::get);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void testRefillIsCappedAtBurst() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 2, 16, now::get);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void testKeysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 1024, now::get);
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+
+        assertEquals(0, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    void testKeysWithTheSameHashAreLimitedIndependently() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 16, now::get);
+        assertEquals(0, limiter.tryAcquire("Aa"));
+        assertTrue(limiter.tryAcquire("Aa") > 0);
+
+        assertEquals(0, limiter.tryAcquire("BB"));
+        assertTrue(limiter.tryAcquire("BB") > 0);
+    }
+
+    @Test
+    void testIdleBucketsAreEvictedForNewKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, 2, now::get);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+        assertTrue(limiter.tryAcquire("10.0.0.3") > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.3"));
+    }
+
+    @Test
+    void testInvalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 1, 0));
+    }
+}
@@ -0,0 +1,151 @@
+package de.thu.thutorium.benchmark;
+
+import de.thu.thutorium.WebSocket.IdleSessionReaper;
+import de.thu.thutorium.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Capacity benchmark for the {@code /chat} endpoint: opens a large number of mostly idle STOMP
+ * connections against one node and checks that the heap they occupy stays within the budget.
+ *
+ * <p>The benchmark is skipped unless it is requested explicitly:
+ *
+ * <pre>
+ * mvn test -Dtest=ChatConnectionCapacityBenchmarkTest -Dbenchmark.websocket=true \
+ *     -Dbenchmark.websocket.connections=50000 -Dbenchmark.websocket.heap-budget-mb=2048
+ * </pre>
+ *
+ * <p>Client and server run in the same JVM, so the measured heap includes the client side of every
+ * connection as well and is an upper bound for the server. Holding 50k loopback connections needs
+ * an open file limit of at least 110k ({@code ulimit -n}) and an ephemeral port range with more
+ * than 50k ports ({@code net.ipv4.ip_local_port_range}).
+ */
+@EnabledIfSystemProperty(named = "benchmark.websocket", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.max-connections=100000", "server.tomcat.accept-count=10000"})
+class ChatConnectionCapacityBenchmarkTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IdleSessionReaper idleSessionReaper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void holdsIdleConnectionsWithinHeapBudget() throws Exception {
+        int connections = Integer.getInteger("benchmark.websocket.connections", 50_000);
+        long heapBudgetBytes = Long.getLong("benchmark.websocket.heap-budget-mb", 2048L) * 1024 * 1024;
+        int maxPendingHandshakes = Integer.getInteger("benchmark.websocket.pending-handshakes", 500);
+        // STOMP sessions authenticate on CONNECT, so every connection presents a token
+        String token = jwtService.generateToken(
+                1L, User.withUsername("benchmark@example.com").password("x").roles("STUDENT").build());
+        String connectFrame = "CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:10000,10000\n"
+                + "Authorization:Bearer " + token + "\n\n\u0000";
+
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        String url = "ws://localhost:" + port + "/chat/websocket";
+        Queue<WebSocketSession> sessions = new ConcurrentLinkedQueue<>();
+        CountDownLatch connected = new CountDownLatch(connections);
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore pending = new Semaphore(maxPendingHandshakes);
+        TextWebSocketHandler handler = new TextWebSocketHandler() {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                session.sendMessage(new TextMessage(connectFrame));
+            }
+
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                if (message.getPayload().startsWith("CONNECTED")) {
+                    connected.countDown();
+                }
+            }
+        };
+
+        long heapBefore = usedHeapAfterGc();
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            pending.acquire();
+            client.execute(handler, url).whenComplete((session, ex) -> {
+                pending.release();
+                if (ex != null) {
+                    failures.incrementAndGet();
+                    connected.countDown();
+                } else {
+                    sessions.add(session);
+                }
+            });
+        }
+        assertTrue(connected.await(10, TimeUnit.MINUTES), "Connections were not established in time");
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Keep the connections alive like an idle browser tab: one client heartbeat every 10 seconds
+        ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+        heartbeats.scheduleAtFixedRate(() -> sessions.forEach(this::sendHeartbeat), 10, 10, TimeUnit.SECONDS);
+        try {
+            TimeUnit.SECONDS.sleep(30);
+            long heapUsed = usedHeapAfterGc() - heapBefore;
+            int open = idleSessionReaper.getSessionCount();
+
+            System.out.printf(
+                    "Opened %d connections in %d ms (%d failed), %d open on the server, heap %d MB (%d bytes per connection)%n",
+                    connections, connectMillis, failures.get(), open, heapUsed / (1024 * 1024),
+                    open == 0 ? 0 : heapUsed / open);
+
+            assertEquals(0, failures.get(), "Some connections could not be established");
+            assertEquals(connections, open, "Idle connections were dropped by the server");
+            assertTrue(heapUsed <= heapBudgetBytes,
+                    "Heap used by " + connections + " connections exceeds the budget: " + heapUsed + " bytes");
+        } finally {
+            heartbeats.shutdownNow();
+            for (WebSocketSession session : sessions) {
+                session.close();
+            }
+        }
+    }
+
+    private void sendHeartbeat(WebSocketSession session) {
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(new TextMessage("\n"));
+            }
+        } catch (Exception ignored) {
+            // the session was closed by the server, which the final assertions report
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
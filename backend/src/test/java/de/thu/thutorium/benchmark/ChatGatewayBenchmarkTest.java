@@ -0,0 +1,144 @@
+package de.thu.thutorium.benchmark;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Side-by-side benchmark of the chat read paths served by the {@code WebSocketController} and by
+ * the chat gateway under {@code /gateway}.
+ *
+ * <p>The benchmark is skipped unless it is requested explicitly. It runs against the configured
+ * database and needs an existing user with at least one chat:
+ *
+ * <pre>
+ * mvn test -Dtest=ChatGatewayBenchmarkTest -Dbenchmark.chat=true \
+ *     -Dbenchmark.chat.email=student@example.com -Dbenchmark.chat.chat-id=1 \
+ *     -Dbenchmark.chat.clients=200 -Dbenchmark.chat.requests=20000
+ * </pre>
+ *
+ * <p>For every endpoint pair it prints throughput, median and 99th percentile latency and the
+ * number of failed requests. The servlet thread pool is deliberately kept small, which is where
+ * the blocking path saturates first.
+ */
+@EnabledIfSystemProperty(named = "benchmark.chat", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "chat.gateway.enabled=true",
+                "server.tomcat.threads.max=50",
+                // all load comes from one address, which the request admission would throttle
+                "security.admission.enabled=false"})
+class ChatGatewayBenchmarkTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().build();
+
+    private String token;
+    private Long userId;
+    private Long chatId;
+    private int clients;
+    private int requests;
+
+    @BeforeEach
+    void setUp() {
+        UserDBO user = userRepository.findByEmail(System.getProperty("benchmark.chat.email")).orElseThrow();
+        userId = user.getUserId();
+        chatId = Long.getLong("benchmark.chat.chat-id");
+        clients = Integer.getInteger("benchmark.chat.clients", 200);
+        requests = Integer.getInteger("benchmark.chat.requests", 20_000);
+        token = jwtService.generateToken(userId, user);
+    }
+
+    @Test
+    void compareChatReadPaths() throws Exception {
+        // Warm up both paths before measuring
+        run("/get-chat-summaries?userId=" + userId, requests / 10);
+        run("/gateway/get-chat-summaries?userId=" + userId, requests / 10);
+
+        List<String> report = new ArrayList<>();
+        report.add(run("/get-chat-summaries?userId=" + userId, requests));
+        report.add(run("/gateway/get-chat-summaries?userId=" + userId, requests));
+        report.add(run("/get-messages-chat?chatId=" + chatId, requests));
+        report.add(run("/gateway/get-messages-chat?chatId=" + chatId, requests));
+
+        System.out.printf("%-45s %10s %10s %10s %8s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "errors");
+        report.forEach(System.out::println);
+    }
+
+    private String run(String path, int count) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response =
+                                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - requestStart;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        Arrays.sort(latencies);
+        return String.format("%-45s %10.0f %10.2f %10.2f %8d",
+                path.substring(0, path.indexOf('?')),
+                count / (elapsed / 1e9),
+                latencies[count / 2] / 1e6,
+                latencies[(int) (count * 0.99)] / 1e6,
+                errors.get());
+    }
+}
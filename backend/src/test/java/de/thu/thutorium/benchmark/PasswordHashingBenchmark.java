@@ -0,0 +1,62 @@
+package de.thu.thutorium.benchmark;
+
+import de.thu.thutorium.security.AuthConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the CPU cost of a login per password hashing configuration.
+ *
+ * <p>{@link #verify} is the cost of one login on one core, {@link #encode} the cost of a
+ * registration or of the rehash after the work factor has been raised. Dividing the number of
+ * verification threads ({@code security.login.threads}) by the verify time gives the number of
+ * logins per second the server can sustain. The benchmark is started by {@link
+ * PasswordHashingBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    /** The encoder and its work factor: BCrypt strength or PBKDF2 iterations. */
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "pbkdf2:310000", "pbkdf2:600000"})
+    public String configuration;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = configuration.split(":");
+        int workFactor = Integer.parseInt(parts[1]);
+        encoder = AuthConfig.createPasswordEncoder(parts[0], workFactor, workFactor);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,51 @@
+package de.thu.thutorium.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link PasswordHashingBenchmark} and prints the sustainable login rate per
+ * configuration.
+ *
+ * <p>The benchmark is skipped unless it is requested explicitly:
+ *
+ * <pre>
+ * mvn test -Dtest=PasswordHashingBenchmarkTest -Dbenchmark.login=true -Dbenchmark.login.threads=4
+ * </pre>
+ *
+ * <p>At the start of term about 20000 students log in within an hour, i.e. roughly 6 logins per
+ * second on average and several times that at the peak. A configuration is affordable if the
+ * printed rate for the planned number of verification threads stays well above the peak.
+ */
+@EnabledIfSystemProperty(named = "benchmark.login", matches = "true")
+class PasswordHashingBenchmarkTest {
+
+    @Test
+    void runPasswordHashingBenchmark() throws Exception {
+        int threads = Integer.getInteger("benchmark.login.threads", Runtime.getRuntime().availableProcessors());
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getName())
+                // surefire starts the tests from a manifest-only jar that a forked JVM cannot use
+                .forks(0)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+        for (RunResult result : results) {
+            String label = result.getParams().getBenchmark().replaceAll(".*\\.", "")
+                    + " " + result.getParams().getParam("configuration");
+            double millis = result.getPrimaryResult().getScore();
+            System.out.printf("%-24s %8.1f ms/op  %8.1f ops/s with %d threads%n",
+                    label, millis, threads * 1000.0 / millis, threads);
+        }
+    }
+}
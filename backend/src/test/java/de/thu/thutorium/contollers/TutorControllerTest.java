@@ -7,6 +7,7 @@ import de.thu.thutorium.api.transferObjects.common.ProgressTO;
 import de.thu.thutorium.services.interfaces.CourseService;
 import de.thu.thutorium.services.interfaces.MeetingService;
 import de.thu.thutorium.services.interfaces.ProgressService;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -89,6 +90,30 @@ class TutorControllerTest {
         verify(meetingService, times(1)).createMeeting(meetingTO);
     }
 
+    @Test
+    void createMeetings_Success() {
+        List<MeetingTO> meetings = List.of(meetingTO, meetingTO);
+        when(meetingService.createMeetings(meetings)).thenReturn(meetings);
+
+        ResponseEntity<?> response = tutorController.createMeetings(meetings);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(meetings, response.getBody());
+        verify(meetingService, times(1)).createMeetings(meetings);
+    }
+
+    @Test
+    void createMeetings_ParticipantNotFound() {
+        List<MeetingTO> meetings = List.of(meetingTO);
+        when(meetingService.createMeetings(meetings))
+                .thenThrow(new EntityNotFoundException("Participant not found with ID: 42"));
+
+        ResponseEntity<?> response = tutorController.createMeetings(meetings);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Error: Participant not found with ID: 42", response.getBody());
+    }
+
     @Test
     void deleteMeeting_Success() {
         doNothing().when(meetingService).deleteMeeting(1L);
@@ -3,10 +3,12 @@ package de.thu.thutorium.contollers;
 import de.thu.thutorium.api.controllers.UserController;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingPageTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
 import de.thu.thutorium.services.interfaces.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -91,6 +93,28 @@ class UserControllerTest {
         verify(userService, times(1)).updateUser(eq(1L), any(UserTO.class));
     }
 
+    @Test
+    void getMeetingFeed_Success() {
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        UserDBO mockUser = mock(UserDBO.class);
+        when(authentication.getPrincipal()).thenReturn(mockUser);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(mockUser.getUserId()).thenReturn(1L);
+
+        MeetingPageTO page = new MeetingPageTO(List.of(new MeetingTO()), "next");
+        when(meetingService.getMeetingFeed(1L, null, null, MeetingStatus.SCHEDULED, null, 20)).thenReturn(page);
+
+        ResponseEntity<?> response = userController.getMeetingFeed(null, null, MeetingStatus.SCHEDULED, null, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
     @Test
     void deleteMyAccount_Success() {
         Authentication authentication = mock(Authentication.class);
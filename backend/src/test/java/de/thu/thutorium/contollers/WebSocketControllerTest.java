@@ -1,10 +1,12 @@
 package de.thu.thutorium.contollers;
 
+import de.thu.thutorium.WebSocket.ChatMembershipCache;
 import de.thu.thutorium.api.controllers.WebSocketController;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.chat.ReceiverTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.security.JwtPrincipal;
 import de.thu.thutorium.services.interfaces.ChatService;
 import de.thu.thutorium.services.interfaces.MessageService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +16,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,6 +34,9 @@ class WebSocketControllerTest {
     @Mock
     private ChatService chatService;
 
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
     @InjectMocks
     private WebSocketController webSocketController;
 
@@ -68,27 +75,94 @@ class WebSocketControllerTest {
 
     @Test
     void testSendMessage() {
-        when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
+        when(chatMembershipCache.isParticipant(1L, 1L)).thenReturn(true);
+        when(chatMembershipCache.isParticipant(1L, 2L)).thenReturn(true);
+        when(messageService.saveChatMessage(1L, mockMessageTO)).thenReturn(mockMessageTO);
 
-        MessageTO result = webSocketController.sendMessage(mockMessageTO);
+        MessageTO result = webSocketController.sendMessage(1L, mockMessageTO, principal(1L));
 
         assertNotNull(result);
         assertEquals("Test message", result.getMessageContent());
-        verify(messageService, times(1)).saveMessage(mockMessageTO);
+        verify(messageService, times(1)).saveChatMessage(1L, mockMessageTO);
+    }
+
+    @Test
+    void testSendMessageTakesSenderFromPrincipal() {
+        mockMessageTO.setSenderId(2L);
+        mockMessageTO.setReceiverId(1L);
+        when(chatMembershipCache.isParticipant(1L, 2L)).thenReturn(true);
+        when(chatMembershipCache.isParticipant(1L, 1L)).thenReturn(true);
+        when(messageService.saveChatMessage(2L, mockMessageTO)).thenReturn(mockMessageTO);
+
+        webSocketController.sendMessage(1L, mockMessageTO, principal(2L));
+
+        verify(messageService, times(1)).saveChatMessage(2L, mockMessageTO);
+        verify(messageService, never()).saveChatMessage(1L, mockMessageTO);
+    }
+
+    @Test
+    void testSendMessageRejectsNonParticipant() {
+        when(chatMembershipCache.isParticipant(1L, 3L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class,
+                () -> webSocketController.sendMessage(1L, mockMessageTO, principal(3L)));
+
+        verifyNoInteractions(messageService);
+    }
+
+    private static JwtPrincipal principal(Long userId) {
+        return new JwtPrincipal(userId, "user" + userId + "@example.com", List.of(), null, Instant.now(), null);
     }
 
     @Test
     void testPostSendMessage() {
+        when(chatMembershipCache.isParticipant(1L, 1L)).thenReturn(true);
+        when(chatMembershipCache.isParticipant(1L, 2L)).thenReturn(true);
         when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
 
-        ResponseEntity<MessageTO> response = webSocketController.PostsendMessage(mockMessageTO);
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO, principal(1L));
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals("Test message", response.getBody().getMessageContent());
+        assertEquals("Test message", ((MessageTO) response.getBody()).getMessageContent());
         verify(messageService, times(1)).saveMessage(mockMessageTO);
     }
 
+    @Test
+    void testPostSendMessageTakesSenderFromPrincipal() {
+        mockMessageTO.setSenderId(2L);
+        when(chatMembershipCache.isParticipant(1L, 1L)).thenReturn(true);
+        when(chatMembershipCache.isParticipant(1L, 2L)).thenReturn(true);
+        when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
+
+        webSocketController.PostsendMessage(mockMessageTO, principal(1L));
+
+        assertEquals(1L, mockMessageTO.getSenderId());
+    }
+
+    @Test
+    void testPostSendMessageRejectsInaccessibleAttachment() {
+        when(chatMembershipCache.isParticipant(1L, 1L)).thenReturn(true);
+        when(chatMembershipCache.isParticipant(1L, 2L)).thenReturn(true);
+        when(messageService.saveMessage(mockMessageTO))
+                .thenThrow(new AccessDeniedException("You do not have access to this attachment"));
+
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO, principal(1L));
+
+        assertEquals(403, response.getStatusCodeValue());
+    }
+
+    @Test
+    void testPostSendMessageRejectsNonParticipant() {
+        when(chatMembershipCache.isParticipant(1L, 3L)).thenReturn(false);
+
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO, principal(3L));
+
+        assertEquals(403, response.getStatusCodeValue());
+
+        verifyNoInteractions(messageService);
+    }
+
     @Test
     void testCreateChat() {
         doNothing().when(chatService).createChat(mockChatCreateTO);
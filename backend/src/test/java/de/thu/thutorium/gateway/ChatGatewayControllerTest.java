@@ -0,0 +1,90 @@
+package de.thu.thutorium.gateway;
+
+import de.thu.thutorium.WebSocket.ChatMembershipCache;
+import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.security.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatGatewayControllerTest {
+
+    @Mock
+    private ChatGatewayService chatGatewayService;
+
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    @InjectMocks
+    private ChatGatewayController chatGatewayController;
+
+    private final JwtPrincipal principal =
+            new JwtPrincipal(1L, "jane@example.com", List.of(), "jti", Instant.now(), null);
+
+    private static MessageTO message() {
+        MessageTO messageTO = new MessageTO();
+        messageTO.setSenderId(9L);
+        messageTO.setReceiverId(2L);
+        messageTO.setChatId(5L);
+        messageTO.setMessageContent("Hello");
+        messageTO.setSendAt(LocalDateTime.now());
+        return messageTO;
+    }
+
+    @Test
+    void testChatSummariesAreThoseOfThePrincipal() {
+        when(chatGatewayService.getChatSummaries(1L)).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        ResponseEntity<?> response = chatGatewayController.getChatSummaries(principal).join();
+
+        assertEquals(200, response.getStatusCode().value());
+        verify(chatGatewayService).getChatSummaries(1L);
+    }
+
+    @Test
+    void testChatMessagesOfOtherChatAreForbidden() {
+        when(chatMembershipCache.isParticipant(5L, 1L)).thenReturn(false);
+
+        ResponseEntity<?> response = chatGatewayController.getChatMessages(5L, principal).join();
+
+        assertEquals(403, response.getStatusCode().value());
+        verifyNoInteractions(chatGatewayService);
+    }
+
+    @Test
+    void testSendMessageOfNonParticipantIsForbidden() {
+        when(chatMembershipCache.isParticipant(5L, 1L)).thenReturn(false);
+
+        ResponseEntity<?> response = chatGatewayController.postSendMessage(message(), principal).join();
+
+        assertEquals(403, response.getStatusCode().value());
+        verifyNoInteractions(chatGatewayService);
+    }
+
+    @Test
+    void testConstraintViolationIsAConflict() {
+        when(chatMembershipCache.isParticipant(eq(5L), anyLong())).thenReturn(true);
+        when(chatGatewayService.saveMessage(any())).thenReturn(
+                CompletableFuture.failedFuture(new DataIntegrityViolationException("fk_message_receiver")));
+        MessageTO messageTO = message();
+
+        ResponseEntity<?> response = chatGatewayController.postSendMessage(messageTO, principal).join();
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals(1L, messageTO.getSenderId());
+    }
+}
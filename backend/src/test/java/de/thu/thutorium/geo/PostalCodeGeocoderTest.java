@@ -0,0 +1,60 @@
+package de.thu.thutorium.geo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostalCodeGeocoderTest {
+
+    private final PostalCodeGeocoder geocoder = new PostalCodeGeocoder(new ByteArrayResource((
+            "DE\t89073\tUlm\tBaden-Württemberg\tBW\t\t\t\t\t48.3984\t9.9916\t4\n"
+                    + "DE\t80331\tMünchen\tBayern\tBY\t\t\t\t\t48.1372\t11.5755\t4\n"
+                    + "AT\t6020\tInnsbruck\tTirol\t07\t\t\t\t\t47.2627\t11.3945\t4\n")
+            .getBytes(StandardCharsets.UTF_8)));
+
+    @Test
+    void testLocateByPostalCodeWithCountryCodeOrName() {
+        GeoPoint ulm = new GeoPoint(48.3984, 9.9916);
+
+        assertEquals(ulm, geocoder.locate("DE", "89073", null).orElseThrow());
+        assertEquals(ulm, geocoder.locate("germany", "89073", null).orElseThrow());
+        assertEquals(ulm, geocoder.locate("Deutschland", " 89073 ", null).orElseThrow());
+        assertTrue(geocoder.locate("austria", "89073", null).isEmpty());
+    }
+
+    @Test
+    void testLocateFallsBackToCity() {
+        assertEquals(new GeoPoint(48.1372, 11.5755), geocoder.locate("de", "80999", "münchen").orElseThrow());
+        assertTrue(geocoder.locate("de", "80999", "augsburg").isEmpty());
+        assertTrue(geocoder.locate("atlantis", "89073", "ulm").isEmpty());
+    }
+
+    @Test
+    void testDistanceUlmToMunich() {
+        double distance = new GeoPoint(48.3984, 9.9916).distanceKm(new GeoPoint(48.1372, 11.5755));
+
+        assertEquals(120, distance, 2);
+    }
+
+    @Test
+    void testGridCoverContainsEveryPointWithinRadius() {
+        GeoPoint center = new GeoPoint(48.3984, 9.9916);
+        GeoGrid.CellRange cells = GeoGrid.cover(center, 10);
+
+        for (int bearing = 0; bearing < 360; bearing += 15) {
+            double dLat = 10 / 111.2 * Math.cos(Math.toRadians(bearing));
+            double dLon = 10 / (111.2 * Math.cos(Math.toRadians(center.latitude()))) * Math.sin(Math.toRadians(bearing));
+            GeoPoint point = new GeoPoint(center.latitude() + dLat * 0.99, center.longitude() + dLon * 0.99);
+
+            int row = GeoGrid.row(point.latitude());
+            int column = GeoGrid.column(point.longitude());
+            assertTrue(row >= cells.minRow() && row <= cells.maxRow());
+            assertTrue(column >= cells.minColumn() && column <= cells.maxColumn());
+        }
+        assertTrue(cells.maxRow() - cells.minRow() <= 2);
+        assertTrue(cells.maxColumn() - cells.minColumn() <= 3);
+    }
+}
@@ -0,0 +1,198 @@
+package de.thu.thutorium.idempotency;
+
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository.StoredResponse;
+import de.thu.thutorium.security.JwtPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, 1024);
+        JwtPrincipal principal = new JwtPrincipal(7L, "jane@example.com", List.of(), "jti", Instant.now(), null);
+        // a fresh context, since other tests may leave their own behind on this thread
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/message/send");
+        request.setServletPath("/message/send");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    @Test
+    void testFirstRequestIsProcessedAndStored() throws Exception {
+        when(idempotencyStore.claim(anyString(), anyString())).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            // the controller can still read the body that was hashed
+            assertEquals("{\"a\":1}", new String(
+                    invocation.<ServletRequest>getArgument(0).getInputStream().readAllBytes(),
+                    StandardCharsets.UTF_8));
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"messageId\":5}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), response, filterChain);
+
+        assertEquals("{\"messageId\":5}", response.getContentAsString());
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(idempotencyStore).complete(anyString(), anyString(), eq(200), startsWith("application/json"), body.capture());
+        assertEquals("{\"messageId\":5}", new String(body.getValue(), StandardCharsets.UTF_8));
+        verify(idempotencyStore, never()).release(anyString());
+    }
+
+    @Test
+    void testRetryIsAnsweredWithStoredResponse() throws Exception {
+        byte[] stored = "{\"messageId\":5}".getBytes(StandardCharsets.UTF_8);
+        when(idempotencyStore.claim(anyString(), anyString()))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.of(new StoredResponse(
+                        invocation.getArgument(1), 200, "application/json", stored, Instant.now())));
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), new MockHttpServletResponse(), filterChain);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), response, filterChain);
+
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyStore, times(2)).claim(anyString(), requestHash.capture());
+        assertEquals(requestHash.getAllValues().get(0), requestHash.getAllValues().get(1));
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"messageId\":5}", response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(filterChain, times(1)).doFilter(any(), any());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() throws Exception {
+        when(idempotencyStore.claim(anyString(), anyString())).thenReturn(Optional.of(
+                new StoredResponse("other", 200, "application/json", new byte[0], Instant.now())));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":2}"), response, filterChain);
+
+        assertEquals(422, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void testRetryDuringProcessingIsRejected() throws Exception {
+        when(idempotencyStore.claim(anyString(), anyString())).thenAnswer(invocation -> Optional.of(
+                new StoredResponse(invocation.getArgument(1), null, null, null, Instant.now())));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), response, filterChain);
+
+        assertEquals(409, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void testBodyCanBeReadWithReadListener() throws Exception {
+        when(idempotencyStore.claim(anyString(), anyString())).thenReturn(Optional.empty());
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        ReadListener readListener = mock(ReadListener.class);
+        doAnswer(invocation -> {
+            ServletInputStream in = invocation.<ServletRequest>getArgument(0).getInputStream();
+            doAnswer(available -> {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+                return null;
+            }).when(readListener).onDataAvailable();
+            in.setReadListener(readListener);
+            invocation.<HttpServletResponse>getArgument(1).setStatus(200);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), new MockHttpServletResponse(), filterChain);
+
+        assertEquals("{\"a\":1}", read.toString(StandardCharsets.UTF_8));
+        InOrder inOrder = inOrder(readListener);
+        inOrder.verify(readListener).onDataAvailable();
+        inOrder.verify(readListener).onAllDataRead();
+        verify(readListener, never()).onError(any());
+    }
+
+    @Test
+    void testServerErrorReleasesKey() throws Exception {
+        when(idempotencyStore.claim(anyString(), anyString())).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(1).setStatus(500);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        idempotencyFilter.doFilter(request("key-1", "{\"a\":1}"), new MockHttpServletResponse(), filterChain);
+
+        verify(idempotencyStore).release(anyString());
+        verify(idempotencyStore, never()).complete(anyString(), anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testOversizedBodyIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request("key-1", "x".repeat(1025)), response, filterChain);
+
+        assertEquals(413, response.getStatus());
+        verifyNoInteractions(idempotencyStore, filterChain);
+    }
+
+    @Test
+    void testRequestWithoutKeyIsNotTracked() throws Exception {
+        idempotencyFilter.doFilter(request(null, "{\"a\":1}"), new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(idempotencyStore);
+    }
+}
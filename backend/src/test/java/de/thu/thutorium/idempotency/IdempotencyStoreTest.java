@@ -0,0 +1,100 @@
+package de.thu.thutorium.idempotency;
+
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository;
+import de.thu.thutorium.database.repositories.IdempotencyKeyRepository.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(idempotencyKeyRepository, 100, 60, 24);
+    }
+
+    @Test
+    void testUnusedKeyIsClaimed() {
+        when(idempotencyKeyRepository.claim(eq("key"), eq("request"), any())).thenReturn(true);
+
+        assertTrue(store.claim("key", "request").isEmpty());
+        verify(idempotencyKeyRepository, never()).find(any());
+    }
+
+    @Test
+    void testClaimIsLeasedUntilTheResponseIsStored() {
+        when(idempotencyKeyRepository.claim(eq("key"), eq("request"), any())).thenReturn(true);
+        Instant start = Instant.now();
+
+        store.claim("key", "request");
+        store.complete("key", "request", 201, "application/json", new byte[] {1});
+
+        ArgumentCaptor<Instant> leasedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(idempotencyKeyRepository).claim(eq("key"), eq("request"), leasedUntil.capture());
+        assertTrue(leasedUntil.getValue().isBefore(start.plus(2, ChronoUnit.MINUTES)));
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(idempotencyKeyRepository)
+                .complete(eq("key"), eq(201), eq("application/json"), any(), expiresAt.capture());
+        assertFalse(expiresAt.getValue().isBefore(start.plus(24, ChronoUnit.HOURS)));
+    }
+
+    @Test
+    void testCompletedResponseIsServedFromMemory() {
+        store.complete("key", "request", 201, "application/json", new byte[] {1});
+
+        Optional<StoredResponse> stored = store.claim("key", "request");
+
+        assertTrue(stored.isPresent());
+        assertEquals(201, stored.get().statusCode());
+        verify(idempotencyKeyRepository, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void testResponseCompletedOnOtherNodeIsLoadedAndCached() {
+        StoredResponse response =
+                new StoredResponse("request", 200, "application/json", new byte[0], Instant.now().plus(1, ChronoUnit.HOURS));
+        when(idempotencyKeyRepository.claim(eq("key"), eq("request"), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find("key")).thenReturn(Optional.of(response));
+
+        assertSame(response, store.claim("key", "request").orElseThrow());
+        assertSame(response, store.claim("key", "request").orElseThrow());
+        verify(idempotencyKeyRepository, times(1)).find("key");
+    }
+
+    @Test
+    void testRequestInProgressIsNotCached() {
+        StoredResponse inProgress =
+                new StoredResponse("request", null, null, null, Instant.now().plus(1, ChronoUnit.HOURS));
+        when(idempotencyKeyRepository.claim(eq("key"), eq("request"), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find("key")).thenReturn(Optional.of(inProgress));
+
+        assertFalse(store.claim("key", "request").orElseThrow().isCompleted());
+        store.claim("key", "request");
+        verify(idempotencyKeyRepository, times(2)).find("key");
+    }
+
+    @Test
+    void testKeyReleasedInBetweenIsClaimedAgain() {
+        when(idempotencyKeyRepository.claim(eq("key"), eq("request"), any())).thenReturn(false, true);
+        when(idempotencyKeyRepository.find("key")).thenReturn(Optional.empty());
+
+        assertTrue(store.claim("key", "request").isEmpty());
+    }
+}
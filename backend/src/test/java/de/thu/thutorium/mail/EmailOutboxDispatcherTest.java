@@ -0,0 +1,85 @@
+package de.thu.thutorium.mail;
+
+import de.thu.thutorium.database.repositories.EmailOutboxRepository;
+import de.thu.thutorium.database.repositories.EmailOutboxRepository.ClaimedEmail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender,
+                new EmailOutboxSettings("no-reply@example.com", 2, 3, 1000, 60_000, 300, 30));
+    }
+
+    @Test
+    void testDispatchDrainsBatchesUntilOutboxIsEmpty() {
+        ClaimedEmail first = new ClaimedEmail(1L, "a@example.com", "Subject", "Body", 1);
+        ClaimedEmail second = new ClaimedEmail(2L, "b@example.com", "Subject", "Body", 1);
+        ClaimedEmail third = new ClaimedEmail(3L, "c@example.com", "Subject", "Body", 1);
+        when(outboxRepository.claimDue(2, 300)).thenReturn(List.of(first, second), List.of(third));
+
+        dispatcher.dispatch();
+
+        verify(mailSender, times(3)).send(any(SimpleMailMessage.class));
+        verify(outboxRepository).markSent(1L);
+        verify(outboxRepository).markSent(2L);
+        verify(outboxRepository).markSent(3L);
+        verify(outboxRepository, times(2)).claimDue(2, 300);
+    }
+
+    @Test
+    void testFailedDeliveryIsRetriedLater() {
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        dispatcher.send(new ClaimedEmail(1L, "a@example.com", "Subject", "Body", 1));
+
+        verify(outboxRepository).markRetry(eq(1L), argThat(next -> next.isAfter(Instant.now())), eq("connection refused"));
+        verify(outboxRepository, never()).markSent(anyLong());
+    }
+
+    @Test
+    void testDeliveryIsGivenUpAfterMaxAttempts() {
+        doThrow(new MailSendException("mailbox unavailable")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        dispatcher.send(new ClaimedEmail(1L, "a@example.com", "Subject", "Body", 3));
+
+        verify(outboxRepository).markFailed(1L, "mailbox unavailable");
+        verify(outboxRepository, never()).markRetry(anyLong(), any(), any());
+    }
+
+    @Test
+    void testBackoffGrowsAndIsCapped() {
+        Duration first = dispatcher.backoff(1);
+        Duration fourth = dispatcher.backoff(4);
+        Duration late = dispatcher.backoff(20);
+
+        assertTrue(first.toMillis() <= 1000 && first.toMillis() >= 800);
+        assertTrue(fourth.toMillis() <= 8000 && fourth.toMillis() >= 6400);
+        assertTrue(late.toMillis() <= 60_000 && late.toMillis() >= 48_000);
+    }
+}
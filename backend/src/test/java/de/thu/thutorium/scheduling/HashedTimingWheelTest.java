@@ -0,0 +1,86 @@
+package de.thu.thutorium.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private final AtomicInteger ticks = new AtomicInteger();
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        // a small wheel, so that longer delays need several rotations
+        wheel = new HashedTimingWheel(Duration.ofMillis(5), 4, Thread::new, ticks::incrementAndGet);
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void testTasksFireInDeadlineOrder() throws Exception {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+
+        wheel.schedule(() -> {
+            fired.add(3);
+            done.countDown();
+        }, Duration.ofMillis(120));
+        wheel.schedule(() -> {
+            fired.add(1);
+            done.countDown();
+        }, Duration.ofMillis(10));
+        wheel.schedule(() -> {
+            fired.add(2);
+            done.countDown();
+        }, Duration.ofMillis(60));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), fired);
+    }
+
+    @Test
+    void testTaskDoesNotFireBeforeDeadline() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(done::countDown, Duration.ofMillis(100));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(95));
+    }
+
+    @Test
+    void testCancelledTaskDoesNotFire() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, Duration.ofMillis(30));
+        wheel.schedule(later::countDown, Duration.ofMillis(80));
+        timeout.cancel();
+
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, fired.get());
+    }
+
+    @Test
+    void testAfterTickRunsEveryTick() throws Exception {
+        Thread.sleep(100);
+
+        assertTrue(ticks.get() >= 5);
+    }
+}
@@ -0,0 +1,65 @@
+package de.thu.thutorium.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy10aGUtand0LXNlcnZpY2Utb25seQ==";
+
+    private JwtService jwtService;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(60_000);
+        user = User.withUsername("jane@example.com").password("x").roles("TUTOR").build();
+    }
+
+    private static JwtService newService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(service, "JWT_EXPIRATION", expiration);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 2);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void testAuthenticateBuildsPrincipalFromClaims() {
+        String token = jwtService.generateToken(7L, user);
+
+        JwtPrincipal principal = jwtService.authenticate(token);
+
+        assertEquals(7L, principal.userId());
+        assertEquals("jane@example.com", principal.getName());
+        assertEquals(List.<GrantedAuthority>of(new SimpleGrantedAuthority("ROLE_TUTOR")), principal.authorities());
+        assertSame(principal, jwtService.authenticate(token));
+    }
+
+    @Test
+    void testAuthenticateRejectsTamperedToken() {
+        String token = jwtService.generateToken(7L, user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.authenticate(tampered));
+    }
+
+    @Test
+    void testAuthenticateRejectsExpiredToken() {
+        String token = newService(-1_000).generateToken(7L, user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.authenticate(token));
+    }
+}
@@ -0,0 +1,90 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.repositories.RefreshTokenRepository;
+import de.thu.thutorium.database.repositories.RefreshTokenRepository.TokenFamily;
+import de.thu.thutorium.exceptions.InvalidRefreshTokenException;
+import de.thu.thutorium.security.RefreshTokenService.IssuedRefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 60_000, 5_000);
+    }
+
+    @Test
+    void testIssueStoresOnlyTheHash() {
+        IssuedRefreshToken issued = refreshTokenService.issue(7L);
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(refreshTokenRepository).insert(hash.capture(), eq(7L), anyString(), any(Instant.class));
+        assertEquals(64, hash.getValue().length());
+        assertNotEquals(issued.token(), hash.getValue());
+        assertTrue(issued.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void testRotateIssuesTokenOfSameFamily() {
+        when(refreshTokenRepository.consume(anyString()))
+                .thenReturn(Optional.of(new TokenFamily(7L, "family-1", null)));
+
+        IssuedRefreshToken rotated = refreshTokenService.rotate("old-token");
+
+        assertEquals(7L, rotated.userId());
+        assertNotEquals("old-token", rotated.token());
+        verify(refreshTokenRepository).insert(anyString(), eq(7L), eq("family-1"), any(Instant.class));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void testReuseOfConsumedTokenRevokesFamily() {
+        when(refreshTokenRepository.consume(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByHash(anyString()))
+                .thenReturn(Optional.of(new TokenFamily(7L, "family-1", Instant.now().minusSeconds(60))));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("old-token"));
+
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).insert(anyString(), anyLong(), anyString(), any());
+    }
+
+    @Test
+    void testConcurrentRefreshWithinGraceDoesNotRevokeFamily() {
+        when(refreshTokenRepository.consume(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByHash(anyString()))
+                .thenReturn(Optional.of(new TokenFamily(7L, "family-1", Instant.now())));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("old-token"));
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void testUnknownTokenIsRejected() {
+        when(refreshTokenRepository.consume(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+}
@@ -0,0 +1,129 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.EmailTokenPurpose;
+import de.thu.thutorium.database.repositories.EmailOutboxRepository;
+import de.thu.thutorium.database.repositories.EmailTokenRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.InvalidEmailTokenException;
+import de.thu.thutorium.security.OpaqueTokens;
+import de.thu.thutorium.security.RefreshTokenService;
+import de.thu.thutorium.security.TokenRevocationService;
+import de.thu.thutorium.services.implementations.AccountEmailServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountEmailServiceImplTest {
+
+    @Mock
+    private EmailTokenRepository emailTokenRepository;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private AccountEmailServiceImpl accountEmailService;
+
+    private UserDBO user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountEmailService, "linkBaseUrl", "http://localhost:8080");
+        ReflectionTestUtils.setField(accountEmailService, "resetPasswordUrl", "http://localhost:3000/reset-password");
+        ReflectionTestUtils.setField(accountEmailService, "verifyEmailHours", 48L);
+        ReflectionTestUtils.setField(accountEmailService, "resetPasswordMinutes", 60L);
+        user = new UserDBO();
+        ReflectionTestUtils.setField(user, "userId", 1L);
+        user.setEmail("jane@example.com");
+        user.setFirstName("Jane");
+    }
+
+    @Test
+    void testVerificationEmailLinkCarriesStoredToken() {
+        accountEmailService.sendVerificationEmail(user);
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(emailTokenRepository).replace(hash.capture(), eq(1L), eq(EmailTokenPurpose.VERIFY_EMAIL), any(Instant.class));
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxRepository).enqueue(eq("jane@example.com"), anyString(), body.capture());
+        String token = body.getValue().replaceAll("(?s).*/auth/verify\\?token=(\\S+).*", "$1");
+        assertEquals(hash.getValue(), OpaqueTokens.hash(token));
+    }
+
+    @Test
+    void testVerifyEmailMarksUserVerified() {
+        when(emailTokenRepository.consume(OpaqueTokens.hash("token"), EmailTokenPurpose.VERIFY_EMAIL))
+                .thenReturn(Optional.of(1L));
+        when(userRepository.findUserDBOByUserId(1L)).thenReturn(Optional.of(user));
+
+        accountEmailService.verifyEmail("token");
+
+        assertTrue(user.getIsVerified());
+        assertNotNull(user.getVerified_on());
+    }
+
+    @Test
+    void testVerifyEmailRejectsUsedToken() {
+        when(emailTokenRepository.consume(anyString(), eq(EmailTokenPurpose.VERIFY_EMAIL))).thenReturn(Optional.empty());
+
+        assertThrows(InvalidEmailTokenException.class, () -> accountEmailService.verifyEmail("token"));
+    }
+
+    @Test
+    void testPasswordResetForUnknownEmailSendsNothing() {
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        accountEmailService.requestPasswordReset("nobody@example.com");
+
+        verifyNoInteractions(emailTokenRepository, emailOutboxRepository);
+    }
+
+    @Test
+    void testResetPasswordRevokesSessions() {
+        when(emailTokenRepository.consume(OpaqueTokens.hash("token"), EmailTokenPurpose.RESET_PASSWORD))
+                .thenReturn(Optional.of(1L));
+        when(passwordEncoder.encode("new-secret")).thenReturn("{bcrypt}hash");
+        when(userRepository.updatePassword(1L, "{bcrypt}hash")).thenReturn(1);
+
+        accountEmailService.resetPassword("token", "new-secret");
+
+        verify(tokenRevocationService).revokeAllTokens(1L);
+        verify(refreshTokenService).revokeAll(1L);
+    }
+
+    @Test
+    void testResetPasswordRejectsBlankPassword() {
+        assertThrows(IllegalArgumentException.class, () -> accountEmailService.resetPassword("token", " "));
+
+        verifyNoInteractions(emailTokenRepository, userRepository);
+    }
+}
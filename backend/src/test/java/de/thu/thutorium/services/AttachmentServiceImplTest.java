@@ -0,0 +1,121 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.AttachmentTO;
+import de.thu.thutorium.database.dbObjects.AttachmentDBO;
+import de.thu.thutorium.database.repositories.AttachmentRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.AttachmentTooLargeException;
+import de.thu.thutorium.services.implementations.AttachmentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentServiceImplTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_HASH = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    Path storeDirectory;
+
+    private AttachmentServiceImpl attachmentService;
+
+    @BeforeEach
+    void setUp() {
+        attachmentService = new AttachmentServiceImpl(
+                attachmentRepository, userRepository, storeDirectory.toString(), 1024);
+    }
+
+    @Test
+    void storeAttachment_ShouldStoreContentUnderItsHash() throws Exception {
+        when(attachmentRepository.findByContentHash(HELLO_HASH)).thenReturn(Optional.empty());
+        when(attachmentRepository.saveAndFlush(any(AttachmentDBO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AttachmentTO result = attachmentService.storeAttachment(
+                new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8)),
+                "C:\\Users\\tutor\\notes.txt", "text/plain", null);
+
+        assertEquals(HELLO_HASH, result.getContentHash());
+        assertEquals("notes.txt", result.getFileName());
+        assertEquals(11L, result.getSizeBytes());
+        Path stored = attachmentService.getAttachmentPath(HELLO_HASH);
+        assertEquals("hello world", Files.readString(stored));
+        assertEquals(storeDirectory.resolve("b9").resolve("4d").resolve(HELLO_HASH), stored);
+    }
+
+    @Test
+    void storeAttachment_ShouldNotStoreDuplicateContentTwice() throws Exception {
+        AttachmentDBO existing = AttachmentDBO.builder()
+                .contentHash(HELLO_HASH)
+                .fileName("first.txt")
+                .contentType("text/plain")
+                .sizeBytes(11L)
+                .build();
+        when(attachmentRepository.findByContentHash(HELLO_HASH)).thenReturn(Optional.empty(), Optional.of(existing));
+        when(attachmentRepository.saveAndFlush(any(AttachmentDBO.class))).thenReturn(existing);
+
+        attachmentService.storeAttachment(
+                new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8)), "first.txt", "text/plain", null);
+        AttachmentTO second = attachmentService.storeAttachment(
+                new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8)), "second.txt", "text/plain", null);
+
+        assertEquals("first.txt", second.getFileName());
+        verify(attachmentRepository, times(1)).saveAndFlush(any(AttachmentDBO.class));
+        verify(attachmentRepository, never()).addUploader(any(), any());
+        try (Stream<Path> uploads = Files.list(storeDirectory.resolve("tmp"))) {
+            assertEquals(0, uploads.count());
+        }
+    }
+
+    @Test
+    void storeAttachment_ShouldRecordEveryUploaderOfDuplicateContent() throws Exception {
+        AttachmentDBO existing = AttachmentDBO.builder()
+                .attachmentId(4L)
+                .contentHash(HELLO_HASH)
+                .fileName("first.txt")
+                .contentType("text/plain")
+                .sizeBytes(11L)
+                .build();
+        when(attachmentRepository.findByContentHash(HELLO_HASH)).thenReturn(Optional.of(existing));
+
+        attachmentService.storeAttachment(
+                new ByteArrayInputStream("hello world".getBytes(StandardCharsets.UTF_8)), "second.txt", "text/plain", 8L);
+
+        verify(attachmentRepository).addUploader(4L, 8L);
+        verify(attachmentRepository, never()).saveAndFlush(any(AttachmentDBO.class));
+    }
+
+    @Test
+    void storeAttachment_ShouldRejectFilesAboveTheLimit() throws Exception {
+        byte[] content = new byte[2048];
+
+        assertThrows(AttachmentTooLargeException.class, () -> attachmentService.storeAttachment(
+                new ByteArrayInputStream(content), "large.bin", "application/octet-stream", null));
+
+        verifyNoInteractions(attachmentRepository);
+        try (Stream<Path> uploads = Files.list(storeDirectory.resolve("tmp"))) {
+            assertEquals(0, uploads.count());
+        }
+    }
+}
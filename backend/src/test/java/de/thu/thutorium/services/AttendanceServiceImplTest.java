@@ -0,0 +1,132 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.AttendanceRateTO;
+import de.thu.thutorium.api.transferObjects.common.AttendanceTO;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingStatus;
+import de.thu.thutorium.database.repositories.AttendanceRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingParticipantRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.services.implementations.AttendanceServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceImplTest {
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private MeetingParticipantRepository meetingParticipantRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private AttendanceServiceImpl attendanceService;
+
+    private MeetingDBO meeting;
+
+    @BeforeEach
+    void setUp() {
+        UserDBO tutor = new UserDBO();
+        ReflectionTestUtils.setField(tutor, "userId", 1L);
+        CourseDBO course = new CourseDBO();
+        ReflectionTestUtils.setField(course, "courseId", 2L);
+        course.setTutor(tutor);
+        meeting = new MeetingDBO();
+        meeting.setMeetingId(5L);
+        meeting.setTutor(tutor);
+        meeting.setCourse(course);
+    }
+
+    @Test
+    void testRecordAttendance_WritesOneBatchWithLastStatusPerStudent() {
+        when(meetingRepository.findById(5L)).thenReturn(Optional.of(meeting));
+        when(meetingParticipantRepository.findParticipantIds(5L)).thenReturn(Set.of(10L, 11L));
+
+        attendanceService.recordAttendance(1L, 5L, List.of(
+                new AttendanceTO(10L, MeetingStatus.ABSENT),
+                new AttendanceTO(11L, MeetingStatus.EXCUSED),
+                new AttendanceTO(10L, MeetingStatus.PRESENT)));
+
+        verify(attendanceRepository, times(1)).recordAttendance(
+                5L, 2L, List.of(10L, 11L), List.of("PRESENT", "EXCUSED"));
+    }
+
+    @Test
+    void testRecordAttendance_OtherTutor() {
+        when(meetingRepository.findById(5L)).thenReturn(Optional.of(meeting));
+
+        assertThrows(AccessDeniedException.class, () -> attendanceService.recordAttendance(
+                9L, 5L, List.of(new AttendanceTO(10L, MeetingStatus.PRESENT))));
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void testRecordAttendance_RejectsNonAttendanceStatus() {
+        when(meetingRepository.findById(5L)).thenReturn(Optional.of(meeting));
+
+        assertThrows(InvalidMeetingRequestException.class, () -> attendanceService.recordAttendance(
+                1L, 5L, List.of(new AttendanceTO(10L, MeetingStatus.SCHEDULED))));
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void testRecordAttendance_RejectsNonParticipant() {
+        when(meetingRepository.findById(5L)).thenReturn(Optional.of(meeting));
+        when(meetingParticipantRepository.findParticipantIds(5L)).thenReturn(Set.of(10L));
+
+        assertThrows(InvalidMeetingRequestException.class, () -> attendanceService.recordAttendance(
+                1L, 5L, List.of(new AttendanceTO(12L, MeetingStatus.PRESENT))));
+        verify(attendanceRepository, never()).recordAttendance(any(), any(), any(), any());
+    }
+
+    @Test
+    void testRecordAttendance_MeetingNotFound() {
+        when(meetingRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> attendanceService.recordAttendance(
+                1L, 5L, List.of(new AttendanceTO(10L, MeetingStatus.PRESENT))));
+    }
+
+    @Test
+    void testGetCourseAttendance() {
+        List<AttendanceRateTO> rates = List.of(AttendanceRateTO.of(2L, 10L, 3, 1, 2));
+        when(courseRepository.findById(2L)).thenReturn(Optional.of(meeting.getCourse()));
+        when(attendanceRepository.findByCourse(2L)).thenReturn(rates);
+
+        List<AttendanceRateTO> result = attendanceService.getCourseAttendance(1L, 2L);
+
+        assertEquals(rates, result);
+        assertEquals(0.75, result.get(0).getAttendanceRate());
+    }
+
+    @Test
+    void testAttendanceRate_ExcusedOnly() {
+        assertNull(AttendanceRateTO.of(2L, 10L, 0, 0, 2).getAttendanceRate());
+    }
+}
@@ -0,0 +1,222 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.TOMappers.MeetingTOMapper;
+import de.thu.thutorium.api.transferObjects.common.MeetingConflictTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingPageTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingSeriesTO;
+import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.database.DBOMappers.MeetingDBMapper;
+import de.thu.thutorium.database.dbObjects.AddressDBO;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.MeetingSeriesDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.database.dbObjects.enums.RecurrenceFrequency;
+import de.thu.thutorium.database.repositories.AddressRepository;
+import de.thu.thutorium.database.repositories.CalendarFeedRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingConflictRepository;
+import de.thu.thutorium.database.repositories.MeetingFeedRepository;
+import de.thu.thutorium.database.repositories.MeetingParticipantRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.MeetingSeriesRepository;
+import de.thu.thutorium.database.repositories.RoomUtilizationRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.InvalidMeetingRequestException;
+import de.thu.thutorium.exceptions.MeetingSeriesConflictException;
+import de.thu.thutorium.services.implementations.MeetingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class MeetingServiceImplTest {
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private MeetingTOMapper meetingTOMapper;
+
+    @Mock
+    private MeetingDBMapper meetingDBMapper;
+
+    @Mock
+    private MeetingParticipantRepository meetingParticipantRepository;
+
+    @Mock
+    private MeetingSeriesRepository meetingSeriesRepository;
+
+    @Mock
+    private MeetingConflictRepository meetingConflictRepository;
+
+    @Mock
+    private MeetingFeedRepository meetingFeedRepository;
+
+    @Mock
+    private CalendarFeedRepository calendarFeedRepository;
+
+    @Mock
+    private RoomUtilizationRepository roomUtilizationRepository;
+
+    @Captor
+    private ArgumentCaptor<List<MeetingDBO>> meetingsCaptor;
+
+    @InjectMocks
+    private MeetingServiceImpl meetingService;
+
+    private MeetingSeriesTO seriesTO;
+    private LocalDate firstDate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        firstDate = LocalDate.now().plusDays(7);
+        seriesTO = MeetingSeriesTO.builder()
+                .tutorId(1L)
+                .courseId(2L)
+                .firstDate(firstDate)
+                .untilDate(firstDate.plusWeeks(3))
+                .frequency(RecurrenceFrequency.WEEKLY)
+                .exceptionDates(List.of(firstDate.plusWeeks(1)))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 30))
+                .meetingType(MeetingType.ONLINE)
+                .participantIds(List.of(10L, 11L, 10L))
+                .build();
+
+        UserDBO tutor = new UserDBO();
+        ReflectionTestUtils.setField(tutor, "userId", 1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(tutor));
+        when(courseRepository.findById(2L)).thenReturn(Optional.of(new CourseDBO()));
+        when(userRepository.findExistingUserIds(any())).thenReturn(Set.of(10L, 11L));
+    }
+
+    @Test
+    void testCreateMeetingSeries_ExpandsRuleAndSkipsExceptions() {
+        when(meetingConflictRepository.findConflicts(eq(1L), isNull(), isNull(), anyList(), anyList()))
+                .thenReturn(List.of());
+        when(meetingSeriesRepository.save(any(MeetingSeriesDBO.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(meetingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(meetingTOMapper.toDTO(any(MeetingDBO.class))).thenAnswer(invocation -> new MeetingTO());
+
+        List<MeetingTO> result = meetingService.createMeetingSeries(seriesTO);
+
+        assertEquals(3, result.size());
+        verify(meetingRepository).saveAll(meetingsCaptor.capture());
+        List<MeetingDBO> meetings = meetingsCaptor.getValue();
+        assertEquals(firstDate, meetings.get(0).getMeetingDate());
+        assertEquals(firstDate.plusWeeks(2), meetings.get(1).getMeetingDate());
+        assertEquals(firstDate.plusWeeks(3), meetings.get(2).getMeetingDate());
+        assertEquals(firstDate.atTime(10, 0), meetings.get(0).getStartTime());
+        assertEquals(90, meetings.get(0).getDuration());
+        assertEquals(List.of(10L, 11L), result.get(0).getParticipantIds());
+        verify(meetingParticipantRepository, times(1)).addParticipants(anyList(), anyList());
+        verify(calendarFeedRepository, times(1)).bumpMeetingsVersion(Set.of(1L, 10L, 11L));
+    }
+
+    @Test
+    void testCreateMeetingSeries_ReportsAllConflicts() {
+        List<MeetingConflictTO> conflicts = List.of(
+                new MeetingConflictTO(firstDate.atTime(10, 0), firstDate.atTime(11, 30), 5L,
+                        firstDate.atTime(11, 0), firstDate.atTime(12, 0), MeetingConflictTO.Reason.TUTOR),
+                new MeetingConflictTO(firstDate.plusWeeks(3).atTime(10, 0), firstDate.plusWeeks(3).atTime(11, 30), 6L,
+                        firstDate.plusWeeks(3).atTime(9, 0), firstDate.plusWeeks(3).atTime(10, 30),
+                        MeetingConflictTO.Reason.TUTOR));
+        when(meetingConflictRepository.findConflicts(eq(1L), isNull(), isNull(), anyList(), anyList()))
+                .thenReturn(conflicts);
+
+        MeetingSeriesConflictException exception = assertThrows(MeetingSeriesConflictException.class,
+                () -> meetingService.createMeetingSeries(seriesTO));
+
+        assertEquals(conflicts, exception.getConflicts());
+        verify(meetingConflictRepository, times(1))
+                .findConflicts(eq(1L), isNull(), isNull(), anyList(), anyList());
+        verify(meetingSeriesRepository, never()).save(any());
+        verify(meetingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateMeetingSeries_InvalidRule() {
+        seriesTO.setUntilDate(firstDate.minusDays(1));
+
+        assertThrows(InvalidMeetingRequestException.class, () -> meetingService.createMeetingSeries(seriesTO));
+        verifyNoInteractions(meetingConflictRepository, meetingRepository);
+    }
+
+    @Test
+    void testGetMeetingFeed_CursorContinuesAfterLastMeeting() {
+        ReflectionTestUtils.setField(meetingService, "maxFeedPageSize", 200);
+        LocalDateTime from = LocalDateTime.of(2025, 1, 13, 0, 0);
+        LocalDateTime to = from.plusWeeks(2);
+        List<MeetingTO> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            MeetingTO meeting = new MeetingTO();
+            meeting.setMeetingId(id);
+            meeting.setStartTime(from.plusDays(id));
+            rows.add(meeting);
+        }
+        when(meetingFeedRepository.findFeed(1L, from, to, null, 0L, 3)).thenReturn(rows);
+
+        MeetingPageTO firstPage = meetingService.getMeetingFeed(1L, from, to, null, null, 2);
+
+        assertEquals(2, firstPage.getMeetings().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        when(meetingFeedRepository.findFeed(eq(1L), any(), eq(to), isNull(), anyLong(), anyInt()))
+                .thenReturn(List.of(rows.get(2)));
+
+        MeetingPageTO secondPage = meetingService.getMeetingFeed(1L, from, to, null, firstPage.getNextCursor(), 2);
+
+        verify(meetingFeedRepository).findFeed(1L, from.plusDays(2), to, null, 2L, 3);
+        assertEquals(1, secondPage.getMeetings().size());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testDeleteMeeting_RemovesRoomBooking() {
+        AddressDBO address = new AddressDBO();
+        ReflectionTestUtils.setField(address, "addressId", 7L);
+        LocalDateTime start = firstDate.atTime(10, 0);
+        MeetingDBO meeting = MeetingDBO.builder()
+                .meetingId(3L)
+                .tutor(userRepository.findById(1L).orElseThrow())
+                .address(address)
+                .roomNum("A101")
+                .startTime(start)
+                .endTime(start.plusMinutes(90))
+                .build();
+        when(meetingRepository.findById(3L)).thenReturn(Optional.of(meeting));
+        when(meetingParticipantRepository.findParticipantIds(3L)).thenReturn(Set.of());
+
+        meetingService.deleteMeeting(3L);
+
+        verify(roomUtilizationRepository).addBookings(
+                List.of(7L), List.of("A101"), List.of(start), List.of(start.plusMinutes(90)), -1);
+        verify(meetingRepository).deleteById(3L);
+    }
+}
@@ -5,9 +5,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import de.thu.thutorium.api.TOMappers.MessageTOMapper;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.database.dbObjects.AttachmentDBO;
 import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.MessageDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.AttachmentRepository;
 import de.thu.thutorium.database.repositories.ChatRepository;
 import de.thu.thutorium.database.repositories.MessageRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -37,6 +40,9 @@ class MessageServiceImplTest {
     @Mock
     private MessageTOMapper messageTOMapper;
 
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -70,7 +76,7 @@ class MessageServiceImplTest {
         UserDBO senderDBO = createUser(senderId, "Sender", "User");
         UserDBO receiverDBO = createUser(receiverId, "Receiver", "User");
 
-        MessageTO messageTO = new MessageTO(null, senderId, receiverId, chatId, "Hello", LocalDateTime.now(), null, false);
+        MessageTO messageTO = new MessageTO(null, senderId, receiverId, chatId, "Hello", LocalDateTime.now(), null, false, null);
         MessageDBO messageDBO = MessageDBO.builder()
                 .chat(chatDBO)
                 .sender(senderDBO)
@@ -94,6 +100,60 @@ class MessageServiceImplTest {
         assertEquals("Hello", savedMessage.getMessageContent());
     }
 
+    @Test
+    void saveChatMessage_ShouldUseAuthenticatedSenderWithoutLoadingUsers() {
+        Long chatId = 1L;
+        Long senderId = 2L;
+        Long receiverId = 3L;
+
+        ChatDBO chatDBO = new ChatDBO();
+        chatDBO.setChatId(chatId);
+        UserDBO senderDBO = createUser(senderId, "Sender", "User");
+        UserDBO receiverDBO = createUser(receiverId, "Receiver", "User");
+
+        MessageTO messageTO = new MessageTO(null, 99L, receiverId, chatId, "Hello", LocalDateTime.now(), null, false, null);
+
+        when(chatRepository.getReferenceById(chatId)).thenReturn(chatDBO);
+        when(userRepository.getReferenceById(senderId)).thenReturn(senderDBO);
+        when(userRepository.getReferenceById(receiverId)).thenReturn(receiverDBO);
+
+        MessageTO savedMessage = messageService.saveChatMessage(senderId, messageTO);
+
+        assertEquals(senderId, savedMessage.getSenderId());
+        assertEquals(receiverId, savedMessage.getReceiverId());
+        assertEquals("Hello", savedMessage.getMessageContent());
+        verify(messageRepository).save(argThat(message -> message.getSender() == senderDBO));
+        verify(userRepository, never()).findById(any());
+        verify(chatRepository, never()).findById(any());
+    }
+
+    @Test
+    void saveChatMessage_ShouldRejectAttachmentTheSenderCannotAccess() {
+        String hash = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+        MessageTO messageTO = new MessageTO(null, null, 3L, 1L, "Hello", LocalDateTime.now(), null, false, hash);
+        when(attachmentRepository.findByContentHash(hash)).thenReturn(Optional.of(
+                AttachmentDBO.builder().contentHash(hash).build()));
+        when(attachmentRepository.isAccessibleBy(hash, 2L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> messageService.saveChatMessage(2L, messageTO));
+
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void saveChatMessage_ShouldLinkAttachmentTheSenderUploaded() {
+        String hash = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+        AttachmentDBO attachment = AttachmentDBO.builder().contentHash(hash).build();
+        MessageTO messageTO = new MessageTO(null, null, 3L, 1L, "Hello", LocalDateTime.now(), null, false, hash);
+        when(attachmentRepository.findByContentHash(hash)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.isAccessibleBy(hash, 2L)).thenReturn(true);
+
+        MessageTO savedMessage = messageService.saveChatMessage(2L, messageTO);
+
+        assertEquals(hash, savedMessage.getAttachmentHash());
+        verify(messageRepository).save(argThat(message -> message.getAttachment() == attachment));
+    }
+
     @Test
     void markAsRead_ShouldMarkMessagesAsRead() {
         Long chatId = 1L;
@@ -116,8 +176,8 @@ class MessageServiceImplTest {
         MessageDBO messageDBO2 = MessageDBO.builder().messageId(2L).messageContent("Hello").build();
         List<MessageDBO> messageDBOs = Arrays.asList(messageDBO1, messageDBO2);
 
-        MessageTO messageTO1 = new MessageTO(1L, 2L, 3L, chatId, "Hi", LocalDateTime.now(), null, false);
-        MessageTO messageTO2 = new MessageTO(2L, 3L, 2L, chatId, "Hello", LocalDateTime.now(), null, false);
+        MessageTO messageTO1 = new MessageTO(1L, 2L, 3L, chatId, "Hi", LocalDateTime.now(), null, false, null);
+        MessageTO messageTO2 = new MessageTO(2L, 3L, 2L, chatId, "Hello", LocalDateTime.now(), null, false, null);
         List<MessageTO> messageTOs = Arrays.asList(messageTO1, messageTO2);
 
         when(messageRepository.findByChat_ChatId(chatId)).thenReturn(messageDBOs);
@@ -0,0 +1,213 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.RosterImportReportTO;
+import de.thu.thutorium.api.transferObjects.common.RosterRowErrorTO;
+import de.thu.thutorium.database.dbObjects.AffiliationDBO;
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UniversityDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.AffiliationRepository;
+import de.thu.thutorium.database.repositories.RoleRepository;
+import de.thu.thutorium.database.repositories.UniversityRepository;
+import de.thu.thutorium.database.repositories.UserImportRepository;
+import de.thu.thutorium.services.implementations.RosterBatchWriter;
+import de.thu.thutorium.services.implementations.UserImportServiceImpl;
+import de.thu.thutorium.services.interfaces.AccountEmailService;
+import de.thu.thutorium.services.interfaces.DomainAffiliationService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    @Mock
+    private UniversityRepository universityRepository;
+
+    @Mock
+    private AffiliationRepository affiliationRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private UserImportRepository userImportRepository;
+
+    @Mock
+    private AccountEmailService accountEmailService;
+
+    @Mock
+    private DomainAffiliationService domainAffiliationService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        RosterBatchWriter rosterBatchWriter =
+                new RosterBatchWriter(userImportRepository, accountEmailService, transactionTemplate, 2);
+        userImportService = new UserImportServiceImpl(universityRepository, affiliationRepository, roleRepository,
+                domainAffiliationService, passwordEncoder, rosterBatchWriter, 2);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    private void givenUniversity() {
+        UniversityDBO university = new UniversityDBO();
+        university.setUniversityName("THU");
+        AffiliationDBO affiliation = new AffiliationDBO();
+        ReflectionTestUtils.setField(affiliation, "affiliationId", 7L);
+        when(universityRepository.findByUniversityName("THU")).thenReturn(Optional.of(university));
+        when(affiliationRepository.findByAffiliationTypeAndUniversity_UniversityName(AffiliationType.STUDENT, "THU"))
+                .thenReturn(Optional.of(affiliation));
+        givenStudentRole();
+    }
+
+    private void givenStudentRole() {
+        RoleDBO student = new RoleDBO(Role.STUDENT);
+        ReflectionTestUtils.setField(student, "role_id", 3L);
+        when(roleRepository.findByRoleName(Role.STUDENT)).thenReturn(student);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportsInBatchesAndReportsInvalidRows() throws Exception {
+        givenUniversity();
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}hash");
+        when(userImportRepository.insertUsers(anyList(), anyList(), anyList(), anyList(), anyList(), anyList()))
+                .thenReturn(Map.of("a@thu.de", 1L, "b@thu.de", 2L))
+                .thenReturn(Map.of());
+        String roster = "email,firstName,lastName,password,role\n"
+                + "a@thu.de,Ann,Lee,secret,\n"
+                + "b@thu.de,Ben,Kim,,\n"
+                + "not-an-email,Cat,Fox,,\n"
+                + "A@thu.de,Ann,Lee,,\n"
+                + "d@thu.de,Dan,Ray,,admin\n"
+                + "e@thu.de,Eve,Ng,,\n";
+
+        RosterImportReportTO report =
+                userImportService.importRoster(csv(roster), "text/csv", "THU", AffiliationType.STUDENT, Role.STUDENT);
+
+        assertEquals(6, report.getTotalRows());
+        assertEquals(1, report.getCreatedUsers());
+        assertEquals(1, report.getInvitedUsers());
+        assertEquals(List.of(3, 4, 5, 6), report.getErrors().stream().map(RosterRowErrorTO::getRow).toList());
+        verify(roleRepository, times(1)).findByRoleName(Role.STUDENT);
+
+        ArgumentCaptor<List<String>> passwords = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Long>> affiliationIds = ArgumentCaptor.forClass(List.class);
+        verify(userImportRepository, times(2))
+                .insertUsers(anyList(), anyList(), anyList(), passwords.capture(), anyList(), affiliationIds.capture());
+        assertEquals(List.of(7L, 7L), affiliationIds.getAllValues().get(0));
+        assertEquals(List.of(7L), affiliationIds.getAllValues().get(1));
+        assertEquals("{bcrypt}hash", passwords.getAllValues().get(0).get(0));
+        assertFalse(passwords.getAllValues().get(0).get(1).isEmpty());
+        assertNotEquals("{bcrypt}hash", passwords.getAllValues().get(0).get(1));
+
+        ArgumentCaptor<List<UserDBO>> invited = ArgumentCaptor.forClass(List.class);
+        verify(accountEmailService).sendInvitations(invited.capture());
+        assertEquals(2L, invited.getValue().get(0).getUserId());
+    }
+
+    @Test
+    void testMalformedEntryReturnsReportOfImportedEntries() throws Exception {
+        givenUniversity();
+        when(userImportRepository.insertUsers(anyList(), anyList(), anyList(), anyList(), anyList(), anyList()))
+                .thenReturn(Map.of("a@thu.de", 1L, "b@thu.de", 2L))
+                .thenReturn(Map.of("c@thu.de", 3L));
+        String roster = "email,firstName,lastName\n"
+                + "a@thu.de,Ann,Lee\n"
+                + "b@thu.de,Ben,Kim\n"
+                + "c@thu.de,Cat,Fox\n"
+                + "d@thu.de,\"Dan,Ray\n";
+
+        RosterImportReportTO report =
+                userImportService.importRoster(csv(roster), "text/csv", "THU", AffiliationType.STUDENT, Role.STUDENT);
+
+        assertTrue(report.isIncomplete());
+        assertEquals(3, report.getTotalRows());
+        assertEquals(3, report.getInvitedUsers());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(4, report.getErrors().get(0).getRow());
+        verify(userImportRepository, times(2))
+                .insertUsers(anyList(), anyList(), anyList(), anyList(), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAffiliationIsDerivedFromEmailDomainWithoutUniversity() throws Exception {
+        givenStudentRole();
+        when(domainAffiliationService.findAffiliationId("a@cs.thu.de")).thenReturn(Optional.of(9L));
+        when(domainAffiliationService.findAffiliationId("b@example.com")).thenReturn(Optional.empty());
+        when(userImportRepository.insertUsers(anyList(), anyList(), anyList(), anyList(), anyList(), anyList()))
+                .thenReturn(Map.of("a@cs.thu.de", 1L));
+        String roster = "email,firstName,lastName\na@cs.thu.de,Ann,Lee\nb@example.com,Ben,Kim\n";
+
+        RosterImportReportTO report =
+                userImportService.importRoster(csv(roster), "text/csv", null, AffiliationType.STUDENT, Role.STUDENT);
+
+        assertEquals(1, report.getInvitedUsers());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        ArgumentCaptor<List<Long>> affiliationIds = ArgumentCaptor.forClass(List.class);
+        verify(userImportRepository)
+                .insertUsers(anyList(), anyList(), anyList(), anyList(), anyList(), affiliationIds.capture());
+        assertEquals(List.of(9L), affiliationIds.getValue());
+        verifyNoInteractions(universityRepository, affiliationRepository);
+    }
+
+    @Test
+    void testUnknownUniversityIsRejected() {
+        when(universityRepository.findByUniversityName("Nowhere")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> userImportService.importRoster(
+                csv("email,firstName,lastName\n"), "text/csv", "Nowhere", AffiliationType.STUDENT, Role.STUDENT));
+        verifyNoInteractions(userImportRepository);
+    }
+
+    @Test
+    void testAdminRoleCannotBeImported() {
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importRoster(
+                csv("email,firstName,lastName\n"), "text/csv", "THU", AffiliationType.STUDENT, Role.ADMIN));
+    }
+}
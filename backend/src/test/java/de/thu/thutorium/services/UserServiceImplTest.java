@@ -2,15 +2,20 @@ package de.thu.thutorium.services;
 
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
+import de.thu.thutorium.api.transferObjects.common.ScheduleClashTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingConflictRepository;
 import de.thu.thutorium.database.repositories.ProgressRepository;
 import de.thu.thutorium.database.repositories.RatingTutorRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.exceptions.ScheduleClashException;
+import de.thu.thutorium.security.RefreshTokenService;
+import de.thu.thutorium.security.TokenRevocationService;
 import de.thu.thutorium.services.implementations.UserServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
@@ -22,7 +27,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +53,15 @@ class UserServiceImplTest {
     @Mock
     private UserTOMapper userMapper;
 
+    @Mock
+    private MeetingConflictRepository meetingConflictRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -143,6 +159,8 @@ class UserServiceImplTest {
         userService.deleteUser(1L);
 
         verify(userRepository, times(1)).delete(student);
+        verify(tokenRevocationService).revokeAllTokens(1L);
+        verify(refreshTokenService).revokeAll(1L);
     }
 
     @Test
@@ -165,6 +183,25 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).save(student);
     }
 
+    @Test
+    void enrollCourse_ShouldThrowException_WhenMeetingsClash() {
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.STUDENT))
+                .thenReturn(Optional.of(student));
+        when(courseRepository.findCourseDBOByCourseId(1L)).thenReturn(Optional.of(course));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ScheduleClashTO clash = new ScheduleClashTO(
+                1L, 10L, start, start.plusHours(1), 3L, 20L, start, start.plusHours(2));
+        when(meetingConflictRepository.findScheduleClashes(eq(1L), eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(clash));
+
+        ScheduleClashException ex =
+                assertThrows(ScheduleClashException.class, () -> userService.enrollCourse(1L, 1L));
+
+        assertEquals(List.of(clash), ex.getClashes());
+        assertFalse(student.getStudentCourses().contains(course));
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void enrollCourse_ShouldThrowException_WhenStudentNotFound() {
         when(userRepository.findUserDBOByUserId(1L)).thenReturn(Optional.empty());
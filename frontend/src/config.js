@@ -1,5 +1,5 @@
 export const FRONTEND_URL = "http://localhost:3000";
 export const BACKEND_URL = "http://localhost:8080";
-export const WEBRTC_URL = "http://localhost:5000";
+export const SIGNALING_URL = "ws://localhost:8080/signaling";
 export const STUDENT_ROLE = "ROLE_STUDENT";
 export const TUTOR_ROLE = "ROLE_TUTOR";
@@ -1,12 +1,10 @@
 import React, { useEffect, useRef, useState } from "react";
 import Peer from "simple-peer";
-import { useAuth } from "../services/AuthContext";
 import { useSocket } from "../services/SocketContext";
 import { useNavigate, useSearchParams } from "react-router-dom";
 import { PuffLoader } from "react-spinners"; // To parse query parameters
 
 function CallPage() {
-  const { user } = useAuth();
   const { socket, incomingSignal } = useSocket();
   const [stream, setStream] = useState(null);
   const [callAccepted, setCallAccepted] = useState(false);
@@ -121,7 +119,6 @@ function CallPage() {
 
     peer.on("signal", (data) => {
       socket.emit("callUser", {
-        fromUserId: user.id,
         toUserId: Number(id),
         signalData: data,
       });
@@ -131,7 +128,7 @@ function CallPage() {
       userVideo.current.srcObject = remoteStream;
     });
 
-    socket.on("callAccepted", (signal) => {
+    socket.on("callAccepted", ({ signal }) => {
       setCallAccepted(true);
       peer.signal(signal);
     });
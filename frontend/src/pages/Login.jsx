@@ -37,7 +37,7 @@ function Login() {
         email,
         password,
       });
-      login(data.token);
+      login(data.token, data.refreshToken);
       navigate("/profile");
     } catch (error) {
       if (error.response?.status === 403) {
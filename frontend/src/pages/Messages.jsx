@@ -1,7 +1,7 @@
 import React, { useEffect, useRef, useState } from "react";
 import NavBar from "../components/Navbar";
 import ChatHistoryItem from "../components/ChatHistoryItem";
-import { getUserFromToken } from "../services/AuthService";
+import { getToken, getUserFromToken } from "../services/AuthService";
 import MessageItem from "../components/MessageItem";
 import apiClient from "../services/AxiosConfig";
 import { Stomp } from "@stomp/stompjs";
@@ -26,6 +26,8 @@ function Messages() {
   const [rows, setRows] = useState(1);
   const [filteredChats, setFilteredChats] = useState();
   const [stompClient, setStompClient] = useState(null);
+  const [stompConnected, setStompConnected] = useState(false);
+  const chatSubscriptions = useRef({});
   const maxRows = 5;
   const messagesEndRef = useRef(null);
   const navigate = useNavigate();
@@ -112,7 +114,12 @@ function Messages() {
 
   useEffect(() => {
     if (stompClient) {
-      stompClient.connect({}, onConnected, onError);
+      // The session is authenticated once, with the token in the CONNECT frame
+      stompClient.connect(
+        { Authorization: `Bearer ${getToken()}` },
+        onConnected,
+        onError,
+      );
       stompClient.onStompError = (frame) => {
         console.error("Stomp Error:", frame.headers["message"]);
         console.error("Additional details:", frame.body);
@@ -123,16 +130,30 @@ function Messages() {
   function onConnected() {
     console.log("Connected to WebSocket");
 
-    // Subscribe to message topic
-    stompClient.subscribe("/topic/messages", onMessageReceived);
+    setStompConnected(true);
   }
 
+  useEffect(() => {
+    if (stompConnected && chats) {
+      // Subscribe to the topic of every chat; the server only accepts participants
+      for (const chat of chats) {
+        if (!chatSubscriptions.current[chat.chatId]) {
+          chatSubscriptions.current[chat.chatId] = stompClient.subscribe(
+            `/topic/chat/${chat.chatId}`,
+            onMessageReceived,
+          );
+        }
+      }
+    }
+  }, [stompConnected, chats]);
+
   function onMessageReceived(payload) {
     const binaryBody = payload._binaryBody; // The Uint8Array payload
     const jsonString = new TextDecoder("utf-8").decode(binaryBody);
     const message = JSON.parse(jsonString);
 
-    if (message.receiverId === currentUserId) {
+    // Own messages are already shown when they are sent
+    if (message.senderId !== currentUserId) {
       setMessages((prevMessages) => ({
         ...prevMessages,
         [message.chatId]: [...(prevMessages[message.chatId] || []), message],
@@ -141,6 +162,8 @@ function Messages() {
   }
 
   function onError(error) {
+    setStompConnected(false);
+    chatSubscriptions.current = {};
     console.log("Web Socket Error: " + error);
   }
 
@@ -238,7 +261,11 @@ function Messages() {
       }));
 
       try {
-        stompClient.send("/app/sendMessage", {}, JSON.stringify(message));
+        stompClient.send(
+          `/app/chat/${selectedChatId}/sendMessage`,
+          {},
+          JSON.stringify(message),
+        );
         console.log("Message sent successfully.");
       } catch (error) {
         console.error("Error sending message:", error);
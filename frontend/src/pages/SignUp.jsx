@@ -48,7 +48,7 @@ function SignUp() {
     }
     try {
       const { data } = await apiClient.post("/auth/register", formData);
-      login(data.token);
+      login(data.token, data.refreshToken);
       navigate("/profile");
     } catch (error) {
       if (error.response?.status === 409) {
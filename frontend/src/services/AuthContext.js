@@ -3,9 +3,13 @@ import {
   getUserFromToken,
   saveToken,
   removeToken,
+  getRefreshToken,
+  saveRefreshToken,
+  removeRefreshToken,
   hasRole,
   isAuthenticated,
 } from "./AuthService";
+import apiClient from "./AxiosConfig";
 
 const AuthContext = createContext();
 
@@ -17,13 +21,21 @@ export const AuthProvider = ({ children }) => {
     setUser(userData);
   }, []);
 
-  const login = (token) => {
+  const login = (token, refreshToken) => {
     saveToken(token);
+    if (refreshToken) {
+      saveRefreshToken(refreshToken);
+    }
     setUser(getUserFromToken());
   };
 
   const logout = () => {
+    const refreshToken = getRefreshToken();
+    if (refreshToken) {
+      apiClient.post("/auth/logout", { refreshToken }).catch(() => {});
+    }
     removeToken();
+    removeRefreshToken();
     setUser(null);
   };
 
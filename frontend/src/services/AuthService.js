@@ -1,6 +1,7 @@
 import { jwtDecode } from "jwt-decode";
 
 const TOKEN_KEY = "jwt";
+const REFRESH_TOKEN_KEY = "refreshToken";
 
 export const saveToken = (token) => localStorage.setItem(TOKEN_KEY, token);
 
@@ -8,14 +9,23 @@ export const getToken = () => localStorage.getItem(TOKEN_KEY);
 
 export const removeToken = () => localStorage.removeItem(TOKEN_KEY);
 
+export const saveRefreshToken = (refreshToken) =>
+  localStorage.setItem(REFRESH_TOKEN_KEY, refreshToken);
+
+export const getRefreshToken = () => localStorage.getItem(REFRESH_TOKEN_KEY);
+
+export const removeRefreshToken = () =>
+  localStorage.removeItem(REFRESH_TOKEN_KEY);
+
 export const getUserFromToken = () => {
   const token = getToken();
   if (!token) return null;
 
   try {
     const decodedToken = jwtDecode(token);
-    // Check if the token is expired
-    if (decodedToken.exp * 1000 < Date.now()) {
+    // Check if the token is expired; with a refresh token the session continues
+    // and the access token is renewed on the next request
+    if (decodedToken.exp * 1000 < Date.now() && !getRefreshToken()) {
       removeToken();
       return null;
     }
@@ -1,6 +1,13 @@
 // src/services/axiosConfig.js
 import axios from "axios";
-import { getToken } from "./AuthService";
+import {
+  getToken,
+  saveToken,
+  removeToken,
+  getRefreshToken,
+  saveRefreshToken,
+  removeRefreshToken,
+} from "./AuthService";
 import { BACKEND_URL } from "../config";
 
 const apiClient = axios.create({
@@ -17,4 +24,52 @@ apiClient.interceptors.request.use((config) => {
   return config;
 });
 
+// Shared by all requests that fail while a refresh is in flight, so the
+// refresh token is only used once
+let refreshPromise = null;
+
+const refreshTokens = () => {
+  if (!refreshPromise) {
+    // plain axios, so the expired access token is not sent along
+    refreshPromise = axios
+      .post(`${BACKEND_URL}/auth/refresh`, {
+        refreshToken: getRefreshToken(),
+      })
+      .then(({ data }) => {
+        saveToken(data.token);
+        saveRefreshToken(data.refreshToken);
+        return data.token;
+      })
+      .catch((error) => {
+        removeToken();
+        removeRefreshToken();
+        throw error;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+apiClient.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    if (
+      error.response?.status !== 401 ||
+      !original ||
+      original._retried ||
+      !getRefreshToken() ||
+      original.url?.startsWith("/auth/")
+    ) {
+      return Promise.reject(error);
+    }
+    original._retried = true;
+    const token = await refreshTokens();
+    original.headers.Authorization = `Bearer ${token}`;
+    return apiClient(original);
+  }
+);
+
 export default apiClient;
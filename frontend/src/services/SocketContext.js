@@ -1,7 +1,7 @@
 import { createContext, useContext, useEffect, useState } from "react";
-import io from "socket.io-client";
 import { useAuth } from "./AuthContext";
-import { WEBRTC_URL } from "../config";
+import { getToken } from "./AuthService";
+import { SIGNALING_URL } from "../config";
 import { useNavigate } from "react-router-dom";
 
 const SocketContext = createContext();
@@ -10,6 +10,36 @@ export const useSocket = () => {
   return useContext(SocketContext);
 };
 
+// Small event emitter on top of the backend signaling WebSocket, so pages can
+// use socket.emit / socket.on / socket.off for the signaling messages.
+const createSignalingSocket = (url) => {
+  const ws = new WebSocket(url);
+  const listeners = {};
+
+  ws.onmessage = (event) => {
+    const data = JSON.parse(event.data);
+    if (data.type === "callError") {
+      console.error("Signaling error:", data.message);
+    }
+    (listeners[data.type] || []).forEach((listener) => listener(data));
+  };
+
+  return {
+    emit: (type, data) => {
+      if (ws.readyState === WebSocket.OPEN) {
+        ws.send(JSON.stringify({ type, ...data }));
+      }
+    },
+    on: (type, listener) => {
+      listeners[type] = [...(listeners[type] || []), listener];
+    },
+    off: (type) => {
+      delete listeners[type];
+    },
+    disconnect: () => ws.close(),
+  };
+};
+
 export const SocketProvider = ({ children }) => {
   const { user } = useAuth();
   const [socket, setSocket] = useState(null);
@@ -20,9 +50,9 @@ export const SocketProvider = ({ children }) => {
   useEffect(() => {
     if (!user) return;
 
-    const newSocket = io(WEBRTC_URL, {
-      query: { userId: user.id },
-    });
+    const newSocket = createSignalingSocket(
+      `${SIGNALING_URL}?token=${encodeURIComponent(getToken())}`,
+    );
 
     setSocket(newSocket);
 